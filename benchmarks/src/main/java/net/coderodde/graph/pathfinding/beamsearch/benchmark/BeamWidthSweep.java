@@ -0,0 +1,605 @@
+package net.coderodde.graph.pathfinding.beamsearch.benchmark;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.PriorityQueue;
+import net.coderodde.graph.pathfinding.beamsearch.CompactGraph;
+import net.coderodde.graph.pathfinding.beamsearch.IntHeuristicFunction;
+import net.coderodde.graph.pathfinding.beamsearch.PathNotFoundException;
+import net.coderodde.graph.pathfinding.beamsearch.Pathfinder;
+import net.coderodde.graph.pathfinding.beamsearch.SearchContext;
+import net.coderodde.graph.pathfinding.beamsearch.SearchQuery;
+import net.coderodde.graph.pathfinding.beamsearch.SearchStatistics;
+
+/**
+ * This class sweeps the beam width of both pathfinders over a fixed query
+ * set and measures what each width buys: the share of the queries it fails
+ * on, how much longer its paths are than the shortest ones, how many nodes
+ * it expands and how long the queries take. The shortest path lengths come
+ * from a plain Dijkstra search written here, so they do not depend on the 
+ * pathfinders under measurement. The graph and the queries
+ * are generated from the fixed seeds of {@link BenchmarkGraphs}, so the
+ * results of two builds may be diffed line by line; only the latencies
+ * depend on the machine.
+ * <p>
+ * The options are passed as {@code --name=value}:
+ * <pre>
+ * java -cp benchmarks/target/benchmarks.jar \
+ *      net.coderodde.graph.pathfinding.beamsearch.benchmark.BeamWidthSweep \
+ *      --nodes=10000 --degree=6 --queries=500 --widths=1,2,4,8,16,max \
+ *      --heuristic=DENSE_EUCLIDEAN --output=sweep
+ * </pre>
+ * The results are written to {@code <output>.csv} and
+ * {@code <output>.json}, and the CSV is echoed to the standard output. The
+ * failure rate and the suboptimality are taken over the queries whose
+ * target is reachable at all.
+ * 
+ * @author Rodion "rodde" Efremov
+ * @version 1.6 (Oct 16, 2026)
+ */
+public final class BeamWidthSweep {
+    
+    /**
+     * The default number of graph nodes.
+     */
+    private static final int DEFAULT_GRAPH_SIZE = 10_000;
+    
+    /**
+     * The default average out-degree of the graph nodes.
+     */
+    private static final int DEFAULT_AVERAGE_DEGREE = 6;
+    
+    /**
+     * The default number of queries.
+     */
+    private static final int DEFAULT_NUMBER_OF_QUERIES = 500;
+    
+    /**
+     * The default beam widths to sweep.
+     */
+    private static final int[] DEFAULT_BEAM_WIDTHS = {
+        1, 2, 3, 4, 6, 8, 12, 16, 32, Integer.MAX_VALUE
+    };
+    
+    /**
+     * The default heuristic function.
+     */
+    private static final PathfinderBenchmark.HeuristicType
+            DEFAULT_HEURISTIC_TYPE =
+            PathfinderBenchmark.HeuristicType.DENSE_EUCLIDEAN;
+    
+    /**
+     * The default prefix of the result files.
+     */
+    private static final String DEFAULT_OUTPUT = "beam-width-sweep";
+    
+    /**
+     * The number of untimed passes over the query set before each
+     * configuration is measured.
+     */
+    private static final int WARMUP_PASSES = 2;
+    
+    /**
+     * A path counts as optimal if it is no longer than the shortest one
+     * times this factor, to absorb the rounding of the path length sums.
+     */
+    private static final double OPTIMALITY_TOLERANCE = 1.0 + 1e-9;
+    
+    /**
+     * The columns of the CSV file, in the order of
+     * {@link SweepResult#toCsv()}.
+     */
+    private static final String CSV_HEADER =
+            "pathfinder,beamWidth,queries,reachable,failures,failureRate," +
+            "optimalRate,meanSuboptimality,p50Suboptimality," +
+            "p90Suboptimality,p99Suboptimality,maxSuboptimality," +
+            "meanExpanded,p50Expanded,p99Expanded," +
+            "meanLatencyMicros,p50LatencyMicros,p90LatencyMicros," +
+            "p99LatencyMicros,maxLatencyMicros";
+    
+    private final CompactGraph graph;
+    private final IntHeuristicFunction heuristicFunction;
+    private final SearchQuery[] queries;
+    
+    /**
+     * {@code optimalLengths[i]} is the length of a shortest path of the
+     * query {@code i}, or {@link Double#POSITIVE_INFINITY} if its target is
+     * not reachable.
+     */
+    private final double[] optimalLengths;
+    
+    private final SearchContext searchContext = new SearchContext();
+    private final SearchStatistics statistics = new SearchStatistics();
+    
+    private BeamWidthSweep(CompactGraph graph,
+                           IntHeuristicFunction heuristicFunction,
+                           SearchQuery[] queries) {
+        this.graph             = graph;
+        this.heuristicFunction = heuristicFunction;
+        this.queries           = queries;
+        this.optimalLengths    = computeOptimalLengths();
+        this.searchContext.setStatistics(statistics);
+    }
+    
+    public static void main(String[] args) throws IOException {
+        int graphSize = DEFAULT_GRAPH_SIZE;
+        int averageDegree = DEFAULT_AVERAGE_DEGREE;
+        int numberOfQueries = DEFAULT_NUMBER_OF_QUERIES;
+        int[] beamWidths = DEFAULT_BEAM_WIDTHS;
+        PathfinderBenchmark.HeuristicType heuristicType =
+                DEFAULT_HEURISTIC_TYPE;
+        String output = DEFAULT_OUTPUT;
+        
+        for (String arg : args) {
+            int equals = arg.indexOf('=');
+            
+            if (!arg.startsWith("--") || equals == -1) {
+                throw new IllegalArgumentException(
+                        "The option \"" + arg + "\" is not of the form " +
+                        "--name=value.");
+            }
+            
+            String name = arg.substring(2, equals);
+            String value = arg.substring(equals + 1);
+            
+            switch (name) {
+                case "nodes":
+                    graphSize = Integer.parseInt(value);
+                    break;
+                
+                case "degree":
+                    averageDegree = Integer.parseInt(value);
+                    break;
+                
+                case "queries":
+                    numberOfQueries = Integer.parseInt(value);
+                    break;
+                
+                case "widths":
+                    beamWidths = parseBeamWidths(value);
+                    break;
+                
+                case "heuristic":
+                    heuristicType =
+                            PathfinderBenchmark.HeuristicType.valueOf(value);
+                    break;
+                
+                case "output":
+                    output = value;
+                    break;
+                
+                default:
+                    throw new IllegalArgumentException(
+                            "Unknown option \"" + name + "\".");
+            }
+        }
+        
+        BenchmarkGraphs.GraphData data =
+                BenchmarkGraphs.createGraph(graphSize, averageDegree);
+        CompactGraph graph = CompactGraph.fromGraph(data.graph);
+        BeamWidthSweep sweep =
+                new BeamWidthSweep(
+                        graph,
+                        heuristicType.create(data, graph),
+                        BenchmarkGraphs.createQueries(graphSize,
+                                                      numberOfQueries));
+        List<SweepResult> results = new ArrayList<>();
+        
+        for (PathfinderBenchmark.PathfinderType pathfinderType :
+                PathfinderBenchmark.PathfinderType.values()) {
+            for (int beamWidth : beamWidths) {
+                results.add(sweep.run(pathfinderType, beamWidth));
+            }
+        }
+        
+        try (PrintWriter csv = open(Paths.get(output + ".csv"))) {
+            writeCsv(csv, results);
+        }
+        
+        try (PrintWriter json = open(Paths.get(output + ".json"))) {
+            json.println("{");
+            json.println("  \"graphSize\": " + graphSize + ",");
+            json.println("  \"averageDegree\": " + averageDegree + ",");
+            json.println("  \"numberOfQueries\": " + numberOfQueries + ",");
+            json.println("  \"heuristic\": \"" + heuristicType + "\",");
+            json.println("  \"graphSeed\": " + BenchmarkGraphs.GRAPH_SEED +
+                         ",");
+            json.println("  \"querySeed\": " + BenchmarkGraphs.QUERY_SEED +
+                         ",");
+            json.println("  \"results\": [");
+            
+            for (int i = 0; i < results.size(); ++i) {
+                json.print("    " + results.get(i).toJson());
+                json.println(i + 1 < results.size() ? "," : "");
+            }
+            
+            json.println("  ]");
+            json.println("}");
+        }
+        
+        PrintWriter stdout = new PrintWriter(System.out);
+        writeCsv(stdout, results);
+        stdout.flush();
+    }
+    
+    /**
+     * Runs all the queries with the given pathfinder and beam width and
+     * summarizes them.
+     */
+    private SweepResult run(PathfinderBenchmark.PathfinderType pathfinderType,
+                            int beamWidth) {
+        Pathfinder pathfinder = pathfinderType.create(beamWidth);
+        
+        for (int pass = 0; pass < WARMUP_PASSES; ++pass) {
+            for (SearchQuery query : queries) {
+                search(pathfinder, query);
+            }
+        }
+        
+        int reachable = 0;
+        int failures = 0;
+        int optimal = 0;
+        double[] suboptimalities = new double[queries.length];
+        double[] expandedNodes = new double[queries.length];
+        double[] latencies = new double[queries.length];
+        int found = 0;
+        
+        for (int i = 0; i < queries.length; ++i) {
+            long startTime = System.nanoTime();
+            List<Integer> path = search(pathfinder, queries[i]);
+            latencies[i] = (System.nanoTime() - startTime) / 1000.0;
+            expandedNodes[i] = statistics.getExpandedNodes();
+            
+            if (Double.isInfinite(optimalLengths[i])) {
+                continue;
+            }
+            
+            ++reachable;
+            
+            if (path == null) {
+                ++failures;
+                continue;
+            }
+            
+            double suboptimality = optimalLengths[i] == 0.0 ?
+                    1.0 :
+                    getPathLength(path) / optimalLengths[i];
+            
+            if (suboptimality <= OPTIMALITY_TOLERANCE) {
+                ++optimal;
+            }
+            
+            suboptimalities[found++] = suboptimality;
+        }
+        
+        suboptimalities = Arrays.copyOf(suboptimalities, found);
+        Arrays.sort(suboptimalities);
+        Arrays.sort(expandedNodes);
+        Arrays.sort(latencies);
+        return new SweepResult(pathfinderType.name(),
+                               beamWidth,
+                               queries.length,
+                               reachable,
+                               failures,
+                               optimal,
+                               suboptimalities,
+                               expandedNodes,
+                               latencies);
+    }
+    
+    /**
+     * Runs {@code query} and returns its path, or {@code null} if the
+     * pathfinder did not find one.
+     */
+    private List<Integer> search(Pathfinder pathfinder, SearchQuery query) {
+        try {
+            return pathfinder.search(graph,
+                                     query.getSource(),
+                                     query.getTarget(),
+                                     heuristicFunction,
+                                     searchContext);
+        } catch (PathNotFoundException ex) {
+            return null;
+        }
+    }
+    
+    /**
+     * Computes the shortest path lengths of all the queries with Dijkstra's
+     * algorithm on a binary heap, independently of the pathfinders being 
+     * measured. Each search stops once its target is settled.
+     */
+    private double[] computeOptimalLengths() {
+        double[] distances = new double[graph.getNodeCapacity()];
+        boolean[] settled = new boolean[graph.getNodeCapacity()];
+        List<Integer> touched = new ArrayList<>();
+        PriorityQueue<QueueEntry> queue = new PriorityQueue<>();
+        double[] lengths = new double[queries.length];
+        Arrays.fill(distances, Double.POSITIVE_INFINITY);
+        
+        for (int i = 0; i < queries.length; ++i) {
+            int targetNode = queries[i].getTarget();
+            distances[queries[i].getSource()] = 0.0;
+            touched.add(queries[i].getSource());
+            queue.add(new QueueEntry(queries[i].getSource(), 0.0));
+            
+            while (!queue.isEmpty()) {
+                int node = queue.remove().node;
+                
+                if (settled[node]) {
+                    continue;
+                }
+                
+                settled[node] = true;
+                
+                if (node == targetNode) {
+                    break;
+                }
+                
+                for (int arc = graph.getFirstArc(node);
+                        arc < graph.getLastArc(node);
+                        ++arc) {
+                    int head = graph.getArcHead(arc);
+                    double distance = distances[node] + 
+                                      graph.getArcWeight(arc);
+                    
+                    if (distance < distances[head]) {
+                        if (distances[head] == Double.POSITIVE_INFINITY) {
+                            touched.add(head);
+                        }
+                        
+                        distances[head] = distance;
+                        queue.add(new QueueEntry(head, distance));
+                    }
+                }
+            }
+            
+            lengths[i] = distances[targetNode];
+            queue.clear();
+            
+            for (int node : touched) {
+                distances[node] = Double.POSITIVE_INFINITY;
+                settled[node] = false;
+            }
+            
+            touched.clear();
+        }
+        
+        return lengths;
+    }
+    
+    /**
+     * Returns the length of {@code path}, taking the lightest of the
+     * parallel arcs between each two consecutive nodes.
+     */
+    private double getPathLength(List<Integer> path) {
+        double length = 0.0;
+        
+        for (int i = 1; i < path.size(); ++i) {
+            int tail = path.get(i - 1);
+            int head = path.get(i);
+            double weight = Double.POSITIVE_INFINITY;
+            
+            for (int arc = graph.getFirstArc(tail);
+                    arc < graph.getLastArc(tail);
+                    ++arc) {
+                if (graph.getArcHead(arc) == head) {
+                    weight = Math.min(weight, graph.getArcWeight(arc));
+                }
+            }
+            
+            length += weight;
+        }
+        
+        return length;
+    }
+    
+    /**
+     * Parses a comma-separated list of beam widths, where {@code max}
+     * stands for the unbounded beam.
+     */
+    private static int[] parseBeamWidths(String value) {
+        String[] tokens = value.split(",");
+        int[] beamWidths = new int[tokens.length];
+        
+        for (int i = 0; i < tokens.length; ++i) {
+            String token = tokens[i].trim();
+            beamWidths[i] = token.equals("max") ?
+                    Integer.MAX_VALUE :
+                    Integer.parseInt(token);
+        }
+        
+        return beamWidths;
+    }
+    
+    private static PrintWriter open(Path file) throws IOException {
+        Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8);
+        return new PrintWriter(writer);
+    }
+    
+    private static void writeCsv(PrintWriter out, List<SweepResult> results) {
+        out.println(CSV_HEADER);
+        
+        for (SweepResult result : results) {
+            out.println(result.toCsv());
+        }
+    }
+    
+    /**
+     * Returns the value at {@code percentile} of the sorted
+     * {@code values} by the nearest rank, or {@code NaN} if there are no
+     * values.
+     */
+    private static double getPercentile(double[] values, double percentile) {
+        if (values.length == 0) {
+            return Double.NaN;
+        }
+        
+        int rank = (int) Math.ceil(percentile / 100.0 * values.length);
+        return values[Math.max(rank, 1) - 1];
+    }
+    
+    private static double getMean(double[] values) {
+        if (values.length == 0) {
+            return Double.NaN;
+        }
+        
+        double sum = 0.0;
+        
+        for (double value : values) {
+            sum += value;
+        }
+        
+        return sum / values.length;
+    }
+    
+    /**
+     * Formats {@code value} with six decimals regardless of the default
+     * locale.
+     */
+    private static String format(double value) {
+        return String.format(Locale.ROOT, "%.6f", value);
+    }
+    
+    /**
+     * The summary of one pathfinder and beam width.
+     */
+    /**
+     * A node in the queue of the Dijkstra search with the distance it was 
+     * queued at.
+     */
+    private static final class QueueEntry implements Comparable<QueueEntry> {
+        
+        final int node;
+        final double distance;
+        
+        QueueEntry(int node, double distance) {
+            this.node = node;
+            this.distance = distance;
+        }
+        
+        @Override
+        public int compareTo(QueueEntry other) {
+            return Double.compare(distance, other.distance);
+        }
+    }
+    
+    private static final class SweepResult {
+        
+        private final String pathfinder;
+        private final int beamWidth;
+        private final int queries;
+        private final int reachable;
+        private final int failures;
+        private final int optimal;
+        private final double[] suboptimalities;
+        private final double[] expandedNodes;
+        private final double[] latencies;
+        
+        SweepResult(String pathfinder,
+                    int beamWidth,
+                    int queries,
+                    int reachable,
+                    int failures,
+                    int optimal,
+                    double[] suboptimalities,
+                    double[] expandedNodes,
+                    double[] latencies) {
+            this.pathfinder      = pathfinder;
+            this.beamWidth       = beamWidth;
+            this.queries         = queries;
+            this.reachable       = reachable;
+            this.failures        = failures;
+            this.optimal         = optimal;
+            this.suboptimalities = suboptimalities;
+            this.expandedNodes   = expandedNodes;
+            this.latencies       = latencies;
+        }
+        
+        /**
+         * Returns the values in the order of the CSV columns; the integers
+         * as they are, and the undefined values as {@code null}.
+         */
+        private Object[] getValues() {
+            double reachableCount = Math.max(reachable, 1);
+            double[] doubles = {
+                failures / reachableCount,
+                optimal / reachableCount,
+                getMean(suboptimalities),
+                getPercentile(suboptimalities, 50.0),
+                getPercentile(suboptimalities, 90.0),
+                getPercentile(suboptimalities, 99.0),
+                getPercentile(suboptimalities, 100.0),
+                getMean(expandedNodes),
+                getPercentile(expandedNodes, 50.0),
+                getPercentile(expandedNodes, 99.0),
+                getMean(latencies),
+                getPercentile(latencies, 50.0),
+                getPercentile(latencies, 90.0),
+                getPercentile(latencies, 99.0),
+                getPercentile(latencies, 100.0),
+            };
+            
+            Object[] values = new Object[5 + doubles.length];
+            values[0] = pathfinder;
+            values[1] = beamWidth;
+            values[2] = queries;
+            values[3] = reachable;
+            values[4] = failures;
+            
+            for (int i = 0; i < doubles.length; ++i) {
+                values[5 + i] = Double.isNaN(doubles[i]) ?
+                        null :
+                        format(doubles[i]);
+            }
+            
+            return values;
+        }
+        
+        String toCsv() {
+            StringBuilder sb = new StringBuilder();
+            
+            for (Object value : getValues()) {
+                if (sb.length() > 0) {
+                    sb.append(',');
+                }
+                
+                if (value != null) {
+                    sb.append(value);
+                }
+            }
+            
+            return sb.toString();
+        }
+        
+        String toJson() {
+            String[] names = CSV_HEADER.split(",");
+            Object[] values = getValues();
+            StringBuilder sb = new StringBuilder("{");
+            
+            for (int i = 0; i < names.length; ++i) {
+                if (i > 0) {
+                    sb.append(", ");
+                }
+                
+                sb.append('"').append(names[i]).append("\": ");
+                
+                if (i == 0) {
+                    sb.append('"').append(values[i]).append('"');
+                } else {
+                    sb.append(values[i]);
+                }
+            }
+            
+            return sb.append('}').toString();
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package net.coderodde.graph.pathfinding.beamsearch.benchmark;
+
+import java.awt.geom.Point2D;
+import java.util.Random;
+import net.coderodde.graph.DirectedGraph;
+import net.coderodde.graph.pathfinding.beamsearch.Coordinates;
+import net.coderodde.graph.pathfinding.beamsearch.DefaultHeuristicFunction;
+import net.coderodde.graph.pathfinding.beamsearch.SearchQuery;
+
+/**
+ * This class generates the benchmark inputs. The graphs are laid out and 
+ * wired the same way as in {@code Demo}, but all the randomness comes from 
+ * fixed seeds so that every run, on every release, benchmarks the very same
+ * graphs and queries.
+ * 
+ * @author Rodion "rodde" Efremov
+ * @version 1.6 (Oct 16, 2026)
+ */
+final class BenchmarkGraphs {
+    
+    /**
+     * The seed of the graph layout and arcs.
+     */
+    static final long GRAPH_SEED = 20170910L;
+    
+    /**
+     * The seed of the query set.
+     */
+    static final long QUERY_SEED = 20261016L;
+    
+    /**
+     * The width of the plane containing all the graph nodes.
+     */
+    private static final double GRAPH_LAYOUT_WIDTH  = 1000.0;
+    
+    /**
+     * The height of the plane containing all the graph nodes.
+     */
+    private static final double GRAPH_LAYOUT_HEIGHT = 1000.0;
+    
+    /**
+     * Given two nodes {@code u} and {@code v}, the cost of the arc
+     * {@code (u,v)} will be their Euclidean distance times this factor.
+     */
+    private static final double ARC_LENGTH_FACTOR = 1.2;
+    
+    private BenchmarkGraphs() {}
+    
+    static final class GraphData {
+        DirectedGraph graph;
+        Coordinates coordinates;
+    }
+    
+    static GraphData createGraph(int nodes, int averageDegree) {
+        Random random = new Random(GRAPH_SEED);
+        DirectedGraph graph = new DirectedGraph();
+        Coordinates coordinates = new Coordinates();
+        
+        for (int node = 0; node < nodes; ++node) {
+            graph.addNode(node);
+            coordinates.put(node, 
+                            new Point2D.Double(
+                                    random.nextDouble() * GRAPH_LAYOUT_WIDTH,
+                                    random.nextDouble() * GRAPH_LAYOUT_HEIGHT));
+        }
+        
+        DefaultHeuristicFunction euclidean = 
+                new DefaultHeuristicFunction(coordinates);
+        long arcs = (long) nodes * averageDegree;
+        
+        for (long arc = 0; arc < arcs; ++arc) {
+            int source = random.nextInt(nodes);
+            int target = random.nextInt(nodes);
+            graph.addEdge(source, 
+                          target, 
+                          ARC_LENGTH_FACTOR * 
+                                  euclidean.estimate(source, target));
+        }
+        
+        GraphData data = new GraphData();
+        data.graph = graph;
+        data.coordinates = coordinates;
+        return data;
+    }
+    
+    static SearchQuery[] createQueries(int nodes, int numberOfQueries) {
+        Random random = new Random(QUERY_SEED);
+        SearchQuery[] queries = new SearchQuery[numberOfQueries];
+        
+        for (int i = 0; i < numberOfQueries; ++i) {
+            queries[i] = new SearchQuery(random.nextInt(nodes),
+                                         random.nextInt(nodes));
+        }
+        
+        return queries;
+    }
+}
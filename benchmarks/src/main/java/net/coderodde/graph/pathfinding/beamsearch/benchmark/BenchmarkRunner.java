@@ -0,0 +1,50 @@
+package net.coderodde.graph.pathfinding.beamsearch.benchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * This class runs the benchmarks with the allocation profiler attached and 
+ * writes the results as JSON, so that the runs of different releases can be
+ * compared. Any standard JMH command line option may be passed as well, for
+ * example {@code -p beamWidth=1,4,16} to widen the small default parameter
+ * grid; see {@link PathfinderBenchmark} for the options of the full sweep:
+ * <pre>
+ * mvn package
+ * java -jar benchmarks/target/benchmarks.jar -rff results.json
+ * </pre>
+ * 
+ * @author Rodion "rodde" Efremov
+ * @version 1.6 (Oct 16, 2026)
+ */
+public final class BenchmarkRunner {
+    
+    /**
+     * The default name of the result file.
+     */
+    private static final String RESULT_FILE = "jmh-result.json";
+    
+    public static void main(String[] args) throws CommandLineOptionException,
+                                                  RunnerException {
+        CommandLineOptions commandLineOptions = new CommandLineOptions(args);
+        ChainedOptionsBuilder builder = 
+                new OptionsBuilder()
+                        .parent(commandLineOptions)
+                        .addProfiler(GCProfiler.class)
+                        .resultFormat(ResultFormatType.JSON)
+                        .result(commandLineOptions.getResult()
+                                                  .orElse(RESULT_FILE));
+        
+        if (commandLineOptions.getIncludes().isEmpty()) {
+            builder.include(PathfinderBenchmark.class.getSimpleName());
+        }
+        
+        new Runner(builder.build()).run();
+    }
+}
@@ -0,0 +1,211 @@
+package net.coderodde.graph.pathfinding.beamsearch.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import net.coderodde.graph.pathfinding.beamsearch.BeamSearchPathfinder;
+import net.coderodde.graph.pathfinding.beamsearch.BidirectionalBeamSearchPathfinder;
+import net.coderodde.graph.pathfinding.beamsearch.CompactGraph;
+import net.coderodde.graph.pathfinding.beamsearch.DaryHeapOpenList;
+import net.coderodde.graph.pathfinding.beamsearch.DefaultHeuristicFunction;
+import net.coderodde.graph.pathfinding.beamsearch.EuclideanHeuristicFunction;
+import net.coderodde.graph.pathfinding.beamsearch.IntHeuristicFunction;
+import net.coderodde.graph.pathfinding.beamsearch.LandmarkHeuristicFunction;
+import net.coderodde.graph.pathfinding.beamsearch.OpenList;
+import net.coderodde.graph.pathfinding.beamsearch.PathNotFoundException;
+import net.coderodde.graph.pathfinding.beamsearch.Pathfinder;
+import net.coderodde.graph.pathfinding.beamsearch.PriorityQueueOpenList;
+import net.coderodde.graph.pathfinding.beamsearch.RadixHeapOpenList;
+import net.coderodde.graph.pathfinding.beamsearch.SearchContext;
+import net.coderodde.graph.pathfinding.beamsearch.SearchQuery;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * This class benchmarks single point-to-point queries. Each invocation runs
+ * the next query of a fixed query set, cycling through it, so that every 
+ * benchmark mode is measured over the same mix of short and long queries.
+ * <p>
+ * The defaults are a small representative grid measured by the average 
+ * time, which runs in a few minutes. The full sweep over all the parameter
+ * values and modes takes many hours and is requested with the JMH options:
+ * <pre>
+ * java -jar benchmarks/target/benchmarks.jar -bm thrpt,avgt,sample -f 2 \
+ *     -p graphSize=10000,250000 -p averageDegree=3,6 \
+ *     -p beamWidth=1,4,16,2147483647 \
+ *     -p pathfinderType=BEAM_SEARCH,BIDIRECTIONAL_BEAM_SEARCH \
+ *     -p heuristicType=EUCLIDEAN,DENSE_EUCLIDEAN,LANDMARKS,ZERO \
+ *     -p openListType=PRIORITY_QUEUE,DARY_HEAP,RADIX_HEAP \
+ *     -jvmArgsAppend "-Xms4g -Xmx4g"
+ * </pre>
+ * 
+ * @author Rodion "rodde" Efremov
+ * @version 1.6 (Oct 16, 2026)
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+@State(Scope.Thread)
+public class PathfinderBenchmark {
+    
+    /**
+     * The number of queries in the fixed query set.
+     */
+    private static final int NUMBER_OF_QUERIES = 256;
+    
+    /**
+     * The number of landmarks of the landmark heuristic.
+     */
+    private static final int NUMBER_OF_LANDMARKS = 16;
+    
+    @Param({"10000"})
+    public int graphSize;
+    
+    @Param({"6"})
+    public int averageDegree;
+    
+    @Param({"4", "2147483647"})
+    public int beamWidth;
+    
+    @Param({"BEAM_SEARCH", "BIDIRECTIONAL_BEAM_SEARCH"})
+    public PathfinderType pathfinderType;
+    
+    @Param({"DENSE_EUCLIDEAN", "LANDMARKS"})
+    public HeuristicType heuristicType;
+    
+    @Param({"DARY_HEAP"})
+    public OpenListType openListType;
+    
+    private CompactGraph graph;
+    private IntHeuristicFunction heuristicFunction;
+    private Pathfinder pathfinder;
+    private SearchContext searchContext;
+    private SearchQuery[] queries;
+    private int queryIndex;
+    
+    public enum PathfinderType {
+        BEAM_SEARCH {
+            @Override
+            Pathfinder create(int beamWidth) {
+                return new BeamSearchPathfinder(beamWidth);
+            }
+        },
+        
+        BIDIRECTIONAL_BEAM_SEARCH {
+            @Override
+            Pathfinder create(int beamWidth) {
+                return new BidirectionalBeamSearchPathfinder(beamWidth);
+            }
+        };
+        
+        abstract Pathfinder create(int beamWidth);
+    }
+    
+    public enum HeuristicType {
+        EUCLIDEAN {
+            @Override
+            IntHeuristicFunction create(BenchmarkGraphs.GraphData data,
+                                        CompactGraph graph) {
+                return new DefaultHeuristicFunction(data.coordinates);
+            }
+        },
+        
+        DENSE_EUCLIDEAN {
+            @Override
+            IntHeuristicFunction create(BenchmarkGraphs.GraphData data,
+                                        CompactGraph graph) {
+                return new EuclideanHeuristicFunction(
+                        data.coordinates.toDenseCoordinates());
+            }
+        },
+        
+        LANDMARKS {
+            @Override
+            IntHeuristicFunction create(BenchmarkGraphs.GraphData data,
+                                        CompactGraph graph) {
+                return new LandmarkHeuristicFunction(
+                        graph,
+                        NUMBER_OF_LANDMARKS,
+                        LandmarkHeuristicFunction.LandmarkSelection.AVOID,
+                        new EuclideanHeuristicFunction(
+                                data.coordinates.toDenseCoordinates()));
+            }
+        },
+        
+        ZERO {
+            @Override
+            IntHeuristicFunction create(BenchmarkGraphs.GraphData data,
+                                        CompactGraph graph) {
+                return (source, target) -> 0.0;
+            }
+        };
+        
+        abstract IntHeuristicFunction create(BenchmarkGraphs.GraphData data,
+                                        CompactGraph graph);
+    }
+    
+    public enum OpenListType {
+        PRIORITY_QUEUE {
+            @Override
+            OpenList create() {
+                return new PriorityQueueOpenList();
+            }
+        },
+        
+        DARY_HEAP {
+            @Override
+            OpenList create() {
+                return new DaryHeapOpenList();
+            }
+        },
+        
+        RADIX_HEAP {
+            @Override
+            OpenList create() {
+                return new RadixHeapOpenList();
+            }
+        };
+        
+        abstract OpenList create();
+    }
+    
+    @Setup(Level.Trial)
+    public void setUp() {
+        BenchmarkGraphs.GraphData data = 
+                BenchmarkGraphs.createGraph(graphSize, averageDegree);
+        graph = CompactGraph.fromGraph(data.graph);
+        heuristicFunction = heuristicType.create(data, graph);
+        pathfinder = pathfinderType.create(beamWidth);
+        searchContext = new SearchContext(graph.getNodeCapacity(), 
+                                          openListType::create);
+        queries = BenchmarkGraphs.createQueries(graphSize, NUMBER_OF_QUERIES);
+        queryIndex = 0;
+    }
+    
+    @Benchmark
+    public List<Integer> search() {
+        SearchQuery query = queries[queryIndex];
+        queryIndex = (queryIndex + 1) % queries.length;
+        
+        try {
+            return pathfinder.search(graph,
+                                     query.getSource(),
+                                     query.getTarget(),
+                                     heuristicFunction,
+                                     searchContext);
+        } catch (PathNotFoundException ex) {
+            return null;
+        }
+    }
+}
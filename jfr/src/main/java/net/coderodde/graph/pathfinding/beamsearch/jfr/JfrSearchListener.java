@@ -0,0 +1,97 @@
+package net.coderodde.graph.pathfinding.beamsearch.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import net.coderodde.graph.pathfinding.beamsearch.SearchListener;
+import net.coderodde.graph.pathfinding.beamsearch.SearchStatistics;
+
+/**
+ * This class emits a Java Flight Recorder event per query, carrying the query
+ * duration and, if statistics are attached to the context, the work counts. 
+ * The event is named {@code net.coderodde.beamsearch.Search} and may be
+ * enabled, given a duration threshold, in a JFR settings file. When it is 
+ * not enabled, a query costs one short-lived event allocation and nothing
+ * else. Keep one instance per context.
+ * <p>
+ * The {@code jdk.jfr} API needs Java 11, so this listener ships in its own
+ * artifact, {@code BeamSearch-jfr}, and the core library stays on Java 8.
+ * 
+ * @author Rodion "rodde" Efremov
+ * @version 1.6 (Oct 16, 2026)
+ */
+public final class JfrSearchListener implements SearchListener {
+    
+    private SearchEvent event;
+    
+    @Override
+    public void onSearchStarted(int sourceNode, int targetNode) {
+        event = new SearchEvent();
+        
+        if (event.isEnabled()) {
+            event.sourceNode = sourceNode;
+            event.targetNode = targetNode;
+            event.begin();
+        }
+    }
+    
+    @Override
+    public void onSearchFinished(boolean pathFound, 
+                                 SearchStatistics statistics) {
+        SearchEvent event = this.event;
+        this.event = null;
+        
+        if (event == null || !event.isEnabled()) {
+            return;
+        }
+        
+        event.end();
+        
+        if (event.shouldCommit()) {
+            event.pathFound = pathFound;
+            
+            if (statistics != null) {
+                event.expandedNodes = statistics.getExpandedNodes();
+                event.heapPushes = statistics.getHeapPushes();
+                event.stalePops = statistics.getStalePops();
+                event.prunedSuccessors = statistics.getPrunedSuccessors();
+                event.peakOpenSize = statistics.getPeakOpenSize();
+            }
+            
+            event.commit();
+        }
+    }
+    
+    @Name("net.coderodde.beamsearch.Search")
+    @Label("Beam Search Query")
+    @Category("Beam Search")
+    @Description("A single point-to-point query.")
+    static final class SearchEvent extends Event {
+        
+        @Label("Source Node")
+        int sourceNode;
+        
+        @Label("Target Node")
+        int targetNode;
+        
+        @Label("Path Found")
+        boolean pathFound;
+        
+        @Label("Expanded Nodes")
+        long expandedNodes;
+        
+        @Label("Heap Pushes")
+        long heapPushes;
+        
+        @Label("Stale Pops")
+        long stalePops;
+        
+        @Label("Pruned Successors")
+        long prunedSuccessors;
+        
+        @Label("Peak Open Size")
+        int peakOpenSize;
+    }
+}
@@ -0,0 +1,63 @@
+package net.coderodde.graph.pathfinding.beamsearch;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * This class holds the result of an adaptive search: the path found, and the
+ * beam width the search had widened to by the time it found it.
+ * 
+ * @author Rodion "rodde" Efremov
+ * @version 1.6 (Oct 16, 2026)
+ */
+public final class AdaptiveResult {
+    
+    private final List<Integer> path;
+    private final int beamWidth;
+    private final int widenings;
+    private final long expandedNodes;
+    
+    AdaptiveResult(List<Integer> path,
+                   int beamWidth,
+                   int widenings,
+                   long expandedNodes) {
+        this.path          = Collections.unmodifiableList(path);
+        this.beamWidth     = beamWidth;
+        this.widenings     = widenings;
+        this.expandedNodes = expandedNodes;
+    }
+    
+    public List<Integer> getPath() {
+        return path;
+    }
+    
+    /**
+     * Returns the beam width in effect when the path was found.
+     * 
+     * @return the final beam width.
+     */
+    public int getBeamWidth() {
+        return beamWidth;
+    }
+    
+    /**
+     * Returns the number of times the beam was widened. Zero means the path
+     * was found with the initial beam width.
+     * 
+     * @return the number of widenings.
+     */
+    public int getNumberOfWidenings() {
+        return widenings;
+    }
+    
+    /**
+     * Returns the number of the node expansions over all the rounds. A node
+     * is expanded at most once; the widening only generates its successors
+     * left out before.
+     * 
+     * @return the number of expanded nodes.
+     */
+    public long getExpandedNodes() {
+        return expandedNodes;
+    }
+}
@@ -0,0 +1,131 @@
+package net.coderodde.graph.pathfinding.beamsearch;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * This class holds the result of an anytime search. If the search found a 
+ * path before it was stopped, the result holds the shortest path found. 
+ * Otherwise it holds the most promising partial path, that is, the path from
+ * the source node to the open node with the lowest priority.
+ * 
+ * @author Rodion "rodde" Efremov
+ * @version 1.6 (Oct 16, 2026)
+ */
+public final class AnytimeResult {
+    
+    /**
+     * The reasons an anytime search ends.
+     */
+    public enum Termination {
+        
+        /**
+         * The search ran to the end: widening the beam further can not 
+         * change the result.
+         */
+        COMPLETED,
+        
+        /**
+         * The timeout expired.
+         */
+        DEADLINE,
+        
+        /**
+         * The maximum number of node expansions was reached.
+         */
+        EXPANSION_BUDGET,
+        
+        /**
+         * The search was cancelled.
+         */
+        CANCELLED
+    }
+    
+    private final List<Integer> path;
+    private final boolean complete;
+    private final double pathLength;
+    private final double lowerBound;
+    private final Termination termination;
+    private final int beamWidth;
+    private final long expandedNodes;
+    
+    AnytimeResult(List<Integer> path,
+                  boolean complete,
+                  double pathLength,
+                  double lowerBound,
+                  Termination termination,
+                  int beamWidth,
+                  long expandedNodes) {
+        this.path          = Collections.unmodifiableList(path);
+        this.complete      = complete;
+        this.pathLength    = pathLength;
+        this.lowerBound    = lowerBound;
+        this.termination   = termination;
+        this.beamWidth     = beamWidth;
+        this.expandedNodes = expandedNodes;
+    }
+    
+    /**
+     * Returns the path. It starts at the source node, and ends at the target
+     * node if and only if {@link #isComplete()} returns {@code true}.
+     * 
+     * @return the path.
+     */
+    public List<Integer> getPath() {
+        return path;
+    }
+    
+    public boolean isComplete() {
+        return complete;
+    }
+    
+    /**
+     * Returns the length of the path returned by {@link #getPath()}.
+     * 
+     * @return the length of the path.
+     */
+    public double getPathLength() {
+        return pathLength;
+    }
+    
+    /**
+     * Returns a lower bound on the length of any path to the target that 
+     * starts with {@link #getPath()}: the path length plus the heuristic 
+     * estimate of the rest. The bound is valid if the heuristic function is
+     * admissible. For a complete path it equals the path length.
+     * 
+     * @return the lower bound.
+     */
+    public double getLowerBound() {
+        return lowerBound;
+    }
+    
+    public Termination getTermination() {
+        return termination;
+    }
+    
+    /**
+     * Returns the beam width of the last round of the search.
+     * 
+     * @return the last beam width.
+     */
+    public int getBeamWidth() {
+        return beamWidth;
+    }
+    
+    /**
+     * Returns the number of nodes expanded over all the rounds.
+     * 
+     * @return the number of expanded nodes.
+     */
+    public long getExpandedNodes() {
+        return expandedNodes;
+    }
+    
+    @Override
+    public String toString() {
+        return "[" + termination + (complete ? ", complete" : ", partial") + 
+               ", length = " + pathLength + ", lower bound = " + lowerBound + 
+               ", path = " + path + "]";
+    }
+}
@@ -0,0 +1,163 @@
+package net.coderodde.graph.pathfinding.beamsearch;
+
+import java.util.List;
+
+/**
+ * This class implements the anytime mode shared by the beam search 
+ * pathfinders. The search runs in rounds. Each round is an ordinary beam 
+ * search, except that it skips the nodes whose priority reaches the length 
+ * of the best path found so far (the incumbent). Every round that finds a 
+ * path improves the incumbent, and then the beam width is doubled. The 
+ * search completes once a round runs with a beam wide enough to keep all 
+ * the successors, and stops early when the {@link SearchLimits} are reached.
+ * 
+ * @author Rodion "rodde" Efremov
+ * @version 1.6 (Oct 16, 2026)
+ */
+final class AnytimeSearch {
+    
+    /**
+     * This interface defines one round of an anytime search.
+     */
+    @FunctionalInterface
+    interface Round {
+        
+        /**
+         * Searches for a path shorter than {@code upperBound} with a fixed 
+         * beam width. Returns the path, or {@code null} if {@code budget} 
+         * ran out, in which case the partial path has been recorded in it.
+         * 
+         * @throws PathNotFoundException if the search space was exhausted.
+         */
+        List<Integer> search(CompactGraph graph,
+                             int sourceNode,
+                             int targetNode,
+                             IntHeuristicFunction heuristicFunction,
+                             SearchContext searchContext,
+                             int beamWidth,
+                             SearchBudget budget,
+                             double upperBound);
+    }
+    
+    private AnytimeSearch() {}
+    
+    /**
+     * Runs the anytime search.
+     * 
+     * @param round             the round implementation.
+     * @param fullBeamWidth     the beam width from which on nothing is 
+     *                          pruned.
+     * @param incumbentListener the listener of the incumbents, or 
+     *                          {@code null}.
+     * @throws PathNotFoundException if the search completes without finding
+     *                               any path.
+     */
+    static AnytimeResult run(Round round,
+                             CompactGraph graph,
+                             int sourceNode,
+                             int targetNode,
+                             IntHeuristicFunction heuristicFunction,
+                             SearchContext searchContext,
+                             int beamWidth,
+                             int fullBeamWidth,
+                             SearchLimits limits,
+                             IncumbentListener incumbentListener) {
+        SearchBudget budget = new SearchBudget(limits);
+        List<Integer> incumbent = null;
+        double incumbentLength = Double.POSITIVE_INFINITY;
+        
+        while (true) {
+            List<Integer> path;
+            
+            try {
+                path = round.search(graph,
+                                    sourceNode,
+                                    targetNode,
+                                    heuristicFunction,
+                                    searchContext,
+                                    beamWidth,
+                                    budget,
+                                    incumbentLength);
+            } catch (PathNotFoundException ex) {
+                if (beamWidth < fullBeamWidth) {
+                    beamWidth = widen(beamWidth);
+                    continue;
+                }
+                
+                if (incumbent == null) {
+                    throw ex;
+                }
+                
+                return new AnytimeResult(incumbent,
+                                         true,
+                                         incumbentLength,
+                                         incumbentLength,
+                                         AnytimeResult.Termination.COMPLETED,
+                                         beamWidth,
+                                         budget.getExpansions());
+            }
+            
+            if (path == null) {
+                if (incumbent != null) {
+                    return new AnytimeResult(incumbent,
+                                             true,
+                                             incumbentLength,
+                                             incumbentLength,
+                                             budget.getTermination(),
+                                             beamWidth,
+                                             budget.getExpansions());
+                }
+                
+                return new AnytimeResult(budget.getPartialPath(),
+                                         false,
+                                         budget.getPartialPathLength(),
+                                         budget.getPartialLowerBound(),
+                                         budget.getTermination(),
+                                         beamWidth,
+                                         budget.getExpansions());
+            }
+            
+            double pathLength = getPathLength(graph, path);
+            
+            if (incumbentLength > pathLength) {
+                incumbent = path;
+                incumbentLength = pathLength;
+                
+                if (incumbentListener != null) {
+                    incumbentListener.onIncumbent(path, pathLength);
+                }
+            }
+            
+            if (beamWidth >= fullBeamWidth) {
+                return new AnytimeResult(incumbent,
+                                         true,
+                                         incumbentLength,
+                                         incumbentLength,
+                                         AnytimeResult.Termination.COMPLETED,
+                                         beamWidth,
+                                         budget.getExpansions());
+            }
+            
+            beamWidth = widen(beamWidth);
+        }
+    }
+    
+    /**
+     * Returns the length of {@code path} in {@code graph}.
+     */
+    static double getPathLength(CompactGraph graph, List<Integer> path) {
+        double pathLength = 0.0;
+        
+        for (int i = 0; i < path.size() - 1; ++i) {
+            pathLength += graph.getEdgeWeight(path.get(i), path.get(i + 1));
+        }
+        
+        return pathLength;
+    }
+    
+    static int widen(int beamWidth) {
+        return beamWidth > Integer.MAX_VALUE / 2 ? 
+               Integer.MAX_VALUE : 
+               2 * beamWidth;
+    }
+}
@@ -0,0 +1,492 @@
+package net.coderodde.graph.pathfinding.beamsearch;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * This class holds the arc flags of a {@link CompactGraph}. The nodes are
+ * partitioned into regions, and each arc carries one flag per region, set
+ * if the arc lies on a shortest path into that region. A search towards a
+ * target may then skip every arc whose flag for the region of the target is
+ * unset, and still find a shortest path.
+ * <p>
+ * The flags are kept as one bitset row per region, indexed by the arc IDs
+ * of the graph, so a query reads only the row of its target region. An arc
+ * gets the flag of its region if both its end nodes are in the region, and
+ * the flag of any region for which it lies on a shortest path into one of
+ * the boundary nodes, that is, the nodes of the region with an arc entering
+ * them from the outside. The flags of each region take one backward
+ * Dijkstra search per boundary node; the regions are computed in parallel.
+ * <p>
+ * The flags are valid only for the graph they were computed from, and only
+ * while its arc weights do not change. An instance is immutable and may be
+ * shared between threads.
+ * 
+ * @author Rodion "rodde" Efremov
+ * @version 1.6 (Oct 16, 2026)
+ */
+public final class ArcFlags {
+    
+    /**
+     * {@code regions[u]} is the region of the node {@code u}, or {@code -1}
+     * if {@code u} is not in the graph.
+     */
+    private final int[] regions;
+    
+    /**
+     * The number of regions.
+     */
+    private final int regionCount;
+    
+    /**
+     * The number of arcs in the graph.
+     */
+    private final int numberOfArcs;
+    
+    /**
+     * The checksum of the graph, compared against the graph of each query.
+     */
+    private final long graphChecksum;
+    
+    /**
+     * The number of {@code long} words in the bitset row of a region.
+     */
+    private final int wordsPerRegion;
+    
+    /**
+     * The bitset rows of the regions, one after another. The flag of the
+     * arc {@code a} for the region {@code r} is the bit {@code a % 64} of
+     * the word {@code r * wordsPerRegion + a / 64}.
+     */
+    private final long[] flags;
+    
+    private ArcFlags(int[] regions,
+                     int regionCount,
+                     int numberOfArcs,
+                     long graphChecksum,
+                     long[] flags) {
+        this.regions        = regions;
+        this.regionCount    = regionCount;
+        this.numberOfArcs   = numberOfArcs;
+        this.graphChecksum  = graphChecksum;
+        this.wordsPerRegion = getWordsPerRegion(numberOfArcs);
+        this.flags          = flags;
+        
+        if (flags.length != (long) regionCount * wordsPerRegion) {
+            throw new IllegalStateException(
+                    "The arc flags hold " + flags.length + " words, " +
+                    regionCount + " regions need " + 
+                    (long) regionCount * wordsPerRegion + ".");
+        }
+    }
+    
+    /**
+     * Computes the arc flags of {@code graph} on the common fork/join pool,
+     * partitioning the nodes by a grid of {@code columns} times
+     * {@code rows} cells laid over the bounding box of their coordinates.
+     * 
+     * @param graph       the graph.
+     * @param coordinates the coordinates of the graph nodes.
+     * @param columns     the number of grid columns.
+     * @param rows        the number of grid rows.
+     * @return the arc flags.
+     */
+    public static ArcFlags compute(CompactGraph graph,
+                                   DenseCoordinates coordinates,
+                                   int columns,
+                                   int rows) {
+        return compute(graph,
+                       coordinates,
+                       columns,
+                       rows,
+                       ForkJoinPool.commonPool());
+    }
+    
+    /**
+     * Computes the arc flags of {@code graph} on {@code executor},
+     * partitioning the nodes by a grid of {@code columns} times
+     * {@code rows} cells laid over the bounding box of their coordinates.
+     * Each cell is a region; the empty cells are kept but never flagged.
+     * 
+     * @param graph       the graph.
+     * @param coordinates the coordinates of the graph nodes.
+     * @param columns     the number of grid columns.
+     * @param rows        the number of grid rows.
+     * @param executor    the executor to run the preprocessing on.
+     * @return the arc flags.
+     * @throws IllegalArgumentException if a graph node has no coordinates.
+     */
+    public static ArcFlags compute(CompactGraph graph,
+                                   DenseCoordinates coordinates,
+                                   int columns,
+                                   int rows,
+                                   Executor executor) {
+        Objects.requireNonNull(graph, "The input graph is null.");
+        Objects.requireNonNull(coordinates, "The coordinates are null.");
+        
+        if (columns < 1 || rows < 1) {
+            throw new IllegalArgumentException(
+                    "The grid size " + columns + " x " + rows +
+                    " is not positive.");
+        }
+        
+        if ((long) columns * rows > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException(
+                    "The grid size " + columns + " x " + rows +
+                    " is too large.");
+        }
+        
+        int nodeCapacity = graph.getNodeCapacity();
+        double minX = Double.POSITIVE_INFINITY;
+        double minY = Double.POSITIVE_INFINITY;
+        double maxX = Double.NEGATIVE_INFINITY;
+        double maxY = Double.NEGATIVE_INFINITY;
+        
+        for (int node = 0; node < nodeCapacity; ++node) {
+            if (!graph.hasNode(node)) {
+                continue;
+            }
+            
+            if (!coordinates.hasNode(node)) {
+                throw new IllegalArgumentException(
+                        "The node " + node + " has no coordinates.");
+            }
+            
+            minX = Math.min(minX, coordinates.getX(node));
+            minY = Math.min(minY, coordinates.getY(node));
+            maxX = Math.max(maxX, coordinates.getX(node));
+            maxY = Math.max(maxY, coordinates.getY(node));
+        }
+        
+        int[] regions = new int[nodeCapacity];
+        
+        for (int node = 0; node < nodeCapacity; ++node) {
+            if (graph.hasNode(node)) {
+                int column = getCell(coordinates.getX(node),
+                                     minX,
+                                     maxX,
+                                     columns);
+                int row = getCell(coordinates.getY(node), minY, maxY, rows);
+                regions[node] = row * columns + column;
+            } else {
+                regions[node] = -1;
+            }
+        }
+        
+        return compute(graph, regions, columns * rows, executor);
+    }
+    
+    /**
+     * Computes the arc flags of {@code graph} on {@code executor} for the
+     * partition given by {@code regions}, for example one computed by a
+     * graph partitioner. The node {@code u} belongs to the region
+     * {@code regions[u]}; the entries of the nodes not in the graph are
+     * ignored.
+     * 
+     * @param graph       the graph.
+     * @param regions     the regions of the nodes.
+     * @param regionCount the number of regions.
+     * @param executor    the executor to run the preprocessing on.
+     * @return the arc flags.
+     * @throws IllegalArgumentException if a graph node has no region in
+     *                                  {@code [0, regionCount)}.
+     */
+    public static ArcFlags compute(CompactGraph graph,
+                                   int[] regions,
+                                   int regionCount,
+                                   Executor executor) {
+        Objects.requireNonNull(graph, "The input graph is null.");
+        Objects.requireNonNull(regions, "The region array is null.");
+        Objects.requireNonNull(executor, "The executor is null.");
+        
+        int nodeCapacity = graph.getNodeCapacity();
+        
+        if (regions.length < nodeCapacity) {
+            throw new IllegalArgumentException(
+                    "The region array has length " + regions.length +
+                    ", the graph needs " + nodeCapacity + ".");
+        }
+        
+        if (regionCount < 1) {
+            throw new IllegalArgumentException(
+                    "The number of regions is not positive: " + regionCount);
+        }
+        
+        int numberOfArcs = graph.getNumberOfArcs();
+        long words = (long) regionCount * getWordsPerRegion(numberOfArcs);
+        
+        if (words > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException(
+                    "The arc flags of " + regionCount + " regions over " +
+                    numberOfArcs + " arcs do not fit in an array.");
+        }
+        
+        int[] nodeRegions = new int[nodeCapacity];
+        
+        for (int node = 0; node < nodeCapacity; ++node) {
+            if (!graph.hasNode(node)) {
+                nodeRegions[node] = -1;
+                continue;
+            }
+            
+            int region = regions[node];
+            
+            if (region < 0 || region >= regionCount) {
+                throw new IllegalArgumentException(
+                        "The node " + node + " has the region " + region +
+                        " outside of [0, " + regionCount + ").");
+            }
+            
+            nodeRegions[node] = region;
+        }
+        
+        ArcFlags arcFlags = new ArcFlags(nodeRegions,
+                                         regionCount,
+                                         numberOfArcs,
+                                         graph.getChecksum(),
+                                         new long[(int) words]);
+        arcFlags.computeFlags(graph, executor);
+        return arcFlags;
+    }
+    
+    /**
+     * Returns the number of regions.
+     * 
+     * @return the number of regions.
+     */
+    public int getRegionCount() {
+        return regionCount;
+    }
+    
+    /**
+     * Returns the number of arcs in the graph the flags were computed for.
+     * 
+     * @return the number of arcs.
+     */
+    public int getNumberOfArcs() {
+        return numberOfArcs;
+    }
+    
+    /**
+     * Returns the node capacity of the graph the flags were computed for.
+     * 
+     * @return the node capacity.
+     */
+    public int getNodeCapacity() {
+        return regions.length;
+    }
+    
+    /**
+     * Makes sure these flags were computed for {@code graph}: the node 
+     * capacity, the number of arcs and the checksum of the nodes and the 
+     * arcs must all match. The checksum is cached by the graph, so only the
+     * first check of a graph scans its arcs.
+     * 
+     * @param graph the graph to be searched with these flags.
+     * @throws IllegalArgumentException if the flags belong to another graph.
+     */
+    void checkGraph(CompactGraph graph) {
+        if (graph.getNodeCapacity() != regions.length) {
+            throw new IllegalArgumentException(
+                    "The arc flags cover " + regions.length + " nodes, " +
+                    "the graph has " + graph.getNodeCapacity() + ".");
+        }
+        
+        if (graph.getNumberOfArcs() != numberOfArcs) {
+            throw new IllegalArgumentException(
+                    "The arc flags cover " + numberOfArcs + " arcs, " +
+                    "the graph has " + graph.getNumberOfArcs() + ".");
+        }
+        
+        if (graph.getChecksum() != graphChecksum) {
+            throw new IllegalArgumentException(
+                    "The arc flags were computed for a graph with other " +
+                    "arcs or weights.");
+        }
+    }
+    
+    /**
+     * Returns the region of {@code node}, or {@code -1} if it is not in the
+     * graph.
+     * 
+     * @param node the node.
+     * @return the region of the node.
+     */
+    public int getRegion(int node) {
+        return node >= 0 && node < regions.length ? regions[node] : -1;
+    }
+    
+    /**
+     * Tells whether {@code arc} lies on a shortest path into
+     * {@code region}.
+     * 
+     * @param arc    the arc.
+     * @param region the region.
+     * @return {@code true} if the flag of the arc for the region is set.
+     */
+    public boolean isFlagged(int arc, int region) {
+        return (flags[region * wordsPerRegion + (arc >>> 6)] &
+                (1L << arc)) != 0L;
+    }
+    
+    /**
+     * Fills the bitset rows, splitting the regions into chunks run on
+     * {@code executor}. Each region writes only its own row.
+     */
+    private void computeFlags(CompactGraph graph, Executor executor) {
+        int nodeCapacity = graph.getNodeCapacity();
+        
+        // Sort the boundary nodes by their regions.
+        int[] boundaryOffsets = new int[regionCount + 1];
+        boolean[] isBoundary = new boolean[nodeCapacity];
+        
+        for (int node = 0; node < nodeCapacity; ++node) {
+            int region = regions[node];
+            
+            if (region == -1) {
+                continue;
+            }
+            
+            int lastArc = graph.getLastReverseArc(node);
+            
+            for (int arc = graph.getFirstReverseArc(node);
+                    arc < lastArc;
+                    ++arc) {
+                if (regions[graph.getReverseArcTail(arc)] != region) {
+                    isBoundary[node] = true;
+                    ++boundaryOffsets[region + 1];
+                    break;
+                }
+            }
+        }
+        
+        for (int region = 0; region < regionCount; ++region) {
+            boundaryOffsets[region + 1] += boundaryOffsets[region];
+        }
+        
+        int[] boundaryNodes = new int[boundaryOffsets[regionCount]];
+        int[] positions = Arrays.copyOf(boundaryOffsets, regionCount);
+        
+        for (int node = 0; node < nodeCapacity; ++node) {
+            if (isBoundary[node]) {
+                boundaryNodes[positions[regions[node]]++] = node;
+            }
+        }
+        
+        int chunkSize = BatchSearch.getChunkSize(regionCount, executor);
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+        
+        for (int from = 0; from < regionCount; from += chunkSize) {
+            int chunkFrom = from;
+            int chunkTo = Math.min(from + chunkSize, regionCount);
+            
+            futures.add(CompletableFuture.runAsync(() -> {
+                DijkstraSearch dijkstra = new DijkstraSearch();
+                double[] distances = new double[nodeCapacity];
+                int[] settleOrder = new int[nodeCapacity];
+                
+                for (int region = chunkFrom; region < chunkTo; ++region) {
+                    flagInnerArcs(graph, region);
+                    
+                    for (int i = boundaryOffsets[region];
+                            i < boundaryOffsets[region + 1];
+                            ++i) {
+                        flagShortestPathArcs(graph,
+                                             region,
+                                             boundaryNodes[i],
+                                             dijkstra,
+                                             distances,
+                                             settleOrder);
+                    }
+                }
+            }, executor));
+        }
+        
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0]))
+                         .join();
+    }
+    
+    /**
+     * Flags for {@code region} the arcs with both end nodes in it.
+     */
+    private void flagInnerArcs(CompactGraph graph, int region) {
+        for (int node = 0; node < regions.length; ++node) {
+            if (regions[node] != region) {
+                continue;
+            }
+            
+            int lastArc = graph.getLastArc(node);
+            
+            for (int arc = graph.getFirstArc(node); arc < lastArc; ++arc) {
+                if (regions[graph.getArcHead(arc)] == region) {
+                    setFlag(arc, region);
+                }
+            }
+        }
+    }
+    
+    /**
+     * Flags for {@code region} every arc on a shortest path into
+     * {@code boundaryNode}: the arcs {@code (u, v)} with
+     * {@code d(u) = w(u, v) + d(v)}, where {@code d} is the distance to
+     * the boundary node.
+     */
+    private void flagShortestPathArcs(CompactGraph graph,
+                                      int region,
+                                      int boundaryNode,
+                                      DijkstraSearch dijkstra,
+                                      double[] distances,
+                                      int[] settleOrder) {
+        int settledCount = dijkstra.run(graph,
+                                        boundaryNode,
+                                        true,
+                                        distances,
+                                        null,
+                                        settleOrder);
+        
+        for (int i = 0; i < settledCount; ++i) {
+            int node = settleOrder[i];
+            double distance = distances[node];
+            int lastArc = graph.getLastArc(node);
+            
+            for (int arc = graph.getFirstArc(node); arc < lastArc; ++arc) {
+                if (distances[graph.getArcHead(arc)] +
+                        graph.getArcWeight(arc) == distance) {
+                    setFlag(arc, region);
+                }
+            }
+        }
+    }
+    
+    private void setFlag(int arc, int region) {
+        flags[region * wordsPerRegion + (arc >>> 6)] |= 1L << arc;
+    }
+    
+    /**
+     * Returns the number of {@code long} words holding one flag per arc.
+     */
+    private static int getWordsPerRegion(int numberOfArcs) {
+        return (numberOfArcs + 63) >>> 6;
+    }
+    
+    /**
+     * Returns the cell of {@code value} among {@code cells} equal cells
+     * spanning {@code [min, max]}.
+     */
+    private static int getCell(double value,
+                               double min,
+                               double max,
+                               int cells) {
+        if (max <= min) {
+            return 0;
+        }
+        
+        int cell = (int) ((value - min) / (max - min) * cells);
+        return Math.min(cell, cells - 1);
+    }
+}
@@ -0,0 +1,184 @@
+package net.coderodde.graph.pathfinding.beamsearch;
+
+/**
+ * This class implements a {@link CompactGraph} backed by heap arrays. It is
+ * what {@link CompactGraph#fromGraph(net.coderodde.graph.AbstractGraph)}
+ * builds.
+ * 
+ * @author Rodion "rodde" Efremov
+ * @version 1.6 (Oct 16, 2026)
+ */
+final class ArrayCompactGraph extends CompactGraph {
+    
+    /**
+     * Marks the presence of each node ID in the snapshot.
+     */
+    private final boolean[] nodePresent;
+    
+    /**
+     * The number of nodes present in the snapshot.
+     */
+    private final int size;
+    
+    /**
+     * {@code forwardOffsets[u]} is the index of the first arc leaving
+     * {@code u}, {@code forwardOffsets[u + 1]} is one past the last one.
+     */
+    private final int[] forwardOffsets;
+    
+    /**
+     * The head nodes of the arcs.
+     */
+    private final int[] forwardTargets;
+    
+    /**
+     * The weights of the arcs.
+     */
+    private final double[] forwardWeights;
+    
+    /**
+     * {@code backwardOffsets[v]} is the index of the first arc entering
+     * {@code v}, {@code backwardOffsets[v + 1]} is one past the last one.
+     */
+    private final int[] backwardOffsets;
+    
+    /**
+     * The tail nodes of the reverse arcs.
+     */
+    private final int[] backwardTargets;
+    
+    /**
+     * The weights of the reverse arcs.
+     */
+    private final double[] backwardWeights;
+    
+    /**
+     * The largest number of arcs leaving a single node.
+     */
+    private final int maximumOutDegree;
+    
+    /**
+     * The largest number of arcs entering a single node.
+     */
+    private final int maximumInDegree;
+    
+    ArrayCompactGraph(boolean[] nodePresent,
+                      int size,
+                      int[] forwardOffsets,
+                      int[] forwardTargets,
+                      double[] forwardWeights,
+                      int[] backwardOffsets,
+                      int[] backwardTargets,
+                      double[] backwardWeights) {
+        this.nodePresent     = nodePresent;
+        this.size            = size;
+        this.forwardOffsets  = forwardOffsets;
+        this.forwardTargets  = forwardTargets;
+        this.forwardWeights  = forwardWeights;
+        this.backwardOffsets = backwardOffsets;
+        this.backwardTargets = backwardTargets;
+        this.backwardWeights = backwardWeights;
+        
+        int maximumOutDegree = 0;
+        int maximumInDegree  = 0;
+        
+        for (int node = 0; node < nodePresent.length; ++node) {
+            maximumOutDegree =
+                    Math.max(maximumOutDegree,
+                             forwardOffsets[node + 1] - forwardOffsets[node]);
+            maximumInDegree =
+                    Math.max(maximumInDegree,
+                             backwardOffsets[node + 1] - 
+                             backwardOffsets[node]);
+        }
+        
+        this.maximumOutDegree = maximumOutDegree;
+        this.maximumInDegree  = maximumInDegree;
+    }
+    
+    @Override
+    public int size() {
+        return size;
+    }
+    
+    @Override
+    public int getNodeCapacity() {
+        return nodePresent.length;
+    }
+    
+    @Override
+    public int getNumberOfArcs() {
+        return forwardTargets.length;
+    }
+    
+    @Override
+    public int getMaximumOutDegree() {
+        return maximumOutDegree;
+    }
+    
+    @Override
+    public int getMaximumInDegree() {
+        return maximumInDegree;
+    }
+    
+    @Override
+    public boolean hasNode(int node) {
+        return node >= 0 && node < nodePresent.length && nodePresent[node];
+    }
+    
+    @Override
+    public int getFirstArc(int node) {
+        return forwardOffsets[node];
+    }
+    
+    @Override
+    public int getLastArc(int node) {
+        return forwardOffsets[node + 1];
+    }
+    
+    @Override
+    public int getArcHead(int arc) {
+        return forwardTargets[arc];
+    }
+    
+    @Override
+    public double getArcWeight(int arc) {
+        return forwardWeights[arc];
+    }
+    
+    @Override
+    public int copyArcHeads(int node, int[] destination) {
+        int firstArc = forwardOffsets[node];
+        int degree = forwardOffsets[node + 1] - firstArc;
+        System.arraycopy(forwardTargets, firstArc, destination, 0, degree);
+        return degree;
+    }
+    
+    @Override
+    public int getFirstReverseArc(int node) {
+        return backwardOffsets[node];
+    }
+    
+    @Override
+    public int getLastReverseArc(int node) {
+        return backwardOffsets[node + 1];
+    }
+    
+    @Override
+    public int getReverseArcTail(int arc) {
+        return backwardTargets[arc];
+    }
+    
+    @Override
+    public double getReverseArcWeight(int arc) {
+        return backwardWeights[arc];
+    }
+    
+    @Override
+    public int copyReverseArcTails(int node, int[] destination) {
+        int firstArc = backwardOffsets[node];
+        int degree = backwardOffsets[node + 1] - firstArc;
+        System.arraycopy(backwardTargets, firstArc, destination, 0, degree);
+        return degree;
+    }
+}
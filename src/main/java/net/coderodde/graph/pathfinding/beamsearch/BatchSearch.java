@@ -0,0 +1,109 @@
+package net.coderodde.graph.pathfinding.beamsearch;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * This class runs batches of independent queries in parallel. The batch is 
+ * cut into chunks that are run as separate tasks on an executor. A task 
+ * borrows a {@link SearchContext} from a per-batch pool for the duration of 
+ * its chunk, so no two threads ever share a context, and the number of 
+ * contexts created does not exceed the number of the concurrently running 
+ * tasks.
+ * 
+ * @author Rodion "rodde" Efremov
+ * @version 1.6 (Oct 16, 2026)
+ */
+final class BatchSearch {
+    
+    /**
+     * The number of chunks per executor thread. More chunks balance the load
+     * better when the query costs vary.
+     */
+    private static final int CHUNKS_PER_THREAD = 4;
+    
+    private BatchSearch() {}
+    
+    static List<QueryResult> run(Pathfinder pathfinder,
+                                 CompactGraph graph,
+                                 List<SearchQuery> queries,
+                                 IntHeuristicFunction heuristicFunction,
+                                 Executor executor) {
+        Objects.requireNonNull(graph, "The input graph is null.");
+        Objects.requireNonNull(queries, "The query list is null.");
+        Objects.requireNonNull(heuristicFunction,
+                               "The heuristic function is null.");
+        Objects.requireNonNull(executor, "The executor is null.");
+        
+        SearchQuery[] queryArray = queries.toArray(new SearchQuery[0]);
+        
+        for (SearchQuery query : queryArray) {
+            Objects.requireNonNull(query, "A query is null.");
+        }
+        
+        QueryResult[] results = new QueryResult[queryArray.length];
+        Queue<SearchContext> contextPool = new ConcurrentLinkedQueue<>();
+        int chunkSize = getChunkSize(queryArray.length, executor);
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+        
+        for (int from = 0; from < queryArray.length; from += chunkSize) {
+            int to = Math.min(from + chunkSize, queryArray.length);
+            int chunkFrom = from;
+            
+            futures.add(CompletableFuture.runAsync(() -> {
+                SearchContext searchContext = contextPool.poll();
+                
+                if (searchContext == null) {
+                    searchContext = new SearchContext();
+                }
+                
+                for (int i = chunkFrom; i < to; ++i) {
+                    results[i] = search(pathfinder,
+                                        graph, 
+                                        queryArray[i],
+                                        heuristicFunction,
+                                        searchContext);
+                }
+                
+                contextPool.add(searchContext);
+            }, executor));
+        }
+        
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0]))
+                         .join();
+        return Arrays.asList(results);
+    }
+    
+    static QueryResult search(Pathfinder pathfinder,
+                              CompactGraph graph,
+                              SearchQuery query,
+                              IntHeuristicFunction heuristicFunction,
+                              SearchContext searchContext) {
+        try {
+            return new QueryResult(query,
+                                   pathfinder.search(graph,
+                                                     query.getSource(),
+                                                     query.getTarget(),
+                                                     heuristicFunction,
+                                                     searchContext));
+        } catch (RuntimeException ex) {
+            return new QueryResult(query, ex);
+        }
+    }
+    
+    static int getChunkSize(int numberOfQueries, Executor executor) {
+        int parallelism = executor instanceof ForkJoinPool ?
+                ((ForkJoinPool) executor).getParallelism() :
+                Runtime.getRuntime().availableProcessors();
+        int numberOfChunks = Math.max(1, CHUNKS_PER_THREAD * parallelism);
+        return Math.max(1, (numberOfQueries + numberOfChunks - 1) / 
+                           numberOfChunks);
+    }
+}
@@ -1,7 +1,6 @@
 package net.coderodde.graph.pathfinding.beamsearch;
 
-import java.util.ArrayList;
-import java.util.Collections;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -10,10 +9,15 @@ import java.util.Objects;
 import java.util.PriorityQueue;
 import java.util.Queue;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
 import net.coderodde.graph.AbstractGraph;
 
 public final class BeamSearchPathfinder implements Pathfinder {
-
+    
     /**
      * The default width of the beam.
      */
@@ -27,12 +31,60 @@ public final class BeamSearchPathfinder implements Pathfinder {
     /**
      * The current beam width.
      */
-    private int beamWidth = DEFAULT_BEAM_WIDTH;
+    private volatile int beamWidth;
+    
+    /**
+     * The arc flags pruning the successors, or {@code null}.
+     */
+    private final ArcFlags arcFlags;
+    
+    public BeamSearchPathfinder() {
+        this(DEFAULT_BEAM_WIDTH);
+    }
+    
+    /**
+     * Constructs a pathfinder with a fixed beam width. An instance that is
+     * never reconfigured afterwards may be shared between threads.
+     * 
+     * @param beamWidth the beam width.
+     */
+    public BeamSearchPathfinder(int beamWidth) {
+        this(beamWidth, null);
+    }
+    
+    /**
+     * Constructs a pathfinder with a fixed beam width that, in the searches
+     * over a {@link CompactGraph} towards a single target, skips every arc 
+     * not flagged for the region of the target before the beam scores the 
+     * successors. The arc flags must have been computed for the searched 
+     * graph. The searches over an {@link AbstractGraph} and the 
+     * one-to-many and many-to-many searches do not use the flags.
+     * 
+     * @param beamWidth the beam width.
+     * @param arcFlags  the arc flags, or {@code null} for no arc pruning.
+     */
+    public BeamSearchPathfinder(int beamWidth, ArcFlags arcFlags) {
+        this.beamWidth = Math.max(beamWidth, MINIMUM_BEAM_WIDHT);
+        this.arcFlags = arcFlags;
+    }
     
     public int getBeamWidth() {
         return beamWidth;
     }
     
+    public ArcFlags getArcFlags() {
+        return arcFlags;
+    }
+    
+    /**
+     * Sets the beam width of the subsequent searches.
+     * 
+     * @param beamWidth the new beam width.
+     * @deprecated mutating a shared pathfinder races with the searches running
+     *             on it; construct it with 
+     *             {@link #BeamSearchPathfinder(int)} instead.
+     */
+    @Deprecated
     public void setBeamWidth(int beamWidth) {
         this.beamWidth = Math.max(beamWidth, MINIMUM_BEAM_WIDHT);
     }
@@ -50,11 +102,13 @@ public final class BeamSearchPathfinder implements Pathfinder {
         
         checkNodes(graph, sourceNode, targetNode);
         
+        int beamWidth = this.beamWidth;
         Queue<HeapNode> open           = new PriorityQueue<>();
         Set<Integer> closed            = new HashSet<>();
         Map<Integer, Integer> parents  = new HashMap<>();
         Map<Integer, Double> distances = new HashMap<>();
-     
+        SuccessorSelector selector     = new SuccessorSelector();
+        
         open.add(new HeapNode(sourceNode, 0.0));
         parents.put(sourceNode, null);
         distances.put(sourceNode, 0.0);
@@ -71,20 +125,23 @@ public final class BeamSearchPathfinder implements Pathfinder {
             }
             
             closed.add(currentNode);
-            List<Integer> successorNodes = getSuccessors(graph,
-                                                         currentNode,
-                                                         targetNode,
-                                                         distances,
-                                                         heuristicFunction,
-                                                         beamWidth);
-            for (Integer childNode : successorNodes) {
+            int successorCount = getSuccessors(graph,
+                                               currentNode,
+                                               targetNode,
+                                               distances,
+                                               heuristicFunction,
+                                               beamWidth,
+                                               selector);
+            
+            for (int i = 0; i < successorCount; ++i) {
+                Integer childNode = selector.getNode(i);
+                
                 if (closed.contains(childNode)) {
                     continue;
                 }
                 
                 double tentativeDistance = 
-                        distances.get(currentNode) +
-                        graph.getEdgeWeight(currentNode, childNode);
+                        distances.get(currentNode) + selector.getWeight(i);
                 
                 if (!distances.containsKey(childNode)
                         || distances.get(childNode) > tentativeDistance) {
@@ -105,44 +162,887 @@ public final class BeamSearchPathfinder implements Pathfinder {
                 " not found.");
     }
     
-    private static List<Integer> 
-        getSuccessors(AbstractGraph graph,
-                      Integer currentNode,
-                      Integer targetNode,
-                      Map<Integer, Double> distances,
-                      HeuristicFunction<Integer> heuristicFunction,
-                      int beamWidth) {
-        List<Integer> successors = new ArrayList<>();
-        Map<Integer, Double> costMap = new HashMap<>();
+    @Override
+    public List<Integer> search(CompactGraph graph,
+                                int sourceNode,
+                                int targetNode,
+                                IntHeuristicFunction heuristicFunction,
+                                SearchContext searchContext) {
+        Objects.requireNonNull(graph, "The input graph is null.");
+        Objects.requireNonNull(heuristicFunction,
+                               "The heuristic function is null.");
+        Objects.requireNonNull(searchContext, "The search context is null.");
+        
+        checkNodes(graph, sourceNode, targetNode);
+        checkArcFlags(graph);
+        return search(graph,
+                      sourceNode,
+                      targetNode,
+                      heuristicFunction,
+                      searchContext,
+                      beamWidth,
+                      null,
+                      Double.POSITIVE_INFINITY);
+    }
+    
+    /**
+     * Searches for a path from {@code sourceNode} to {@code targetNode} in 
+     * the implicit graph of {@code successorGenerator}. See 
+     * {@link #search(SuccessorGenerator, long, long, LongHeuristicFunction,
+     * SearchLimits)}.
+     * 
+     * @param successorGenerator the generator of the arcs.
+     * @param sourceNode         the source node.
+     * @param targetNode         the target node.
+     * @param heuristicFunction  the heuristic function.
+     * @return the path from {@code sourceNode} to {@code targetNode}.
+     */
+    public List<Long> search(SuccessorGenerator successorGenerator,
+                             long sourceNode,
+                             long targetNode,
+                             LongHeuristicFunction heuristicFunction) {
+        return search(successorGenerator,
+                      sourceNode,
+                      targetNode,
+                      heuristicFunction,
+                      SearchLimits.NONE);
+    }
+    
+    /**
+     * Searches for a path from {@code sourceNode} to {@code targetNode} in 
+     * the implicit graph of {@code successorGenerator}, generating the arcs
+     * of each node only when it is expanded. The beam keeps the same 
+     * successors as in the search over a stored graph. Only the nodes the 
+     * beam keeps are remembered, in primitive arrays indexed through a 
+     * primitive {@code long}-keyed hash table, so the memory grows with the
+     * nodes reached rather than with the size of the space. Since the space 
+     * may be infinite, the search stops once {@code limits} are reached.
+     * 
+     * @param successorGenerator the generator of the arcs.
+     * @param sourceNode         the source node.
+     * @param targetNode         the target node.
+     * @param heuristicFunction  the heuristic function.
+     * @param limits             the limits of the search.
+     * @return the path from {@code sourceNode} to {@code targetNode}.
+     * @throws PathNotFoundException if the target is not reachable, or if 
+     *                               it is not reached within the limits.
+     */
+    public List<Long> search(SuccessorGenerator successorGenerator,
+                             long sourceNode,
+                             long targetNode,
+                             LongHeuristicFunction heuristicFunction,
+                             SearchLimits limits) {
+        Objects.requireNonNull(successorGenerator, 
+                               "The successor generator is null.");
+        Objects.requireNonNull(heuristicFunction,
+                               "The heuristic function is null.");
+        Objects.requireNonNull(limits, "The search limits are null.");
+        return new ImplicitGraphSearch().run(successorGenerator,
+                                             sourceNode,
+                                             targetNode,
+                                             heuristicFunction,
+                                             beamWidth,
+                                             new SearchBudget(limits));
+    }
+    
+    /**
+     * Works like {@link #searchParallel(CompactGraph, int, int, 
+     * IntHeuristicFunction, int, Executor)}, but runs the workers other than
+     * the calling thread on threads started for this query alone.
+     * 
+     * @param graph             the compact graph to search in.
+     * @param sourceNode        the source node.
+     * @param targetNode        the target node.
+     * @param heuristicFunction the heuristic function. Must be thread-safe.
+     * @param numberOfWorkers   the number of worker threads.
+     * @return the path from {@code sourceNode} to {@code targetNode}.
+     */
+    public List<Integer> searchParallel(CompactGraph graph,
+                                        int sourceNode,
+                                        int targetNode,
+                                        IntHeuristicFunction heuristicFunction,
+                                        int numberOfWorkers) {
+        ExecutorService executor = 
+                Executors.newFixedThreadPool(Math.max(numberOfWorkers - 1, 1),
+                                             runnable -> {
+                    Thread thread = new Thread(runnable, 
+                                               "BeamSearch parallel worker");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        
+        try {
+            return searchParallel(graph, 
+                                  sourceNode, 
+                                  targetNode, 
+                                  heuristicFunction, 
+                                  numberOfWorkers, 
+                                  executor);
+        } finally {
+            executor.shutdown();
+        }
+    }
+    
+    /**
+     * Runs a single query on {@code numberOfWorkers} workers: one on the 
+     * calling thread and the others on {@code numberOfWorkers - 1} tasks 
+     * submitted to {@code executor}. The executor need not run all the tasks
+     * at once: a thread that stays idle for a while takes over the workers 
+     * whose tasks have not started, so a small or busy executor makes the
+     * search less parallel but never stalls it. The nodes are
+     * distributed over the workers by hashing their IDs, each worker expands
+     * only its own nodes, and the successors are passed to their owners 
+     * through lock-free mailboxes. The beam keeps the same successors as in
+     * the sequential search, so with an admissible heuristic function the 
+     * path is a shortest one among the paths the beam admits, just as the 
+     * sequential search finds with a consistent one. 
+     * <p>
+     * The working memory of the query is allocated for it alone and takes
+     * time proportional to the node capacity of the graph to set up, so the
+     * parallel search pays off only on the long queries.
+     * 
+     * @param graph             the compact graph to search in.
+     * @param sourceNode        the source node.
+     * @param targetNode        the target node.
+     * @param heuristicFunction the heuristic function. Must be thread-safe.
+     * @param numberOfWorkers   the number of worker threads.
+     * @param executor          the executor running all the workers but the
+     *                          first one.
+     * @return the path from {@code sourceNode} to {@code targetNode}.
+     */
+    public List<Integer> searchParallel(CompactGraph graph,
+                                        int sourceNode,
+                                        int targetNode,
+                                        IntHeuristicFunction heuristicFunction,
+                                        int numberOfWorkers,
+                                        Executor executor) {
+        Objects.requireNonNull(graph, "The input graph is null.");
+        Objects.requireNonNull(heuristicFunction,
+                               "The heuristic function is null.");
+        Objects.requireNonNull(executor, "The executor is null.");
+        
+        if (numberOfWorkers < 1) {
+            throw new IllegalArgumentException(
+                    "The number of workers is not positive: " + 
+                    numberOfWorkers);
+        }
+        
+        checkNodes(graph, sourceNode, targetNode);
+        checkArcFlags(graph);
+        return new HashDistributedSearch(this,
+                                         graph,
+                                         sourceNode,
+                                         targetNode,
+                                         heuristicFunction,
+                                         beamWidth,
+                                         numberOfWorkers).run(executor);
+    }
+    
+    /**
+     * Runs the search in the anytime mode. The first round uses the beam 
+     * width of this pathfinder. Each round that finds a path reports it to
+     * {@code incumbentListener}, and the next round doubles the beam width 
+     * and skips everything that can not lead to a shorter path. The search 
+     * returns when a round keeps all the successors, or as soon as 
+     * {@code limits} are reached. In the latter case, it returns the best
+     * path found so far or, if there is none yet, the most promising partial 
+     * path.
+     * 
+     * @param graph             the graph to search in.
+     * @param sourceNode        the source node.
+     * @param targetNode        the target node.
+     * @param heuristicFunction the heuristic function.
+     * @param limits            the limits of the search.
+     * @param incumbentListener the listener of the improving paths, or 
+     *                          {@code null}.
+     * @param searchContext     the search context.
+     * @return the result of the search.
+     * @throws PathNotFoundException if the search completes without finding
+     *                               a path.
+     */
+    public AnytimeResult searchAnytime(CompactGraph graph,
+                                       int sourceNode,
+                                       int targetNode,
+                                       IntHeuristicFunction heuristicFunction,
+                                       SearchLimits limits,
+                                       IncumbentListener incumbentListener,
+                                       SearchContext searchContext) {
+        Objects.requireNonNull(graph, "The input graph is null.");
+        Objects.requireNonNull(heuristicFunction,
+                               "The heuristic function is null.");
+        Objects.requireNonNull(limits, "The search limits are null.");
+        Objects.requireNonNull(searchContext, "The search context is null.");
+        
+        checkNodes(graph, sourceNode, targetNode);
+        checkArcFlags(graph);
+        return AnytimeSearch.run(this::search,
+                                 graph,
+                                 sourceNode,
+                                 targetNode,
+                                 heuristicFunction,
+                                 searchContext,
+                                 beamWidth,
+                                 graph.getMaximumOutDegree(),
+                                 limits,
+                                 incumbentListener);
+    }
+    
+    /**
+     * Runs {@link #searchAnytime} on {@code executor}. The caller may take 
+     * the first incumbent from {@code incumbentListener} and let the search 
+     * refine it in the background. {@code searchContext} must not be used 
+     * until the returned future completes.
+     * 
+     * @param graph             the graph to search in.
+     * @param sourceNode        the source node.
+     * @param targetNode        the target node.
+     * @param heuristicFunction the heuristic function.
+     * @param limits            the limits of the search.
+     * @param incumbentListener the listener of the improving paths, or 
+     *                          {@code null}.
+     * @param searchContext     the search context.
+     * @param executor          the executor to run the search on.
+     * @return the future result of the search.
+     */
+    public CompletableFuture<AnytimeResult> 
+        searchAnytimeAsync(CompactGraph graph,
+                           int sourceNode,
+                           int targetNode,
+                           IntHeuristicFunction heuristicFunction,
+                           SearchLimits limits,
+                           IncumbentListener incumbentListener,
+                           SearchContext searchContext,
+                           Executor executor) {
+        Objects.requireNonNull(executor, "The executor is null.");
+        return CompletableFuture.supplyAsync(
+                () -> searchAnytime(graph, 
+                                    sourceNode, 
+                                    targetNode, 
+                                    heuristicFunction, 
+                                    limits, 
+                                    incumbentListener, 
+                                    searchContext), 
+                executor);
+    }
+    
+    /**
+     * Runs the search in the adaptive mode with no budget per round. See 
+     * {@link #searchAdaptive(CompactGraph, int, int, IntHeuristicFunction, 
+     * long, SearchContext)}.
+     * 
+     * @param graph             the graph to search in.
+     * @param sourceNode        the source node.
+     * @param targetNode        the target node.
+     * @param heuristicFunction the heuristic function.
+     * @param searchContext     the search context.
+     * @return the path and the beam width that found it.
+     */
+    public AdaptiveResult searchAdaptive(CompactGraph graph,
+                                         int sourceNode,
+                                         int targetNode,
+                                         IntHeuristicFunction heuristicFunction,
+                                         SearchContext searchContext) {
+        return searchAdaptive(graph,
+                              sourceNode,
+                              targetNode,
+                              heuristicFunction,
+                              Long.MAX_VALUE,
+                              searchContext);
+    }
+    
+    /**
+     * Runs the search in the adaptive mode. The search starts with the beam
+     * width of this pathfinder. Whenever the open list runs out, or a round 
+     * expands {@code expansionsPerRound} nodes without reaching the target,
+     * the beam width is doubled and the search goes on where it stopped: the
+     * expanded nodes whose successors were pruned generate the successors 
+     * the wider beam admits, and everything found so far is kept. Once the 
+     * beam keeps all the successors, the round budget no longer applies. 
+     * Unlike the anytime mode, no work is repeated, but the path is not 
+     * improved after it is found.
+     * 
+     * @param graph              the graph to search in.
+     * @param sourceNode         the source node.
+     * @param targetNode         the target node.
+     * @param heuristicFunction  the heuristic function.
+     * @param expansionsPerRound the number of expansions after which the 
+     *                           beam is widened.
+     * @param searchContext      the search context.
+     * @return the path and the beam width that found it.
+     * @throws PathNotFoundException if the target is not reachable.
+     */
+    public AdaptiveResult searchAdaptive(CompactGraph graph,
+                                         int sourceNode,
+                                         int targetNode,
+                                         IntHeuristicFunction heuristicFunction,
+                                         long expansionsPerRound,
+                                         SearchContext searchContext) {
+        Objects.requireNonNull(graph, "The input graph is null.");
+        Objects.requireNonNull(heuristicFunction,
+                               "The heuristic function is null.");
+        Objects.requireNonNull(searchContext, "The search context is null.");
+        
+        if (expansionsPerRound < 1L) {
+            throw new IllegalArgumentException(
+                    "The number of expansions per round is not positive: " +
+                    expansionsPerRound);
+        }
+        
+        checkNodes(graph, sourceNode, targetNode);
+        checkArcFlags(graph);
+        return searchAdaptive(graph,
+                              sourceNode,
+                              targetNode,
+                              heuristicFunction,
+                              searchContext,
+                              beamWidth,
+                              Math.max(graph.getMaximumOutDegree(), 1),
+                              expansionsPerRound);
+    }
+    
+    /**
+     * Computes the distances from {@code sourceNode} to all of 
+     * {@code targetNodes} by growing a single search tree that stops once 
+     * all the targets are settled, or once the beam can not reach any more 
+     * nodes. Since there is no single target to aim at, no heuristic guides
+     * the tree: the nodes are expanded in the order of their distances, and
+     * the beam keeps the successors that get the smallest distances. The 
+     * paths are extracted from the result on request.
+     * 
+     * @param graph         the compact graph to search in.
+     * @param sourceNode    the source node.
+     * @param targetNodes   the target nodes.
+     * @param searchContext the search context.
+     * @return the distances to the targets and the paths to them.
+     */
+    public OneToManyResult searchOneToMany(CompactGraph graph,
+                                           int sourceNode,
+                                           int[] targetNodes,
+                                           SearchContext searchContext) {
+        Objects.requireNonNull(graph, "The input graph is null.");
+        Objects.requireNonNull(searchContext, "The search context is null.");
+        MultiTargetSearch.checkNodes(graph, targetNodes, "target");
+        
+        if (!graph.hasNode(sourceNode)) {
+            throw new IllegalArgumentException(
+                    "The source node " + sourceNode + " is not in the graph.");
+        }
+        
+        int[] targets = targetNodes.clone();
+        double[] distances = new double[targets.length];
+        SearchState state = MultiTargetSearch.run(graph,
+                                                  sourceNode,
+                                                  targets,
+                                                  false,
+                                                  beamWidth,
+                                                  searchContext,
+                                                  distances,
+                                                  0,
+                                                  1);
+        return new OneToManyResult(
+                sourceNode, 
+                targets, 
+                distances, 
+                Arrays.copyOf(state.parents, graph.getNodeCapacity()));
+    }
+    
+    /**
+     * Computes the distances from each of {@code sourceNodes} to each of 
+     * {@code targetNodes} on the common fork/join pool.
+     * 
+     * @param graph       the compact graph to search in.
+     * @param sourceNodes the source nodes.
+     * @param targetNodes the target nodes.
+     * @return the distance matrix.
+     */
+    public DistanceMatrix searchManyToMany(CompactGraph graph,
+                                           int[] sourceNodes,
+                                           int[] targetNodes) {
+        return searchManyToMany(graph, 
+                                sourceNodes, 
+                                targetNodes, 
+                                ForkJoinPool.commonPool());
+    }
+    
+    /**
+     * Computes the distances from each of {@code sourceNodes} to each of 
+     * {@code targetNodes} on {@code executor}. Each row is filled by one 
+     * tree grown from its source as in {@link #searchOneToMany}. If there 
+     * are more sources than targets, each column is filled by one tree grown
+     * backwards from its target instead, so that the search space of a 
+     * target is explored once for all the sources. A backward tree prunes 
+     * the arcs entering a node rather than the ones leaving it, so under a 
+     * narrow beam it may reach a different set of pairs. The trees run in 
+     * parallel.
+     * 
+     * @param graph       the compact graph to search in.
+     * @param sourceNodes the source nodes.
+     * @param targetNodes the target nodes.
+     * @param executor    the executor to run the trees on.
+     * @return the distance matrix.
+     * @throws IllegalArgumentException if a node is not in the graph, or if
+     *                                  the matrix has more than
+     *                                  {@code Integer.MAX_VALUE} cells.
+     */
+    public DistanceMatrix searchManyToMany(CompactGraph graph,
+                                           int[] sourceNodes,
+                                           int[] targetNodes,
+                                           Executor executor) {
+        Objects.requireNonNull(graph, "The input graph is null.");
+        Objects.requireNonNull(executor, "The executor is null.");
+        MultiTargetSearch.checkNodes(graph, sourceNodes, "source");
+        MultiTargetSearch.checkNodes(graph, targetNodes, "target");
+        
+        int[] sources = sourceNodes.clone();
+        int[] targets = targetNodes.clone();
+        boolean reverse = sources.length > targets.length;
+        int beamWidth = this.beamWidth;
+        double[] distances = MultiTargetSearch.runMatrix(graph,
+                                                         sources,
+                                                         targets,
+                                                         reverse,
+                                                         beamWidth,
+                                                         executor);
+        return new DistanceMatrix(graph, 
+                                  sources, 
+                                  targets, 
+                                  distances, 
+                                  reverse, 
+                                  beamWidth);
+    }
+    
+    /**
+     * Runs one search with the beam width {@code beamWidth}, skipping the 
+     * nodes whose priority reaches {@code upperBound}. If {@code budget} is
+     * not {@code null} and runs out, records the partial path into it and 
+     * returns {@code null}.
+     */
+    private List<Integer> search(CompactGraph graph,
+                                 int sourceNode,
+                                 int targetNode,
+                                 IntHeuristicFunction heuristicFunction,
+                                 SearchContext searchContext,
+                                 int beamWidth,
+                                 SearchBudget budget,
+                                 double upperBound) {
+        SearchState state = searchContext.getForwardState(graph);
+        OpenList open = state.open;
+        SuccessorSelector selector = searchContext.successorSelector;
+        SearchStatistics statistics = searchContext.getStatistics();
+        SearchListener listener = searchContext.getSearchListener();
+        
+        searchContext.startQuery(sourceNode, targetNode);
+        open.insert(sourceNode, 0.0);
+        state.setDistance(sourceNode, 0.0, -1);
+        
+        if (statistics != null) {
+            statistics.heapPushes = 1L;
+        }
+        
+        while (!open.isEmpty()) {
+            int currentNode = open.extractMinimum();
+            
+            if (statistics != null) {
+                ++statistics.heapPops;
+            }
+            
+            if (currentNode == targetNode) {
+                searchContext.finishQuery(true);
+                return tracebackPath(targetNode, state.parents);
+            }
+            
+            if (state.isClosed(currentNode)) {
+                if (statistics != null) {
+                    ++statistics.stalePops;
+                }
+                
+                continue;
+            }
+            
+            if (budget != null && !budget.tryExpand()) {
+                double distance = state.distances[currentNode];
+                budget.setPartialPath(
+                        tracebackPath(currentNode, state.parents),
+                        distance,
+                        distance + heuristicFunction.estimate(currentNode,
+                                                              targetNode));
+                searchContext.finishQuery(false);
+                return null;
+            }
+            
+            state.close(currentNode);
+            
+            if (listener != null) {
+                listener.onNodeExpanded(currentNode, 
+                                        state.distances[currentNode]);
+            }
+            
+            int successorCount = getSuccessors(graph,
+                                               currentNode,
+                                               state.distances[currentNode],
+                                               targetNode,
+                                               heuristicFunction,
+                                               beamWidth,
+                                               selector);
+            int pushes = 0;
+            
+            for (int i = 0; i < successorCount; ++i) {
+                int childNode = graph.getArcHead(selector.getNode(i));
+                
+                if (state.isClosed(childNode)) {
+                    continue;
+                }
+                
+                double tentativeDistance = state.distances[currentNode] +
+                                           selector.getWeight(i);
+                
+                if (state.getDistance(childNode) > tentativeDistance) {
+                    double priority = 
+                            tentativeDistance +
+                            heuristicFunction.estimate(childNode, targetNode);
+                    
+                    if (priority >= upperBound) {
+                        continue;
+                    }
+                    
+                    state.setDistance(childNode, 
+                                      tentativeDistance, 
+                                      currentNode);
+                    open.insert(childNode, priority);
+                    ++pushes;
+                }
+            }
+            
+            int dropped = state.forgetDropped(-1);
+            
+            if (statistics != null) {
+                ++statistics.expandedNodes;
+                statistics.heapPushes += pushes;
+                statistics.droppedNodes += dropped;
+                statistics.heuristicEvaluations += selector.size() + pushes;
+                statistics.prunedSuccessors += 
+                        selector.size() - successorCount;
+                statistics.updatePeaks(open.size(), state.getClosedSize());
+            }
+        }
+        
+        searchContext.finishQuery(false);
+        throw new PathNotFoundException(
+                "Path from " + sourceNode + " to " + targetNode + 
+                " not found.");
+    }
+    
+    /**
+     * Runs the adaptive search. The nodes whose successors the beam pruned 
+     * are recorded, and on each widening they generate their successors 
+     * ranked from the old beam width up to the new one. Since the ranking 
+     * is stable and the distance of a closed node does not change, those are
+     * exactly the successors the wider beam adds.
+     */
+    private AdaptiveResult searchAdaptive(CompactGraph graph,
+                                          int sourceNode,
+                                          int targetNode,
+                                          IntHeuristicFunction 
+                                                  heuristicFunction,
+                                          SearchContext searchContext,
+                                          int beamWidth,
+                                          int fullBeamWidth,
+                                          long expansionsPerRound) {
+        SearchState state = searchContext.getForwardState(graph);
+        OpenList open = state.open;
+        SuccessorSelector selector = searchContext.successorSelector;
+        SearchStatistics statistics = searchContext.getStatistics();
+        SearchListener listener = searchContext.getSearchListener();
+        int[] prunedNodes = new int[16];
+        int prunedCount = 0;
+        int widenings = 0;
+        long expandedNodes = 0L;
+        long roundExpansions = 0L;
+        
+        searchContext.startQuery(sourceNode, targetNode);
+        open.insert(sourceNode, 0.0);
+        state.setDistance(sourceNode, 0.0, -1);
+        
+        if (statistics != null) {
+            statistics.heapPushes = 1L;
+        }
+        
+        while (true) {
+            // A wider beam changes nothing unless something was pruned.
+            if (open.isEmpty() 
+                    || (roundExpansions >= expansionsPerRound 
+                        && prunedCount > 0)) {
+                if (prunedCount == 0) {
+                    break;
+                }
+                
+                int oldBeamWidth = beamWidth;
+                beamWidth = Math.min(AnytimeSearch.widen(beamWidth), 
+                                     fullBeamWidth);
+                roundExpansions = 0L;
+                ++widenings;
+                int keptCount = 0;
+                
+                for (int i = 0; i < prunedCount; ++i) {
+                    int node = prunedNodes[i];
+                    
+                    if (relaxSuccessors(graph,
+                                        node,
+                                        targetNode,
+                                        state,
+                                        heuristicFunction,
+                                        oldBeamWidth,
+                                        beamWidth,
+                                        selector,
+                                        statistics)) {
+                        prunedNodes[keptCount++] = node;
+                    }
+                }
+                
+                prunedCount = keptCount;
+                continue;
+            }
+            
+            int currentNode = open.extractMinimum();
+            
+            if (statistics != null) {
+                ++statistics.heapPops;
+            }
+            
+            if (currentNode == targetNode) {
+                searchContext.finishQuery(true);
+                return new AdaptiveResult(
+                        tracebackPath(targetNode, state.parents),
+                        beamWidth,
+                        widenings,
+                        expandedNodes);
+            }
+            
+            if (state.isClosed(currentNode)) {
+                if (statistics != null) {
+                    ++statistics.stalePops;
+                }
+                
+                continue;
+            }
+            
+            state.close(currentNode);
+            ++expandedNodes;
+            ++roundExpansions;
+            
+            if (listener != null) {
+                listener.onNodeExpanded(currentNode, 
+                                        state.distances[currentNode]);
+            }
+            
+            if (relaxSuccessors(graph,
+                                currentNode,
+                                targetNode,
+                                state,
+                                heuristicFunction,
+                                0,
+                                beamWidth,
+                                selector,
+                                statistics)) {
+                if (prunedCount == prunedNodes.length) {
+                    prunedNodes = Arrays.copyOf(prunedNodes, 2 * prunedCount);
+                }
+                
+                prunedNodes[prunedCount++] = currentNode;
+            }
+            
+            if (statistics != null) {
+                ++statistics.expandedNodes;
+                statistics.updatePeaks(open.size(), state.getClosedSize());
+            }
+        }
+        
+        searchContext.finishQuery(false);
+        throw new PathNotFoundException(
+                "Path from " + sourceNode + " to " + targetNode + 
+                " not found.");
+    }
+    
+    /**
+     * Relaxes the arcs leaving {@code currentNode} ranked from 
+     * {@code fromRank} up to, but not including, {@code toRank}, and tells
+     * whether any arcs are still left out.
+     */
+    private boolean relaxSuccessors(CompactGraph graph,
+                                    int currentNode,
+                                    int targetNode,
+                                    SearchState state,
+                                    IntHeuristicFunction heuristicFunction,
+                                    int fromRank,
+                                    int toRank,
+                                    SuccessorSelector selector,
+                                    SearchStatistics statistics) {
+        int successorCount = getSuccessors(graph,
+                                           currentNode,
+                                           state.distances[currentNode],
+                                           targetNode,
+                                           heuristicFunction,
+                                           toRank,
+                                           selector);
+        OpenList open = state.open;
+        int pushes = 0;
+        
+        for (int i = fromRank; i < successorCount; ++i) {
+            int childNode = graph.getArcHead(selector.getNode(i));
+            
+            if (state.isClosed(childNode)) {
+                continue;
+            }
+            
+            double tentativeDistance = state.distances[currentNode] +
+                                       selector.getWeight(i);
+            
+            if (state.getDistance(childNode) > tentativeDistance) {
+                state.setDistance(childNode, tentativeDistance, currentNode);
+                open.insert(childNode, 
+                            tentativeDistance +
+                            heuristicFunction.estimate(childNode, 
+                                                       targetNode));
+                ++pushes;
+            }
+        }
+        
+        int dropped = state.forgetDropped(-1);
+        
+        if (statistics != null) {
+            statistics.heapPushes += pushes;
+            statistics.droppedNodes += dropped;
+            statistics.heuristicEvaluations += selector.size() + pushes;
+            
+            if (fromRank == 0) {
+                statistics.prunedSuccessors += 
+                        selector.size() - successorCount;
+            }
+        }
+        
+        return successorCount < selector.size();
+    }
+    
+    /**
+     * Loads the children of {@code currentNode} into {@code selector} and 
+     * selects the best {@code beamWidth} of them. Returns the number of the
+     * selected children.
+     */
+    private static int getSuccessors(AbstractGraph graph,
+                                     Integer currentNode,
+                                     Integer targetNode,
+                                     Map<Integer, Double> distances,
+                                     HeuristicFunction<Integer> 
+                                             heuristicFunction,
+                                     int beamWidth,
+                                     SuccessorSelector selector) {
+        double distance = distances.get(currentNode);
+        selector.clear();
         
         for (Integer successor : graph.getChildrenOf(currentNode)) {
-            successors.add(successor);
-            costMap.put(
-                    successor, 
-                    distances.get(currentNode) + 
-                        graph.getEdgeWeight(currentNode, successor) +
-                        heuristicFunction.estimate(successor, targetNode));
+            double weight = graph.getEdgeWeight(currentNode, successor);
+            selector.add(successor,
+                         weight,
+                         distance + 
+                             weight + 
+                             heuristicFunction.estimate(successor, 
+                                                        targetNode));
         }
         
-        Collections.sort(successors, (a, b) -> {
-            return Double.compare(costMap.get(a), costMap.get(b));
-        });
+        return selector.select(beamWidth);
+    }
+    
+    /**
+     * Loads the arcs leaving {@code currentNode}, reached at 
+     * {@code distance}, into {@code selector} and selects the best 
+     * {@code beamWidth} of them. Returns the number of the selected arcs. 
+     * With the arc flags, only the arcs flagged for the region of 
+     * {@code targetNode} are loaded.
+     */
+    int getSuccessors(CompactGraph graph,
+                      int currentNode,
+                      double distance,
+                      int targetNode,
+                      IntHeuristicFunction heuristicFunction,
+                      int beamWidth,
+                      SuccessorSelector selector) {
+        if (arcFlags != null) {
+            return getFlaggedSuccessors(graph,
+                                        currentNode,
+                                        distance,
+                                        targetNode,
+                                        heuristicFunction,
+                                        beamWidth,
+                                        selector);
+        }
+        
+        int firstArc = graph.getFirstArc(currentNode);
+        int degree = graph.getLastArc(currentNode) - firstArc;
+        int[] children = selector.getNeighbourBuffer(degree);
+        double[] estimates = selector.getEstimateBuffer(degree);
+        graph.copyArcHeads(currentNode, children);
+        heuristicFunction.estimate(children, degree, targetNode, estimates);
+        selector.clear();
         
-        return successors.subList(0, Math.min(successors.size(), beamWidth));
+        for (int i = 0; i < degree; ++i) {
+            double weight = graph.getArcWeight(firstArc + i);
+            selector.add(firstArc + i, 
+                         weight,
+                         distance + weight + estimates[i]);
+        }
+        
+        return selector.select(beamWidth);
     }
     
-    private static final class HeapNode implements Comparable<HeapNode> {
-        Integer node;
-        double fScore;
+    /**
+     * Works like {@link #getSuccessors(CompactGraph, int, double, int,
+     * IntHeuristicFunction, int, SuccessorSelector)}, but drops the arcs not
+     * flagged for the region of {@code targetNode} before they are scored.
+     */
+    private int getFlaggedSuccessors(CompactGraph graph,
+                                     int currentNode,
+                                     double distance,
+                                     int targetNode,
+                                     IntHeuristicFunction heuristicFunction,
+                                     int beamWidth,
+                                     SuccessorSelector selector) {
+        int firstArc = graph.getFirstArc(currentNode);
+        int lastArc = graph.getLastArc(currentNode);
+        int degree = lastArc - firstArc;
+        int[] arcs = selector.getArcBuffer(degree);
+        int[] children = selector.getNeighbourBuffer(degree);
+        double[] estimates = selector.getEstimateBuffer(degree);
+        int targetRegion = arcFlags.getRegion(targetNode);
+        int flaggedCount = 0;
         
-        HeapNode(Integer node, double fScore) {
-            this.node = node;
-            this.fScore = fScore;
+        for (int arc = firstArc; arc < lastArc; ++arc) {
+            if (arcFlags.isFlagged(arc, targetRegion)) {
+                arcs[flaggedCount] = arc;
+                children[flaggedCount] = graph.getArcHead(arc);
+                ++flaggedCount;
+            }
         }
-
-        @Override
-        public int compareTo(HeapNode o) {
-            return Double.compare(fScore, o.fScore);
+        
+        heuristicFunction.estimate(children, 
+                                   flaggedCount, 
+                                   targetNode, 
+                                   estimates);
+        selector.clear();
+        
+        for (int i = 0; i < flaggedCount; ++i) {
+            double weight = graph.getArcWeight(arcs[i]);
+            selector.add(arcs[i], weight, distance + weight + estimates[i]);
+        }
+        
+        return selector.select(beamWidth);
+    }
+    
+    /**
+     * Makes sure the arc flags, if any, were computed for {@code graph}.
+     */
+    private void checkArcFlags(CompactGraph graph) {
+        if (arcFlags != null) {
+            arcFlags.checkGraph(graph);
         }
     }
 }
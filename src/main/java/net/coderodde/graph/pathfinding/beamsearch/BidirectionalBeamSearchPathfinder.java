@@ -1,7 +1,5 @@
 package net.coderodde.graph.pathfinding.beamsearch;
 
-import java.util.ArrayList;
-import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -10,10 +8,16 @@ import java.util.Objects;
 import java.util.PriorityQueue;
 import java.util.Queue;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
 import net.coderodde.graph.AbstractGraph;
 
 public final class BidirectionalBeamSearchPathfinder implements Pathfinder {
-
+    
     /**
      * The default width of the beam.
      */
@@ -27,12 +31,35 @@ public final class BidirectionalBeamSearchPathfinder implements Pathfinder {
     /**
      * The current beam width.
      */
-    private int beamWidth = DEFAULT_BEAM_WIDTH;
+    private volatile int beamWidth;
+    
+    public BidirectionalBeamSearchPathfinder() {
+        this(DEFAULT_BEAM_WIDTH);
+    }
+    
+    /**
+     * Constructs a pathfinder with a fixed beam width. An instance that is
+     * never reconfigured afterwards may be shared between threads.
+     * 
+     * @param beamWidth the beam width.
+     */
+    public BidirectionalBeamSearchPathfinder(int beamWidth) {
+        this.beamWidth = Math.max(beamWidth, MINIMUM_BEAM_WIDHT);
+    }
     
     public int getBeamWidth() {
         return beamWidth;
     }
     
+    /**
+     * Sets the beam width of the subsequent searches.
+     * 
+     * @param beamWidth the new beam width.
+     * @deprecated mutating a shared pathfinder races with the searches running
+     *             on it; construct it with 
+     *             {@link #BidirectionalBeamSearchPathfinder(int)} instead.
+     */
+    @Deprecated
     public void setBeamWidth(int beamWidth) {
         this.beamWidth = Math.max(beamWidth, MINIMUM_BEAM_WIDHT);
     }
@@ -50,6 +77,11 @@ public final class BidirectionalBeamSearchPathfinder implements Pathfinder {
         
         checkNodes(graph, sourceNode, targetNode);
         
+        // The backward direction estimates the paths from the source node,
+        // which differ from the paths to it under asymmetric heuristics.
+        HeuristicFunction<Integer> backwardHeuristicFunction = 
+                IntHeuristicFunction.of(heuristicFunction).reversed();
+        int beamWidth = this.beamWidth;
         Queue<HeapNode> openForward            = new PriorityQueue<>();
         Queue<HeapNode> openBackward           = new PriorityQueue<>();
         Set<Integer> closedForward             = new HashSet<>();
@@ -58,6 +90,7 @@ public final class BidirectionalBeamSearchPathfinder implements Pathfinder {
         Map<Integer, Integer> parentsBackward  = new HashMap<>();
         Map<Integer, Double> distancesForward  = new HashMap<>();
         Map<Integer, Double> distancesBackward = new HashMap<>();
+        SuccessorSelector selector             = new SuccessorSelector();
         
         double bestPathLength = Double.POSITIVE_INFINITY;
         Integer touchNode = null;
@@ -76,8 +109,9 @@ public final class BidirectionalBeamSearchPathfinder implements Pathfinder {
                 
                 double distanceA = distancesForward.get(minA) +
                                    heuristicFunction.estimate(minA, targetNode);
-                double distanceB = distancesBackward.get(minB) +
-                                   heuristicFunction.estimate(minB, sourceNode);
+                double distanceB = 
+                        distancesBackward.get(minB) +
+                        backwardHeuristicFunction.estimate(minB, sourceNode);
                 
                 if (bestPathLength <= Math.max(distanceA, distanceB)) {
                     return tracebackPath(touchNode, 
@@ -96,23 +130,25 @@ public final class BidirectionalBeamSearchPathfinder implements Pathfinder {
                 
                 closedForward.add(currentNode);
                 
-                List<Integer> successors = 
+                int successorCount = 
                         getForwardSuccessors(graph,
                                              openBackward.peek().node,
                                              currentNode, 
-                                             targetNode,
                                              distancesForward,
                                              heuristicFunction,
-                                             beamWidth);
+                                             beamWidth,
+                                             selector);
                 
-                for (Integer childNode : successors) {
+                for (int i = 0; i < successorCount; ++i) {
+                    Integer childNode = selector.getNode(i);
+                    
                     if (closedForward.contains(childNode)) {
                         continue;
                     }
                     
                     double tentativeScore = 
                             distancesForward.get(currentNode) +
-                            graph.getEdgeWeight(currentNode, childNode);
+                            selector.getWeight(i);
                     
                     if (!distancesForward.containsKey(childNode) 
                             || distancesForward.get(childNode) > 
@@ -146,23 +182,25 @@ public final class BidirectionalBeamSearchPathfinder implements Pathfinder {
                 
                 closedBackward.add(currentNode);
                 
-                List<Integer> successors = 
+                int successorCount = 
                         getBackwardSuccessors(graph,
                                               openForward.peek().node,
                                               currentNode, 
-                                              sourceNode,
                                               distancesBackward,
-                                              heuristicFunction,
-                                              beamWidth);
+                                              backwardHeuristicFunction,
+                                              beamWidth,
+                                              selector);
                 
-                for (Integer parentNode : successors) {
+                for (int i = 0; i < successorCount; ++i) {
+                    Integer parentNode = selector.getNode(i);
+                    
                     if (closedBackward.contains(parentNode)) {
                         continue;
                     }
                     
                     double tentativeScore = 
                             distancesBackward.get(currentNode) +
-                            graph.getEdgeWeight(parentNode, currentNode);
+                            selector.getWeight(i);
                     
                     if (!distancesBackward.containsKey(parentNode)
                             || distancesBackward.get(parentNode) >
@@ -172,7 +210,7 @@ public final class BidirectionalBeamSearchPathfinder implements Pathfinder {
                         openBackward.add(
                                 new HeapNode(
                                     parentNode,
-                                tentativeScore + heuristicFunction
+                                tentativeScore + backwardHeuristicFunction
                                 .estimate(parentNode, sourceNode)));
                         
                         if (closedForward.contains(parentNode)) {
@@ -195,74 +233,908 @@ public final class BidirectionalBeamSearchPathfinder implements Pathfinder {
                 sourceNode);
     }
     
-    private static List<Integer> 
+    @Override
+    public List<Integer> search(CompactGraph graph,
+                                int sourceNode,
+                                int targetNode,
+                                IntHeuristicFunction heuristicFunction,
+                                SearchContext searchContext) {
+        Objects.requireNonNull(graph, "The input graph is null.");
+        Objects.requireNonNull(heuristicFunction,
+                               "The heuristic function is null.");
+        Objects.requireNonNull(searchContext, "The search context is null.");
+        
+        checkNodes(graph, sourceNode, targetNode);
+        return search(graph,
+                      sourceNode,
+                      targetNode,
+                      heuristicFunction,
+                      searchContext,
+                      beamWidth,
+                      null,
+                      Double.POSITIVE_INFINITY);
+    }
+    
+    /**
+     * Runs the search in the anytime mode. The first round uses the beam 
+     * width of this pathfinder. Each round that finds a shorter path reports
+     * it to {@code incumbentListener}, and the next round doubles the beam 
+     * width and skips everything that can not lead to a shorter path. The 
+     * search returns when a round keeps all the successors, or as soon as 
+     * {@code limits} are reached. In the latter case, it returns the best 
+     * path found so far or, if there is none yet, the most promising partial
+     * path of the forward direction.
+     * 
+     * @param graph             the graph to search in.
+     * @param sourceNode        the source node.
+     * @param targetNode        the target node.
+     * @param heuristicFunction the heuristic function.
+     * @param limits            the limits of the search.
+     * @param incumbentListener the listener of the improving paths, or 
+     *                          {@code null}.
+     * @param searchContext     the search context.
+     * @return the result of the search.
+     * @throws PathNotFoundException if the search completes without finding
+     *                               a path.
+     */
+    public AnytimeResult searchAnytime(CompactGraph graph,
+                                       int sourceNode,
+                                       int targetNode,
+                                       IntHeuristicFunction heuristicFunction,
+                                       SearchLimits limits,
+                                       IncumbentListener incumbentListener,
+                                       SearchContext searchContext) {
+        Objects.requireNonNull(graph, "The input graph is null.");
+        Objects.requireNonNull(heuristicFunction,
+                               "The heuristic function is null.");
+        Objects.requireNonNull(limits, "The search limits are null.");
+        Objects.requireNonNull(searchContext, "The search context is null.");
+        
+        checkNodes(graph, sourceNode, targetNode);
+        return AnytimeSearch.run(this::search,
+                                 graph,
+                                 sourceNode,
+                                 targetNode,
+                                 heuristicFunction,
+                                 searchContext,
+                                 beamWidth,
+                                 Math.max(graph.getMaximumOutDegree(),
+                                          graph.getMaximumInDegree()),
+                                 limits,
+                                 incumbentListener);
+    }
+    
+    /**
+     * Runs {@link #searchAnytime} on {@code executor}. The caller may take 
+     * the first incumbent from {@code incumbentListener} and let the search 
+     * refine it in the background. {@code searchContext} must not be used 
+     * until the returned future completes.
+     * 
+     * @param graph             the graph to search in.
+     * @param sourceNode        the source node.
+     * @param targetNode        the target node.
+     * @param heuristicFunction the heuristic function.
+     * @param limits            the limits of the search.
+     * @param incumbentListener the listener of the improving paths, or 
+     *                          {@code null}.
+     * @param searchContext     the search context.
+     * @param executor          the executor to run the search on.
+     * @return the future result of the search.
+     */
+    public CompletableFuture<AnytimeResult> 
+        searchAnytimeAsync(CompactGraph graph,
+                           int sourceNode,
+                           int targetNode,
+                           IntHeuristicFunction heuristicFunction,
+                           SearchLimits limits,
+                           IncumbentListener incumbentListener,
+                           SearchContext searchContext,
+                           Executor executor) {
+        Objects.requireNonNull(executor, "The executor is null.");
+        return CompletableFuture.supplyAsync(
+                () -> searchAnytime(graph, 
+                                    sourceNode, 
+                                    targetNode, 
+                                    heuristicFunction, 
+                                    limits, 
+                                    incumbentListener, 
+                                    searchContext), 
+                executor);
+    }
+    
+    /**
+     * Runs one search with the beam width {@code beamWidth}, skipping the 
+     * nodes whose priority reaches {@code upperBound}. If {@code budget} is
+     * not {@code null} and runs out, records the partial path of the forward
+     * direction into it and returns {@code null}.
+     */
+    private List<Integer> search(CompactGraph graph,
+                                 int sourceNode,
+                                 int targetNode,
+                                 IntHeuristicFunction heuristicFunction,
+                                 SearchContext searchContext,
+                                 int beamWidth,
+                                 SearchBudget budget,
+                                 double upperBound) {
+        IntHeuristicFunction backwardHeuristicFunction = 
+                heuristicFunction.reversed();
+        SearchState forward  = searchContext.getForwardState(graph);
+        SearchState backward = searchContext.getBackwardState(graph);
+        OpenList openForward  = forward.open;
+        OpenList openBackward = backward.open;
+        SuccessorSelector selector = searchContext.successorSelector;
+        SearchStatistics statistics = searchContext.getStatistics();
+        SearchListener listener = searchContext.getSearchListener();
+        
+        double bestPathLength = Double.POSITIVE_INFINITY;
+        int touchNode = -1;
+        
+        searchContext.startQuery(sourceNode, targetNode);
+        openForward.insert(sourceNode, 0.0);
+        openBackward.insert(targetNode, 0.0);
+        forward.setDistance(sourceNode, 0.0, -1);
+        backward.setDistance(targetNode, 0.0, -1);
+        
+        if (statistics != null) {
+            statistics.heapPushes = 2L;
+        }
+        
+        while (!openForward.isEmpty() && !openBackward.isEmpty()) {
+            if (touchNode != -1) {
+                int minA = openForward.peekMinimum();
+                int minB = openBackward.peekMinimum();
+                
+                double distanceA = forward.distances[minA] +
+                                   heuristicFunction.estimate(minA, targetNode);
+                double distanceB = backward.distances[minB] +
+                                   backwardHeuristicFunction.estimate(
+                                           minB, 
+                                           sourceNode);
+                
+                if (statistics != null) {
+                    statistics.heuristicEvaluations += 2L;
+                }
+                
+                if (bestPathLength <= Math.max(distanceA, distanceB)) {
+                    searchContext.finishQuery(true);
+                    return tracebackPath(touchNode, 
+                                         forward.parents, 
+                                         backward.parents);
+                }
+            }
+            
+            if (openForward.size() + forward.getClosedSize() <
+                    openBackward.size() + backward.getClosedSize()) {
+                int currentNode = openForward.extractMinimum();
+                
+                if (statistics != null) {
+                    ++statistics.heapPops;
+                }
+                
+                if (forward.isClosed(currentNode)) {
+                    if (statistics != null) {
+                        ++statistics.stalePops;
+                    }
+                    
+                    continue;
+                }
+                
+                if (budget != null && !budget.tryExpand()) {
+                    recordPartialPath(budget, 
+                                      forward, 
+                                      currentNode, 
+                                      targetNode, 
+                                      heuristicFunction);
+                    searchContext.finishQuery(false);
+                    return null;
+                }
+                
+                forward.close(currentNode);
+                
+                if (listener != null) {
+                    listener.onNodeExpanded(currentNode, 
+                                            forward.distances[currentNode]);
+                }
+                
+                int successorCount = 
+                        getForwardSuccessors(graph,
+                                             openBackward.peekMinimum(),
+                                             currentNode,
+                                             forward,
+                                             heuristicFunction,
+                                             beamWidth,
+                                             selector);
+                int pushes = 0;
+                
+                for (int i = 0; i < successorCount; ++i) {
+                    int childNode = graph.getArcHead(selector.getNode(i));
+                    
+                    if (forward.isClosed(childNode)) {
+                        continue;
+                    }
+                    
+                    double tentativeScore = forward.distances[currentNode] +
+                                            selector.getWeight(i);
+                    
+                    if (forward.getDistance(childNode) > tentativeScore) {
+                        double priority = 
+                                tentativeScore + 
+                                heuristicFunction.estimate(childNode, 
+                                                           targetNode);
+                        
+                        if (priority >= upperBound) {
+                            continue;
+                        }
+                        
+                        forward.setDistance(childNode, 
+                                            tentativeScore, 
+                                            currentNode);
+                        openForward.insert(childNode, priority);
+                        ++pushes;
+                        
+                        if (backward.isClosed(childNode)) {
+                            double pathLength = 
+                                    backward.distances[childNode] +
+                                    tentativeScore;
+                            
+                            if (bestPathLength > pathLength) {
+                                bestPathLength = pathLength;
+                                touchNode = childNode;
+                                touchNodeUpdated(statistics, 
+                                                 listener,
+                                                 touchNode,
+                                                 bestPathLength);
+                            }
+                        }
+                    }
+                }
+                
+                updateStatistics(statistics, 
+                                 selector, 
+                                 successorCount, 
+                                 pushes, 
+                                 forward.forgetDropped(touchNode),
+                                 forward, 
+                                 backward);
+            } else {
+                int currentNode = openBackward.extractMinimum();
+                
+                if (statistics != null) {
+                    ++statistics.heapPops;
+                }
+                
+                if (backward.isClosed(currentNode)) {
+                    if (statistics != null) {
+                        ++statistics.stalePops;
+                    }
+                    
+                    continue;
+                }
+                
+                if (budget != null && !budget.tryExpand()) {
+                    recordPartialPath(budget, 
+                                      forward, 
+                                      openForward.peekMinimum(), 
+                                      targetNode, 
+                                      heuristicFunction);
+                    searchContext.finishQuery(false);
+                    return null;
+                }
+                
+                backward.close(currentNode);
+                
+                if (listener != null) {
+                    listener.onNodeExpanded(currentNode, 
+                                            backward.distances[currentNode]);
+                }
+                
+                int successorCount = 
+                        getBackwardSuccessors(graph,
+                                              openForward.peekMinimum(),
+                                              currentNode,
+                                              backward,
+                                              backwardHeuristicFunction,
+                                              beamWidth,
+                                              selector);
+                int pushes = 0;
+                
+                for (int i = 0; i < successorCount; ++i) {
+                    int parentNode = 
+                            graph.getReverseArcTail(selector.getNode(i));
+                    
+                    if (backward.isClosed(parentNode)) {
+                        continue;
+                    }
+                    
+                    double tentativeScore = backward.distances[currentNode] +
+                                            selector.getWeight(i);
+                    
+                    if (backward.getDistance(parentNode) > tentativeScore) {
+                        double priority = 
+                                tentativeScore + 
+                                backwardHeuristicFunction.estimate(parentNode,
+                                                                   sourceNode);
+                        
+                        if (priority >= upperBound) {
+                            continue;
+                        }
+                        
+                        backward.setDistance(parentNode, 
+                                             tentativeScore, 
+                                             currentNode);
+                        openBackward.insert(parentNode, priority);
+                        ++pushes;
+                        
+                        if (forward.isClosed(parentNode)) {
+                            double pathLength = 
+                                    forward.distances[parentNode] + 
+                                    tentativeScore;
+                            
+                            if (bestPathLength > pathLength) {
+                                bestPathLength = pathLength;
+                                touchNode = parentNode;
+                                touchNodeUpdated(statistics, 
+                                                 listener,
+                                                 touchNode,
+                                                 bestPathLength);
+                            }
+                        }
+                    }
+                }
+                
+                updateStatistics(statistics, 
+                                 selector, 
+                                 successorCount, 
+                                 pushes, 
+                                 backward.forgetDropped(touchNode),
+                                 forward, 
+                                 backward);
+            }
+        }
+        
+        searchContext.finishQuery(false);
+        throw new PathNotFoundException(
+                "Target node " + targetNode + " is not reachable from " +
+                sourceNode);
+    }
+    
+    /**
+     * Records the path from the source node to {@code node} in the forward 
+     * direction as the partial result of an interrupted search.
+     */
+    private void recordPartialPath(SearchBudget budget,
+                                   SearchState forward,
+                                   int node,
+                                   int targetNode,
+                                   IntHeuristicFunction heuristicFunction) {
+        double distance = forward.distances[node];
+        budget.setPartialPath(
+                tracebackPath(node, forward.parents),
+                distance,
+                distance + heuristicFunction.estimate(node, targetNode));
+    }
+    
+    private static void touchNodeUpdated(SearchStatistics statistics,
+                                         SearchListener listener,
+                                         int touchNode,
+                                         double pathLength) {
+        if (statistics != null) {
+            ++statistics.touchNodeUpdates;
+        }
+        
+        if (listener != null) {
+            listener.onTouchNodeUpdated(touchNode, pathLength);
+        }
+    }
+    
+    /**
+     * Counts the work of one expansion, if statistics are collected.
+     */
+    private static void updateStatistics(SearchStatistics statistics,
+                                         SuccessorSelector selector,
+                                         int successorCount,
+                                         int pushes,
+                                         int dropped,
+                                         SearchState forward,
+                                         SearchState backward) {
+        if (statistics == null) {
+            return;
+        }
+        
+        ++statistics.expandedNodes;
+        statistics.heapPushes += pushes;
+        statistics.droppedNodes += dropped;
+        statistics.heuristicEvaluations += selector.size() + pushes;
+        statistics.prunedSuccessors += selector.size() - successorCount;
+        statistics.updatePeaks(forward.open.size() + backward.open.size(),
+                               forward.getClosedSize() + 
+                               backward.getClosedSize());
+    }
+    
+    /**
+     * Works like 
+     * {@link #search(CompactGraph, int, int, IntHeuristicFunction, 
+     * SearchContext)}, but runs the forward search on the calling thread and
+     * the backward search concurrently on the common fork/join pool.
+     * 
+     * @param graph             the compact graph to search in.
+     * @param sourceNode        the source node.
+     * @param targetNode        the target node.
+     * @param heuristicFunction the heuristic function. Must be thread-safe.
+     * @param searchContext     the reusable search context.
+     * @return the path from {@code sourceNode} to {@code targetNode}.
+     */
+    public List<Integer> searchConcurrently(
+            CompactGraph graph,
+            int sourceNode,
+            int targetNode,
+            IntHeuristicFunction heuristicFunction,
+            SearchContext searchContext) {
+        return searchConcurrently(graph,
+                                  sourceNode,
+                                  targetNode,
+                                  heuristicFunction,
+                                  searchContext,
+                                  ForkJoinPool.commonPool());
+    }
+    
+    /**
+     * Runs the forward search on the calling thread and the backward search 
+     * on {@code executor} at the same time. The two directions do not 
+     * alternate: each publishes its closed nodes, their distances and the 
+     * top of its open list to the other through lock-free arrays, and the 
+     * best meeting found so far is kept in an atomic reference. Either 
+     * thread stops both as soon as the termination test of the sequential
+     * search holds: the best path is no longer than the larger of the two 
+     * open list minima.
+     * <p>
+     * Unlike the sequential search, a meeting found before one of the open
+     * lists runs empty is returned instead of being discarded.
+     * 
+     * @param graph             the compact graph to search in.
+     * @param sourceNode        the source node.
+     * @param targetNode        the target node.
+     * @param heuristicFunction the heuristic function. Must be thread-safe.
+     * @param searchContext     the reusable search context. Both threads use
+     *                          it, so it must not be used by anyone else 
+     *                          until this method returns.
+     * @param executor          the executor running the backward search.
+     * @return the path from {@code sourceNode} to {@code targetNode}.
+     */
+    public List<Integer> searchConcurrently(
+            CompactGraph graph,
+            int sourceNode,
+            int targetNode,
+            IntHeuristicFunction heuristicFunction,
+            SearchContext searchContext,
+            Executor executor) {
+        Objects.requireNonNull(graph, "The input graph is null.");
+        Objects.requireNonNull(heuristicFunction,
+                               "The heuristic function is null.");
+        Objects.requireNonNull(searchContext, "The search context is null.");
+        Objects.requireNonNull(executor, "The executor is null.");
+        
+        checkNodes(graph, sourceNode, targetNode);
+        
+        int beamWidth = this.beamWidth;
+        SearchState forward  = searchContext.getForwardState(graph);
+        SearchState backward = searchContext.getBackwardState(graph);
+        SharedFrontier forwardFrontier  = searchContext.getForwardFrontier();
+        SharedFrontier backwardFrontier = searchContext.getBackwardFrontier();
+        SuccessorSelector backwardSelector = 
+                searchContext.getBackwardSuccessorSelector();
+        SearchStatistics forwardStatistics = searchContext.getStatistics();
+        SearchStatistics backwardStatistics = 
+                searchContext.getBackwardStatistics();
+        SearchListener listener = searchContext.getSearchListener();
+        IntHeuristicFunction backwardHeuristicFunction = 
+                heuristicFunction.reversed();
+        AtomicReference<Meeting> meeting = new AtomicReference<>();
+        AtomicBoolean done = new AtomicBoolean();
+        
+        searchContext.startQuery(sourceNode, targetNode);
+        forwardFrontier.reset(graph.getNodeCapacity(), 
+                              sourceNode, 
+                              heuristicFunction.estimate(sourceNode, 
+                                                         targetNode));
+        backwardFrontier.reset(graph.getNodeCapacity(),
+                               targetNode,
+                               backwardHeuristicFunction.estimate(
+                                       targetNode, 
+                                       sourceNode));
+        
+        CompletableFuture<Void> backwardSearch = 
+                CompletableFuture.runAsync(() -> {
+                    try {
+                        searchDirection(graph,
+                                        false,
+                                        targetNode,
+                                        sourceNode,
+                                        backwardHeuristicFunction,
+                                        beamWidth,
+                                        backward,
+                                        backwardSelector,
+                                        backwardFrontier,
+                                        forwardFrontier,
+                                        meeting,
+                                        done,
+                                        backwardStatistics,
+                                        listener);
+                    } finally {
+                        done.set(true);
+                    }
+                }, executor);
+        
+        try {
+            searchDirection(graph,
+                            true,
+                            sourceNode,
+                            targetNode,
+                            heuristicFunction,
+                            beamWidth,
+                            forward,
+                            searchContext.successorSelector,
+                            forwardFrontier,
+                            backwardFrontier,
+                            meeting,
+                            done,
+                            forwardStatistics,
+                            listener);
+        } finally {
+            done.set(true);
+        }
+        
+        try {
+            backwardSearch.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) ex.getCause();
+            }
+            
+            throw ex;
+        }
+        
+        if (forwardStatistics != null) {
+            forwardStatistics.add(backwardStatistics);
+        }
+        
+        Meeting bestMeeting = meeting.get();
+        searchContext.finishQuery(bestMeeting != null);
+        
+        if (bestMeeting == null) {
+            throw new PathNotFoundException(
+                    "Target node " + targetNode + " is not reachable from " +
+                    sourceNode);
+        }
+        
+        return tracebackPath(bestMeeting.touchNode,
+                             forward.parents,
+                             backward.parents);
+    }
+    
+    /**
+     * Runs one direction of the concurrent bidirectional search until either
+     * direction sets {@code done}.
+     * 
+     * @param graph         the graph.
+     * @param isForward     whether this is the forward direction.
+     * @param startNode     the node this direction starts from.
+     * @param goalNode      the node this direction heads to.
+     * @param state         the state of this direction.
+     * @param selector      the successor selector of this direction.
+     * @param frontier      the frontier this direction publishes.
+     * @param otherFrontier the frontier the other direction publishes.
+     * @param meeting       the best meeting found so far.
+     * @param done          the flag telling both directions to stop.
+     * @param statistics    the statistics of this direction, or 
+     *                      {@code null}.
+     * @param listener      the search listener, or {@code null}.
+     */
+    private static void searchDirection(CompactGraph graph,
+                                        boolean isForward,
+                                        int startNode,
+                                        int goalNode,
+                                        IntHeuristicFunction heuristicFunction,
+                                        int beamWidth,
+                                        SearchState state,
+                                        SuccessorSelector selector,
+                                        SharedFrontier frontier,
+                                        SharedFrontier otherFrontier,
+                                        AtomicReference<Meeting> meeting,
+                                        AtomicBoolean done,
+                                        SearchStatistics statistics,
+                                        SearchListener listener) {
+        OpenList open = state.open;
+        open.insert(startNode, 0.0);
+        state.setDistance(startNode, 0.0, -1);
+        
+        if (statistics != null) {
+            statistics.heapPushes = 1L;
+        }
+        
+        while (!done.get()) {
+            if (open.isEmpty()) {
+                frontier.topPriority = Double.POSITIVE_INFINITY;
+                return;
+            }
+            
+            int topNode = open.peekMinimum();
+            double topPriority = 
+                    state.distances[topNode] +
+                    heuristicFunction.estimate(topNode, goalNode);
+            frontier.topNode = topNode;
+            frontier.topPriority = topPriority;
+            
+            if (statistics != null) {
+                ++statistics.heuristicEvaluations;
+            }
+            
+            Meeting bestMeeting = meeting.get();
+            
+            if (bestMeeting != null 
+                    && bestMeeting.pathLength <= 
+                       Math.max(topPriority, otherFrontier.topPriority)) {
+                return;
+            }
+            
+            int currentNode = open.extractMinimum();
+            
+            if (statistics != null) {
+                ++statistics.heapPops;
+            }
+            
+            if (state.isClosed(currentNode)) {
+                if (statistics != null) {
+                    ++statistics.stalePops;
+                }
+                
+                continue;
+            }
+            
+            double currentDistance = state.distances[currentNode];
+            state.close(currentNode);
+            frontier.publishClosed(currentNode, currentDistance);
+            
+            if (listener != null) {
+                listener.onNodeExpanded(currentNode, currentDistance);
+            }
+            
+            // The other direction may have closed the node before it could 
+            // see it closed here.
+            if (otherFrontier.isClosed(currentNode)) {
+                offerMeeting(meeting,
+                             currentNode,
+                             currentDistance + 
+                             otherFrontier.getClosedDistance(currentNode),
+                             statistics,
+                             listener);
+            }
+            
+            int successorCount = isForward ?
+                    getForwardSuccessors(graph,
+                                         otherFrontier.topNode,
+                                         currentNode,
+                                         state,
+                                         heuristicFunction,
+                                         beamWidth,
+                                         selector) :
+                    getBackwardSuccessors(graph,
+                                          otherFrontier.topNode,
+                                          currentNode,
+                                          state,
+                                          heuristicFunction,
+                                          beamWidth,
+                                          selector);
+            
+            int pushes = 0;
+            
+            for (int i = 0; i < successorCount; ++i) {
+                int arc = selector.getNode(i);
+                int nextNode = isForward ? 
+                               graph.getArcHead(arc) :
+                               graph.getReverseArcTail(arc);
+                
+                if (state.isClosed(nextNode)) {
+                    continue;
+                }
+                
+                double tentativeScore = currentDistance + 
+                                        selector.getWeight(i);
+                
+                if (state.getDistance(nextNode) > tentativeScore) {
+                    state.setDistance(nextNode, tentativeScore, currentNode);
+                    open.insert(nextNode,
+                                tentativeScore + 
+                                heuristicFunction.estimate(nextNode, 
+                                                           goalNode));
+                    ++pushes;
+                    
+                    if (otherFrontier.isClosed(nextNode)) {
+                        offerMeeting(meeting,
+                                     nextNode,
+                                     tentativeScore + 
+                                     otherFrontier
+                                             .getClosedDistance(nextNode),
+                                     statistics,
+                                     listener);
+                    }
+                }
+            }
+            
+            Meeting currentMeeting = meeting.get();
+            int dropped = state.forgetDropped(currentMeeting == null ? 
+                                              -1 : 
+                                              currentMeeting.touchNode);
+            
+            if (statistics != null) {
+                ++statistics.expandedNodes;
+                statistics.heapPushes += pushes;
+                statistics.droppedNodes += dropped;
+                statistics.heuristicEvaluations += selector.size() + pushes;
+                statistics.prunedSuccessors += 
+                        selector.size() - successorCount;
+                statistics.updatePeaks(open.size(), state.getClosedSize());
+            }
+        }
+    }
+    
+    /**
+     * Replaces the best meeting with a new one if it is shorter.
+     */
+    private static void offerMeeting(AtomicReference<Meeting> meeting,
+                                     int touchNode,
+                                     double pathLength,
+                                     SearchStatistics statistics,
+                                     SearchListener listener) {
+        Meeting candidate = new Meeting(touchNode, pathLength);
+        
+        while (true) {
+            Meeting current = meeting.get();
+            
+            if (current != null && current.pathLength <= pathLength) {
+                return;
+            }
+            
+            if (meeting.compareAndSet(current, candidate)) {
+                touchNodeUpdated(statistics, listener, touchNode, pathLength);
+                return;
+            }
+        }
+    }
+    
+    /**
+     * The node where the two directions met, and the length of the path 
+     * through it.
+     */
+    private static final class Meeting {
+        final int touchNode;
+        final double pathLength;
+        
+        Meeting(int touchNode, double pathLength) {
+            this.touchNode = touchNode;
+            this.pathLength = pathLength;
+        }
+    }
+    
+    /**
+     * Loads the children of {@code currentNode} into {@code selector} and 
+     * selects the best {@code beamWidth} of them. Returns the number of the
+     * selected children.
+     */
+    private static int 
         getForwardSuccessors(AbstractGraph graph,
                              Integer backwardTop,
                              Integer currentNode,
-                             Integer targetNode,
                              Map<Integer, Double> distances,
                              HeuristicFunction<Integer> heuristicFunction,
-                             int beamWidth) {
-        List<Integer> successors = new ArrayList<>();
-        Map<Integer, Double> costMap = new HashMap<>();
-
+                             int beamWidth,
+                             SuccessorSelector selector) {
+        double distance = distances.get(currentNode);
+        selector.clear();
+        
         for (Integer successor : graph.getChildrenOf(currentNode)) {
-            successors.add(successor);
-            costMap.put(
-                    successor,
-                    distances.get(currentNode) + 
-                        graph.getEdgeWeight(currentNode, successor) +
-                        heuristicFunction.estimate(successor, backwardTop));
+            double weight = graph.getEdgeWeight(currentNode, successor);
+            selector.add(successor,
+                         weight,
+                         distance + 
+                             weight +
+                             heuristicFunction.estimate(successor, 
+                                                        backwardTop));
         }
-
-        Collections.sort(successors, (a, b) -> {
-            return Double.compare(costMap.get(a), costMap.get(b));
-        });
-
-        return successors.subList(0, Math.min(successors.size(), 
-                                              beamWidth));
+        
+        return selector.select(beamWidth);
     }
-     
-    private static List<Integer>
+    
+    /**
+     * Loads the parents of {@code currentNode} into {@code selector} and 
+     * selects the best {@code beamWidth} of them. Returns the number of the
+     * selected parents. {@code heuristicFunction} must be the reversed one.
+     */
+    private static int
             getBackwardSuccessors(AbstractGraph graph,
                                   Integer forwardTop,
                                   Integer currentNode, 
-                                  Integer sourceNode,
                                   Map<Integer, Double> distances,
                                   HeuristicFunction<Integer> heuristicFunction,
-                                  int beamWidth) {
-        List<Integer> successors = new ArrayList<>();
-        Map<Integer, Double> costMap = new HashMap<>();
+                                  int beamWidth,
+                                  SuccessorSelector selector) {
+        double distance = distances.get(currentNode);
+        selector.clear();
         
         for (Integer successor : graph.getParentsOf(currentNode)) {
-            successors.add(successor);
-            costMap.put(
-                    successor,
-                    distances.get(currentNode) +
-                        graph.getEdgeWeight(successor, currentNode) +
-                        heuristicFunction.estimate(successor, forwardTop));
+            double weight = graph.getEdgeWeight(successor, currentNode);
+            selector.add(successor,
+                         weight,
+                         distance +
+                             weight +
+                             heuristicFunction.estimate(successor, 
+                                                        forwardTop));
         }
         
-        Collections.sort(successors, (a, b) -> {
-            return Double.compare(costMap.get(a), costMap.get(b));
-        });
-        
-        return successors.subList(0, Math.min(successors.size(),
-                                              beamWidth));
+        return selector.select(beamWidth);
     }
     
-    private static final class HeapNode implements Comparable<HeapNode> {
-        Integer node;
-        double fScore;
+    /**
+     * Loads the arcs leaving {@code currentNode} into {@code selector} and 
+     * selects the best {@code beamWidth} of them. Returns the number of the
+     * selected arcs.
+     */
+    private static int 
+        getForwardSuccessors(CompactGraph graph,
+                             int backwardTop,
+                             int currentNode,
+                             SearchState state,
+                             IntHeuristicFunction heuristicFunction,
+                             int beamWidth,
+                             SuccessorSelector selector) {
+        double distance = state.distances[currentNode];
+        int firstArc = graph.getFirstArc(currentNode);
+        int degree = graph.getLastArc(currentNode) - firstArc;
+        int[] children = selector.getNeighbourBuffer(degree);
+        double[] estimates = selector.getEstimateBuffer(degree);
+        graph.copyArcHeads(currentNode, children);
+        heuristicFunction.estimate(children, degree, backwardTop, estimates);
+        selector.clear();
         
-        HeapNode(Integer node, double fScore) {
-            this.node = node;
-            this.fScore = fScore;
+        for (int i = 0; i < degree; ++i) {
+            double weight = graph.getArcWeight(firstArc + i);
+            selector.add(firstArc + i,
+                         weight,
+                         distance + weight + estimates[i]);
         }
-
-        @Override
-        public int compareTo(HeapNode o) {
-            return Double.compare(fScore, o.fScore);
+        
+        return selector.select(beamWidth);
+    }
+    
+    /**
+     * Loads the arcs entering {@code currentNode} into {@code selector} and 
+     * selects the best {@code beamWidth} of them. Returns the number of the
+     * selected arcs.
+     */
+    private static int 
+        getBackwardSuccessors(CompactGraph graph,
+                              int forwardTop,
+                              int currentNode,
+                              SearchState state,
+                              IntHeuristicFunction heuristicFunction,
+                              int beamWidth,
+                              SuccessorSelector selector) {
+        double distance = state.distances[currentNode];
+        int firstArc = graph.getFirstReverseArc(currentNode);
+        int degree = graph.getLastReverseArc(currentNode) - firstArc;
+        int[] parents = selector.getNeighbourBuffer(degree);
+        double[] estimates = selector.getEstimateBuffer(degree);
+        graph.copyReverseArcTails(currentNode, parents);
+        heuristicFunction.estimate(parents, degree, forwardTop, estimates);
+        selector.clear();
+        
+        for (int i = 0; i < degree; ++i) {
+            double weight = graph.getReverseArcWeight(firstArc + i);
+            selector.add(firstArc + i,
+                         weight,
+                         distance + weight + estimates[i]);
         }
+        
+        return selector.select(beamWidth);
     }
 }
@@ -0,0 +1,313 @@
+package net.coderodde.graph.pathfinding.beamsearch;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * This class implements an open list holding at most a fixed number of 
+ * nodes. When a node is inserted into a full list, the node with the highest
+ * priority, which may be the inserted one, is dropped. The searches take the
+ * dropped nodes back through {@link #pollDropped()} and forget them, so that
+ * a node dropped from the frontier may be reached again later.
+ * <p>
+ * The nodes are kept in two indexed binary heaps at once, a min-heap for the
+ * extraction and a max-heap for the dropping, so both ends are reached in 
+ * logarithmic time. The memory a query takes is fixed in advance: this list
+ * holds 8 bytes per entry up to {@code maximumSize} plus 16 bytes per node 
+ * ID, and the {@link SearchContext} holds 24 bytes per node ID in each search
+ * direction. Dropping nodes makes the search incomplete: a query may fail to
+ * find a path, or find a longer one, even with an unbounded beam.
+ * 
+ * @author Rodion "rodde" Efremov
+ * @version 1.6 (Oct 16, 2026)
+ */
+public final class BoundedOpenList implements OpenList {
+    
+    /**
+     * The maximum number of nodes in the list.
+     */
+    private final int maximumSize;
+    
+    /**
+     * The nodes in the min-heap order.
+     */
+    private final int[] minHeap;
+    
+    /**
+     * The nodes in the max-heap order.
+     */
+    private final int[] maxHeap;
+    
+    /**
+     * {@code minPositions[u]} is the position of the node {@code u} in 
+     * {@link #minHeap}, or {@code -1} if {@code u} is not in the list.
+     */
+    private int[] minPositions = new int[0];
+    
+    /**
+     * {@code maxPositions[u]} is the position of the node {@code u} in 
+     * {@link #maxHeap}.
+     */
+    private int[] maxPositions = new int[0];
+    
+    /**
+     * {@code priorities[u]} is the priority of the node {@code u}.
+     */
+    private double[] priorities = new double[0];
+    
+    /**
+     * The number of nodes in the list.
+     */
+    private int size;
+    
+    /**
+     * The nodes dropped since they were last polled.
+     */
+    private int[] droppedNodes = new int[16];
+    
+    /**
+     * The number of the nodes in {@link #droppedNodes}.
+     */
+    private int droppedSize;
+    
+    /**
+     * Constructs an open list holding at most {@code maximumSize} nodes.
+     * 
+     * @param maximumSize the maximum number of nodes.
+     */
+    public BoundedOpenList(int maximumSize) {
+        if (maximumSize < 1) {
+            throw new IllegalArgumentException(
+                    "The maximum size is not positive: " + maximumSize);
+        }
+        
+        this.maximumSize = maximumSize;
+        this.minHeap = new int[maximumSize];
+        this.maxHeap = new int[maximumSize];
+    }
+    
+    public int getMaximumSize() {
+        return maximumSize;
+    }
+    
+    @Override
+    public void ensureCapacity(int nodeCapacity) {
+        if (minPositions.length < nodeCapacity) {
+            int oldLength = minPositions.length;
+            minPositions = Arrays.copyOf(minPositions, nodeCapacity);
+            maxPositions = Arrays.copyOf(maxPositions, nodeCapacity);
+            priorities   = Arrays.copyOf(priorities, nodeCapacity);
+            Arrays.fill(minPositions, oldLength, nodeCapacity, -1);
+        }
+    }
+    
+    @Override
+    public void insert(int node, double priority) {
+        if (minPositions[node] != -1) {
+            if (priority < priorities[node]) {
+                priorities[node] = priority;
+                siftUp(minHeap, minPositions, minPositions[node], false);
+                siftDown(maxHeap, maxPositions, maxPositions[node], size, true);
+            }
+            
+            return;
+        }
+        
+        if (size == maximumSize) {
+            int maximumNode = maxHeap[0];
+            
+            if (priority >= priorities[maximumNode]) {
+                addDropped(node);
+                return;
+            }
+            
+            addDropped(maximumNode);
+            remove(maximumNode);
+        }
+        
+        priorities[node] = priority;
+        minHeap[size] = node;
+        maxHeap[size] = node;
+        minPositions[node] = size;
+        maxPositions[node] = size;
+        siftUp(minHeap, minPositions, size, false);
+        siftUp(maxHeap, maxPositions, size, true);
+        ++size;
+    }
+    
+    @Override
+    public int extractMinimum() {
+        checkNotEmpty();
+        int minimumNode = minHeap[0];
+        remove(minimumNode);
+        return minimumNode;
+    }
+    
+    @Override
+    public int peekMinimum() {
+        checkNotEmpty();
+        return minHeap[0];
+    }
+    
+    @Override
+    public double getMinimumPriority() {
+        checkNotEmpty();
+        return priorities[minHeap[0]];
+    }
+    
+    @Override
+    public int size() {
+        return size;
+    }
+    
+    @Override
+    public void clear() {
+        for (int i = 0; i < size; ++i) {
+            minPositions[minHeap[i]] = -1;
+        }
+        
+        size = 0;
+        droppedSize = 0;
+    }
+    
+    /**
+     * Removes and returns a node dropped since the last call, or returns 
+     * {@code -1} if there are none left. A dropped node that has been 
+     * inserted again in the meantime is not returned.
+     * 
+     * @return a dropped node or {@code -1}.
+     */
+    @Override
+    public int pollDropped() {
+        while (droppedSize > 0) {
+            int node = droppedNodes[--droppedSize];
+            
+            if (minPositions[node] == -1) {
+                return node;
+            }
+        }
+        
+        return -1;
+    }
+    
+    private void addDropped(int node) {
+        if (droppedSize == droppedNodes.length) {
+            droppedNodes = Arrays.copyOf(droppedNodes, 2 * droppedSize);
+        }
+        
+        droppedNodes[droppedSize++] = node;
+    }
+    
+    /**
+     * Removes {@code node} from both heaps.
+     */
+    private void remove(int node) {
+        int last = size - 1;
+        removeAt(minHeap, minPositions, minPositions[node], last, false);
+        removeAt(maxHeap, maxPositions, maxPositions[node], last, true);
+        minPositions[node] = -1;
+        size = last;
+    }
+    
+    /**
+     * Fills the hole at {@code position} of {@code heap} with its node at
+     * {@code last} and restores the heap order over the first {@code last}
+     * positions.
+     */
+    private void removeAt(int[] heap, 
+                          int[] positions, 
+                          int position, 
+                          int last, 
+                          boolean max) {
+        if (position == last) {
+            return;
+        }
+        
+        heap[position] = heap[last];
+        positions[heap[position]] = position;
+        
+        if (siftUp(heap, positions, position, max) == position) {
+            siftDown(heap, positions, position, last, max);
+        }
+    }
+    
+    /**
+     * Moves the node at {@code position} towards the root and returns its
+     * final position.
+     */
+    private int siftUp(int[] heap, int[] positions, int position, boolean max) {
+        int node = heap[position];
+        
+        while (position > 0) {
+            int parentPosition = (position - 1) / 2;
+            int parentNode = heap[parentPosition];
+            
+            if (!precedes(node, parentNode, max)) {
+                break;
+            }
+            
+            heap[position] = parentNode;
+            positions[parentNode] = position;
+            position = parentPosition;
+        }
+        
+        heap[position] = node;
+        positions[node] = position;
+        return position;
+    }
+    
+    /**
+     * Moves the node at {@code position} towards the leaves of the heap of
+     * {@code heapSize} nodes.
+     */
+    private void siftDown(int[] heap, 
+                          int[] positions, 
+                          int position, 
+                          int heapSize,
+                          boolean max) {
+        int node = heap[position];
+        
+        while (true) {
+            int childPosition = 2 * position + 1;
+            
+            if (childPosition >= heapSize) {
+                break;
+            }
+            
+            if (childPosition + 1 < heapSize 
+                    && precedes(heap[childPosition + 1], 
+                                heap[childPosition], 
+                                max)) {
+                ++childPosition;
+            }
+            
+            int childNode = heap[childPosition];
+            
+            if (!precedes(childNode, node, max)) {
+                break;
+            }
+            
+            heap[position] = childNode;
+            positions[childNode] = position;
+            position = childPosition;
+        }
+        
+        heap[position] = node;
+        positions[node] = position;
+    }
+    
+    /**
+     * Tells whether {@code u} belongs above {@code v} in the min-heap, or in
+     * the max-heap if {@code max} is set.
+     */
+    private boolean precedes(int u, int v, boolean max) {
+        return max ? priorities[u] > priorities[v] : 
+                     priorities[u] < priorities[v];
+    }
+    
+    private void checkNotEmpty() {
+        if (size == 0) {
+            throw new NoSuchElementException("The open list is empty.");
+        }
+    }
+}
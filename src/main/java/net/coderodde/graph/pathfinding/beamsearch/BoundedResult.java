@@ -0,0 +1,93 @@
+package net.coderodde.graph.pathfinding.beamsearch;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * This class holds the result of a bounded-suboptimal search: the path, its
+ * length, and a lower bound on the length of the shortest path that 
+ * certifies how far the path may be from the optimum. The bound is valid if
+ * the heuristic function is admissible.
+ * 
+ * @author Rodion "rodde" Efremov
+ * @version 1.6 (Oct 16, 2026)
+ */
+public final class BoundedResult {
+    
+    private final List<Integer> path;
+    private final double pathLength;
+    private final double lowerBound;
+    private final double suboptimalityFactor;
+    private final long expandedNodes;
+    
+    BoundedResult(List<Integer> path,
+                  double pathLength,
+                  double lowerBound,
+                  double suboptimalityFactor,
+                  long expandedNodes) {
+        this.path                = Collections.unmodifiableList(path);
+        this.pathLength          = pathLength;
+        this.lowerBound          = lowerBound;
+        this.suboptimalityFactor = suboptimalityFactor;
+        this.expandedNodes       = expandedNodes;
+    }
+    
+    /**
+     * Returns the path from the source node to the target node.
+     * 
+     * @return the path.
+     */
+    public List<Integer> getPath() {
+        return path;
+    }
+    
+    public double getPathLength() {
+        return pathLength;
+    }
+    
+    /**
+     * Returns a lower bound on the length of the shortest path from the 
+     * source node to the target node. It never exceeds the path length.
+     * 
+     * @return the lower bound.
+     */
+    public double getLowerBound() {
+        return lowerBound;
+    }
+    
+    /**
+     * Returns the certified bound on the suboptimality of the path: the 
+     * path is at most this many times longer than the shortest one. The 
+     * bound is the path length divided by {@link #getLowerBound()}, and 
+     * never exceeds {@link #getSuboptimalityFactor()}.
+     * 
+     * @return the certified suboptimality bound.
+     */
+    public double getSuboptimalityBound() {
+        if (pathLength <= lowerBound) {
+            return 1.0;
+        }
+        
+        return pathLength / lowerBound;
+    }
+    
+    /**
+     * Returns the suboptimality factor the search was asked to stay within.
+     * 
+     * @return the requested suboptimality factor.
+     */
+    public double getSuboptimalityFactor() {
+        return suboptimalityFactor;
+    }
+    
+    public long getExpandedNodes() {
+        return expandedNodes;
+    }
+    
+    @Override
+    public String toString() {
+        return "[length = " + pathLength + ", lower bound = " + lowerBound +
+               ", suboptimality bound = " + getSuboptimalityBound() + 
+               ", path = " + path + "]";
+    }
+}
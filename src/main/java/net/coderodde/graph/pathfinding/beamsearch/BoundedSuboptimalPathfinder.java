@@ -0,0 +1,590 @@
+package net.coderodde.graph.pathfinding.beamsearch;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.Queue;
+import java.util.Set;
+import net.coderodde.graph.AbstractGraph;
+
+/**
+ * This class implements the bounded-suboptimal alternative to the beam
+ * pruning: instead of a beam width, it takes a suboptimality factor
+ * {@code w} and returns a path at most {@code w} times longer than the
+ * shortest one, together with the lower bound certifying it. Unlike a
+ * narrow beam, it finds a path whenever one exists. The guarantee holds if
+ * the heuristic function is admissible.
+ * <p>
+ * Two variants are supported. The weighted A* expands the nodes in the
+ * order of {@code g + w * h}. The focal search (A*<sub>&epsilon;</sub>)
+ * keeps the focal list of the open nodes whose {@code g + h} is within
+ * {@code w} times the smallest one, and expands the focal node with the
+ * smallest secondary estimate, for example the number of hops to the
+ * target. Both variants reexpand a node once a shorter path to it is found,
+ * and both maintain the smallest {@code g + h} of the open nodes, which is
+ * the certified lower bound.
+ * 
+ * @author Rodion "rodde" Efremov
+ * @version 1.6 (Oct 16, 2026)
+ */
+public final class BoundedSuboptimalPathfinder implements Pathfinder {
+    
+    /**
+     * The variants of the bounded-suboptimal search.
+     */
+    public enum Variant {
+        
+        /**
+         * The weighted A* expanding the nodes by {@code g + w * h}.
+         */
+        WEIGHTED_A_STAR,
+        
+        /**
+         * The focal search expanding the node with the smallest secondary
+         * estimate among the open nodes with {@code g + h} within {@code w}
+         * times the smallest one.
+         */
+        FOCAL
+    }
+    
+    /**
+     * The index of the open list ordered by {@code g + h}.
+     */
+    private static final int LOWER_BOUND_LIST = 0;
+    
+    /**
+     * The index of the open list the nodes are expanded from.
+     */
+    private static final int EXPANSION_LIST = 1;
+    
+    /**
+     * The index of the open list of the focal search holding the open nodes
+     * outside the focal list by {@code g + h}.
+     */
+    private static final int PENDING_LIST = 2;
+    
+    private final Variant variant;
+    private final double suboptimalityFactor;
+    
+    /**
+     * The secondary heuristic function of the focal search, or {@code null}
+     * for the primary one.
+     */
+    private final IntHeuristicFunction focalHeuristicFunction;
+    
+    /**
+     * Constructs a focal search pathfinder ordering its focal list by the
+     * primary heuristic function.
+     * 
+     * @param suboptimalityFactor the suboptimality factor.
+     */
+    public BoundedSuboptimalPathfinder(double suboptimalityFactor) {
+        this(Variant.FOCAL, suboptimalityFactor, null);
+    }
+    
+    public BoundedSuboptimalPathfinder(Variant variant,
+                                       double suboptimalityFactor) {
+        this(variant, suboptimalityFactor, null);
+    }
+    
+    /**
+     * Constructs a pathfinder returning the paths at most
+     * {@code suboptimalityFactor} times longer than the shortest ones. The
+     * focal search orders its focal list by
+     * {@code focalHeuristicFunction}, which need not be admissible; it
+     * should estimate the remaining search effort, such as the number of
+     * hops to the target. The weighted A* ignores it.
+     * 
+     * @param variant                the variant of the search.
+     * @param suboptimalityFactor    the suboptimality factor, at least 1.
+     * @param focalHeuristicFunction the secondary heuristic function, or
+     *                               {@code null} for the primary one.
+     */
+    public BoundedSuboptimalPathfinder(
+            Variant variant,
+            double suboptimalityFactor,
+            IntHeuristicFunction focalHeuristicFunction) {
+        this.variant = Objects.requireNonNull(variant,
+                                              "The variant is null.");
+        
+        if (!(suboptimalityFactor >= 1.0)
+                || Double.isInfinite(suboptimalityFactor)) {
+            throw new IllegalArgumentException(
+                    "The suboptimality factor is not a finite number of at " +
+                    "least 1: " + suboptimalityFactor);
+        }
+        
+        this.suboptimalityFactor = suboptimalityFactor;
+        this.focalHeuristicFunction = focalHeuristicFunction;
+    }
+    
+    public Variant getVariant() {
+        return variant;
+    }
+    
+    public double getSuboptimalityFactor() {
+        return suboptimalityFactor;
+    }
+    
+    public IntHeuristicFunction getFocalHeuristicFunction() {
+        return focalHeuristicFunction;
+    }
+    
+    @Override
+    public List<Integer> search(AbstractGraph graph,
+                                Integer sourceNode,
+                                Integer targetNode,
+                                HeuristicFunction<Integer> heuristicFunction) {
+        Objects.requireNonNull(graph, "The input graph is null.");
+        Objects.requireNonNull(sourceNode, "The source node is null.");
+        Objects.requireNonNull(targetNode, "The target node is null.");
+        Objects.requireNonNull(heuristicFunction,
+                               "The heuristic function is null.");
+        
+        return searchBounded(graph,
+                             sourceNode,
+                             targetNode,
+                             heuristicFunction).getPath();
+    }
+    
+    @Override
+    public List<Integer> search(CompactGraph graph,
+                                int sourceNode,
+                                int targetNode,
+                                IntHeuristicFunction heuristicFunction,
+                                SearchContext searchContext) {
+        return searchBounded(graph,
+                             sourceNode,
+                             targetNode,
+                             heuristicFunction,
+                             searchContext).getPath();
+    }
+    
+    /**
+     * Searches for a path from {@code sourceNode} to {@code targetNode} in
+     * {@code graph} and returns it together with its certified suboptimality
+     * bound. The search runs on the graph itself, with the open lists kept
+     * in priority queues and the distances in hash maps, so a query costs 
+     * nothing in proportion to the size of the graph. An improved node is 
+     * inserted into the queues once again, and its outdated entries are 
+     * skipped once it is closed.
+     * 
+     * @param graph             the graph to search in.
+     * @param sourceNode        the source node.
+     * @param targetNode        the target node.
+     * @param heuristicFunction the admissible heuristic function.
+     * @return the path and its bound.
+     * @throws PathNotFoundException if the target is not reachable.
+     */
+    public BoundedResult searchBounded(
+            AbstractGraph graph,
+            Integer sourceNode,
+            Integer targetNode,
+            HeuristicFunction<Integer> heuristicFunction) {
+        Objects.requireNonNull(graph, "The input graph is null.");
+        Objects.requireNonNull(sourceNode, "The source node is null.");
+        Objects.requireNonNull(targetNode, "The target node is null.");
+        Objects.requireNonNull(heuristicFunction,
+                               "The heuristic function is null.");
+        
+        checkNodes(graph, sourceNode, targetNode);
+        
+        HeuristicFunction<Integer> focalHeuristicFunction =
+                this.focalHeuristicFunction != null ?
+                this.focalHeuristicFunction :
+                heuristicFunction;
+        Queue<HeapNode> lowerBoundList = new PriorityQueue<>();
+        Queue<HeapNode> expansionList  = new PriorityQueue<>();
+        Queue<HeapNode> pendingList    = new PriorityQueue<>();
+        Set<Integer> closed            = new HashSet<>();
+        Map<Integer, Integer> parents  = new HashMap<>();
+        Map<Integer, Double> distances = new HashMap<>();
+        boolean focal = variant == Variant.FOCAL;
+        long expandedNodes = 0L;
+        
+        double sourceEstimate =
+                heuristicFunction.estimate(sourceNode, targetNode);
+        parents.put(sourceNode, null);
+        distances.put(sourceNode, 0.0);
+        lowerBoundList.add(new HeapNode(sourceNode, sourceEstimate));
+        expansionList.add(
+                new HeapNode(sourceNode,
+                             focal ?
+                             focalHeuristicFunction.estimate(sourceNode,
+                                                             targetNode) :
+                             suboptimalityFactor * sourceEstimate));
+        
+        while (true) {
+            double lowerBound = getLowerBound(lowerBoundList, closed);
+            
+            if (lowerBound == Double.POSITIVE_INFINITY) {
+                break;
+            }
+            
+            double focalBound = suboptimalityFactor * lowerBound;
+            
+            // Moves into the focal list the nodes that the raised lower bound
+            // admitted.
+            while (focal
+                    && !pendingList.isEmpty()
+                    && pendingList.peek().fScore <= focalBound) {
+                int node = pendingList.remove().node;
+                
+                if (!closed.contains(node)) {
+                    expansionList.add(
+                            new HeapNode(
+                                    node,
+                                    focalHeuristicFunction.estimate(
+                                            node,
+                                            targetNode)));
+                }
+            }
+            
+            Integer currentNode = expansionList.remove().node;
+            
+            if (closed.contains(currentNode)) {
+                continue;
+            }
+            
+            double distance = distances.get(currentNode);
+            
+            if (focal) {
+                // The bound may have dropped below the node since it entered
+                // the focal list if the heuristic function is inconsistent.
+                double priority =
+                        distance +
+                        heuristicFunction.estimate(currentNode, targetNode);
+                
+                if (priority > focalBound) {
+                    pendingList.add(new HeapNode(currentNode, priority));
+                    continue;
+                }
+            }
+            
+            if (currentNode.equals(targetNode)) {
+                // The reexpansions may have shortened the path behind the
+                // distance of the target, so the path is measured anew.
+                List<Integer> path = tracebackPath(targetNode, parents);
+                double pathLength = getPathLength(graph, path);
+                return new BoundedResult(path,
+                                         pathLength,
+                                         Math.min(lowerBound, pathLength),
+                                         suboptimalityFactor,
+                                         expandedNodes);
+            }
+            
+            closed.add(currentNode);
+            ++expandedNodes;
+            
+            for (Integer childNode : graph.getChildrenOf(currentNode)) {
+                double tentativeDistance = 
+                        distance + 
+                        graph.getEdgeWeight(currentNode, childNode);
+                Double childDistance = distances.get(childNode);
+                
+                if (childDistance != null 
+                        && childDistance <= tentativeDistance) {
+                    continue;
+                }
+                
+                closed.remove(childNode);
+                distances.put(childNode, tentativeDistance);
+                parents.put(childNode, currentNode);
+                double estimate = heuristicFunction.estimate(childNode,
+                                                             targetNode);
+                double priority = tentativeDistance + estimate;
+                lowerBoundList.add(new HeapNode(childNode, priority));
+                
+                if (!focal) {
+                    expansionList.add(
+                            new HeapNode(childNode,
+                                         tentativeDistance +
+                                         suboptimalityFactor * estimate));
+                } else if (priority <= focalBound) {
+                    expansionList.add(
+                            new HeapNode(
+                                    childNode,
+                                    focalHeuristicFunction.estimate(
+                                            childNode,
+                                            targetNode)));
+                } else {
+                    pendingList.add(new HeapNode(childNode, priority));
+                }
+            }
+        }
+        
+        throw new PathNotFoundException(
+                "Path from " + sourceNode + " to " + targetNode +
+                " not found.");
+    }
+    
+    /**
+     * Searches for a path from {@code sourceNode} to {@code targetNode} and
+     * returns it together with its certified suboptimality bound.
+     * 
+     * @param graph             the compact graph to search in.
+     * @param sourceNode        the source node.
+     * @param targetNode        the target node.
+     * @param heuristicFunction the admissible heuristic function.
+     * @return the path and its bound.
+     */
+    public BoundedResult searchBounded(CompactGraph graph,
+                                       int sourceNode,
+                                       int targetNode,
+                                       IntHeuristicFunction heuristicFunction) {
+        return searchBounded(graph,
+                             sourceNode,
+                             targetNode,
+                             heuristicFunction,
+                             new SearchContext());
+    }
+    
+    /**
+     * Works like
+     * {@link #searchBounded(CompactGraph, int, int, IntHeuristicFunction)}
+     * but keeps all its working memory in {@code searchContext}.
+     * 
+     * @param graph             the compact graph to search in.
+     * @param sourceNode        the source node.
+     * @param targetNode        the target node.
+     * @param heuristicFunction the admissible heuristic function.
+     * @param searchContext     the reusable search context.
+     * @return the path and its bound.
+     * @throws PathNotFoundException if the target is not reachable.
+     */
+    public BoundedResult searchBounded(CompactGraph graph,
+                                       int sourceNode,
+                                       int targetNode,
+                                       IntHeuristicFunction heuristicFunction,
+                                       SearchContext searchContext) {
+        Objects.requireNonNull(graph, "The input graph is null.");
+        Objects.requireNonNull(heuristicFunction,
+                               "The heuristic function is null.");
+        Objects.requireNonNull(searchContext, "The search context is null.");
+        
+        checkNodes(graph, sourceNode, targetNode);
+        
+        IntHeuristicFunction focalHeuristicFunction =
+                this.focalHeuristicFunction != null ?
+                this.focalHeuristicFunction :
+                heuristicFunction;
+        int nodeCapacity = graph.getNodeCapacity();
+        SearchState state = searchContext.getForwardState(nodeCapacity);
+        OpenList lowerBoundList =
+                searchContext.getBoundedSearchList(LOWER_BOUND_LIST,
+                                                   nodeCapacity);
+        OpenList expansionList =
+                searchContext.getBoundedSearchList(EXPANSION_LIST,
+                                                   nodeCapacity);
+        OpenList pendingList =
+                searchContext.getBoundedSearchList(PENDING_LIST,
+                                                   nodeCapacity);
+        SearchStatistics statistics = searchContext.getStatistics();
+        SearchListener listener = searchContext.getSearchListener();
+        boolean focal = variant == Variant.FOCAL;
+        long expandedNodes = 0L;
+        
+        searchContext.startQuery(sourceNode, targetNode);
+        state.setDistance(sourceNode, 0.0, -1);
+        double sourceEstimate =
+                heuristicFunction.estimate(sourceNode, targetNode);
+        lowerBoundList.insert(sourceNode, sourceEstimate);
+        expansionList.insert(sourceNode,
+                             focal ?
+                             focalHeuristicFunction.estimate(sourceNode,
+                                                             targetNode) :
+                             suboptimalityFactor * sourceEstimate);
+        
+        if (statistics != null) {
+            statistics.heapPushes = 1L;
+            statistics.heuristicEvaluations = focal ? 2L : 1L;
+        }
+        
+        while (true) {
+            double lowerBound = getLowerBound(lowerBoundList, state);
+            
+            if (lowerBound == Double.POSITIVE_INFINITY) {
+                break;
+            }
+            
+            double focalBound = suboptimalityFactor * lowerBound;
+            
+            // Moves into the focal list the nodes that the raised lower bound
+            // admitted.
+            while (focal
+                    && !pendingList.isEmpty()
+                    && pendingList.getMinimumPriority() <= focalBound) {
+                int node = pendingList.extractMinimum();
+                
+                if (!state.isClosed(node)) {
+                    expansionList.insert(
+                            node,
+                            focalHeuristicFunction.estimate(node,
+                                                            targetNode));
+                    
+                    if (statistics != null) {
+                        ++statistics.heapPushes;
+                        ++statistics.heuristicEvaluations;
+                    }
+                }
+            }
+            
+            int currentNode = expansionList.extractMinimum();
+            
+            if (statistics != null) {
+                ++statistics.heapPops;
+            }
+            
+            if (state.isClosed(currentNode)) {
+                if (statistics != null) {
+                    ++statistics.stalePops;
+                }
+                
+                continue;
+            }
+            
+            double distance = state.distances[currentNode];
+            
+            if (focal) {
+                // The bound may have dropped below the node since it entered
+                // the focal list if the heuristic function is inconsistent.
+                double priority =
+                        distance +
+                        heuristicFunction.estimate(currentNode, targetNode);
+                
+                if (priority > focalBound) {
+                    pendingList.insert(currentNode, priority);
+                    continue;
+                }
+            }
+            
+            if (currentNode == targetNode) {
+                // The reexpansions may have shortened the path behind the
+                // distance of the target, so the path is measured anew.
+                List<Integer> path = tracebackPath(targetNode, state.parents);
+                double pathLength = AnytimeSearch.getPathLength(graph, path);
+                searchContext.finishQuery(true);
+                return new BoundedResult(path,
+                                         pathLength,
+                                         Math.min(lowerBound, pathLength),
+                                         suboptimalityFactor,
+                                         expandedNodes);
+            }
+            
+            state.close(currentNode);
+            ++expandedNodes;
+            
+            if (listener != null) {
+                listener.onNodeExpanded(currentNode, distance);
+            }
+            
+            int lastArc = graph.getLastArc(currentNode);
+            int pushes = 0;
+            
+            for (int arc = graph.getFirstArc(currentNode);
+                    arc < lastArc;
+                    ++arc) {
+                int childNode = graph.getArcHead(arc);
+                double tentativeDistance = distance +
+                                           graph.getArcWeight(arc);
+                
+                if (state.getDistance(childNode) <= tentativeDistance) {
+                    continue;
+                }
+                
+                if (state.isClosed(childNode)) {
+                    state.reopen(childNode);
+                }
+                
+                state.setDistance(childNode, tentativeDistance, currentNode);
+                double estimate = heuristicFunction.estimate(childNode,
+                                                             targetNode);
+                double priority = tentativeDistance + estimate;
+                lowerBoundList.insert(childNode, priority);
+                ++pushes;
+                
+                if (!focal) {
+                    expansionList.insert(
+                            childNode,
+                            tentativeDistance +
+                            suboptimalityFactor * estimate);
+                } else if (priority <= focalBound) {
+                    expansionList.insert(
+                            childNode,
+                            focalHeuristicFunction.estimate(childNode,
+                                                            targetNode));
+                    
+                    if (statistics != null) {
+                        ++statistics.heuristicEvaluations;
+                    }
+                } else {
+                    pendingList.insert(childNode, priority);
+                }
+            }
+            
+            if (statistics != null) {
+                ++statistics.expandedNodes;
+                statistics.heapPushes += 2 * pushes;
+                statistics.heuristicEvaluations += pushes;
+                statistics.updatePeaks(lowerBoundList.size(),
+                                       state.getClosedSize());
+            }
+        }
+        
+        searchContext.finishQuery(false);
+        throw new PathNotFoundException(
+                "Path from " + sourceNode + " to " + targetNode +
+                " not found.");
+    }
+    
+    /**
+     * Returns the smallest {@code g + h} of the open nodes, discarding the
+     * closed nodes on the top of {@code lowerBoundList}, or infinity if no
+     * node is open.
+     */
+    private static double getLowerBound(OpenList lowerBoundList,
+                                        SearchState state) {
+        while (!lowerBoundList.isEmpty()) {
+            if (!state.isClosed(lowerBoundList.peekMinimum())) {
+                return lowerBoundList.getMinimumPriority();
+            }
+            
+            lowerBoundList.extractMinimum();
+        }
+        
+        return Double.POSITIVE_INFINITY;
+    }
+    
+    /**
+     * Returns the smallest {@code g + h} of the open nodes, discarding the
+     * entries of the closed nodes on the top of {@code lowerBoundList}, or 
+     * infinity if no node is open. The outdated entries of an open node are
+     * larger than its current one, so they never make the minimum.
+     */
+    private static double getLowerBound(Queue<HeapNode> lowerBoundList,
+                                        Set<Integer> closed) {
+        while (!lowerBoundList.isEmpty()) {
+            if (!closed.contains(lowerBoundList.peek().node)) {
+                return lowerBoundList.peek().fScore;
+            }
+            
+            lowerBoundList.remove();
+        }
+        
+        return Double.POSITIVE_INFINITY;
+    }
+    
+    private static double getPathLength(AbstractGraph graph,
+                                        List<Integer> path) {
+        double pathLength = 0.0;
+        
+        for (int i = 1; i < path.size(); ++i) {
+            pathLength += graph.getEdgeWeight(path.get(i - 1), path.get(i));
+        }
+        
+        return pathLength;
+    }
+}
@@ -0,0 +1,465 @@
+package net.coderodde.graph.pathfinding.beamsearch;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import net.coderodde.graph.AbstractGraph;
+
+/**
+ * This class caches the paths found by another {@link Pathfinder}. A cached
+ * path is keyed by the graph, the source and target nodes, the beam width of
+ * the wrapped pathfinder and the heuristic function, the latter two compared
+ * by identity. The queries that fail with a {@link PathNotFoundException} are
+ * cached too, and fail again on a hit.
+ * <p>
+ * The cache is split into stripes, each an LRU map of its own bounded to an
+ * equal share of the capacity and guarded by its own lock, so the concurrent
+ * lookups of different keys rarely contend. The paths are stored as
+ * {@code int} arrays and copied into a fresh list on each hit.
+ * <p>
+ * The graph may change between the queries. The cache reads the version of
+ * the graph from a supplier on every query, and a stripe that sees a new
+ * version drops all its entries before use. The supplier is typically a
+ * modification counter the caller bumps on every change of the graph.
+ * 
+ * @author Rodion "rodde" Efremov
+ * @version 1.6 (Oct 16, 2026)
+ */
+public final class CachingPathfinder implements Pathfinder {
+    
+    /**
+     * The default number of stripes.
+     */
+    private static final int DEFAULT_NUMBER_OF_STRIPES = 16;
+    
+    /**
+     * Stands for a query whose path was not found.
+     */
+    private static final int[] NOT_FOUND = new int[0];
+    
+    /**
+     * The pathfinder answering the misses.
+     */
+    private final Pathfinder pathfinder;
+    
+    /**
+     * Supplies the current version of the graph.
+     */
+    private final LongSupplier graphVersion;
+    
+    private final Stripe[] stripes;
+    
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+    
+    /**
+     * Constructs a cache of at most {@code capacity} paths in front of
+     * {@code pathfinder}, for a graph that never changes.
+     * 
+     * @param pathfinder the pathfinder to cache.
+     * @param capacity   the maximum number of the cached paths.
+     */
+    public CachingPathfinder(Pathfinder pathfinder, int capacity) {
+        this(pathfinder, capacity, () -> 0L);
+    }
+    
+    /**
+     * Constructs a cache of at most {@code capacity} paths in front of
+     * {@code pathfinder}, invalidated whenever {@code graphVersion} returns
+     * a new value.
+     * 
+     * @param pathfinder   the pathfinder to cache.
+     * @param capacity     the maximum number of the cached paths.
+     * @param graphVersion the supplier of the graph version.
+     */
+    public CachingPathfinder(Pathfinder pathfinder,
+                             int capacity,
+                             LongSupplier graphVersion) {
+        this(pathfinder, capacity, graphVersion, DEFAULT_NUMBER_OF_STRIPES);
+    }
+    
+    /**
+     * Constructs a cache of at most {@code capacity} paths in front of
+     * {@code pathfinder}, split into {@code numberOfStripes} stripes and
+     * invalidated whenever {@code graphVersion} returns a new value.
+     * 
+     * @param pathfinder      the pathfinder to cache.
+     * @param capacity        the maximum number of the cached paths.
+     * @param graphVersion    the supplier of the graph version.
+     * @param numberOfStripes the number of stripes.
+     */
+    public CachingPathfinder(Pathfinder pathfinder,
+                             int capacity,
+                             LongSupplier graphVersion,
+                             int numberOfStripes) {
+        this.pathfinder = Objects.requireNonNull(pathfinder,
+                                                 "The pathfinder is null.");
+        this.graphVersion =
+                Objects.requireNonNull(graphVersion,
+                                       "The graph version supplier is null.");
+        
+        if (capacity < 1) {
+            throw new IllegalArgumentException(
+                    "The capacity is not positive: " + capacity);
+        }
+        
+        if (numberOfStripes < 1) {
+            throw new IllegalArgumentException(
+                    "The number of stripes is not positive: " +
+                    numberOfStripes);
+        }
+        
+        numberOfStripes = Math.min(numberOfStripes, capacity);
+        stripes = new Stripe[numberOfStripes];
+        
+        for (int i = 0; i < numberOfStripes; ++i) {
+            // Spread the capacity so that the stripes add up to it exactly.
+            int stripeCapacity = capacity / numberOfStripes +
+                                 (i < capacity % numberOfStripes ? 1 : 0);
+            stripes[i] = new Stripe(stripeCapacity);
+        }
+    }
+    
+    @Override
+    public List<Integer> search(AbstractGraph graph,
+                                Integer source,
+                                Integer target,
+                                HeuristicFunction<Integer> heuristicFunction) {
+        Objects.requireNonNull(graph, "The input graph is null.");
+        Objects.requireNonNull(source, "The source node is null.");
+        Objects.requireNonNull(target, "The target node is null.");
+        Objects.requireNonNull(heuristicFunction,
+                               "The heuristic function is null.");
+        
+        Key key = new Key(graph, 
+                          source, 
+                          target, 
+                          getBeamWidth(pathfinder), 
+                          heuristicFunction);
+        long version = graphVersion.getAsLong();
+        int[] path = lookup(key, version);
+        
+        if (path == null) {
+            try {
+                path = toArray(pathfinder.search(graph,
+                                                 source,
+                                                 target,
+                                                 heuristicFunction));
+            } catch (PathNotFoundException ex) {
+                store(key, version, NOT_FOUND);
+                throw ex;
+            }
+            
+            store(key, version, path);
+        }
+        
+        return toList(path, source, target);
+    }
+    
+    @Override
+    public List<Integer> search(CompactGraph graph,
+                                int source,
+                                int target,
+                                IntHeuristicFunction heuristicFunction,
+                                SearchContext searchContext) {
+        Objects.requireNonNull(graph, "The input graph is null.");
+        Objects.requireNonNull(heuristicFunction,
+                               "The heuristic function is null.");
+        
+        Key key = new Key(graph, 
+                          source, 
+                          target, 
+                          getBeamWidth(pathfinder), 
+                          heuristicFunction);
+        long version = graphVersion.getAsLong();
+        int[] path = lookup(key, version);
+        
+        if (path == null) {
+            try {
+                path = toArray(pathfinder.search(graph,
+                                                 source,
+                                                 target,
+                                                 heuristicFunction,
+                                                 searchContext));
+            } catch (PathNotFoundException ex) {
+                store(key, version, NOT_FOUND);
+                throw ex;
+            }
+            
+            store(key, version, path);
+        }
+        
+        return toList(path, source, target);
+    }
+    
+    /**
+     * Drops all the cached paths.
+     */
+    public void invalidateAll() {
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                stripe.map.clear();
+            }
+        }
+        
+        invalidations.increment();
+    }
+    
+    /**
+     * Returns the number of the cached paths.
+     * 
+     * @return the number of the cached paths.
+     */
+    public int size() {
+        int size = 0;
+        
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                size += stripe.map.size();
+            }
+        }
+        
+        return size;
+    }
+    
+    public long getHitCount() {
+        return hits.sum();
+    }
+    
+    public long getMissCount() {
+        return misses.sum();
+    }
+    
+    /**
+     * Returns the number of the paths evicted to make room for newer ones.
+     * 
+     * @return the number of evictions.
+     */
+    public long getEvictionCount() {
+        return evictions.sum();
+    }
+    
+    /**
+     * Returns the number of times a stripe or the whole cache was dropped
+     * since the graph changed or {@link #invalidateAll()} was called.
+     * 
+     * @return the number of invalidations.
+     */
+    public long getInvalidationCount() {
+        return invalidations.sum();
+    }
+    
+    /**
+     * Returns the ratio of the hits to all the lookups, or zero if there
+     * were no lookups.
+     * 
+     * @return the hit rate.
+     */
+    public double getHitRate() {
+        long hitCount = hits.sum();
+        long lookupCount = hitCount + misses.sum();
+        return lookupCount == 0L ? 0.0 : (double) hitCount / lookupCount;
+    }
+    
+    /**
+     * Resets the hit, miss, eviction and invalidation counts.
+     */
+    public void resetStatistics() {
+        hits.reset();
+        misses.reset();
+        evictions.reset();
+        invalidations.reset();
+    }
+    
+    private Stripe getStripe(Key key) {
+        int hash = key.hashCode;
+        hash ^= hash >>> 16;
+        return stripes[(hash & Integer.MAX_VALUE) % stripes.length];
+    }
+    
+    /**
+     * Returns the cached path of {@code key}, or {@code null} on a miss.
+     */
+    private int[] lookup(Key key, long version) {
+        Stripe stripe = getStripe(key);
+        int[] path;
+        
+        synchronized (stripe) {
+            stripe.validate(version);
+            path = stripe.map.get(key);
+        }
+        
+        if (path == null) {
+            misses.increment();
+        } else {
+            hits.increment();
+        }
+        
+        return path;
+    }
+    
+    /**
+     * Caches {@code path} under {@code key} unless the graph changed while
+     * the path was being searched for.
+     */
+    private void store(Key key, long version, int[] path) {
+        Stripe stripe = getStripe(key);
+        
+        synchronized (stripe) {
+            stripe.validate(graphVersion.getAsLong());
+            
+            if (stripe.version == version) {
+                stripe.map.put(key, path);
+            }
+        }
+    }
+    
+    private static int[] toArray(List<Integer> path) {
+        int[] array = new int[path.size()];
+        
+        for (int i = 0; i < array.length; ++i) {
+            array[i] = path.get(i);
+        }
+        
+        return array;
+    }
+    
+    private static List<Integer> toList(int[] path, int source, int target) {
+        if (path == NOT_FOUND) {
+            throw new PathNotFoundException(
+                    "Path from " + source + " to " + target + " not found.");
+        }
+        
+        List<Integer> list = new ArrayList<>(path.length);
+        
+        for (int node : path) {
+            list.add(node);
+        }
+        
+        return list;
+    }
+    
+    /**
+     * Returns the beam width of {@code pathfinder}, or zero if it has no
+     * beam.
+     */
+    private static int getBeamWidth(Pathfinder pathfinder) {
+        if (pathfinder instanceof BeamSearchPathfinder) {
+            return ((BeamSearchPathfinder) pathfinder).getBeamWidth();
+        }
+        
+        if (pathfinder instanceof BidirectionalBeamSearchPathfinder) {
+            return ((BidirectionalBeamSearchPathfinder) pathfinder)
+                    .getBeamWidth();
+        }
+        
+        return 0;
+    }
+    
+    /**
+     * The key of a cached path. The graph and the heuristic function are
+     * compared by identity.
+     */
+    private static final class Key {
+        
+        private final Object graph;
+        private final int source;
+        private final int target;
+        private final int beamWidth;
+        private final Object heuristicFunction;
+        private final int hashCode;
+        
+        Key(Object graph, 
+            int source, 
+            int target, 
+            int beamWidth, 
+            Object heuristicFunction) {
+            this.graph = graph;
+            this.source = source;
+            this.target = target;
+            this.beamWidth = beamWidth;
+            this.heuristicFunction = heuristicFunction;
+            
+            int hash = System.identityHashCode(graph);
+            hash = 31 * hash + source;
+            hash = 31 * hash + target;
+            hash = 31 * hash + beamWidth;
+            this.hashCode = 
+                    31 * hash + System.identityHashCode(heuristicFunction);
+        }
+        
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            
+            Key other = (Key) o;
+            return source == other.source
+                    && target == other.target
+                    && beamWidth == other.beamWidth
+                    && graph == other.graph
+                    && heuristicFunction == other.heuristicFunction;
+        }
+        
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+    
+    /**
+     * A stripe of the cache: an access-ordered map that drops its least
+     * recently used entry once it grows past its capacity.
+     */
+    private final class Stripe {
+        
+        private final LinkedHashMap<Key, int[]> map;
+        
+        /**
+         * The graph version the entries were searched in.
+         */
+        private long version;
+        
+        Stripe(int capacity) {
+            this.map = new LinkedHashMap<Key, int[]>(16, 0.75f, true) {
+                
+                private static final long serialVersionUID = 1L;
+                
+                @Override
+                protected boolean removeEldestEntry(
+                        Map.Entry<Key, int[]> eldest) {
+                    if (size() > capacity) {
+                        evictions.increment();
+                        return true;
+                    }
+                    
+                    return false;
+                }
+            };
+            
+            this.version = graphVersion.getAsLong();
+        }
+        
+        /**
+         * Drops all the entries if the graph version has changed.
+         */
+        void validate(long currentVersion) {
+            if (version != currentVersion) {
+                map.clear();
+                version = currentVersion;
+                invalidations.increment();
+            }
+        }
+    }
+}
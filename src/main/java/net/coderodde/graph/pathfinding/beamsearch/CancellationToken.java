@@ -0,0 +1,29 @@
+package net.coderodde.graph.pathfinding.beamsearch;
+
+/**
+ * This class implements a cooperative cancellation flag. An anytime search
+ * polls it before each node expansion and stops as soon as it is set, 
+ * returning the best result found so far.
+ * 
+ * @author Rodion "rodde" Efremov
+ * @version 1.6 (Oct 16, 2026)
+ */
+public final class CancellationToken {
+    
+    /**
+     * Whether the cancellation has been requested.
+     */
+    private volatile boolean cancelled;
+    
+    /**
+     * Requests the cancellation of the searches polling this token. May be 
+     * called from any thread.
+     */
+    public void cancel() {
+        cancelled = true;
+    }
+    
+    public boolean isCancelled() {
+        return cancelled;
+    }
+}
@@ -0,0 +1,281 @@
+package net.coderodde.graph.pathfinding.beamsearch;
+
+import java.util.Objects;
+import net.coderodde.graph.AbstractGraph;
+import net.coderodde.graph.DirectedGraph;
+
+/**
+ * This class implements an immutable compressed sparse row (CSR) snapshot of
+ * a directed graph. The arcs leaving the node {@code u} occupy the index range
+ * {@code [getFirstArc(u), getLastArc(u))} of the forward arrays, and the arcs
+ * entering {@code u} occupy the range
+ * {@code [getFirstReverseArc(u), getLastReverseArc(u))} of the reverse arrays.
+ * Node IDs are kept as is: the snapshot spans the IDs
+ * {@code 0, 1, ..., getNodeCapacity() - 1}, and the IDs not present in the
+ * source graph simply have no arcs.
+ * <p>
+ * A snapshot is either built on the heap by {@link #fromGraph(AbstractGraph)}
+ * or mapped from a file by {@link MappedGraphFile}. Both kinds are final 
+ * package-private subclasses, so a process using only one of them has all 
+ * the accessors devirtualized and inlined by the JIT.
+ * 
+ * @author Rodion "rodde" Efremov
+ * @version 1.6 (Oct 16, 2026)
+ */
+public abstract class CompactGraph {
+    
+    /**
+     * The checksum of the nodes and the arcs, or zero if it is not computed
+     * yet.
+     */
+    private volatile long checksum;
+    
+    CompactGraph() {}
+    
+    /**
+     * Builds the compact snapshot of {@code graph}. The children of each node
+     * are stored in the same order in which {@code graph.getChildrenOf}
+     * iterates them, and the same goes for the parents.
+     * 
+     * @param graph the graph to take the snapshot of.
+     * @return the compact snapshot.
+     */
+    public static CompactGraph fromGraph(AbstractGraph graph) {
+        Objects.requireNonNull(graph, "The input graph is null.");
+        int maximumNode = -1;
+        
+        for (Integer node : graph.getAllNodes()) {
+            if (node < 0) {
+                throw new IllegalArgumentException(
+                        "The node " + node + " has a negative ID.");
+            }
+            
+            maximumNode = Math.max(maximumNode, node);
+        }
+        
+        int nodeCapacity = maximumNode + 1;
+        boolean[] nodePresent = new boolean[nodeCapacity];
+        int[] forwardOffsets  = new int[nodeCapacity + 1];
+        int[] backwardOffsets = new int[nodeCapacity + 1];
+        
+        for (Integer node : graph.getAllNodes()) {
+            nodePresent[node] = true;
+            forwardOffsets[node + 1]  = graph.getChildrenOf(node).size();
+            backwardOffsets[node + 1] = graph.getParentsOf(node).size();
+        }
+        
+        for (int node = 0; node < nodeCapacity; ++node) {
+            forwardOffsets[node + 1]  += forwardOffsets[node];
+            backwardOffsets[node + 1] += backwardOffsets[node];
+        }
+        
+        int[] forwardTargets     = new int[forwardOffsets[nodeCapacity]];
+        double[] forwardWeights  = new double[forwardTargets.length];
+        int[] backwardTargets    = new int[backwardOffsets[nodeCapacity]];
+        double[] backwardWeights = new double[backwardTargets.length];
+        
+        for (Integer node : graph.getAllNodes()) {
+            int arc = forwardOffsets[node];
+            
+            for (Integer child : graph.getChildrenOf(node)) {
+                forwardTargets[arc] = child;
+                forwardWeights[arc] = graph.getEdgeWeight(node, child);
+                ++arc;
+            }
+            
+            arc = backwardOffsets[node];
+            
+            for (Integer parent : graph.getParentsOf(node)) {
+                backwardTargets[arc] = parent;
+                backwardWeights[arc] = graph.getEdgeWeight(parent, node);
+                ++arc;
+            }
+        }
+        
+        return new ArrayCompactGraph(nodePresent,
+                                     graph.size(),
+                                     forwardOffsets,
+                                     forwardTargets,
+                                     forwardWeights,
+                                     backwardOffsets,
+                                     backwardTargets,
+                                     backwardWeights);
+    }
+
+    /**
+     * Copies this snapshot back into a {@link DirectedGraph}, the inverse of
+     * {@link #fromGraph(AbstractGraph)}. Of several parallel arcs only the
+     * lightest one is kept, since a {@code DirectedGraph} holds one arc per
+     * node pair.
+     *
+     * @return the directed graph with the nodes and the arcs of this
+     *         snapshot.
+     */
+    DirectedGraph toGraph() {
+        DirectedGraph graph = new DirectedGraph();
+        int nodeCapacity = getNodeCapacity();
+
+        for (int node = 0; node < nodeCapacity; ++node) {
+            if (hasNode(node)) {
+                graph.addNode(node);
+            }
+        }
+
+        for (int node = 0; node < nodeCapacity; ++node) {
+            for (int arc = getFirstArc(node); arc < getLastArc(node); ++arc) {
+                int head = getArcHead(arc);
+                double weight = getArcWeight(arc);
+
+                if (!graph.hasEdge(node, head)
+                        || graph.getEdgeWeight(node, head) > weight) {
+                    graph.addEdge(node, head, weight);
+                }
+            }
+        }
+
+        return graph;
+    }
+
+    /**
+     * Returns the number of nodes in this graph.
+     * 
+     * @return the number of nodes.
+     */
+    public abstract int size();
+    
+    /**
+     * Returns one past the largest node ID in this graph. Any array indexed
+     * by node IDs must be at least this long.
+     * 
+     * @return the node capacity.
+     */
+    public abstract int getNodeCapacity();
+    
+    /**
+     * Returns the number of arcs in this graph.
+     * 
+     * @return the number of arcs.
+     */
+    public abstract int getNumberOfArcs();
+    
+    /**
+     * Returns the largest number of arcs leaving a single node.
+     * 
+     * @return the maximum out-degree.
+     */
+    public abstract int getMaximumOutDegree();
+    
+    /**
+     * Returns the largest number of arcs entering a single node.
+     * 
+     * @return the maximum in-degree.
+     */
+    public abstract int getMaximumInDegree();
+    
+    public abstract boolean hasNode(int node);
+    
+    public abstract int getFirstArc(int node);
+    
+    public abstract int getLastArc(int node);
+    
+    public abstract int getArcHead(int arc);
+    
+    public abstract double getArcWeight(int arc);
+    
+    /**
+     * Copies the heads of the arcs leaving {@code node} into the beginning of
+     * {@code destination} and returns their number.
+     * 
+     * @param node        the tail node.
+     * @param destination the array to copy the heads into.
+     * @return the out-degree of {@code node}.
+     */
+    public abstract int copyArcHeads(int node, int[] destination);
+    
+    public abstract int getFirstReverseArc(int node);
+    
+    public abstract int getLastReverseArc(int node);
+    
+    public abstract int getReverseArcTail(int arc);
+    
+    public abstract double getReverseArcWeight(int arc);
+    
+    /**
+     * Copies the tails of the arcs entering {@code node} into the beginning
+     * of {@code destination} and returns their number.
+     * 
+     * @param node        the head node.
+     * @param destination the array to copy the tails into.
+     * @return the in-degree of {@code node}.
+     */
+    public abstract int copyReverseArcTails(int node, int[] destination);
+    
+    /**
+     * Returns the weight of the arc {@code (tail, head)}. This method scans
+     * the children of {@code tail} and is not meant for hot loops.
+     * 
+     * @param tail the tail node of the arc.
+     * @param head the head node of the arc.
+     * @return the weight of the arc.
+     */
+    public double getEdgeWeight(int tail, int head) {
+        for (int arc = getFirstArc(tail); arc < getLastArc(tail); ++arc) {
+            if (getArcHead(arc) == head) {
+                return getArcWeight(arc);
+            }
+        }
+        
+        throw new IllegalArgumentException(
+                "The arc (" + tail + ", " + head + ") is not in the graph.");
+    }
+    
+    /**
+     * Returns a 64-bit checksum of the node capacity, the node presence and
+     * the heads and weights of the arcs of every node. The checksum is
+     * computed on the first call and cached, since the snapshot never 
+     * changes. The racing first calls compute the same value.
+     * 
+     * @return the checksum of this graph.
+     */
+    long getChecksum() {
+        long result = checksum;
+        
+        if (result != 0L) {
+            return result;
+        }
+        
+        int nodeCapacity = getNodeCapacity();
+        result = mix(0L, nodeCapacity);
+        
+        for (int node = 0; node < nodeCapacity; ++node) {
+            if (!hasNode(node)) {
+                result = mix(result, -1L);
+                continue;
+            }
+            
+            int lastArc = getLastArc(node);
+            result = mix(result, lastArc - getFirstArc(node));
+            
+            for (int arc = getFirstArc(node); arc < lastArc; ++arc) {
+                result = mix(result, getArcHead(arc));
+                result = mix(result,
+                             Double.doubleToLongBits(getArcWeight(arc)));
+            }
+        }
+        
+        // Zero marks a checksum not computed yet.
+        checksum = result == 0L ? 1L : result;
+        return checksum;
+    }
+    
+    /**
+     * Folds {@code value} into {@code hash} and scrambles the bits by the
+     * finalizer of SplitMix64.
+     */
+    private static long mix(long hash, long value) {
+        long z = (hash ^ value) + 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
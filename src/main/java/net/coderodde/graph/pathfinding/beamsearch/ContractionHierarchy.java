@@ -0,0 +1,283 @@
+package net.coderodde.graph.pathfinding.beamsearch;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import net.coderodde.graph.AbstractGraph;
+
+/**
+ * This class holds a contraction hierarchy of a directed graph. Every node
+ * has a rank, the position in which it was contracted, and every arc of the
+ * hierarchy, original or shortcut, runs between two nodes of different
+ * ranks. The arcs going up the hierarchy are stored with their tails, and the
+ * arcs going down with their heads, so that a query searches upwards from
+ * both ends: forwards from the source along the upward arcs, and backwards
+ * from the target against the downward arcs. A shortcut remembers the node
+ * it bypasses, which is how it is unpacked back into the original arcs.
+ * <p>
+ * A hierarchy is built once by {@link #build(AbstractGraph)} and may then be
+ * saved by {@link #write(Path)} and loaded by {@link #read(Path)}. It is
+ * immutable and may be shared between threads.
+ * 
+ * @author Rodion "rodde" Efremov
+ * @version 1.6 (Oct 16, 2026)
+ */
+public final class ContractionHierarchy {
+    
+    /**
+     * {@code ranks[u]} is the rank of the node {@code u}, or {@code -1} if
+     * there is no such node.
+     */
+    final int[] ranks;
+    
+    /**
+     * The number of nodes.
+     */
+    final int size;
+    
+    /**
+     * The upward arcs leaving the node {@code u} occupy the range
+     * {@code [upOffsets[u], upOffsets[u + 1])}.
+     */
+    final int[] upOffsets;
+    final int[] upHeads;
+    final double[] upWeights;
+    
+    /**
+     * {@code upMiddles[a]} is the node bypassed by the upward arc {@code a},
+     * or {@code -1} if the arc is original.
+     */
+    final int[] upMiddles;
+    
+    /**
+     * The downward arcs entering the node {@code u} occupy the range
+     * {@code [downOffsets[u], downOffsets[u + 1])}.
+     */
+    final int[] downOffsets;
+    final int[] downTails;
+    final double[] downWeights;
+    
+    /**
+     * {@code downMiddles[a]} is the node bypassed by the downward arc
+     * {@code a}, or {@code -1} if the arc is original.
+     */
+    final int[] downMiddles;
+    
+    ContractionHierarchy(int[] ranks,
+                         int size,
+                         int[] upOffsets,
+                         int[] upHeads,
+                         double[] upWeights,
+                         int[] upMiddles,
+                         int[] downOffsets,
+                         int[] downTails,
+                         double[] downWeights,
+                         int[] downMiddles) {
+        this.ranks       = ranks;
+        this.size        = size;
+        this.upOffsets   = upOffsets;
+        this.upHeads     = upHeads;
+        this.upWeights   = upWeights;
+        this.upMiddles   = upMiddles;
+        this.downOffsets = downOffsets;
+        this.downTails   = downTails;
+        this.downWeights = downWeights;
+        this.downMiddles = downMiddles;
+    }
+    
+    /**
+     * Builds the hierarchy of {@code graph} on the common fork/join pool.
+     * 
+     * @param graph the graph.
+     * @return the contraction hierarchy.
+     */
+    public static ContractionHierarchy build(AbstractGraph graph) {
+        return build(graph, ForkJoinPool.commonPool());
+    }
+    
+    /**
+     * Builds the hierarchy of {@code graph} on {@code executor}.
+     * 
+     * @param graph    the graph.
+     * @param executor the executor to run the contraction on.
+     * @return the contraction hierarchy.
+     */
+    public static ContractionHierarchy build(AbstractGraph graph,
+                                             Executor executor) {
+        return build(CompactGraph.fromGraph(graph), executor);
+    }
+    
+    /**
+     * Builds the hierarchy of the compact {@code graph} on {@code executor}.
+     * The nodes are ordered by their edge difference, that is, the number of
+     * shortcuts their contraction adds minus the number of arcs it removes,
+     * plus the number of their neighbours contracted before them. Each round
+     * contracts in parallel all the nodes ordered before every one of their
+     * neighbours. The witness searches deciding whether a shortcut is
+     * needed are bounded, so a few unneeded shortcuts may be added; the
+     * distances in the hierarchy are exact regardless.
+     * 
+     * @param graph    the graph.
+     * @param executor the executor to run the contraction on.
+     * @return the contraction hierarchy.
+     */
+    public static ContractionHierarchy build(CompactGraph graph,
+                                             Executor executor) {
+        Objects.requireNonNull(graph, "The input graph is null.");
+        Objects.requireNonNull(executor, "The executor is null.");
+        return new ContractionHierarchyBuilder(graph, executor).build();
+    }
+    
+    /**
+     * Loads a hierarchy written by {@link #write(Path)}.
+     * 
+     * @param file the hierarchy file.
+     * @return the contraction hierarchy.
+     * @throws IOException if the file cannot be read, if it is not a
+     *                     hierarchy file of a supported version, or if its
+     *                     offsets or nodes are out of range.
+     */
+    public static ContractionHierarchy read(Path file) throws IOException {
+        Objects.requireNonNull(file, "The file is null.");
+        return HierarchyFile.read(file);
+    }
+    
+    /**
+     * Writes this hierarchy into {@code file}, replacing its previous
+     * contents.
+     * 
+     * @param file the file to write.
+     * @throws IOException if writing the file fails.
+     */
+    public void write(Path file) throws IOException {
+        Objects.requireNonNull(file, "The file is null.");
+        HierarchyFile.write(this, file);
+    }
+    
+    /**
+     * Returns the number of nodes in this hierarchy.
+     * 
+     * @return the number of nodes.
+     */
+    public int size() {
+        return size;
+    }
+    
+    /**
+     * Returns one plus the largest node ID in this hierarchy.
+     * 
+     * @return the node capacity.
+     */
+    public int getNodeCapacity() {
+        return ranks.length;
+    }
+    
+    public boolean hasNode(int node) {
+        return node >= 0 && node < ranks.length && ranks[node] != -1;
+    }
+    
+    /**
+     * Returns the rank of {@code node}: zero for the node contracted first.
+     * 
+     * @param node the node.
+     * @return the rank of the node.
+     */
+    public int getRank(int node) {
+        return ranks[node];
+    }
+    
+    /**
+     * Returns the number of the arcs in this hierarchy, shortcuts included.
+     * 
+     * @return the number of arcs.
+     */
+    public int getNumberOfArcs() {
+        return upHeads.length + downTails.length;
+    }
+    
+    public int getNumberOfShortcuts() {
+        int shortcuts = 0;
+        
+        for (int middle : upMiddles) {
+            if (middle != -1) {
+                ++shortcuts;
+            }
+        }
+        
+        for (int middle : downMiddles) {
+            if (middle != -1) {
+                ++shortcuts;
+            }
+        }
+        
+        return shortcuts;
+    }
+    
+    /**
+     * Appends the original path of the hierarchy arc from {@code tail} to
+     * {@code head} to {@code path}, without its first node.
+     * 
+     * @param tail the tail of the arc.
+     * @param head the head of the arc.
+     * @param path the path to extend.
+     */
+    void unpackArc(int tail, int head, List<Integer> path) {
+        int[] stack = new int[16];
+        int stackSize = 0;
+        stack[stackSize++] = tail;
+        stack[stackSize++] = head;
+        
+        while (stackSize > 0) {
+            int b = stack[--stackSize];
+            int a = stack[--stackSize];
+            int middle = getMiddle(a, b);
+            
+            if (middle == -1) {
+                path.add(b);
+                continue;
+            }
+            
+            if (stackSize + 4 > stack.length) {
+                stack = Arrays.copyOf(stack, 2 * stack.length);
+            }
+            
+            // The first half goes on top, so it is unpacked first.
+            stack[stackSize++] = middle;
+            stack[stackSize++] = b;
+            stack[stackSize++] = a;
+            stack[stackSize++] = middle;
+        }
+    }
+    
+    /**
+     * Returns the node bypassed by the hierarchy arc from {@code tail} to
+     * {@code head}, or {@code -1} if the arc is original.
+     */
+    private int getMiddle(int tail, int head) {
+        if (ranks[tail] < ranks[head]) {
+            int lastArc = upOffsets[tail + 1];
+            
+            for (int arc = upOffsets[tail]; arc < lastArc; ++arc) {
+                if (upHeads[arc] == head) {
+                    return upMiddles[arc];
+                }
+            }
+        } else {
+            int lastArc = downOffsets[head + 1];
+            
+            for (int arc = downOffsets[head]; arc < lastArc; ++arc) {
+                if (downTails[arc] == tail) {
+                    return downMiddles[arc];
+                }
+            }
+        }
+        
+        throw new IllegalStateException(
+                "The hierarchy has no arc from " + tail + " to " + head +
+                ".");
+    }
+}
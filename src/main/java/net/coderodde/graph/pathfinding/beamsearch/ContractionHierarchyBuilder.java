@@ -0,0 +1,638 @@
+package net.coderodde.graph.pathfinding.beamsearch;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+
+/**
+ * This class contracts a compact graph into a {@link ContractionHierarchy}.
+ * The graph is copied into growable adjacency lists, which lose the arcs of
+ * the contracted nodes and gain the shortcuts as the contraction proceeds.
+ * The lists of a node are left as they were at the moment it was contracted,
+ * and become its upward and downward arcs in the hierarchy.
+ * <p>
+ * Each round selects the independent set of the remaining nodes whose
+ * priority is lower than that of all their neighbours. The shortcuts of the
+ * selected nodes are computed in parallel, since no selected node is a
+ * neighbour of another and the witness searches avoid them all, and then
+ * applied sequentially. The priorities of the neighbours are recomputed in
+ * parallel before the next round.
+ * 
+ * @author Rodion "rodde" Efremov
+ * @version 1.6 (Oct 16, 2026)
+ */
+final class ContractionHierarchyBuilder {
+    
+    /**
+     * The maximum number of the nodes a witness search may settle when a node
+     * is contracted.
+     */
+    private static final int CONTRACTION_SETTLED_NODES = 500;
+    
+    /**
+     * The maximum number of the nodes a witness search may settle when the 
+     * shortcuts are only counted for the priority of a node. A lower limit
+     * overestimates the count a little, but the priorities are recomputed
+     * far more often than the nodes are contracted.
+     */
+    private static final int PRIORITY_SETTLED_NODES = 50;
+    
+    private final CompactGraph graph;
+    private final Executor executor;
+    private final int nodeCapacity;
+    
+    /**
+     * {@code outArcs[u]} holds the remaining arcs leaving {@code u}, or is
+     * {@code null} if there is no node {@code u}.
+     */
+    private final ArcList[] outArcs;
+    
+    /**
+     * {@code inArcs[u]} holds the remaining arcs entering {@code u}.
+     */
+    private final ArcList[] inArcs;
+    
+    private final boolean[] contracted;
+    
+    /**
+     * Marks the nodes selected for the current round.
+     */
+    private final boolean[] selected;
+    
+    private final int[] contractedNeighbours;
+    private final int[] priorities;
+    private final int[] ranks;
+    
+    /**
+     * The witness searches, one per running task.
+     */
+    private final Queue<WitnessSearch> witnessSearchPool =
+            new ConcurrentLinkedQueue<>();
+    
+    /**
+     * The neighbours of the nodes contracted in the current round, whose
+     * priorities are to be recomputed.
+     */
+    private int[] touchedNodes = new int[16];
+    private int touchedSize;
+    
+    /**
+     * {@code touchedStamps[u]} is the last round in which {@code u} was
+     * added to {@link #touchedNodes}.
+     */
+    private final int[] touchedStamps;
+    
+    ContractionHierarchyBuilder(CompactGraph graph, Executor executor) {
+        this.graph = graph;
+        this.executor = executor;
+        this.nodeCapacity = graph.getNodeCapacity();
+        this.outArcs = new ArcList[nodeCapacity];
+        this.inArcs = new ArcList[nodeCapacity];
+        this.contracted = new boolean[nodeCapacity];
+        this.selected = new boolean[nodeCapacity];
+        this.contractedNeighbours = new int[nodeCapacity];
+        this.priorities = new int[nodeCapacity];
+        this.ranks = new int[nodeCapacity];
+        this.touchedStamps = new int[nodeCapacity];
+    }
+    
+    ContractionHierarchy build() {
+        int[] remaining = new int[graph.size()];
+        int remainingSize = 0;
+        
+        Arrays.fill(ranks, -1);
+        
+        for (int node = 0; node < nodeCapacity; ++node) {
+            if (graph.hasNode(node)) {
+                outArcs[node] = new ArcList();
+                inArcs[node] = new ArcList();
+                remaining[remainingSize++] = node;
+            }
+        }
+        
+        for (int i = 0; i < remainingSize; ++i) {
+            int tail = remaining[i];
+            
+            for (int arc = graph.getFirstArc(tail);
+                    arc < graph.getLastArc(tail);
+                    ++arc) {
+                int head = graph.getArcHead(arc);
+                
+                // Self-loops are never on a shortest path.
+                if (head != tail) {
+                    double weight = graph.getArcWeight(arc);
+                    outArcs[tail].addOrImprove(head, weight, -1);
+                    inArcs[head].addOrImprove(tail, weight, -1);
+                }
+            }
+        }
+        
+        int[] initialNodes = Arrays.copyOf(remaining, remainingSize);
+        
+        runInParallel(remainingSize, (chunk, from, to, witnessSearch) -> {
+            for (int i = from; i < to; ++i) {
+                updatePriority(initialNodes[i], witnessSearch);
+            }
+        });
+        
+        int nextRank = 0;
+        int round = 0;
+        
+        while (remainingSize > 0) {
+            ++round;
+            int[] nodes = Arrays.copyOf(remaining, remainingSize);
+            
+            runInParallel(nodes.length, (chunk, from, to, witnessSearch) -> {
+                for (int i = from; i < to; ++i) {
+                    selected[nodes[i]] = isLocalMinimum(nodes[i]);
+                }
+            });
+            
+            int selectedSize = 0;
+            
+            for (int node : nodes) {
+                if (selected[node]) {
+                    nodes[selectedSize++] = node;
+                }
+            }
+            
+            int[] selectedNodes = Arrays.copyOf(nodes, selectedSize);
+            
+            // There are never more chunks than nodes. Applying the buffers in
+            // the chunk order keeps the hierarchy independent of scheduling.
+            ShortcutBuffer[] buffers = new ShortcutBuffer[selectedSize];
+            
+            runInParallel(selectedSize, (chunk, from, to, witnessSearch) -> {
+                ShortcutBuffer buffer = new ShortcutBuffer();
+                
+                for (int i = from; i < to; ++i) {
+                    contract(selectedNodes[i], witnessSearch, buffer);
+                }
+                
+                buffers[chunk] = buffer;
+            });
+            
+            touchedSize = 0;
+            
+            for (int node : selectedNodes) {
+                ranks[node] = nextRank++;
+                contracted[node] = true;
+                ArcList out = outArcs[node];
+                ArcList in = inArcs[node];
+                
+                for (int i = 0; i < out.size; ++i) {
+                    int head = out.nodes[i];
+                    inArcs[head].remove(node);
+                    ++contractedNeighbours[head];
+                    touch(head, round);
+                }
+                
+                for (int i = 0; i < in.size; ++i) {
+                    int tail = in.nodes[i];
+                    outArcs[tail].remove(node);
+                    
+                    // A node both entering and leaving counts once.
+                    if (out.indexOf(tail) == -1) {
+                        ++contractedNeighbours[tail];
+                    }
+                    
+                    touch(tail, round);
+                }
+            }
+            
+            for (ShortcutBuffer buffer : buffers) {
+                if (buffer == null) {
+                    continue;
+                }
+                
+                for (int i = 0; i < buffer.size; ++i) {
+                    int tail = buffer.tails[i];
+                    int head = buffer.heads[i];
+                    double weight = buffer.weights[i];
+                    int middle = buffer.middles[i];
+                    outArcs[tail].addOrImprove(head, weight, middle);
+                    inArcs[head].addOrImprove(tail, weight, middle);
+                }
+            }
+            
+            for (int node : selectedNodes) {
+                selected[node] = false;
+            }
+            
+            int[] touched = Arrays.copyOf(touchedNodes, touchedSize);
+            
+            runInParallel(touched.length, (chunk, from, to, witnessSearch) -> {
+                for (int i = from; i < to; ++i) {
+                    updatePriority(touched[i], witnessSearch);
+                }
+            });
+            
+            int newRemainingSize = 0;
+            
+            for (int i = 0; i < remainingSize; ++i) {
+                if (!contracted[remaining[i]]) {
+                    remaining[newRemainingSize++] = remaining[i];
+                }
+            }
+            
+            remainingSize = newRemainingSize;
+        }
+        
+        return toHierarchy();
+    }
+    
+    private void touch(int node, int round) {
+        if (touchedStamps[node] != round) {
+            touchedStamps[node] = round;
+            
+            if (touchedSize == touchedNodes.length) {
+                touchedNodes = Arrays.copyOf(touchedNodes, 2 * touchedSize);
+            }
+            
+            touchedNodes[touchedSize++] = node;
+        }
+    }
+    
+    /**
+     * Packs the final adjacency lists into the arrays of the hierarchy.
+     */
+    private ContractionHierarchy toHierarchy() {
+        int[] upOffsets = new int[nodeCapacity + 1];
+        int[] downOffsets = new int[nodeCapacity + 1];
+        
+        for (int node = 0; node < nodeCapacity; ++node) {
+            upOffsets[node + 1] = upOffsets[node] +
+                    (outArcs[node] == null ? 0 : outArcs[node].size);
+            downOffsets[node + 1] = downOffsets[node] +
+                    (inArcs[node] == null ? 0 : inArcs[node].size);
+        }
+        
+        int[] upHeads = new int[upOffsets[nodeCapacity]];
+        double[] upWeights = new double[upHeads.length];
+        int[] upMiddles = new int[upHeads.length];
+        int[] downTails = new int[downOffsets[nodeCapacity]];
+        double[] downWeights = new double[downTails.length];
+        int[] downMiddles = new int[downTails.length];
+        
+        for (int node = 0; node < nodeCapacity; ++node) {
+            if (outArcs[node] == null) {
+                continue;
+            }
+            
+            outArcs[node].copyTo(upOffsets[node],
+                                 upHeads,
+                                 upWeights,
+                                 upMiddles);
+            inArcs[node].copyTo(downOffsets[node],
+                                downTails,
+                                downWeights,
+                                downMiddles);
+        }
+        
+        return new ContractionHierarchy(ranks,
+                                        graph.size(),
+                                        upOffsets,
+                                        upHeads,
+                                        upWeights,
+                                        upMiddles,
+                                        downOffsets,
+                                        downTails,
+                                        downWeights,
+                                        downMiddles);
+    }
+    
+    /**
+     * Tells whether {@code node} precedes all its remaining neighbours in the
+     * contraction order.
+     */
+    private boolean isLocalMinimum(int node) {
+        ArcList out = outArcs[node];
+        ArcList in = inArcs[node];
+        
+        for (int i = 0; i < out.size; ++i) {
+            if (!precedes(node, out.nodes[i])) {
+                return false;
+            }
+        }
+        
+        for (int i = 0; i < in.size; ++i) {
+            if (!precedes(node, in.nodes[i])) {
+                return false;
+            }
+        }
+        
+        return true;
+    }
+    
+    /**
+     * Orders the nodes by their priorities, breaking the ties by a hash of
+     * the node IDs so that the runs of equal priorities do not contract one
+     * node per round.
+     */
+    private boolean precedes(int u, int v) {
+        if (priorities[u] != priorities[v]) {
+            return priorities[u] < priorities[v];
+        }
+        
+        int hashU = hash(u);
+        int hashV = hash(v);
+        
+        if (hashU != hashV) {
+            return hashU < hashV;
+        }
+        
+        return u < v;
+    }
+    
+    private static int hash(int node) {
+        int hash = node * 0x9E3779B9;
+        return hash ^ (hash >>> 16);
+    }
+    
+    private void updatePriority(int node, WitnessSearch witnessSearch) {
+        priorities[node] = contract(node, witnessSearch, null)
+                         - outArcs[node].size
+                         - inArcs[node].size
+                         + contractedNeighbours[node];
+    }
+    
+    /**
+     * Finds the shortcuts the contraction of {@code node} needs and stores
+     * them into {@code buffer}, unless it is {@code null}. Returns the number
+     * of the shortcuts.
+     */
+    private int contract(int node, 
+                         WitnessSearch witnessSearch, 
+                         ShortcutBuffer buffer) {
+        ArcList in = inArcs[node];
+        ArcList out = outArcs[node];
+        
+        if (in.size == 0 || out.size == 0) {
+            return 0;
+        }
+        
+        SearchState state = witnessSearch.state;
+        double maximumOutWeight = 0.0;
+        
+        for (int i = 0; i < out.size; ++i) {
+            maximumOutWeight = Math.max(maximumOutWeight, out.weights[i]);
+        }
+        
+        int shortcuts = 0;
+        
+        for (int i = 0; i < in.size; ++i) {
+            int tail = in.nodes[i];
+            double inWeight = in.weights[i];
+            
+            witnessSearch.run(tail, 
+                              node, 
+                              inWeight + maximumOutWeight,
+                              buffer == null ? PRIORITY_SETTLED_NODES : 
+                                               CONTRACTION_SETTLED_NODES);
+            
+            for (int j = 0; j < out.size; ++j) {
+                int head = out.nodes[j];
+                
+                if (head == tail) {
+                    continue;
+                }
+                
+                double weight = inWeight + out.weights[j];
+                
+                if (state.getDistance(head) > weight) {
+                    ++shortcuts;
+                    
+                    if (buffer != null) {
+                        buffer.add(tail, head, weight, node);
+                    }
+                }
+            }
+        }
+        
+        return shortcuts;
+    }
+    
+    /**
+     * Splits the range {@code [0, size)} into chunks, runs {@code task} on
+     * them on the executor and waits for all of them.
+     */
+    private void runInParallel(int size, ChunkTask task) {
+        int chunkSize = BatchSearch.getChunkSize(size, executor);
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+        int chunk = 0;
+        
+        for (int from = 0; from < size; from += chunkSize) {
+            int to = Math.min(from + chunkSize, size);
+            int chunkFrom = from;
+            int chunkIndex = chunk++;
+            
+            futures.add(CompletableFuture.runAsync(() -> {
+                WitnessSearch witnessSearch = witnessSearchPool.poll();
+                
+                if (witnessSearch == null) {
+                    witnessSearch = new WitnessSearch();
+                }
+                
+                task.run(chunkIndex, chunkFrom, to, witnessSearch);
+                witnessSearchPool.add(witnessSearch);
+            }, executor));
+        }
+        
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0]))
+                         .join();
+    }
+    
+    @FunctionalInterface
+    private interface ChunkTask {
+        void run(int chunk, int from, int to, WitnessSearch witnessSearch);
+    }
+    
+    /**
+     * A bounded Dijkstra search looking for the witness paths that make the
+     * shortcuts of a node unnecessary.
+     */
+    private final class WitnessSearch {
+        
+        final SearchState state = new SearchState(new DaryHeapOpenList());
+        
+        /**
+         * {@code targetStamps[u]} equals {@link #stamp} if {@code u} is a 
+         * target of the current search.
+         */
+        private final int[] targetStamps = new int[nodeCapacity];
+        private int stamp;
+        
+        WitnessSearch() {
+            state.ensureCapacity(nodeCapacity);
+        }
+        
+        /**
+         * Searches from {@code source} for the out-neighbours of 
+         * {@code excludedNode}, avoiding it and the nodes selected for the 
+         * current round. Stops once all the targets are settled, past 
+         * {@code maximumDistance} or past {@code maximumSettledNodes} settled
+         * nodes. The nodes not reached have the infinite distance in
+         * {@link #state}.
+         */
+        void run(int source, 
+                 int excludedNode, 
+                 double maximumDistance,
+                 int maximumSettledNodes) {
+            ArcList targets = outArcs[excludedNode];
+            int remainingTargets = targets.size;
+            
+            if (++stamp == 0) {
+                Arrays.fill(targetStamps, 0);
+                stamp = 1;
+            }
+            
+            for (int i = 0; i < targets.size; ++i) {
+                targetStamps[targets.nodes[i]] = stamp;
+            }
+            
+            state.reset();
+            state.open.insert(source, 0.0);
+            state.setDistance(source, 0.0, -1);
+            int settled = 0;
+            
+            while (!state.open.isEmpty()) {
+                int currentNode = state.open.extractMinimum();
+                double distance = state.distances[currentNode];
+                
+                if (distance > maximumDistance
+                        || ++settled > maximumSettledNodes) {
+                    return;
+                }
+                
+                state.close(currentNode);
+                
+                if (targetStamps[currentNode] == stamp 
+                        && --remainingTargets == 0) {
+                    return;
+                }
+                
+                ArcList out = outArcs[currentNode];
+                
+                for (int i = 0; i < out.size; ++i) {
+                    int head = out.nodes[i];
+                    
+                    if (head == excludedNode
+                            || selected[head]
+                            || state.isClosed(head)) {
+                        continue;
+                    }
+                    
+                    double tentativeDistance = distance + out.weights[i];
+                    
+                    if (state.getDistance(head) > tentativeDistance) {
+                        state.setDistance(head, 
+                                          tentativeDistance, 
+                                          currentNode);
+                        state.open.insert(head, tentativeDistance);
+                    }
+                }
+            }
+        }
+    }
+    
+    /**
+     * The remaining arcs entering or leaving a node: the nodes at their other
+     * ends, their weights and the nodes the shortcuts among them bypass.
+     */
+    private static final class ArcList {
+        
+        int[] nodes = new int[4];
+        double[] weights = new double[4];
+        int[] middles = new int[4];
+        int size;
+        
+        int indexOf(int node) {
+            for (int i = 0; i < size; ++i) {
+                if (nodes[i] == node) {
+                    return i;
+                }
+            }
+            
+            return -1;
+        }
+        
+        /**
+         * Adds the arc to {@code node}, or lowers the weight of the existing
+         * one if {@code weight} is smaller.
+         */
+        void addOrImprove(int node, double weight, int middle) {
+            int index = indexOf(node);
+            
+            if (index != -1) {
+                if (weight < weights[index]) {
+                    weights[index] = weight;
+                    middles[index] = middle;
+                }
+                
+                return;
+            }
+            
+            if (size == nodes.length) {
+                nodes   = Arrays.copyOf(nodes, 2 * size);
+                weights = Arrays.copyOf(weights, 2 * size);
+                middles = Arrays.copyOf(middles, 2 * size);
+            }
+            
+            nodes[size]   = node;
+            weights[size] = weight;
+            middles[size] = middle;
+            ++size;
+        }
+        
+        void remove(int node) {
+            int index = indexOf(node);
+            
+            if (index != -1) {
+                --size;
+                nodes[index]   = nodes[size];
+                weights[index] = weights[size];
+                middles[index] = middles[size];
+            }
+        }
+        
+        void copyTo(int offset,
+                    int[] nodes,
+                    double[] weights,
+                    int[] middles) {
+            System.arraycopy(this.nodes, 0, nodes, offset, size);
+            System.arraycopy(this.weights, 0, weights, offset, size);
+            System.arraycopy(this.middles, 0, middles, offset, size);
+        }
+    }
+    
+    /**
+     * The shortcuts found by one chunk of a round.
+     */
+    private static final class ShortcutBuffer {
+        
+        int[] tails = new int[16];
+        int[] heads = new int[16];
+        double[] weights = new double[16];
+        int[] middles = new int[16];
+        int size;
+        
+        void add(int tail, int head, double weight, int middle) {
+            if (size == tails.length) {
+                tails   = Arrays.copyOf(tails, 2 * size);
+                heads   = Arrays.copyOf(heads, 2 * size);
+                weights = Arrays.copyOf(weights, 2 * size);
+                middles = Arrays.copyOf(middles, 2 * size);
+            }
+            
+            tails[size]   = tail;
+            heads[size]   = head;
+            weights[size] = weight;
+            middles[size] = middle;
+            ++size;
+        }
+    }
+}
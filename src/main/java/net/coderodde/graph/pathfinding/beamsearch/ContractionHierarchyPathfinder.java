@@ -0,0 +1,362 @@
+package net.coderodde.graph.pathfinding.beamsearch;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import net.coderodde.graph.AbstractGraph;
+
+/**
+ * This class answers the shortest path queries over a precomputed
+ * {@link ContractionHierarchy}. The forward search runs from the source along
+ * the upward arcs and the backward search from the target against the
+ * downward arcs, so both only climb the hierarchy, and they alternate by the
+ * smaller open list minimum until neither minimum is below the shortest path
+ * found. A node reached more cheaply from above is stalled: it is settled
+ * but not expanded, since no shortest path leaves it upwards. The path found
+ * has its shortcuts unpacked into the original arcs.
+ * <p>
+ * The searched graph must be the one the hierarchy was built from; the
+ * graph and the heuristic function passed to the search methods are
+ * otherwise ignored. With the default unbounded beam the paths are the
+ * shortest ones. A finite beam relaxes only the cheapest upward arcs of each
+ * settled node, which trades the exactness for fewer relaxations.
+ * 
+ * @author Rodion "rodde" Efremov
+ * @version 1.6 (Oct 16, 2026)
+ */
+public final class ContractionHierarchyPathfinder implements Pathfinder {
+    
+    /**
+     * The default width of the beam.
+     */
+    private static final int DEFAULT_BEAM_WIDTH = Integer.MAX_VALUE;
+    
+    /**
+     * The minimum allowed beam width.
+     */
+    private static final int MINIMUM_BEAM_WIDTH = 1;
+    
+    private final ContractionHierarchy hierarchy;
+    private final int beamWidth;
+    
+    public ContractionHierarchyPathfinder(ContractionHierarchy hierarchy) {
+        this(hierarchy, DEFAULT_BEAM_WIDTH);
+    }
+    
+    /**
+     * Constructs a pathfinder over {@code hierarchy} relaxing at most
+     * {@code beamWidth} arcs of each settled node.
+     * 
+     * @param hierarchy the contraction hierarchy.
+     * @param beamWidth the beam width.
+     */
+    public ContractionHierarchyPathfinder(ContractionHierarchy hierarchy,
+                                          int beamWidth) {
+        this.hierarchy = Objects.requireNonNull(hierarchy,
+                                                "The hierarchy is null.");
+        this.beamWidth = Math.max(beamWidth, MINIMUM_BEAM_WIDTH);
+    }
+    
+    public ContractionHierarchy getHierarchy() {
+        return hierarchy;
+    }
+    
+    public int getBeamWidth() {
+        return beamWidth;
+    }
+    
+    @Override
+    public List<Integer> search(AbstractGraph graph,
+                                Integer sourceNode,
+                                Integer targetNode,
+                                HeuristicFunction<Integer> heuristicFunction) {
+        Objects.requireNonNull(sourceNode, "The source node is null.");
+        Objects.requireNonNull(targetNode, "The target node is null.");
+        checkNodes(sourceNode, targetNode);
+        return search(sourceNode, targetNode, new SearchContext());
+    }
+    
+    @Override
+    public List<Integer> search(CompactGraph graph,
+                                int sourceNode,
+                                int targetNode,
+                                IntHeuristicFunction heuristicFunction,
+                                SearchContext searchContext) {
+        Objects.requireNonNull(searchContext, "The search context is null.");
+        checkNodes(sourceNode, targetNode);
+        return search(sourceNode, targetNode, searchContext);
+    }
+    
+    /**
+     * Searches for a shortest path from {@code sourceNode} to
+     * {@code targetNode} in the hierarchy alone.
+     * 
+     * @param sourceNode    the source node.
+     * @param targetNode    the target node.
+     * @param searchContext the search context.
+     * @return the path from {@code sourceNode} to {@code targetNode}.
+     */
+    public List<Integer> search(int sourceNode,
+                                int targetNode,
+                                SearchContext searchContext) {
+        Objects.requireNonNull(searchContext, "The search context is null.");
+        checkNodes(sourceNode, targetNode);
+        
+        int nodeCapacity = hierarchy.getNodeCapacity();
+        SearchState forward = searchContext.getForwardState(nodeCapacity);
+        SearchState backward = searchContext.getBackwardState(nodeCapacity);
+        SuccessorSelector selector = searchContext.successorSelector;
+        SearchStatistics statistics = searchContext.getStatistics();
+        SearchListener listener = searchContext.getSearchListener();
+        
+        searchContext.startQuery(sourceNode, targetNode);
+        forward.open.insert(sourceNode, 0.0);
+        backward.open.insert(targetNode, 0.0);
+        forward.setDistance(sourceNode, 0.0, -1);
+        backward.setDistance(targetNode, 0.0, -1);
+        
+        if (statistics != null) {
+            statistics.heapPushes = 2L;
+        }
+        
+        // meeting[0] is the best meeting node, bestPathLength[0] the length
+        // of the path through it.
+        int[] meeting = { -1 };
+        double[] bestPathLength = { Double.POSITIVE_INFINITY };
+        
+        if (sourceNode == targetNode) {
+            meeting[0] = sourceNode;
+            bestPathLength[0] = 0.0;
+        }
+        
+        while (true) {
+            double forwardMinimum = forward.open.isEmpty() ?
+                    Double.POSITIVE_INFINITY :
+                    forward.open.getMinimumPriority();
+            double backwardMinimum = backward.open.isEmpty() ?
+                    Double.POSITIVE_INFINITY :
+                    backward.open.getMinimumPriority();
+            
+            if (Math.min(forwardMinimum, backwardMinimum) >=
+                    bestPathLength[0]) {
+                break;
+            }
+            
+            if (forwardMinimum <= backwardMinimum) {
+                expand(true,
+                       forward,
+                       backward,
+                       selector,
+                       statistics,
+                       listener,
+                       meeting,
+                       bestPathLength);
+            } else {
+                expand(false,
+                       backward,
+                       forward,
+                       selector,
+                       statistics,
+                       listener,
+                       meeting,
+                       bestPathLength);
+            }
+        }
+        
+        if (meeting[0] == -1) {
+            searchContext.finishQuery(false);
+            throw new PathNotFoundException(
+                    "Target node " + targetNode + " is not reachable from " +
+                    sourceNode);
+        }
+        
+        searchContext.finishQuery(true);
+        List<Integer> hierarchyPath = tracebackPath(meeting[0],
+                                                    forward.parents,
+                                                    backward.parents);
+        List<Integer> path = new ArrayList<>(hierarchyPath.size());
+        path.add(sourceNode);
+        
+        for (int i = 1; i < hierarchyPath.size(); ++i) {
+            hierarchy.unpackArc(hierarchyPath.get(i - 1),
+                                hierarchyPath.get(i),
+                                path);
+        }
+        
+        return path;
+    }
+    
+    /**
+     * Settles the minimum node of {@code state} and, unless it is stalled,
+     * relaxes its arcs up the hierarchy: the upward arcs leaving it if
+     * {@code isForward}, otherwise the downward arcs entering it.
+     */
+    private void expand(boolean isForward,
+                        SearchState state,
+                        SearchState otherState,
+                        SuccessorSelector selector,
+                        SearchStatistics statistics,
+                        SearchListener listener,
+                        int[] meeting,
+                        double[] bestPathLength) {
+        int currentNode = state.open.extractMinimum();
+        
+        if (statistics != null) {
+            ++statistics.heapPops;
+        }
+        
+        if (state.isClosed(currentNode)) {
+            if (statistics != null) {
+                ++statistics.stalePops;
+            }
+            
+            return;
+        }
+        
+        state.close(currentNode);
+        double distance = state.distances[currentNode];
+        
+        if (listener != null) {
+            listener.onNodeExpanded(currentNode, distance);
+        }
+        
+        updateMeeting(currentNode,
+                      distance,
+                      otherState,
+                      statistics,
+                      listener,
+                      meeting,
+                      bestPathLength);
+        
+        int[] offsets;
+        int[] nodes;
+        double[] weights;
+        int[] stallOffsets;
+        int[] stallNodes;
+        double[] stallWeights;
+        
+        if (isForward) {
+            offsets      = hierarchy.upOffsets;
+            nodes        = hierarchy.upHeads;
+            weights      = hierarchy.upWeights;
+            stallOffsets = hierarchy.downOffsets;
+            stallNodes   = hierarchy.downTails;
+            stallWeights = hierarchy.downWeights;
+        } else {
+            offsets      = hierarchy.downOffsets;
+            nodes        = hierarchy.downTails;
+            weights      = hierarchy.downWeights;
+            stallOffsets = hierarchy.upOffsets;
+            stallNodes   = hierarchy.upHeads;
+            stallWeights = hierarchy.upWeights;
+        }
+        
+        int lastArc = stallOffsets[currentNode + 1];
+        
+        // Stall on demand: a higher node reaching this one more cheaply
+        // means no shortest path climbs on from here.
+        for (int arc = stallOffsets[currentNode]; arc < lastArc; ++arc) {
+            if (state.getDistance(stallNodes[arc]) + stallWeights[arc] <
+                    distance) {
+                return;
+            }
+        }
+        
+        int firstArc = offsets[currentNode];
+        int arcCount = offsets[currentNode + 1] - firstArc;
+        boolean pruning = arcCount > beamWidth;
+        int successorCount = pruning ? beamWidth : arcCount;
+        int pushes = 0;
+        
+        if (pruning) {
+            selector.clear();
+            
+            for (int arc = firstArc; arc < firstArc + arcCount; ++arc) {
+                selector.add(arc, weights[arc], distance + weights[arc]);
+            }
+            
+            selector.select(beamWidth);
+        }
+        
+        for (int i = 0; i < successorCount; ++i) {
+            int arc = pruning ? selector.getNode(i) : firstArc + i;
+            int node = nodes[arc];
+            
+            if (state.isClosed(node)) {
+                continue;
+            }
+            
+            double tentativeDistance = distance + weights[arc];
+            
+            if (state.getDistance(node) > tentativeDistance) {
+                state.setDistance(node, tentativeDistance, currentNode);
+                state.open.insert(node, tentativeDistance);
+                ++pushes;
+                updateMeeting(node,
+                              tentativeDistance,
+                              otherState,
+                              statistics,
+                              listener,
+                              meeting,
+                              bestPathLength);
+            }
+        }
+        
+        int dropped = state.forgetDropped(meeting[0]);
+        
+        if (statistics != null) {
+            ++statistics.expandedNodes;
+            statistics.heapPushes += pushes;
+            statistics.droppedNodes += dropped;
+            statistics.prunedSuccessors += arcCount - successorCount;
+            statistics.updatePeaks(state.open.size() + otherState.open.size(),
+                                   state.getClosedSize() +
+                                   otherState.getClosedSize());
+        }
+    }
+    
+    /**
+     * Records {@code node} as the best meeting node if the other search has
+     * reached it and the path through it is the shortest so far.
+     */
+    private static void updateMeeting(int node,
+                                      double distance,
+                                      SearchState otherState,
+                                      SearchStatistics statistics,
+                                      SearchListener listener,
+                                      int[] meeting,
+                                      double[] bestPathLength) {
+        double pathLength = distance + otherState.getDistance(node);
+        
+        if (pathLength < bestPathLength[0]) {
+            bestPathLength[0] = pathLength;
+            meeting[0] = node;
+            
+            if (statistics != null) {
+                ++statistics.touchNodeUpdates;
+            }
+            
+            if (listener != null) {
+                listener.onTouchNodeUpdated(node, pathLength);
+            }
+        }
+    }
+    
+    /**
+     * Makes sure that both {@code sourceNode} and {@code targetNode} are in
+     * the hierarchy.
+     */
+    private void checkNodes(int sourceNode, int targetNode) {
+        if (!hierarchy.hasNode(sourceNode)) {
+            throw new IllegalArgumentException(
+                    "The source node " + sourceNode + " is not in the " +
+                    "hierarchy.");
+        }
+        
+        if (!hierarchy.hasNode(targetNode)) {
+            throw new IllegalArgumentException(
+                    "The target node " + targetNode + " is not in the " +
+                    "hierarchy.");
+        }
+    }
+}
@@ -15,4 +15,28 @@ public final class Coordinates {
     public void put(Integer node, Point2D.Double point) {
         map.put(node, point);
     }
+    
+    /**
+     * Copies these coordinates into a {@link DenseCoordinates}. All the node 
+     * IDs must be non-negative.
+     * 
+     * @return the dense copy of these coordinates.
+     */
+    public DenseCoordinates toDenseCoordinates() {
+        int maximumNode = -1;
+        
+        for (Integer node : map.keySet()) {
+            maximumNode = Math.max(maximumNode, node);
+        }
+        
+        DenseCoordinates denseCoordinates = 
+                new DenseCoordinates(maximumNode + 1);
+        
+        for (Map.Entry<Integer, Point2D.Double> entry : map.entrySet()) {
+            Point2D.Double point = entry.getValue();
+            denseCoordinates.put(entry.getKey(), point.x, point.y);
+        }
+        
+        return denseCoordinates;
+    }
 }
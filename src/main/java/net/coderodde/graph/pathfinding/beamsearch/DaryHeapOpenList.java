@@ -0,0 +1,200 @@
+package net.coderodde.graph.pathfinding.beamsearch;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * This class implements an indexed d-ary min-heap over primitive arrays. Each
+ * node is in the heap at most once, and an improvement of a node's priority 
+ * is done in place by decrease-key, so the heap allocates nothing once it has 
+ * grown to its working size.
+ * 
+ * @author Rodion "rodde" Efremov
+ * @version 1.6 (Oct 16, 2026)
+ */
+public final class DaryHeapOpenList implements OpenList {
+    
+    /**
+     * The default number of children of each heap node.
+     */
+    private static final int DEFAULT_DEGREE = 4;
+    
+    /**
+     * The minimum allowed degree.
+     */
+    private static final int MINIMUM_DEGREE = 2;
+    
+    /**
+     * The initial length of the heap arrays.
+     */
+    private static final int INITIAL_CAPACITY = 64;
+    
+    /**
+     * The number of children of each heap node.
+     */
+    private final int degree;
+    
+    /**
+     * {@code heapNodes[i]} is the node at the heap position {@code i}.
+     */
+    private int[] heapNodes = new int[INITIAL_CAPACITY];
+    
+    /**
+     * {@code heapPriorities[i]} is the priority at the heap position 
+     * {@code i}.
+     */
+    private double[] heapPriorities = new double[INITIAL_CAPACITY];
+    
+    /**
+     * {@code positions[u]} is the heap position of the node {@code u}, or 
+     * {@code -1} if {@code u} is not in the heap.
+     */
+    private int[] positions = new int[0];
+    
+    /**
+     * The number of nodes in the heap.
+     */
+    private int size;
+    
+    public DaryHeapOpenList() {
+        this(DEFAULT_DEGREE);
+    }
+    
+    public DaryHeapOpenList(int degree) {
+        this.degree = Math.max(degree, MINIMUM_DEGREE);
+    }
+    
+    @Override
+    public void ensureCapacity(int nodeCapacity) {
+        if (positions.length < nodeCapacity) {
+            int oldLength = positions.length;
+            positions = Arrays.copyOf(positions, nodeCapacity);
+            Arrays.fill(positions, oldLength, nodeCapacity, -1);
+        }
+    }
+    
+    @Override
+    public void insert(int node, double priority) {
+        int position = positions[node];
+        
+        if (position == -1) {
+            if (size == heapNodes.length) {
+                heapNodes = Arrays.copyOf(heapNodes, 2 * size);
+                heapPriorities = Arrays.copyOf(heapPriorities, 2 * size);
+            }
+            
+            siftUp(size++, node, priority);
+        } else if (priority < heapPriorities[position]) {
+            siftUp(position, node, priority);
+        }
+    }
+    
+    @Override
+    public int extractMinimum() {
+        checkNotEmpty();
+        int minimumNode = heapNodes[0];
+        positions[minimumNode] = -1;
+        
+        if (--size > 0) {
+            siftDown(heapNodes[size], heapPriorities[size]);
+        }
+        
+        return minimumNode;
+    }
+    
+    @Override
+    public int peekMinimum() {
+        checkNotEmpty();
+        return heapNodes[0];
+    }
+    
+    @Override
+    public double getMinimumPriority() {
+        checkNotEmpty();
+        return heapPriorities[0];
+    }
+    
+    @Override
+    public int size() {
+        return size;
+    }
+    
+    @Override
+    public void clear() {
+        for (int i = 0; i < size; ++i) {
+            positions[heapNodes[i]] = -1;
+        }
+        
+        size = 0;
+    }
+    
+    /**
+     * Moves the hole at {@code position} towards the root until 
+     * {@code node} with {@code priority} fits in it.
+     */
+    private void siftUp(int position, int node, double priority) {
+        while (position > 0) {
+            int parentPosition = (position - 1) / degree;
+            
+            if (heapPriorities[parentPosition] <= priority) {
+                break;
+            }
+            
+            place(position, 
+                  heapNodes[parentPosition],
+                  heapPriorities[parentPosition]);
+            position = parentPosition;
+        }
+        
+        place(position, node, priority);
+    }
+    
+    /**
+     * Moves the hole at the root towards the leaves until {@code node} with
+     * {@code priority} fits in it.
+     */
+    private void siftDown(int node, double priority) {
+        int position = 0;
+        
+        while (true) {
+            int firstChildPosition = degree * position + 1;
+            
+            if (firstChildPosition >= size) {
+                break;
+            }
+            
+            int lastChildPosition = Math.min(firstChildPosition + degree, 
+                                             size);
+            int minimumChildPosition = firstChildPosition;
+            
+            for (int i = firstChildPosition + 1; i < lastChildPosition; ++i) {
+                if (heapPriorities[i] < heapPriorities[minimumChildPosition]) {
+                    minimumChildPosition = i;
+                }
+            }
+            
+            if (heapPriorities[minimumChildPosition] >= priority) {
+                break;
+            }
+            
+            place(position, 
+                  heapNodes[minimumChildPosition],
+                  heapPriorities[minimumChildPosition]);
+            position = minimumChildPosition;
+        }
+        
+        place(position, node, priority);
+    }
+    
+    private void place(int position, int node, double priority) {
+        heapNodes[position] = node;
+        heapPriorities[position] = priority;
+        positions[node] = position;
+    }
+    
+    private void checkNotEmpty() {
+        if (size == 0) {
+            throw new NoSuchElementException("The open list is empty.");
+        }
+    }
+}
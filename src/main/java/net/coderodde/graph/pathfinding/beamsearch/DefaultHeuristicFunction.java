@@ -3,7 +3,7 @@ package net.coderodde.graph.pathfinding.beamsearch;
 import java.util.Objects;
 
 public final class DefaultHeuristicFunction 
-        implements HeuristicFunction<Integer> {
+        implements IntHeuristicFunction {
 
     private final Coordinates coordinates;
     
@@ -14,7 +14,12 @@ public final class DefaultHeuristicFunction
     }
     
     @Override
-    public double estimate(Integer source, Integer target) {
+    public double estimate(int source, int target) {
         return coordinates.get(source).distance(coordinates.get(target));
     }
+    
+    @Override
+    public IntHeuristicFunction reversed() {
+        return this;
+    }
 }
@@ -70,12 +70,9 @@ public final class Demo {
         Integer sourceNode = random.nextInt(graph.size());
         Integer targetNode = random.nextInt(graph.size());
         
-        BeamSearchPathfinder finder1 = new BeamSearchPathfinder();
+        BeamSearchPathfinder finder1 = new BeamSearchPathfinder(BEAM_WIDTH);
         BidirectionalBeamSearchPathfinder finder2 = 
-                new BidirectionalBeamSearchPathfinder();
-        
-        finder1.setBeamWidth(BEAM_WIDTH);
-        finder2.setBeamWidth(BEAM_WIDTH);
+                new BidirectionalBeamSearchPathfinder(BEAM_WIDTH);
         
         long start = System.currentTimeMillis();
         List<Integer> path1 = finder1.search(graph,
@@ -0,0 +1,116 @@
+package net.coderodde.graph.pathfinding.beamsearch;
+
+import java.util.Arrays;
+
+/**
+ * This class stores the planar coordinates of nodes in two parallel 
+ * {@code double} arrays indexed by node IDs. Unlike {@link Coordinates}, 
+ * looking up a node costs two array reads instead of a boxed hash lookup and
+ * a pointer chase, which matters since the heuristic is evaluated for every
+ * generated successor.
+ * <p>
+ * The coordinates of the node IDs that were never set are {@code NaN}.
+ * 
+ * @author Rodion "rodde" Efremov
+ * @version 1.6 (Oct 16, 2026)
+ */
+public final class DenseCoordinates {
+    
+    /**
+     * The initial node capacity used by the default constructor.
+     */
+    private static final int DEFAULT_NODE_CAPACITY = 16;
+    
+    /**
+     * The x-coordinates of the nodes.
+     */
+    double[] xs;
+    
+    /**
+     * The y-coordinates of the nodes.
+     */
+    double[] ys;
+    
+    public DenseCoordinates() {
+        this(DEFAULT_NODE_CAPACITY);
+    }
+    
+    /**
+     * Constructs an empty coordinate store that holds the node IDs 
+     * {@code 0, 1, ..., nodeCapacity - 1} without resizing.
+     * 
+     * @param nodeCapacity the initial node capacity.
+     */
+    public DenseCoordinates(int nodeCapacity) {
+        if (nodeCapacity < 0) {
+            throw new IllegalArgumentException(
+                    "The node capacity is negative: " + nodeCapacity);
+        }
+        
+        xs = new double[nodeCapacity];
+        ys = new double[nodeCapacity];
+        Arrays.fill(xs, Double.NaN);
+        Arrays.fill(ys, Double.NaN);
+    }
+    
+    /**
+     * Returns one past the largest node ID this store can hold without 
+     * resizing.
+     * 
+     * @return the node capacity.
+     */
+    public int getNodeCapacity() {
+        return xs.length;
+    }
+    
+    public boolean hasNode(int node) {
+        return node >= 0 && node < xs.length && !Double.isNaN(xs[node]);
+    }
+    
+    public double getX(int node) {
+        return xs[node];
+    }
+    
+    public double getY(int node) {
+        return ys[node];
+    }
+    
+    /**
+     * Sets the coordinates of {@code node}, growing the arrays if needed.
+     * 
+     * @param node the node.
+     * @param x    the x-coordinate.
+     * @param y    the y-coordinate.
+     */
+    public void put(int node, double x, double y) {
+        if (node < 0) {
+            throw new IllegalArgumentException(
+                    "The node " + node + " has a negative ID.");
+        }
+        
+        if (node >= xs.length) {
+            int oldCapacity = xs.length;
+            int newCapacity = Math.max(node + 1, 2 * oldCapacity);
+            xs = Arrays.copyOf(xs, newCapacity);
+            ys = Arrays.copyOf(ys, newCapacity);
+            Arrays.fill(xs, oldCapacity, newCapacity, Double.NaN);
+            Arrays.fill(ys, oldCapacity, newCapacity, Double.NaN);
+        }
+        
+        xs[node] = x;
+        ys[node] = y;
+    }
+    
+    /**
+     * Returns the Euclidean distance between {@code node1} and {@code node2}.
+     * 
+     * @param node1 the first node.
+     * @param node2 the second node.
+     * @return the distance between the two nodes.
+     */
+    public double distance(int node1, int node2) {
+        double dx = xs[node1] - xs[node2];
+        double dy = ys[node1] - ys[node2];
+        return Math.sqrt(dx * dx + dy * dy);
+    }
+}
@@ -0,0 +1,111 @@
+package net.coderodde.graph.pathfinding.beamsearch;
+
+import java.util.Arrays;
+
+/**
+ * This class runs complete single-source Dijkstra searches over a 
+ * {@link CompactGraph}, either along the arcs or against them. It is used by
+ * the preprocessing steps that need exact distances to or from every node.
+ * An instance reuses its heap between the runs and is not thread-safe.
+ * 
+ * @author Rodion "rodde" Efremov
+ * @version 1.6 (Oct 16, 2026)
+ */
+final class DijkstraSearch {
+    
+    /**
+     * The open list.
+     */
+    private final OpenList open = new DaryHeapOpenList();
+    
+    /**
+     * Marks the settled nodes of the current run.
+     */
+    private boolean[] settled = new boolean[0];
+    
+    /**
+     * Computes the shortest path distances from {@code source} to all the
+     * nodes, or from all the nodes to {@code source} if {@code reverse} is 
+     * set. The unreachable nodes get the distance 
+     * {@link Double#POSITIVE_INFINITY}.
+     * 
+     * @param graph       the graph to search.
+     * @param source      the source node.
+     * @param reverse     whether to follow the arcs backwards.
+     * @param distances   the array to write the distances into.
+     * @param parents     the array to write the shortest path tree into, or 
+     *                    {@code null}. The source and the unreachable nodes 
+     *                    get the parent {@code -1}.
+     * @param settleOrder the array to write the nodes into in the order they 
+     *                    were settled, or {@code null}.
+     * @return the number of the settled nodes.
+     */
+    int run(CompactGraph graph,
+            int source,
+            boolean reverse,
+            double[] distances,
+            int[] parents,
+            int[] settleOrder) {
+        int nodeCapacity = graph.getNodeCapacity();
+        
+        if (settled.length < nodeCapacity) {
+            settled = new boolean[nodeCapacity];
+        } else {
+            Arrays.fill(settled, 0, nodeCapacity, false);
+        }
+        
+        Arrays.fill(distances, 0, nodeCapacity, Double.POSITIVE_INFINITY);
+        
+        if (parents != null) {
+            Arrays.fill(parents, 0, nodeCapacity, -1);
+        }
+        
+        open.ensureCapacity(nodeCapacity);
+        open.clear();
+        open.insert(source, 0.0);
+        distances[source] = 0.0;
+        int settledCount = 0;
+        
+        while (!open.isEmpty()) {
+            int currentNode = open.extractMinimum();
+            double currentDistance = distances[currentNode];
+            settled[currentNode] = true;
+            
+            if (settleOrder != null) {
+                settleOrder[settledCount] = currentNode;
+            }
+            
+            ++settledCount;
+            int firstArc = reverse ? graph.getFirstReverseArc(currentNode) :
+                                     graph.getFirstArc(currentNode);
+            int lastArc  = reverse ? graph.getLastReverseArc(currentNode) :
+                                     graph.getLastArc(currentNode);
+            
+            for (int arc = firstArc; arc < lastArc; ++arc) {
+                int nextNode = reverse ? graph.getReverseArcTail(arc) :
+                                         graph.getArcHead(arc);
+                
+                if (settled[nextNode]) {
+                    continue;
+                }
+                
+                double tentativeDistance = 
+                        currentDistance + 
+                        (reverse ? graph.getReverseArcWeight(arc) :
+                                   graph.getArcWeight(arc));
+                
+                if (distances[nextNode] > tentativeDistance) {
+                    distances[nextNode] = tentativeDistance;
+                    
+                    if (parents != null) {
+                        parents[nextNode] = currentNode;
+                    }
+                    
+                    open.insert(nextNode, tentativeDistance);
+                }
+            }
+        }
+        
+        return settledCount;
+    }
+}
@@ -0,0 +1,154 @@
+package net.coderodde.graph.pathfinding.beamsearch;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * This class holds the distances from each of a set of sources to each of a
+ * set of targets in one flat row-major array. The search trees the
+ * distances were read from are not kept, since there is one per row or
+ * column; instead, a path is extracted by regrowing the single tree it
+ * lies in, which yields the same path the distance was measured along.
+ * 
+ * @author Rodion "rodde" Efremov
+ * @version 1.6 (Oct 16, 2026)
+ */
+public final class DistanceMatrix {
+    
+    private final CompactGraph graph;
+    private final int[] sources;
+    private final int[] targets;
+    
+    /**
+     * {@code distances[i * targets.length + j]} is the distance from
+     * {@code sources[i]} to {@code targets[j]}.
+     */
+    private final double[] distances;
+    
+    /**
+     * Whether the trees were grown from the targets against the arcs.
+     */
+    private final boolean reverse;
+    
+    private final int beamWidth;
+    
+    DistanceMatrix(CompactGraph graph,
+                   int[] sources,
+                   int[] targets,
+                   double[] distances,
+                   boolean reverse,
+                   int beamWidth) {
+        this.graph = graph;
+        this.sources = sources;
+        this.targets = targets;
+        this.distances = distances;
+        this.reverse = reverse;
+        this.beamWidth = beamWidth;
+    }
+    
+    public int getNumberOfSources() {
+        return sources.length;
+    }
+    
+    public int getNumberOfTargets() {
+        return targets.length;
+    }
+    
+    public int getSource(int sourceIndex) {
+        return sources[sourceIndex];
+    }
+    
+    public int getTarget(int targetIndex) {
+        return targets[targetIndex];
+    }
+    
+    /**
+     * Returns the distance from the source at {@code sourceIndex} to the
+     * target at {@code targetIndex}, or {@link Double#POSITIVE_INFINITY} if
+     * the beam did not reach it.
+     * 
+     * @param sourceIndex the index of the source.
+     * @param targetIndex the index of the target.
+     * @return the distance.
+     */
+    public double getDistance(int sourceIndex, int targetIndex) {
+        checkIndices(sourceIndex, targetIndex);
+        return distances[sourceIndex * targets.length + targetIndex];
+    }
+    
+    /**
+     * Returns a copy of the row-major distance array.
+     * 
+     * @return the distance array.
+     */
+    public double[] getDistances() {
+        return distances.clone();
+    }
+    
+    public boolean isReachable(int sourceIndex, int targetIndex) {
+        return getDistance(sourceIndex, targetIndex) !=
+               Double.POSITIVE_INFINITY;
+    }
+    
+    /**
+     * Extracts the path from the source at {@code sourceIndex} to the
+     * target at {@code targetIndex}.
+     * 
+     * @param sourceIndex the index of the source.
+     * @param targetIndex the index of the target.
+     * @return the path.
+     * @throws PathNotFoundException if the target was not reached.
+     */
+    public List<Integer> getPath(int sourceIndex, int targetIndex) {
+        return getPath(sourceIndex, targetIndex, new SearchContext());
+    }
+    
+    /**
+     * Works like {@link #getPath(int, int)} but regrows the tree in
+     * {@code searchContext}.
+     * 
+     * @param sourceIndex   the index of the source.
+     * @param targetIndex   the index of the target.
+     * @param searchContext the search context.
+     * @return the path.
+     * @throws PathNotFoundException if the target was not reached.
+     */
+    public List<Integer> getPath(int sourceIndex,
+                                 int targetIndex,
+                                 SearchContext searchContext) {
+        Objects.requireNonNull(searchContext, "The search context is null.");
+        
+        if (!isReachable(sourceIndex, targetIndex)) {
+            throw new PathNotFoundException(
+                    "Path from " + sources[sourceIndex] + " to " +
+                    targets[targetIndex] + " not found.");
+        }
+        
+        int root = reverse ? targets[targetIndex] : sources[sourceIndex];
+        int leaf = reverse ? sources[sourceIndex] : targets[targetIndex];
+        SearchState state = MultiTargetSearch.run(graph,
+                                                  root,
+                                                  new int[]{ leaf },
+                                                  reverse,
+                                                  beamWidth,
+                                                  searchContext,
+                                                  new double[1],
+                                                  0,
+                                                  1);
+        return MultiTargetSearch.tracebackPath(state.parents, leaf, reverse);
+    }
+    
+    private void checkIndices(int sourceIndex, int targetIndex) {
+        if (sourceIndex < 0 || sourceIndex >= sources.length) {
+            throw new IndexOutOfBoundsException(
+                    "The source index " + sourceIndex +
+                    " is out of bounds.");
+        }
+        
+        if (targetIndex < 0 || targetIndex >= targets.length) {
+            throw new IndexOutOfBoundsException(
+                    "The target index " + targetIndex +
+                    " is out of bounds.");
+        }
+    }
+}
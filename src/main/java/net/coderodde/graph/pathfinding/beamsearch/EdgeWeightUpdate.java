@@ -0,0 +1,38 @@
+package net.coderodde.graph.pathfinding.beamsearch;
+
+/**
+ * This class represents an immutable change of the weight of the arc 
+ * {@code (tail, head)}, for {@link IncrementalBeamSearchPlanner}. 
+ * 
+ * @author Rodion "rodde" Efremov
+ * @version 1.6 (Oct 16, 2026)
+ */
+public final class EdgeWeightUpdate {
+    
+    private final int tail;
+    private final int head;
+    private final double weight;
+    
+    public EdgeWeightUpdate(int tail, int head, double weight) {
+        this.tail   = tail;
+        this.head   = head;
+        this.weight = weight;
+    }
+    
+    public int getTail() {
+        return tail;
+    }
+    
+    public int getHead() {
+        return head;
+    }
+    
+    public double getWeight() {
+        return weight;
+    }
+    
+    @Override
+    public String toString() {
+        return "(" + tail + " -> " + head + ": " + weight + ")";
+    }
+}
@@ -0,0 +1,50 @@
+package net.coderodde.graph.pathfinding.beamsearch;
+
+import java.util.Objects;
+
+/**
+ * This class implements the Euclidean distance heuristic over 
+ * {@link DenseCoordinates}. It returns the same estimates as 
+ * {@link DefaultHeuristicFunction} does over equal {@link Coordinates}.
+ * 
+ * @author Rodion "rodde" Efremov
+ * @version 1.6 (Oct 16, 2026)
+ */
+public final class EuclideanHeuristicFunction implements IntHeuristicFunction {
+    
+    private final DenseCoordinates coordinates;
+    
+    public EuclideanHeuristicFunction(DenseCoordinates coordinates) {
+        this.coordinates = 
+                Objects.requireNonNull(coordinates, 
+                                       "The coordinates are null.");
+    }
+    
+    @Override
+    public double estimate(int source, int target) {
+        return coordinates.distance(source, target);
+    }
+    
+    @Override
+    public void estimate(int[] sources, 
+                         int count, 
+                         int target,
+                         double[] estimates) {
+        double[] xs = coordinates.xs;
+        double[] ys = coordinates.ys;
+        double targetX = xs[target];
+        double targetY = ys[target];
+        
+        for (int i = 0; i < count; ++i) {
+            int source = sources[i];
+            double dx = xs[source] - targetX;
+            double dy = ys[source] - targetY;
+            estimates[i] = Math.sqrt(dx * dx + dy * dy);
+        }
+    }
+    
+    @Override
+    public IntHeuristicFunction reversed() {
+        return this;
+    }
+}
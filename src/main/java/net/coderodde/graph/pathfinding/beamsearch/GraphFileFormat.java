@@ -0,0 +1,142 @@
+package net.coderodde.graph.pathfinding.beamsearch;
+
+/**
+ * This class defines the binary graph file format written by 
+ * {@link GraphFileWriter} and mapped by {@link MappedGraphFile}. All the 
+ * values are little-endian. The file starts with a header of 
+ * {@link #HEADER_SIZE} bytes:
+ * <pre>
+ *     offset  field
+ *          0  magic number "BSGF"
+ *          4  format version
+ *          8  flags
+ *         12  node capacity (n)
+ *         16  number of nodes
+ *         20  number of arcs (m)
+ *         24  maximum out-degree
+ *         28  maximum in-degree
+ *         32  reserved, zero
+ * </pre>
+ * The header is followed by the sections below, in this order, each 
+ * starting at an offset divisible by eight:
+ * <pre>
+ *     section           type      length
+ *     node presence     byte      n
+ *     forward offsets   int       n + 1
+ *     forward heads     int       m
+ *     forward weights   double    m
+ *     backward offsets  int       n + 1
+ *     backward tails    int       m
+ *     backward weights  double    m
+ *     x-coordinates     double    n, if {@link #FLAG_COORDINATES} is set
+ *     y-coordinates     double    n, if {@link #FLAG_COORDINATES} is set
+ * </pre>
+ * The arrays are exactly those of a {@link CompactGraph}, so the file can be
+ * used in place without any deserialization.
+ * 
+ * @author Rodion "rodde" Efremov
+ * @version 1.6 (Oct 16, 2026)
+ */
+final class GraphFileFormat {
+    
+    /**
+     * The magic number, the bytes "BSGF" read as a little-endian integer.
+     */
+    static final int MAGIC = 0x46475342;
+    
+    /**
+     * The current version of the format.
+     */
+    static final int VERSION = 1;
+    
+    /**
+     * The size of the header in bytes.
+     */
+    static final int HEADER_SIZE = 64;
+    
+    /**
+     * The flag telling that the file contains node coordinates.
+     */
+    static final int FLAG_COORDINATES = 1;
+    
+    static final int NODE_PRESENCE    = 0;
+    static final int FORWARD_OFFSETS  = 1;
+    static final int FORWARD_HEADS    = 2;
+    static final int FORWARD_WEIGHTS  = 3;
+    static final int BACKWARD_OFFSETS = 4;
+    static final int BACKWARD_TAILS   = 5;
+    static final int BACKWARD_WEIGHTS = 6;
+    static final int X_COORDINATES    = 7;
+    static final int Y_COORDINATES    = 8;
+    
+    /**
+     * The number of the sections.
+     */
+    static final int NUMBER_OF_SECTIONS = 9;
+    
+    /**
+     * The alignment of the sections in bytes.
+     */
+    private static final int SECTION_ALIGNMENT = 8;
+    
+    /**
+     * The offset of each section in the file.
+     */
+    private final long[] sectionOffsets = new long[NUMBER_OF_SECTIONS];
+    
+    /**
+     * The length of each section in bytes.
+     */
+    private final long[] sectionLengths = new long[NUMBER_OF_SECTIONS];
+    
+    /**
+     * The size of the whole file.
+     */
+    private final long fileSize;
+    
+    /**
+     * Computes the layout of a file holding a graph with the given node 
+     * capacity and the given number of arcs.
+     */
+    GraphFileFormat(int nodeCapacity, 
+                    int numberOfArcs, 
+                    boolean hasCoordinates) {
+        sectionLengths[NODE_PRESENCE]    = nodeCapacity;
+        sectionLengths[FORWARD_OFFSETS]  = 4L * (nodeCapacity + 1L);
+        sectionLengths[FORWARD_HEADS]    = 4L * numberOfArcs;
+        sectionLengths[FORWARD_WEIGHTS]  = 8L * numberOfArcs;
+        sectionLengths[BACKWARD_OFFSETS] = 4L * (nodeCapacity + 1L);
+        sectionLengths[BACKWARD_TAILS]   = 4L * numberOfArcs;
+        sectionLengths[BACKWARD_WEIGHTS] = 8L * numberOfArcs;
+        
+        if (hasCoordinates) {
+            sectionLengths[X_COORDINATES] = 8L * nodeCapacity;
+            sectionLengths[Y_COORDINATES] = 8L * nodeCapacity;
+        }
+        
+        long offset = HEADER_SIZE;
+        
+        for (int section = 0; section < NUMBER_OF_SECTIONS; ++section) {
+            sectionOffsets[section] = offset;
+            offset = align(offset + sectionLengths[section]);
+        }
+        
+        fileSize = offset;
+    }
+    
+    long getSectionOffset(int section) {
+        return sectionOffsets[section];
+    }
+    
+    long getSectionLength(int section) {
+        return sectionLengths[section];
+    }
+    
+    long getFileSize() {
+        return fileSize;
+    }
+    
+    private static long align(long offset) {
+        return (offset + SECTION_ALIGNMENT - 1) & -SECTION_ALIGNMENT;
+    }
+}
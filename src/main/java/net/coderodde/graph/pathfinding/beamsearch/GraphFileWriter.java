@@ -0,0 +1,207 @@
+package net.coderodde.graph.pathfinding.beamsearch;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Objects;
+import net.coderodde.graph.AbstractGraph;
+
+/**
+ * This class writes graphs and their coordinates into the binary format 
+ * mapped by {@link MappedGraphFile}. See {@link GraphFileFormat} for the 
+ * layout.
+ * 
+ * @author Rodion "rodde" Efremov
+ * @version 1.6 (Oct 16, 2026)
+ */
+public final class GraphFileWriter {
+    
+    /**
+     * The size of the write buffer in bytes.
+     */
+    private static final int BUFFER_SIZE = 1 << 20;
+    
+    private final FileChannel channel;
+    private final ByteBuffer buffer = 
+            ByteBuffer.allocate(BUFFER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+    
+    /**
+     * The number of bytes written so far, including the buffered ones.
+     */
+    private long position;
+    
+    private GraphFileWriter(FileChannel channel) {
+        this.channel = channel;
+    }
+    
+    /**
+     * Writes {@code graph} and {@code coordinates} into {@code file}, 
+     * replacing its previous contents.
+     * 
+     * @param graph       the graph to write.
+     * @param coordinates the coordinates of the nodes, or {@code null}.
+     * @param file        the file to write.
+     * @throws IOException if writing the file fails.
+     */
+    public static void write(AbstractGraph graph, 
+                             Coordinates coordinates,
+                             Path file) throws IOException {
+        Objects.requireNonNull(graph, "The input graph is null.");
+        write(CompactGraph.fromGraph(graph),
+              coordinates == null ? null : coordinates.toDenseCoordinates(),
+              file);
+    }
+    
+    /**
+     * Writes {@code graph} and {@code coordinates} into {@code file}, 
+     * replacing its previous contents. The nodes without coordinates get 
+     * {@code NaN} coordinates.
+     * 
+     * @param graph       the graph to write.
+     * @param coordinates the coordinates of the nodes, or {@code null}.
+     * @param file        the file to write.
+     * @throws IOException if writing the file fails.
+     */
+    public static void write(CompactGraph graph,
+                             DenseCoordinates coordinates,
+                             Path file) throws IOException {
+        Objects.requireNonNull(graph, "The input graph is null.");
+        Objects.requireNonNull(file, "The file is null.");
+        
+        try (FileChannel channel = 
+                FileChannel.open(file, 
+                                 StandardOpenOption.CREATE,
+                                 StandardOpenOption.TRUNCATE_EXISTING,
+                                 StandardOpenOption.WRITE)) {
+            new GraphFileWriter(channel).writeGraph(graph, coordinates);
+        }
+    }
+    
+    private void writeGraph(CompactGraph graph, 
+                            DenseCoordinates coordinates) 
+            throws IOException {
+        int nodeCapacity = graph.getNodeCapacity();
+        int numberOfArcs = graph.getNumberOfArcs();
+        GraphFileFormat format = new GraphFileFormat(nodeCapacity, 
+                                                     numberOfArcs, 
+                                                     coordinates != null);
+        
+        putInt(GraphFileFormat.MAGIC);
+        putInt(GraphFileFormat.VERSION);
+        putInt(coordinates != null ? GraphFileFormat.FLAG_COORDINATES : 0);
+        putInt(nodeCapacity);
+        putInt(graph.size());
+        putInt(numberOfArcs);
+        putInt(graph.getMaximumOutDegree());
+        putInt(graph.getMaximumInDegree());
+        
+        skipTo(format.getSectionOffset(GraphFileFormat.NODE_PRESENCE));
+        
+        for (int node = 0; node < nodeCapacity; ++node) {
+            ensureRemaining(1);
+            buffer.put(graph.hasNode(node) ? (byte) 1 : (byte) 0);
+            ++position;
+        }
+        
+        skipTo(format.getSectionOffset(GraphFileFormat.FORWARD_OFFSETS));
+        
+        for (int node = 0; node < nodeCapacity; ++node) {
+            putInt(graph.getFirstArc(node));
+        }
+        
+        putInt(numberOfArcs);
+        skipTo(format.getSectionOffset(GraphFileFormat.FORWARD_HEADS));
+        
+        for (int arc = 0; arc < numberOfArcs; ++arc) {
+            putInt(graph.getArcHead(arc));
+        }
+        
+        skipTo(format.getSectionOffset(GraphFileFormat.FORWARD_WEIGHTS));
+        
+        for (int arc = 0; arc < numberOfArcs; ++arc) {
+            putDouble(graph.getArcWeight(arc));
+        }
+        
+        skipTo(format.getSectionOffset(GraphFileFormat.BACKWARD_OFFSETS));
+        
+        for (int node = 0; node < nodeCapacity; ++node) {
+            putInt(graph.getFirstReverseArc(node));
+        }
+        
+        putInt(numberOfArcs);
+        skipTo(format.getSectionOffset(GraphFileFormat.BACKWARD_TAILS));
+        
+        for (int arc = 0; arc < numberOfArcs; ++arc) {
+            putInt(graph.getReverseArcTail(arc));
+        }
+        
+        skipTo(format.getSectionOffset(GraphFileFormat.BACKWARD_WEIGHTS));
+        
+        for (int arc = 0; arc < numberOfArcs; ++arc) {
+            putDouble(graph.getReverseArcWeight(arc));
+        }
+        
+        if (coordinates != null) {
+            skipTo(format.getSectionOffset(GraphFileFormat.X_COORDINATES));
+            
+            for (int node = 0; node < nodeCapacity; ++node) {
+                putDouble(node < coordinates.getNodeCapacity() ? 
+                          coordinates.getX(node) : 
+                          Double.NaN);
+            }
+            
+            skipTo(format.getSectionOffset(GraphFileFormat.Y_COORDINATES));
+            
+            for (int node = 0; node < nodeCapacity; ++node) {
+                putDouble(node < coordinates.getNodeCapacity() ? 
+                          coordinates.getY(node) : 
+                          Double.NaN);
+            }
+        }
+        
+        skipTo(format.getFileSize());
+        flush();
+    }
+    
+    private void putInt(int value) throws IOException {
+        ensureRemaining(Integer.BYTES);
+        buffer.putInt(value);
+        position += Integer.BYTES;
+    }
+    
+    private void putDouble(double value) throws IOException {
+        ensureRemaining(Double.BYTES);
+        buffer.putDouble(value);
+        position += Double.BYTES;
+    }
+    
+    /**
+     * Pads the output with zero bytes up to {@code offset}.
+     */
+    private void skipTo(long offset) throws IOException {
+        while (position < offset) {
+            ensureRemaining(1);
+            buffer.put((byte) 0);
+            ++position;
+        }
+    }
+    
+    private void ensureRemaining(int bytes) throws IOException {
+        if (buffer.remaining() < bytes) {
+            flush();
+        }
+    }
+    
+    private void flush() throws IOException {
+        buffer.flip();
+        
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        
+        buffer.clear();
+    }
+}
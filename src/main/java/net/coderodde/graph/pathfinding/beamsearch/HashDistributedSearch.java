@@ -0,0 +1,656 @@
+package net.coderodde.graph.pathfinding.beamsearch;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * This class runs a single query of {@link BeamSearchPathfinder} on several
+ * worker threads in the manner of the hash-distributed A* (HDA*). Every node
+ * is owned by the worker its ID hashes to, and only the owner reads or
+ * writes its distance and parent and keeps it in its open list. A worker
+ * expands its own nodes and sends each successor the beam keeps to the
+ * owner of the successor, batched per owner, through the lock-free mailbox
+ * of the owner.
+ * <p>
+ * Since the nodes are expanded in no global order, a node may be reached
+ * again at a smaller distance after it has been expanded; it is then
+ * expanded once more. The owner of the target records every improved path
+ * to it as the incumbent, and the nodes whose priority is not below the
+ * incumbent are neither sent nor expanded. The search ends when no worker
+ * has anything left below the incumbent and no message is in transit. This
+ * is detected by a single counter holding the number of the active workers
+ * plus the number of the messages sent but not yet received: it can only
+ * grow while it is positive, so once it drops to zero, it stays there.
+ * <p>
+ * The workers are not bound to the threads in advance. Each thread claims
+ * a worker when it starts, and a thread that has stayed idle for
+ * {@link #CLAIM_DELAY_NANOS} also claims a worker no thread has claimed
+ * yet, running it in turns with its own. The search therefore completes
+ * even if the executor runs fewer tasks at a time than there are workers,
+ * or none at all; it only gets less parallel. An idle thread parks until a
+ * message for one of its workers arrives or the search ends.
+ * <p>
+ * Each worker keeps the successors the sequential search would keep, so the
+ * returned path is a shortest one among the paths the beam admits whenever
+ * the heuristic function is admissible.
+ * 
+ * @author Rodion "rodde" Efremov
+ * @version 1.6 (Oct 16, 2026)
+ */
+final class HashDistributedSearch {
+    
+    /**
+     * The number of messages a worker buffers for another worker before
+     * sending them.
+     */
+    private static final int BATCH_SIZE = 64;
+    
+    /**
+     * The number of expansions after which a worker sends all the messages
+     * it has buffered, so that the other workers do not wait on the full
+     * batches for too long.
+     */
+    private static final int FLUSH_INTERVAL = 16;
+    
+    /**
+     * The time in nanoseconds a thread stays idle before it claims a worker
+     * that no thread has started. This is also the longest time an idle 
+     * thread parks at once.
+     */
+    private static final long CLAIM_DELAY_NANOS = 1_000_000L;
+    
+    private final BeamSearchPathfinder pathfinder;
+    private final CompactGraph graph;
+    private final int sourceNode;
+    private final int targetNode;
+    private final IntHeuristicFunction heuristicFunction;
+    private final int beamWidth;
+    private final Worker[] workers;
+    
+    /**
+     * {@code distances[u]} is the best known distance of {@code u}. Written
+     * and read only by the owner of {@code u} until the search ends.
+     */
+    private final double[] distances;
+    
+    /**
+     * {@code parents[u]} is the parent of {@code u} on its best known path.
+     * Written only by the owner of {@code u}.
+     */
+    private final int[] parents;
+    
+    /**
+     * The number of the active workers plus the number of the messages in
+     * transit.
+     */
+    private final AtomicLong pendingWork = new AtomicLong();
+    
+    /**
+     * The raw bits of the length of the best path found so far.
+     */
+    private final AtomicLong incumbent =
+            new AtomicLong(Double.doubleToRawLongBits(
+                    Double.POSITIVE_INFINITY));
+    
+    /**
+     * The index of the next worker to be claimed by a thread.
+     */
+    private final AtomicInteger nextUnclaimedWorker = new AtomicInteger();
+    
+    /**
+     * The first failure of a worker.
+     */
+    private final AtomicReference<Throwable> failure = 
+            new AtomicReference<>();
+    
+    /**
+     * Set if a worker failed, telling the others to stop.
+     */
+    private volatile boolean aborted;
+    
+    HashDistributedSearch(BeamSearchPathfinder pathfinder,
+                          CompactGraph graph,
+                          int sourceNode,
+                          int targetNode,
+                          IntHeuristicFunction heuristicFunction,
+                          int beamWidth,
+                          int numberOfWorkers) {
+        this.pathfinder        = pathfinder;
+        this.graph             = graph;
+        this.sourceNode        = sourceNode;
+        this.targetNode        = targetNode;
+        this.heuristicFunction = heuristicFunction;
+        this.beamWidth         = beamWidth;
+        this.workers           = new Worker[numberOfWorkers];
+        this.distances         = new double[graph.getNodeCapacity()];
+        this.parents           = new int[graph.getNodeCapacity()];
+        
+        Arrays.fill(distances, Double.POSITIVE_INFINITY);
+        
+        for (int i = 0; i < numberOfWorkers; ++i) {
+            workers[i] = new Worker();
+        }
+    }
+    
+    /**
+     * Runs a worker on the calling thread and submits a task for each of the
+     * other workers to {@code executor}. The workers whose tasks do not get
+     * to run are taken over by the running threads, so the executor may be
+     * of any size and may even reject the tasks.
+     * 
+     * @return the path from the source node to the target node.
+     */
+    List<Integer> run(Executor executor) {
+        Batch start = new Batch();
+        start.add(sourceNode,
+                  -1,
+                  0.0,
+                  heuristicFunction.estimate(sourceNode, targetNode));
+        send(start, getOwner(sourceNode));
+        
+        // Claim a worker before the tasks do, so that the calling thread 
+        // does not return before the search ends.
+        Worker firstWorker = claimWorker();
+        
+        for (int i = 1; i < workers.length; ++i) {
+            try {
+                executor.execute(this::runWorkers);
+            } catch (RejectedExecutionException ex) {
+                break;
+            }
+        }
+        
+        runWorkers(firstWorker);
+        Throwable cause = failure.get();
+        
+        if (cause instanceof RuntimeException) {
+            throw (RuntimeException) cause;
+        }
+        
+        if (cause instanceof Error) {
+            throw (Error) cause;
+        }
+        
+        if (getIncumbent() == Double.POSITIVE_INFINITY) {
+            throw new PathNotFoundException(
+                    "Path from " + sourceNode + " to " + targetNode +
+                    " not found.");
+        }
+        
+        return pathfinder.tracebackPath(targetNode, parents);
+    }
+    
+    /**
+     * The body of a task: claims a worker, if any is left, and runs it.
+     */
+    private void runWorkers() {
+        Worker worker = claimWorker();
+        
+        if (worker != null) {
+            runWorkers(worker);
+        }
+    }
+    
+    /**
+     * Runs {@code firstWorker} and the workers this thread claims later in
+     * turns, until the search ends or fails.
+     */
+    private void runWorkers(Worker firstWorker) {
+        List<Worker> claimedWorkers = new ArrayList<>();
+        claimedWorkers.add(firstWorker);
+        boolean idle = false;
+        long idleSince = 0L;
+        
+        try {
+            while (!aborted) {
+                boolean progress = false;
+                
+                for (Worker worker : claimedWorkers) {
+                    if (worker.step()) {
+                        progress = true;
+                    }
+                }
+                
+                if (progress) {
+                    idle = false;
+                    continue;
+                }
+                
+                if (pendingWork.get() == 0L) {
+                    return;
+                }
+                
+                if (!idle) {
+                    idle = true;
+                    idleSince = System.nanoTime();
+                } else if (System.nanoTime() - idleSince 
+                        >= CLAIM_DELAY_NANOS) {
+                    Worker worker = claimWorker();
+                    
+                    if (worker != null) {
+                        claimedWorkers.add(worker);
+                        idle = false;
+                        continue;
+                    }
+                }
+                
+                park(claimedWorkers);
+            }
+        } catch (RuntimeException | Error ex) {
+            failure.compareAndSet(null, ex);
+            aborted = true;
+            wakeAll();
+        }
+    }
+    
+    /**
+     * Returns a worker no thread has claimed yet, now claimed by the calling
+     * thread, or {@code null} if all the workers are claimed.
+     */
+    private Worker claimWorker() {
+        int index = nextUnclaimedWorker.getAndIncrement();
+        
+        if (index >= workers.length) {
+            return null;
+        }
+        
+        workers[index].runner = Thread.currentThread();
+        return workers[index];
+    }
+    
+    /**
+     * Parks the calling thread until a message arrives for one of 
+     * {@code claimedWorkers}, the search ends, or the claim delay passes.
+     * A worker is marked idle before its mailbox is checked for the last 
+     * time, so a sender either sees the mark and unparks the thread, or 
+     * sends before the check.
+     */
+    private void park(List<Worker> claimedWorkers) {
+        boolean hasMail = false;
+        
+        for (Worker worker : claimedWorkers) {
+            worker.idle = true;
+        }
+        
+        for (Worker worker : claimedWorkers) {
+            if (!worker.mailbox.isEmpty()) {
+                hasMail = true;
+            }
+        }
+        
+        if (!hasMail && !aborted && pendingWork.get() != 0L) {
+            LockSupport.parkNanos(this, CLAIM_DELAY_NANOS);
+        }
+        
+        for (Worker worker : claimedWorkers) {
+            worker.idle = false;
+        }
+    }
+    
+    /**
+     * Unparks all the threads running a worker.
+     */
+    private void wakeAll() {
+        for (Worker worker : workers) {
+            Thread runner = worker.runner;
+            
+            if (runner != null) {
+                LockSupport.unpark(runner);
+            }
+        }
+    }
+    
+    /**
+     * Returns the worker owning {@code node}. The IDs are mixed first, so
+     * that the nearby nodes, which tend to have close IDs, are spread over
+     * all the workers.
+     */
+    private int getOwner(int node) {
+        int hash = node * 0x9E3779B9;
+        hash ^= hash >>> 16;
+        return (int) (((hash & 0xFFFFFFFFL) * workers.length) >>> 32);
+    }
+    
+    private double getIncumbent() {
+        return Double.longBitsToDouble(incumbent.get());
+    }
+    
+    private void offerIncumbent(double pathLength) {
+        while (true) {
+            long bits = incumbent.get();
+            
+            if (Double.longBitsToDouble(bits) <= pathLength
+                    || incumbent.compareAndSet(
+                            bits,
+                            Double.doubleToRawLongBits(pathLength))) {
+                return;
+            }
+        }
+    }
+    
+    /**
+     * Hands {@code batch} over to {@code owner}, counting its messages as
+     * in transit.
+     */
+    private void send(Batch batch, int owner) {
+        Worker worker = workers[owner];
+        pendingWork.addAndGet(batch.size);
+        worker.mailbox.add(batch);
+        
+        if (worker.idle) {
+            LockSupport.unpark(worker.runner);
+        }
+    }
+    
+    /**
+     * A batch of messages, each telling the owner of a node that the node
+     * was reached at a given distance from a given parent.
+     */
+    private static final class Batch {
+        
+        final int[] nodes = new int[BATCH_SIZE];
+        final int[] parents = new int[BATCH_SIZE];
+        final double[] distances = new double[BATCH_SIZE];
+        final double[] priorities = new double[BATCH_SIZE];
+        int size;
+        
+        void add(int node, int parent, double distance, double priority) {
+            nodes[size] = node;
+            parents[size] = parent;
+            distances[size] = distance;
+            priorities[size] = priority;
+            ++size;
+        }
+    }
+    
+    /**
+     * A worker and the nodes it owns. A worker is run by a single thread at
+     * a time, the one that claimed it.
+     */
+    private final class Worker {
+        
+        /**
+         * The batches sent to this worker. The other workers only add and
+         * this worker only polls.
+         */
+        final Queue<Batch> mailbox = new ConcurrentLinkedQueue<>();
+        
+        /**
+         * The thread that claimed this worker, or {@code null} if no thread
+         * has.
+         */
+        volatile Thread runner;
+        
+        /**
+         * Set while the thread running this worker is about to park or is 
+         * parked.
+         */
+        volatile boolean idle;
+        
+        /**
+         * {@code outbox[w]} buffers the messages to the worker {@code w}.
+         */
+        private final Batch[] outbox = new Batch[workers.length];
+        
+        private final WorkerOpenList open = new WorkerOpenList();
+        private final SuccessorSelector selector = new SuccessorSelector();
+        private int expansionsSinceFlush;
+        private boolean active;
+        
+        /**
+         * Takes in the mailbox and expands a node, if there is one below the
+         * incumbent. Otherwise sends all the buffered messages and becomes
+         * passive. The worker that brings the pending work down to zero 
+         * wakes all the threads.
+         * 
+         * @return {@code true} if anything was received or expanded.
+         */
+        boolean step() {
+            boolean received = receive();
+            
+            if (!open.isEmpty()
+                    && open.getMinimumPriority() < getIncumbent()) {
+                expand();
+                return true;
+            }
+            
+            flush();
+            
+            if (active) {
+                active = false;
+                
+                if (pendingWork.decrementAndGet() == 0L) {
+                    wakeAll();
+                }
+            }
+            
+            return received;
+        }
+        
+        /**
+         * Takes in all the batches in the mailbox. A passive worker becomes
+         * active before it stops counting the received messages as in
+         * transit, so the pending work never drops to zero in between.
+         * 
+         * @return {@code true} if any batch was received.
+         */
+        private boolean receive() {
+            boolean received = false;
+            Batch batch;
+            
+            while ((batch = mailbox.poll()) != null) {
+                received = true;
+                
+                if (!active) {
+                    active = true;
+                    pendingWork.incrementAndGet();
+                }
+                
+                for (int i = 0; i < batch.size; ++i) {
+                    accept(batch.nodes[i],
+                           batch.parents[i],
+                           batch.distances[i],
+                           batch.priorities[i]);
+                }
+                
+                pendingWork.addAndGet(-batch.size);
+            }
+            
+            return received;
+        }
+        
+        /**
+         * Records that the node owned by this worker was reached at
+         * {@code distance} from {@code parent}, if that is an improvement.
+         */
+        private void accept(int node,
+                            int parent,
+                            double distance,
+                            double priority) {
+            if (distance >= distances[node]) {
+                return;
+            }
+            
+            distances[node] = distance;
+            parents[node] = parent;
+            
+            if (node == targetNode) {
+                offerIncumbent(distance);
+            } else if (priority < getIncumbent()) {
+                open.insert(node, priority, distance);
+            }
+        }
+        
+        /**
+         * Expands the minimum node of the open list, unless it has been
+         * reached at a smaller distance since it was inserted.
+         */
+        private void expand() {
+            double distance = open.getMinimumDistance();
+            int currentNode = open.extractMinimum();
+            
+            if (distance > distances[currentNode]) {
+                return;
+            }
+            
+            int successorCount =
+                    pathfinder.getSuccessors(graph,
+                                             currentNode,
+                                             distance,
+                                             targetNode,
+                                             heuristicFunction,
+                                             beamWidth,
+                                             selector);
+            double incumbentLength = getIncumbent();
+            
+            for (int i = 0; i < successorCount; ++i) {
+                double priority = selector.getCost(i);
+                
+                if (priority >= incumbentLength) {
+                    continue;
+                }
+                
+                int childNode = graph.getArcHead(selector.getNode(i));
+                double childDistance = distance + selector.getWeight(i);
+                int owner = getOwner(childNode);
+                
+                if (workers[owner] == this) {
+                    accept(childNode, currentNode, childDistance, priority);
+                    continue;
+                }
+                
+                Batch batch = outbox[owner];
+                
+                if (batch == null) {
+                    batch = outbox[owner] = new Batch();
+                }
+                
+                batch.add(childNode, currentNode, childDistance, priority);
+                
+                if (batch.size == BATCH_SIZE) {
+                    send(batch, owner);
+                    outbox[owner] = null;
+                }
+            }
+            
+            if (++expansionsSinceFlush == FLUSH_INTERVAL) {
+                flush();
+            }
+        }
+        
+        /**
+         * Sends all the buffered messages.
+         */
+        private void flush() {
+            expansionsSinceFlush = 0;
+            
+            for (int owner = 0; owner < outbox.length; ++owner) {
+                if (outbox[owner] != null) {
+                    send(outbox[owner], owner);
+                    outbox[owner] = null;
+                }
+            }
+        }
+    }
+    
+    /**
+     * A binary heap of the nodes of one worker without decrease-key: an
+     * improved node is inserted once again with its new distance, and the
+     * outdated entry is recognized by its distance when extracted. Unlike
+     * the indexed open lists, it takes memory proportional to its entries
+     * rather than to the size of the graph.
+     */
+    private static final class WorkerOpenList {
+        
+        private int[] nodes = new int[16];
+        private double[] priorities = new double[16];
+        private double[] distances = new double[16];
+        private int size;
+        
+        boolean isEmpty() {
+            return size == 0;
+        }
+        
+        double getMinimumPriority() {
+            return priorities[0];
+        }
+        
+        double getMinimumDistance() {
+            return distances[0];
+        }
+        
+        void insert(int node, double priority, double distance) {
+            if (size == nodes.length) {
+                nodes = Arrays.copyOf(nodes, 2 * size);
+                priorities = Arrays.copyOf(priorities, 2 * size);
+                distances = Arrays.copyOf(distances, 2 * size);
+            }
+            
+            int i = size++;
+            
+            while (i > 0) {
+                int parent = (i - 1) >>> 1;
+                
+                if (priorities[parent] <= priority) {
+                    break;
+                }
+                
+                move(parent, i);
+                i = parent;
+            }
+            
+            nodes[i] = node;
+            priorities[i] = priority;
+            distances[i] = distance;
+        }
+        
+        int extractMinimum() {
+            int minimum = nodes[0];
+            int last = --size;
+            int node = nodes[last];
+            double priority = priorities[last];
+            double distance = distances[last];
+            int i = 0;
+            
+            while (true) {
+                int child = 2 * i + 1;
+                
+                if (child >= size) {
+                    break;
+                }
+                
+                if (child + 1 < size
+                        && priorities[child + 1] < priorities[child]) {
+                    ++child;
+                }
+                
+                if (priorities[child] >= priority) {
+                    break;
+                }
+                
+                move(child, i);
+                i = child;
+            }
+            
+            nodes[i] = node;
+            priorities[i] = priority;
+            distances[i] = distance;
+            return minimum;
+        }
+        
+        private void move(int from, int to) {
+            nodes[to] = nodes[from];
+            priorities[to] = priorities[from];
+            distances[to] = distances[from];
+        }
+    }
+}
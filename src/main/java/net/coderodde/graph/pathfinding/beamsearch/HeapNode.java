@@ -0,0 +1,23 @@
+package net.coderodde.graph.pathfinding.beamsearch;
+
+/**
+ * This class implements the open list entries of the pathfinders.
+ * 
+ * @author Rodion "rodde" Efremov
+ * @version 1.6 (Oct 16, 2026)
+ */
+final class HeapNode implements Comparable<HeapNode> {
+    
+    int node;
+    double fScore;
+    
+    HeapNode(int node, double fScore) {
+        this.node = node;
+        this.fScore = fScore;
+    }
+    
+    @Override
+    public int compareTo(HeapNode o) {
+        return Double.compare(fScore, o.fScore);
+    }
+}
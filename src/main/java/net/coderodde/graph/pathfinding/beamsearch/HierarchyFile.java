@@ -0,0 +1,283 @@
+package net.coderodde.graph.pathfinding.beamsearch;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * This class reads and writes the binary form of a
+ * {@link ContractionHierarchy}. All values are little-endian. The file
+ * starts with six {@code int}s: the magic number, the version, the node
+ * capacity, the number of nodes and the numbers of the upward and downward
+ * arcs. They are followed by the ranks, the upward offsets, heads, middles
+ * and weights, and the downward offsets, tails, middles and weights, in this
+ * order.
+ * 
+ * @author Rodion "rodde" Efremov
+ * @version 1.6 (Oct 16, 2026)
+ */
+final class HierarchyFile {
+    
+    /**
+     * The first four bytes of every hierarchy file: "BSCH" read as a
+     * little-endian {@code int}.
+     */
+    static final int MAGIC = 0x48435342;
+    
+    /**
+     * The version of the layout.
+     */
+    static final int VERSION = 1;
+    
+    /**
+     * The size of the I/O buffer in bytes.
+     */
+    private static final int BUFFER_SIZE = 1 << 20;
+    
+    private final FileChannel channel;
+    private final Path file;
+    private final ByteBuffer buffer =
+            ByteBuffer.allocate(BUFFER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+    
+    private HierarchyFile(FileChannel channel, Path file) {
+        this.channel = channel;
+        this.file = file;
+    }
+    
+    static void write(ContractionHierarchy hierarchy, Path file)
+            throws IOException {
+        try (FileChannel channel =
+                FileChannel.open(file,
+                                 StandardOpenOption.CREATE,
+                                 StandardOpenOption.TRUNCATE_EXISTING,
+                                 StandardOpenOption.WRITE)) {
+            HierarchyFile writer = new HierarchyFile(channel, file);
+            writer.putInt(MAGIC);
+            writer.putInt(VERSION);
+            writer.putInt(hierarchy.ranks.length);
+            writer.putInt(hierarchy.size);
+            writer.putInt(hierarchy.upHeads.length);
+            writer.putInt(hierarchy.downTails.length);
+            writer.putInts(hierarchy.ranks);
+            writer.putInts(hierarchy.upOffsets);
+            writer.putInts(hierarchy.upHeads);
+            writer.putInts(hierarchy.upMiddles);
+            writer.putDoubles(hierarchy.upWeights);
+            writer.putInts(hierarchy.downOffsets);
+            writer.putInts(hierarchy.downTails);
+            writer.putInts(hierarchy.downMiddles);
+            writer.putDoubles(hierarchy.downWeights);
+            writer.flush();
+        }
+    }
+    
+    static ContractionHierarchy read(Path file) throws IOException {
+        try (FileChannel channel =
+                FileChannel.open(file, StandardOpenOption.READ)) {
+            HierarchyFile reader = new HierarchyFile(channel, file);
+            reader.buffer.flip();
+            
+            if (channel.size() < 6 * Integer.BYTES) {
+                throw new IOException("The file " + file + " is too short.");
+            }
+            
+            if (reader.getInt() != MAGIC) {
+                throw new IOException(
+                        "The file " + file + " is not a hierarchy file.");
+            }
+            
+            int version = reader.getInt();
+            
+            if (version != VERSION) {
+                throw new IOException(
+                        "The hierarchy file " + file + " has an " +
+                        "unsupported version " + version + ".");
+            }
+            
+            int nodeCapacity = reader.getInt();
+            int size         = reader.getInt();
+            int upArcs       = reader.getInt();
+            int downArcs     = reader.getInt();
+            
+            if (nodeCapacity < 0 || size < 0 || upArcs < 0 || downArcs < 0) {
+                throw new IOException(
+                        "The hierarchy file " + file + " has a corrupt " +
+                        "header.");
+            }
+            
+            long expectedSize = 6L * Integer.BYTES
+                    + (long) nodeCapacity * Integer.BYTES
+                    + 2L * (nodeCapacity + 1) * Integer.BYTES
+                    + (upArcs + (long) downArcs) *
+                      (2 * Integer.BYTES + Double.BYTES);
+            
+            if (channel.size() < expectedSize) {
+                throw new IOException("The hierarchy file " + file +
+                                      " is truncated.");
+            }
+            
+            int[] ranks          = reader.getInts(nodeCapacity);
+            int[] upOffsets      = reader.getInts(nodeCapacity + 1);
+            int[] upHeads        = reader.getInts(upArcs);
+            int[] upMiddles      = reader.getInts(upArcs);
+            double[] upWeights   = reader.getDoubles(upArcs);
+            int[] downOffsets    = reader.getInts(nodeCapacity + 1);
+            int[] downTails      = reader.getInts(downArcs);
+            int[] downMiddles    = reader.getInts(downArcs);
+            double[] downWeights = reader.getDoubles(downArcs);
+            
+            checkRanks(file, ranks, size);
+            checkArcs(file, upOffsets, upHeads, upMiddles, "upward");
+            checkArcs(file, downOffsets, downTails, downMiddles, "downward");
+            
+            return new ContractionHierarchy(ranks,
+                                            size,
+                                            upOffsets,
+                                            upHeads,
+                                            upWeights,
+                                            upMiddles,
+                                            downOffsets,
+                                            downTails,
+                                            downWeights,
+                                            downMiddles);
+        }
+    }
+    
+    /**
+     * Makes sure every rank is {@code -1} or lies in {@code [0, size)}.
+     */
+    private static void checkRanks(Path file, int[] ranks, int size)
+            throws IOException {
+        for (int node = 0; node < ranks.length; ++node) {
+            if (ranks[node] < -1 || ranks[node] >= size) {
+                throw new IOException(
+                        "The hierarchy file " + file + " gives the node " +
+                        node + " an invalid rank " + ranks[node] + ".");
+            }
+        }
+    }
+    
+    /**
+     * Makes sure the offsets start at zero, never decrease and end at the
+     * number of arcs, and that every end node and every bypassed node is a
+     * valid node. Otherwise a corrupt file would only fail in the middle of
+     * a query.
+     */
+    private static void checkArcs(Path file,
+                                  int[] offsets,
+                                  int[] endNodes,
+                                  int[] middles,
+                                  String direction) throws IOException {
+        int nodeCapacity = offsets.length - 1;
+        
+        if (offsets[0] != 0 || offsets[nodeCapacity] != endNodes.length) {
+            throw new IOException(
+                    "The " + direction + " offsets of the hierarchy file " +
+                    file + " do not span the " + endNodes.length + 
+                    " arcs.");
+        }
+        
+        for (int node = 0; node < nodeCapacity; ++node) {
+            if (offsets[node] > offsets[node + 1]) {
+                throw new IOException(
+                        "The " + direction + " offsets of the hierarchy " +
+                        "file " + file + " decrease at the node " + node +
+                        ".");
+            }
+        }
+        
+        for (int arc = 0; arc < endNodes.length; ++arc) {
+            if (endNodes[arc] < 0 || endNodes[arc] >= nodeCapacity
+                    || middles[arc] < -1 || middles[arc] >= nodeCapacity) {
+                throw new IOException(
+                        "The " + direction + " arc " + arc + " of the " +
+                        "hierarchy file " + file + " refers to a node out " +
+                        "of range.");
+            }
+        }
+    }
+    
+    private void putInt(int value) throws IOException {
+        ensureRemaining(Integer.BYTES);
+        buffer.putInt(value);
+    }
+    
+    private void putInts(int[] values) throws IOException {
+        for (int value : values) {
+            putInt(value);
+        }
+    }
+    
+    private void putDoubles(double[] values) throws IOException {
+        for (double value : values) {
+            ensureRemaining(Double.BYTES);
+            buffer.putDouble(value);
+        }
+    }
+    
+    private void ensureRemaining(int bytes) throws IOException {
+        if (buffer.remaining() < bytes) {
+            flush();
+        }
+    }
+    
+    private void flush() throws IOException {
+        buffer.flip();
+        
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        
+        buffer.clear();
+    }
+    
+    private int getInt() throws IOException {
+        fill(Integer.BYTES);
+        return buffer.getInt();
+    }
+    
+    private int[] getInts(int length) throws IOException {
+        int[] values = new int[length];
+        
+        for (int i = 0; i < length; ++i) {
+            values[i] = getInt();
+        }
+        
+        return values;
+    }
+    
+    private double[] getDoubles(int length) throws IOException {
+        double[] values = new double[length];
+        
+        for (int i = 0; i < length; ++i) {
+            fill(Double.BYTES);
+            values[i] = buffer.getDouble();
+        }
+        
+        return values;
+    }
+    
+    /**
+     * Makes sure the read buffer holds at least {@code bytes} unread bytes.
+     */
+    private void fill(int bytes) throws IOException {
+        if (buffer.remaining() >= bytes) {
+            return;
+        }
+        
+        buffer.compact();
+        
+        while (buffer.position() < bytes) {
+            if (channel.read(buffer) == -1) {
+                throw new EOFException("The hierarchy file " + file +
+                                       " is truncated.");
+            }
+        }
+        
+        buffer.flip();
+    }
+}
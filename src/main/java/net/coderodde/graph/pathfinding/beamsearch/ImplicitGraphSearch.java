@@ -0,0 +1,198 @@
+package net.coderodde.graph.pathfinding.beamsearch;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * This class runs the beam search of {@link BeamSearchPathfinder} over a
+ * {@link SuccessorGenerator}. Each node gets a dense {@code int} index the
+ * first time the beam keeps it, and its distance, parent and closed flag are
+ * kept in primitive arrays by that index, so the memory grows with the
+ * nodes reached rather than with the size of the space. The successors the
+ * beam prunes are never indexed.
+ * 
+ * @author Rodion "rodde" Efremov
+ * @version 1.6 (Oct 16, 2026)
+ */
+final class ImplicitGraphSearch
+        implements SuccessorGenerator.SuccessorConsumer {
+    
+    /**
+     * The initial length of the arrays.
+     */
+    private static final int INITIAL_CAPACITY = 16;
+    
+    /**
+     * Maps the node IDs to their indices.
+     */
+    private final LongIndexMap nodeIndices = new LongIndexMap();
+    
+    /**
+     * The open list over the node indices.
+     */
+    private final OpenList open = new DaryHeapOpenList();
+    
+    /**
+     * Selects the successors kept by the beam.
+     */
+    private final SuccessorSelector selector = new SuccessorSelector();
+    
+    /**
+     * {@code distances[i]} is the best known distance of the node indexed
+     * {@code i}.
+     */
+    private double[] distances = new double[INITIAL_CAPACITY];
+    
+    /**
+     * {@code parents[i]} is the index of the parent of the node indexed
+     * {@code i}, or {@code -1} for the source node.
+     */
+    private int[] parents = new int[INITIAL_CAPACITY];
+    
+    /**
+     * {@code closed[i]} tells whether the node indexed {@code i} is expanded.
+     */
+    private boolean[] closed = new boolean[INITIAL_CAPACITY];
+    
+    /**
+     * The successors of the node being expanded.
+     */
+    private long[] successors = new long[INITIAL_CAPACITY];
+    
+    /**
+     * {@code weights[i]} is the weight of the arc to {@code successors[i]}.
+     */
+    private double[] weights = new double[INITIAL_CAPACITY];
+    
+    /**
+     * The number of the successors of the node being expanded.
+     */
+    private int successorCount;
+    
+    /**
+     * Searches for a path from {@code sourceNode} to {@code targetNode},
+     * keeping the best {@code beamWidth} successors of each expanded node.
+     * 
+     * @return the path from {@code sourceNode} to {@code targetNode}.
+     * @throws PathNotFoundException if the path is not found, or if
+     *                               {@code budget} runs out first.
+     */
+    List<Long> run(SuccessorGenerator generator,
+                   long sourceNode,
+                   long targetNode,
+                   LongHeuristicFunction heuristicFunction,
+                   int beamWidth,
+                   SearchBudget budget) {
+        open.ensureCapacity(distances.length);
+        int sourceIndex = addNode(sourceNode);
+        distances[sourceIndex] = 0.0;
+        parents[sourceIndex] = -1;
+        open.insert(sourceIndex, 0.0);
+        
+        while (!open.isEmpty()) {
+            int currentIndex = open.extractMinimum();
+            long currentNode = nodeIndices.getKey(currentIndex);
+            
+            if (currentNode == targetNode) {
+                return tracebackPath(currentIndex);
+            }
+            
+            if (closed[currentIndex]) {
+                continue;
+            }
+            
+            if (!budget.tryExpand()) {
+                throw new PathNotFoundException(
+                        "Path from " + sourceNode + " to " + targetNode +
+                        " not found within the search limits.");
+            }
+            
+            closed[currentIndex] = true;
+            double distance = distances[currentIndex];
+            successorCount = 0;
+            generator.generateSuccessors(currentNode, this);
+            selector.clear();
+            
+            for (int i = 0; i < successorCount; ++i) {
+                double weight = weights[i];
+                selector.add(i,
+                             weight,
+                             distance +
+                             weight +
+                             heuristicFunction.estimate(successors[i],
+                                                        targetNode));
+            }
+            
+            int keptCount = selector.select(beamWidth);
+            
+            for (int rank = 0; rank < keptCount; ++rank) {
+                int childIndex = addNode(successors[selector.getNode(rank)]);
+                
+                if (closed[childIndex]) {
+                    continue;
+                }
+                
+                double tentativeDistance = distance +
+                                           selector.getWeight(rank);
+                
+                if (distances[childIndex] > tentativeDistance) {
+                    distances[childIndex] = tentativeDistance;
+                    parents[childIndex] = currentIndex;
+                    open.insert(childIndex, selector.getCost(rank));
+                }
+            }
+        }
+        
+        throw new PathNotFoundException(
+                "Path from " + sourceNode + " to " + targetNode +
+                " not found.");
+    }
+    
+    @Override
+    public void accept(long successor, double weight) {
+        if (successorCount == successors.length) {
+            successors = Arrays.copyOf(successors, 2 * successorCount);
+            weights = Arrays.copyOf(weights, 2 * successorCount);
+        }
+        
+        successors[successorCount] = successor;
+        weights[successorCount] = weight;
+        ++successorCount;
+    }
+    
+    /**
+     * Returns the index of {@code node}, indexing it as unreached if it is
+     * new.
+     */
+    private int addNode(long node) {
+        int size = nodeIndices.size();
+        int index = nodeIndices.getOrAdd(node);
+        
+        if (index == size) {
+            if (index == distances.length) {
+                int capacity = 2 * index;
+                distances = Arrays.copyOf(distances, capacity);
+                parents = Arrays.copyOf(parents, capacity);
+                closed = Arrays.copyOf(closed, capacity);
+                open.ensureCapacity(capacity);
+            }
+            
+            distances[index] = Double.POSITIVE_INFINITY;
+        }
+        
+        return index;
+    }
+    
+    private List<Long> tracebackPath(int targetIndex) {
+        List<Long> path = new ArrayList<>();
+        
+        for (int index = targetIndex; index != -1; index = parents[index]) {
+            path.add(nodeIndices.getKey(index));
+        }
+        
+        Collections.reverse(path);
+        return path;
+    }
+}
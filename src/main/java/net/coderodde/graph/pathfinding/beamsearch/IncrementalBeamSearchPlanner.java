@@ -0,0 +1,581 @@
+package net.coderodde.graph.pathfinding.beamsearch;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import net.coderodde.graph.AbstractGraph;
+
+/**
+ * This class implements an incremental planner in the style of Lifelong
+ * Planning A* (LPA*). It plans from a fixed source node to a fixed target
+ * node and keeps its search state between the calls to {@link #plan()}.
+ * When arc weights change, only the nodes whose distances are affected are
+ * repaired, instead of searching the whole graph again.
+ * <p>
+ * The beam pruning is applied to the arcs: the beam of a node {@code u} is
+ * the set of the {@code beamWidth} arcs {@code (u, v)} with the lowest
+ * {@code w(u, v) + h(v, target)}, which is the order in which
+ * {@link BeamSearchPathfinder} ranks the successors of {@code u}. The planner
+ * maintains the shortest path from the source to the target over the beam
+ * arcs only. Changing the weight of an arc may move other arcs of the same
+ * tail in or out of its beam, and the heads of all such arcs are repaired as
+ * well. With the beam width {@link Integer#MAX_VALUE}, the planner returns
+ * the shortest paths of the whole graph.
+ * <p>
+ * The heuristic function must be consistent. The node IDs must be
+ * non-negative. The graph must be modified only through this planner while
+ * it is in use.
+ * 
+ * @author Rodion "rodde" Efremov
+ * @version 1.6 (Oct 16, 2026)
+ */
+public final class IncrementalBeamSearchPlanner {
+    
+    /**
+     * The minimum allowed beam width.
+     */
+    private static final int MINIMUM_BEAM_WIDTH = 1;
+    
+    private final AbstractGraph graph;
+    private final int sourceNode;
+    private final int targetNode;
+    private final HeuristicFunction<Integer> heuristicFunction;
+    private final int beamWidth;
+    
+    /**
+     * The distance estimates of the nodes.
+     */
+    private double[] g = new double[0];
+    
+    /**
+     * The one-step lookahead distances of the nodes.
+     */
+    private double[] rhs = new double[0];
+    
+    /**
+     * The cached estimates {@code h(u, target)}, or {@code NaN} if not
+     * computed yet.
+     */
+    private double[] estimates = new double[0];
+    
+    /**
+     * {@code beams[u]} holds the heads of the beam arcs of {@code u}, or is
+     * {@code null} if not computed yet.
+     */
+    private int[][] beams = new int[0][];
+    
+    /**
+     * {@code fullBeams[u]} is {@code true} if the beam of {@code u} contains
+     * all its arcs.
+     */
+    private boolean[] fullBeams = new boolean[0];
+    
+    /**
+     * The queue of the locally inconsistent nodes.
+     */
+    private final KeyQueue queue = new KeyQueue();
+    
+    /**
+     * Ranks the arcs when computing the beams.
+     */
+    private final SuccessorSelector selector = new SuccessorSelector();
+    
+    /**
+     * The number of nodes expanded by the last call to {@link #plan()}.
+     */
+    private long expandedNodes;
+    
+    /**
+     * Constructs a planner for the paths from {@code sourceNode} to
+     * {@code targetNode}. No search is done before the first call to
+     * {@link #plan()}.
+     * 
+     * @param graph             the graph to plan in.
+     * @param sourceNode        the source node.
+     * @param targetNode        the target node.
+     * @param heuristicFunction the consistent heuristic function.
+     * @param beamWidth         the beam width.
+     */
+    public IncrementalBeamSearchPlanner(
+            AbstractGraph graph,
+            int sourceNode,
+            int targetNode,
+            HeuristicFunction<Integer> heuristicFunction,
+            int beamWidth) {
+        this.graph = Objects.requireNonNull(graph, "The input graph is null.");
+        this.heuristicFunction =
+                Objects.requireNonNull(heuristicFunction,
+                                       "The heuristic function is null.");
+        
+        checkNode(sourceNode, "source");
+        checkNode(targetNode, "target");
+        
+        this.sourceNode = sourceNode;
+        this.targetNode = targetNode;
+        this.beamWidth  = Math.max(beamWidth, MINIMUM_BEAM_WIDTH);
+        
+        ensureCapacity(Math.max(sourceNode, targetNode) + 1);
+        rhs[sourceNode] = 0.0;
+        queue.insert(sourceNode, getKey1(sourceNode), 0.0);
+    }
+    
+    public int getBeamWidth() {
+        return beamWidth;
+    }
+    
+    /**
+     * Returns the number of nodes expanded by the last call to
+     * {@link #plan()}.
+     * 
+     * @return the number of expanded nodes.
+     */
+    public long getExpandedNodes() {
+        return expandedNodes;
+    }
+    
+    /**
+     * Brings the search state up to date with all the weight updates made
+     * so far, and returns the current shortest path over the beam arcs.
+     * 
+     * @return the path from the source node to the target node.
+     * @throws PathNotFoundException if the target is not reachable over the
+     *                               beam arcs.
+     */
+    public List<Integer> plan() {
+        expandedNodes = 0L;
+        computeShortestPath();
+        
+        if (g[targetNode] == Double.POSITIVE_INFINITY) {
+            throw new PathNotFoundException(
+                    "Path from " + sourceNode + " to " + targetNode +
+                    " not found.");
+        }
+        
+        return extractPath();
+    }
+    
+    /**
+     * Sets the weight of the arc {@code (tail, head)} in the graph, adding
+     * the arc if it is not there, and marks the affected nodes for repair.
+     * The repair itself is done by the next call to {@link #plan()}.
+     * 
+     * @param tail   the tail node of the arc.
+     * @param head   the head node of the arc.
+     * @param weight the new weight of the arc.
+     */
+    public void updateEdgeWeight(int tail, int head, double weight) {
+        checkNode(tail, "tail");
+        checkNode(head, "head");
+        
+        if (Double.isNaN(weight) || weight < 0.0) {
+            throw new IllegalArgumentException(
+                    "The arc weight must be non-negative: " + weight);
+        }
+        
+        ensureCapacity(Math.max(tail, head) + 1);
+        int[] oldBeam = getBeam(tail);
+        graph.addEdge(tail, head, weight);
+        beams[tail] = null;
+        int[] newBeam = getBeam(tail);
+        updateVertex(head);
+        
+        for (int node : oldBeam) {
+            if (node != head && !contains(newBeam, node)) {
+                updateVertex(node);
+            }
+        }
+        
+        for (int node : newBeam) {
+            if (node != head && !contains(oldBeam, node)) {
+                updateVertex(node);
+            }
+        }
+    }
+    
+    /**
+     * Applies all the {@code updates} in their order. The repair is done by
+     * the next call to {@link #plan()} in a single pass, so a node affected
+     * by several updates of a batch is repaired only once.
+     * 
+     * @param updates the weight updates.
+     */
+    public void updateEdgeWeights(Collection<EdgeWeightUpdate> updates) {
+        Objects.requireNonNull(updates, "The update collection is null.");
+        
+        for (EdgeWeightUpdate update : updates) {
+            updateEdgeWeight(update.getTail(),
+                             update.getHead(),
+                             update.getWeight());
+        }
+    }
+    
+    private void computeShortestPath() {
+        while (!queue.isEmpty() &&
+                (queue.compareTopKey(getKey1(targetNode),
+                                     getKey2(targetNode)) < 0 ||
+                 rhs[targetNode] != g[targetNode])) {
+            int currentNode = queue.extractMinimum();
+            ++expandedNodes;
+            
+            if (g[currentNode] > rhs[currentNode]) {
+                g[currentNode] = rhs[currentNode];
+            } else {
+                g[currentNode] = Double.POSITIVE_INFINITY;
+                updateVertex(currentNode);
+            }
+            
+            for (int childNode : getBeam(currentNode)) {
+                updateVertex(childNode);
+            }
+        }
+    }
+    
+    /**
+     * Recomputes the lookahead distance of {@code node} and puts it in the
+     * queue if and only if it is locally inconsistent.
+     */
+    private void updateVertex(int node) {
+        ensureCapacity(node + 1);
+        
+        if (node != sourceNode) {
+            double lookahead = Double.POSITIVE_INFINITY;
+            
+            for (Integer parentNode : graph.getParentsOf(node)) {
+                ensureCapacity(parentNode + 1);
+                
+                if (g[parentNode] != Double.POSITIVE_INFINITY
+                        && isInBeam(parentNode, node)) {
+                    lookahead =
+                            Math.min(lookahead,
+                                     g[parentNode] +
+                                     graph.getEdgeWeight(parentNode, node));
+                }
+            }
+            
+            rhs[node] = lookahead;
+        }
+        
+        queue.remove(node);
+        
+        if (g[node] != rhs[node]) {
+            queue.insert(node, getKey1(node), getKey2(node));
+        }
+    }
+    
+    /**
+     * Searches breadth-first from the target back to the source over the
+     * tight beam arcs, those whose tail distance plus the weight gives the
+     * distance of the head, and returns the path found. Marking the visited
+     * nodes keeps the walk from cycling between nodes of equal distances 
+     * joined by zero-weight arcs.
+     */
+    private List<Integer> extractPath() {
+        Map<Integer, Integer> nextNodes = new HashMap<>();
+        Deque<Integer> frontier = new ArrayDeque<>();
+        nextNodes.put(targetNode, targetNode);
+        frontier.add(targetNode);
+        
+        while (!frontier.isEmpty() && !nextNodes.containsKey(sourceNode)) {
+            int currentNode = frontier.remove();
+            
+            for (Integer parentNode : graph.getParentsOf(currentNode)) {
+                if (nextNodes.containsKey(parentNode)
+                        || parentNode >= g.length 
+                        || !isInBeam(parentNode, currentNode)) {
+                    continue;
+                }
+                
+                double distance = g[parentNode] +
+                                  graph.getEdgeWeight(parentNode,
+                                                      currentNode);
+                
+                if (distance <= g[currentNode]) {
+                    nextNodes.put(parentNode, currentNode);
+                    frontier.add(parentNode);
+                }
+            }
+        }
+        
+        if (!nextNodes.containsKey(sourceNode)) {
+            throw new IllegalStateException(
+                    "The search state is inconsistent. Was the graph " +
+                    "modified bypassing the planner?");
+        }
+        
+        List<Integer> path = new ArrayList<>();
+        int currentNode = sourceNode;
+        path.add(currentNode);
+        
+        while (currentNode != targetNode) {
+            currentNode = nextNodes.get(currentNode);
+            path.add(currentNode);
+        }
+        
+        return path;
+    }
+    
+    private boolean isInBeam(int tail, int head) {
+        int[] beam = getBeam(tail);
+        return fullBeams[tail] || contains(beam, head);
+    }
+    
+    /**
+     * Returns the heads of the beam arcs of {@code node}, computing them if
+     * needed.
+     */
+    private int[] getBeam(int node) {
+        int[] beam = beams[node];
+        
+        if (beam != null) {
+            return beam;
+        }
+        
+        selector.clear();
+        
+        for (Integer childNode : graph.getChildrenOf(node)) {
+            ensureCapacity(childNode + 1);
+            double weight = graph.getEdgeWeight(node, childNode);
+            selector.add(childNode, weight, weight + getEstimate(childNode));
+        }
+        
+        int beamSize = selector.select(beamWidth);
+        beam = new int[beamSize];
+        
+        for (int i = 0; i < beamSize; ++i) {
+            beam[i] = selector.getNode(i);
+        }
+        
+        beams[node] = beam;
+        fullBeams[node] = beamSize == selector.size();
+        return beam;
+    }
+    
+    private double getKey1(int node) {
+        return Math.min(g[node], rhs[node]) + getEstimate(node);
+    }
+    
+    private double getKey2(int node) {
+        return Math.min(g[node], rhs[node]);
+    }
+    
+    private double getEstimate(int node) {
+        double estimate = estimates[node];
+        
+        if (Double.isNaN(estimate)) {
+            estimate = heuristicFunction.estimate(node, targetNode);
+            estimates[node] = estimate;
+        }
+        
+        return estimate;
+    }
+    
+    private void checkNode(int node, String role) {
+        if (node < 0) {
+            throw new IllegalArgumentException(
+                    "The " + role + " node " + node + " has a negative ID.");
+        }
+        
+        if (!graph.hasNode(node)) {
+            throw new IllegalArgumentException(
+                    "The " + role + " node " + node + " is not in the graph.");
+        }
+    }
+    
+    private void ensureCapacity(int nodeCapacity) {
+        if (g.length >= nodeCapacity) {
+            return;
+        }
+        
+        int oldCapacity = g.length;
+        int newCapacity = Math.max(nodeCapacity, 2 * oldCapacity);
+        g         = Arrays.copyOf(g, newCapacity);
+        rhs       = Arrays.copyOf(rhs, newCapacity);
+        estimates = Arrays.copyOf(estimates, newCapacity);
+        beams     = Arrays.copyOf(beams, newCapacity);
+        fullBeams = Arrays.copyOf(fullBeams, newCapacity);
+        Arrays.fill(g, oldCapacity, newCapacity, Double.POSITIVE_INFINITY);
+        Arrays.fill(rhs, oldCapacity, newCapacity, Double.POSITIVE_INFINITY);
+        Arrays.fill(estimates, oldCapacity, newCapacity, Double.NaN);
+        queue.ensureCapacity(newCapacity);
+    }
+    
+    private static boolean contains(int[] array, int value) {
+        for (int element : array) {
+            if (element == value) {
+                return true;
+            }
+        }
+        
+        return false;
+    }
+    
+    /**
+     * This class implements an indexed binary min-heap ordered
+     * lexicographically by the LPA* key pairs. Unlike the open lists, it
+     * supports removing arbitrary nodes.
+     */
+    private static final class KeyQueue {
+        
+        private static final int INITIAL_CAPACITY = 64;
+        
+        private int[] heapNodes = new int[INITIAL_CAPACITY];
+        private double[] heapKeys1 = new double[INITIAL_CAPACITY];
+        private double[] heapKeys2 = new double[INITIAL_CAPACITY];
+        
+        /**
+         * {@code positions[u]} is the heap position of {@code u}, or
+         * {@code -1}.
+         */
+        private int[] positions = new int[0];
+        
+        private int size;
+        
+        void ensureCapacity(int nodeCapacity) {
+            if (positions.length < nodeCapacity) {
+                int oldLength = positions.length;
+                positions = Arrays.copyOf(positions, nodeCapacity);
+                Arrays.fill(positions, oldLength, nodeCapacity, -1);
+            }
+        }
+        
+        boolean isEmpty() {
+            return size == 0;
+        }
+        
+        /**
+         * Compares the top key with {@code (key1, key2)}. The queue must not
+         * be empty.
+         */
+        int compareTopKey(double key1, double key2) {
+            int comparison = Double.compare(heapKeys1[0], key1);
+            return comparison != 0 ?
+                   comparison :
+                   Double.compare(heapKeys2[0], key2);
+        }
+        
+        /**
+         * Inserts {@code node}, which must not be in the queue.
+         */
+        void insert(int node, double key1, double key2) {
+            if (size == heapNodes.length) {
+                int capacity = 2 * size;
+                heapNodes = Arrays.copyOf(heapNodes, capacity);
+                heapKeys1 = Arrays.copyOf(heapKeys1, capacity);
+                heapKeys2 = Arrays.copyOf(heapKeys2, capacity);
+            }
+            
+            set(size, node, key1, key2);
+            siftUp(size++);
+        }
+        
+        int extractMinimum() {
+            int node = heapNodes[0];
+            removeAt(0);
+            return node;
+        }
+        
+        void remove(int node) {
+            int position = positions[node];
+            
+            if (position != -1) {
+                removeAt(position);
+            }
+        }
+        
+        private void removeAt(int position) {
+            positions[heapNodes[position]] = -1;
+            --size;
+            
+            if (position == size) {
+                return;
+            }
+            
+            int node = heapNodes[size];
+            set(position, node, heapKeys1[size], heapKeys2[size]);
+            siftUp(position);
+            
+            if (positions[node] == position) {
+                siftDown(position);
+            }
+        }
+        
+        private void siftUp(int position) {
+            int node = heapNodes[position];
+            double key1 = heapKeys1[position];
+            double key2 = heapKeys2[position];
+            
+            while (position > 0) {
+                int parent = (position - 1) >>> 1;
+                
+                if (!isLess(key1, key2, parent)) {
+                    break;
+                }
+                
+                set(position,
+                    heapNodes[parent],
+                    heapKeys1[parent],
+                    heapKeys2[parent]);
+                position = parent;
+            }
+            
+            set(position, node, key1, key2);
+        }
+        
+        private void siftDown(int position) {
+            int node = heapNodes[position];
+            double key1 = heapKeys1[position];
+            double key2 = heapKeys2[position];
+            
+            while (true) {
+                int child = 2 * position + 1;
+                
+                if (child >= size) {
+                    break;
+                }
+                
+                if (child + 1 < size
+                        && isLess(heapKeys1[child + 1],
+                                  heapKeys2[child + 1],
+                                  child)) {
+                    ++child;
+                }
+                
+                if (!isLess(heapKeys1[child], heapKeys2[child], key1, key2)) {
+                    break;
+                }
+                
+                set(position,
+                    heapNodes[child],
+                    heapKeys1[child],
+                    heapKeys2[child]);
+                position = child;
+            }
+            
+            set(position, node, key1, key2);
+        }
+        
+        private boolean isLess(double key1, double key2, int position) {
+            return isLess(key1, key2, heapKeys1[position], heapKeys2[position]);
+        }
+        
+        private static boolean isLess(double key1a,
+                                      double key2a,
+                                      double key1b,
+                                      double key2b) {
+            return key1a < key1b || (key1a == key1b && key2a < key2b);
+        }
+        
+        private void set(int position, int node, double key1, double key2) {
+            heapNodes[position] = node;
+            heapKeys1[position] = key1;
+            heapKeys2[position] = key2;
+            positions[node] = position;
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package net.coderodde.graph.pathfinding.beamsearch;
+
+import java.util.List;
+
+/**
+ * This interface defines the API for receiving the improving paths of an 
+ * anytime search as soon as they are found. It is called on the searching 
+ * thread, and should return quickly.
+ * 
+ * @author Rodion "rodde" Efremov
+ * @version 1.6 (Oct 16, 2026)
+ */
+@FunctionalInterface
+public interface IncumbentListener {
+    
+    /**
+     * Called whenever the search finds a path shorter than all the previous 
+     * ones.
+     * 
+     * @param path       the new best path.
+     * @param pathLength the length of the path.
+     */
+    public void onIncumbent(List<Integer> path, double pathLength);
+}
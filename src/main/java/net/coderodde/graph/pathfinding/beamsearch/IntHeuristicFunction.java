@@ -0,0 +1,84 @@
+package net.coderodde.graph.pathfinding.beamsearch;
+
+import java.util.Objects;
+
+/**
+ * This interface defines the API for heuristic functions over primitive
+ * {@code int} node IDs. It is used by the search methods working on
+ * {@link CompactGraph}.
+ * 
+ * @author Rodion "rodde" Efremov
+ * @version 1.6 (Oct 16, 2026)
+ */
+@FunctionalInterface
+public interface IntHeuristicFunction extends HeuristicFunction<Integer> {
+    
+    /**
+     * Returns an optimistic estimate for the path from {@code source} to
+     * {@code target}.
+     * 
+     * @param source the source node.
+     * @param target the target node.
+     * @return distance estimate.
+     */
+    public double estimate(int source, int target);
+    
+    @Override
+    public default double estimate(Integer source, Integer target) {
+        return estimate(source.intValue(), target.intValue());
+    }
+    
+    /**
+     * Estimates the paths from each of the first {@code count} nodes in 
+     * {@code sources} to {@code target}, and writes the estimates into the
+     * same positions of {@code estimates}. Implementations backed by 
+     * primitive arrays should override this with a tight loop; the default
+     * implementation simply calls {@link #estimate(int, int)} for each node.
+     * 
+     * @param sources   the source nodes.
+     * @param count     the number of the source nodes to estimate.
+     * @param target    the target node.
+     * @param estimates the array to write the estimates into.
+     */
+    public default void estimate(int[] sources,
+                                 int count,
+                                 int target,
+                                 double[] estimates) {
+        for (int i = 0; i < count; ++i) {
+            estimates[i] = estimate(sources[i], target);
+        }
+    }
+    
+    /**
+     * Returns the heuristic function estimating the paths in the opposite 
+     * direction, that is, {@code reversed().estimate(a, b)} equals 
+     * {@code estimate(b, a)}. The backward direction of a bidirectional 
+     * search estimates its paths with it, which matters on directed graphs
+     * with asymmetric heuristics. Symmetric heuristic functions should 
+     * return themselves.
+     * 
+     * @return the reversed heuristic function.
+     */
+    public default IntHeuristicFunction reversed() {
+        return (source, target) -> estimate(target, source);
+    }
+    
+    /**
+     * Adapts {@code heuristicFunction} to this interface. If it already
+     * implements this interface, it is returned as is.
+     * 
+     * @param heuristicFunction the heuristic function to adapt.
+     * @return a primitive heuristic function.
+     */
+    public static IntHeuristicFunction
+        of(HeuristicFunction<Integer> heuristicFunction) {
+        Objects.requireNonNull(heuristicFunction,
+                               "The heuristic function is null.");
+        
+        if (heuristicFunction instanceof IntHeuristicFunction) {
+            return (IntHeuristicFunction) heuristicFunction;
+        }
+        
+        return (source, target) -> heuristicFunction.estimate(source, target);
+    }
+}
@@ -0,0 +1,548 @@
+package net.coderodde.graph.pathfinding.beamsearch;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * This class implements the ALT (A*, landmarks and triangle inequality)
+ * heuristic. For a handful of landmark nodes {@code L}, the exact distances
+ * {@code d(L, v)} and {@code d(v, L)} are precomputed for every node
+ * {@code v}, and the triangle inequality gives the lower bound
+ * <pre>
+ *     d(s, t) &gt;= max(d(L, t) - d(L, s), d(s, L) - d(t, L))
+ * </pre>
+ * for each landmark. The estimate is the largest of these bounds, and
+ * optionally of another admissible bound such as
+ * {@link EuclideanHeuristicFunction}. Unlike the plain Euclidean bound, it
+ * accounts for the actual arc weights and the actual shape of the graph.
+ * <p>
+ * The distance tables are stored node-major in two flat {@code double}
+ * arrays, so the entries of all the landmarks for one node are adjacent.
+ * The tables take {@code 16 * L} bytes per node ID. The heuristic is
+ * immutable, and thus thread-safe, once constructed. It reflects the arc
+ * weights of the graph it was built from, and must be rebuilt if they
+ * decrease.
+ * 
+ * @author Rodion "rodde" Efremov
+ * @version 1.6 (Oct 16, 2026)
+ */
+public final class LandmarkHeuristicFunction implements IntHeuristicFunction {
+    
+    /**
+     * The strategies for selecting the landmarks.
+     */
+    public enum LandmarkSelection {
+        
+        /**
+         * Each next landmark is the node farthest from the landmarks selected
+         * so far.
+         */
+        FARTHEST,
+        
+        /**
+         * Each next landmark is placed into the region of a random shortest
+         * path tree where the current landmarks give the weakest bounds
+         * (Goldberg and Werneck). This usually gives tighter estimates than
+         * {@link #FARTHEST} for the same number of landmarks.
+         */
+        AVOID
+    }
+    
+    /**
+     * The seed of the random roots of the {@code AVOID} strategy. Fixed so
+     * that the same graph always gets the same landmarks.
+     */
+    private static final long AVOID_SEED = 13L;
+    
+    /**
+     * The landmark nodes.
+     */
+    private final int[] landmarks;
+    
+    /**
+     * {@code fromLandmarks[v * landmarks.length + i]} is the distance from the
+     * landmark {@code i} to the node {@code v}.
+     */
+    private final double[] fromLandmarks;
+    
+    /**
+     * {@code toLandmarks[v * landmarks.length + i]} is the distance from the
+     * node {@code v} to the landmark {@code i}.
+     */
+    private final double[] toLandmarks;
+    
+    /**
+     * The additional lower bound combined with the landmark bounds, or
+     * {@code null}.
+     */
+    private final IntHeuristicFunction lowerBound;
+    
+    public LandmarkHeuristicFunction(CompactGraph graph,
+                                     int landmarkCount,
+                                     LandmarkSelection selection) {
+        this(graph, landmarkCount, selection, null);
+    }
+    
+    public LandmarkHeuristicFunction(CompactGraph graph,
+                                     int landmarkCount,
+                                     LandmarkSelection selection,
+                                     IntHeuristicFunction lowerBound) {
+        this(graph,
+             landmarkCount,
+             selection,
+             lowerBound,
+             ForkJoinPool.commonPool());
+    }
+    
+    /**
+     * Selects the landmarks of {@code graph} and precomputes their distance
+     * tables. The landmarks are selected one after another, but the reverse
+     * distance table of each selected landmark is computed on
+     * {@code executor} while the next landmarks are being selected.
+     * 
+     * @param graph         the graph.
+     * @param landmarkCount the number of landmarks. Graphs with fewer nodes
+     *                      get one landmark per node.
+     * @param selection     the landmark selection strategy.
+     * @param lowerBound    the admissible heuristic to combine the landmark
+     *                      bounds with, or {@code null}.
+     * @param executor      the executor computing the distance tables.
+     */
+    public LandmarkHeuristicFunction(CompactGraph graph,
+                                     int landmarkCount,
+                                     LandmarkSelection selection,
+                                     IntHeuristicFunction lowerBound,
+                                     Executor executor) {
+        Objects.requireNonNull(graph, "The input graph is null.");
+        Objects.requireNonNull(selection, "The landmark selection is null.");
+        Objects.requireNonNull(executor, "The executor is null.");
+        
+        if (landmarkCount < 1) {
+            throw new IllegalArgumentException(
+                    "The landmark count must be positive: " + landmarkCount);
+        }
+        
+        if (graph.size() == 0) {
+            throw new IllegalArgumentException("The input graph is empty.");
+        }
+        
+        landmarkCount = Math.min(landmarkCount, graph.size());
+        long tableLength = (long) graph.getNodeCapacity() * landmarkCount;
+        
+        if (tableLength > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException(
+                    "The landmark tables would be too large: " +
+                    landmarkCount + " landmarks for " +
+                    graph.getNodeCapacity() + " node IDs.");
+        }
+        
+        this.landmarks     = new int[landmarkCount];
+        this.fromLandmarks = new double[(int) tableLength];
+        this.toLandmarks   = new double[(int) tableLength];
+        this.lowerBound    = lowerBound;
+        
+        new LandmarkSelector(graph, selection, executor).selectAll();
+    }
+    
+    private LandmarkHeuristicFunction(int[] landmarks,
+                                      double[] fromLandmarks,
+                                      double[] toLandmarks,
+                                      IntHeuristicFunction lowerBound) {
+        this.landmarks     = landmarks;
+        this.fromLandmarks = fromLandmarks;
+        this.toLandmarks   = toLandmarks;
+        this.lowerBound    = lowerBound;
+    }
+    
+    /**
+     * Returns the selected landmark nodes.
+     * 
+     * @return the landmarks.
+     */
+    public int[] getLandmarks() {
+        return landmarks.clone();
+    }
+    
+    @Override
+    public double estimate(int source, int target) {
+        double estimate = lowerBound == null ?
+                          0.0 :
+                          lowerBound.estimate(source, target);
+        
+        return landmarkEstimate(source * landmarks.length,
+                                target * landmarks.length,
+                                estimate);
+    }
+    
+    @Override
+    public void estimate(int[] sources,
+                         int count,
+                         int target,
+                         double[] estimates) {
+        if (lowerBound == null) {
+            Arrays.fill(estimates, 0, count, 0.0);
+        } else {
+            lowerBound.estimate(sources, count, target, estimates);
+        }
+        
+        int landmarkCount = landmarks.length;
+        int targetOffset = target * landmarkCount;
+        
+        for (int i = 0; i < count; ++i) {
+            estimates[i] = landmarkEstimate(sources[i] * landmarkCount,
+                                            targetOffset,
+                                            estimates[i]);
+        }
+    }
+    
+    /**
+     * Returns the view of this heuristic estimating the paths in the
+     * opposite direction. Swapping the two tables swaps the roles of the
+     * source and the target in the landmark bounds, so the view shares the
+     * tables with this heuristic.
+     */
+    @Override
+    public IntHeuristicFunction reversed() {
+        return new LandmarkHeuristicFunction(
+                landmarks,
+                toLandmarks,
+                fromLandmarks,
+                lowerBound == null ? null : lowerBound.reversed());
+    }
+    
+    /**
+     * Returns the largest of {@code estimate} and the landmark bounds. The
+     * bounds involving unreachable nodes are either infinite, which is exact,
+     * or {@code NaN}, which loses all the comparisons and is thus ignored.
+     */
+    private double landmarkEstimate(int sourceOffset,
+                                    int targetOffset,
+                                    double estimate) {
+        for (int i = 0; i < landmarks.length; ++i) {
+            double fromBound = fromLandmarks[targetOffset + i] -
+                               fromLandmarks[sourceOffset + i];
+            double toBound = toLandmarks[sourceOffset + i] -
+                             toLandmarks[targetOffset + i];
+            
+            if (estimate < fromBound) {
+                estimate = fromBound;
+            }
+            
+            if (estimate < toBound) {
+                estimate = toBound;
+            }
+        }
+        
+        return estimate;
+    }
+    
+    /**
+     * This class selects the landmarks and fills the distance tables.
+     */
+    private final class LandmarkSelector {
+        
+        private final CompactGraph graph;
+        private final LandmarkSelection selection;
+        private final Executor executor;
+        private final int nodeCapacity;
+        
+        /**
+         * Runs the forward searches of the selection.
+         */
+        private final DijkstraSearch dijkstra = new DijkstraSearch();
+        
+        /**
+         * {@code forwardDistances[i]} holds the distances from the landmark
+         * {@code i} to all the nodes.
+         */
+        private final double[][] forwardDistances;
+        
+        /**
+         * {@code minimumDistances[v]} is the distance from the nearest
+         * selected landmark to {@code v}.
+         */
+        private final double[] minimumDistances;
+        
+        /**
+         * Marks the selected landmarks.
+         */
+        private final boolean[] isLandmark;
+        
+        /**
+         * The computations of the reverse distance tables.
+         */
+        private final CompletableFuture<?>[] reverseTasks;
+        
+        LandmarkSelector(CompactGraph graph,
+                         LandmarkSelection selection,
+                         Executor executor) {
+            this.graph            = graph;
+            this.selection        = selection;
+            this.executor         = executor;
+            this.nodeCapacity     = graph.getNodeCapacity();
+            this.forwardDistances = new double[landmarks.length][];
+            this.minimumDistances = new double[nodeCapacity];
+            this.isLandmark       = new boolean[nodeCapacity];
+            this.reverseTasks     = new CompletableFuture<?>[landmarks.length];
+            Arrays.fill(minimumDistances, Double.POSITIVE_INFINITY);
+        }
+        
+        void selectAll() {
+            AvoidState avoidState = selection == LandmarkSelection.AVOID ?
+                                    new AvoidState() :
+                                    null;
+            
+            for (int i = 0; i < landmarks.length; ++i) {
+                int landmark = -1;
+                
+                if (i == 0) {
+                    landmark = selectFirst();
+                } else if (avoidState != null) {
+                    landmark = avoidState.select(i);
+                }
+                
+                if (landmark == -1) {
+                    landmark = selectFarthest();
+                }
+                
+                addLandmark(i, landmark);
+            }
+            
+            CompletableFuture.allOf(reverseTasks).join();
+        }
+        
+        /**
+         * Returns the node farthest from the first node of the graph.
+         */
+        private int selectFirst() {
+            int start = 0;
+            
+            while (!graph.hasNode(start)) {
+                ++start;
+            }
+            
+            double[] distances = new double[nodeCapacity];
+            dijkstra.run(graph, start, false, distances, null, null);
+            int farthest = argmaxFinite(distances);
+            return farthest == -1 ? start : farthest;
+        }
+        
+        /**
+         * Returns the node farthest from all the selected landmarks. The
+         * nodes no landmark reaches are taken only if nothing else is left.
+         */
+        private int selectFarthest() {
+            int farthest = argmaxFinite(minimumDistances);
+            
+            if (farthest != -1) {
+                return farthest;
+            }
+            
+            for (int node = 0; node < nodeCapacity; ++node) {
+                if (graph.hasNode(node) && !isLandmark[node]) {
+                    return node;
+                }
+            }
+            
+            throw new IllegalStateException("No landmark candidates left.");
+        }
+        
+        /**
+         * Returns the non-landmark node with the largest finite value in
+         * {@code distances}, or {@code -1} if there is none.
+         */
+        private int argmaxFinite(double[] distances) {
+            int best = -1;
+            double bestDistance = -1.0;
+            
+            for (int node = 0; node < nodeCapacity; ++node) {
+                double distance = distances[node];
+                
+                if (!isLandmark[node]
+                        && distance != Double.POSITIVE_INFINITY
+                        && distance > bestDistance) {
+                    best = node;
+                    bestDistance = distance;
+                }
+            }
+            
+            return best;
+        }
+        
+        /**
+         * Makes {@code landmark} the landmark {@code index}: computes its
+         * forward table right away, since the selection of the next
+         * landmarks needs it, and schedules its reverse table on the
+         * executor.
+         */
+        private void addLandmark(int index, int landmark) {
+            double[] distances = new double[nodeCapacity];
+            dijkstra.run(graph, landmark, false, distances, null, null);
+            landmarks[index] = landmark;
+            isLandmark[landmark] = true;
+            forwardDistances[index] = distances;
+            
+            for (int node = 0; node < nodeCapacity; ++node) {
+                minimumDistances[node] = Math.min(minimumDistances[node],
+                                                  distances[node]);
+            }
+            
+            reverseTasks[index] = CompletableFuture.runAsync(() -> {
+                int landmarkCount = landmarks.length;
+                double[] reverseDistances = new double[nodeCapacity];
+                new DijkstraSearch().run(graph,
+                                         landmark,
+                                         true,
+                                         reverseDistances,
+                                         null,
+                                         null);
+                
+                for (int node = 0; node < nodeCapacity; ++node) {
+                    fromLandmarks[node * landmarkCount + index] =
+                            distances[node];
+                    toLandmarks[node * landmarkCount + index] =
+                            reverseDistances[node];
+                }
+            }, executor);
+        }
+        
+        /**
+         * This class holds the scratch arrays of the {@code AVOID} strategy.
+         */
+        private final class AvoidState {
+            
+            private final Random random = new Random(AVOID_SEED);
+            private final double[] rootDistances = new double[nodeCapacity];
+            private final int[] parents = new int[nodeCapacity];
+            private final int[] settleOrder = new int[nodeCapacity];
+            
+            /**
+             * {@code sizes[v]} is the total weight of the subtree rooted at
+             * {@code v}, or zero if the subtree contains a landmark.
+             */
+            private final double[] sizes = new double[nodeCapacity];
+            
+            private final boolean[] coversLandmark = new boolean[nodeCapacity];
+            private final int[] childOffsets = new int[nodeCapacity + 1];
+            private final int[] children = new int[nodeCapacity];
+            
+            /**
+             * Grows a shortest path tree from a random root, weighs each
+             * node by how much the current landmarks underestimate its
+             * distance from the root, and returns a leaf under the heaviest
+             * subtree without landmarks. Returns {@code -1} if every subtree
+             * with a positive weight contains a landmark.
+             */
+            int select(int selectedCount) {
+                int root;
+                
+                do {
+                    root = random.nextInt(nodeCapacity);
+                } while (!graph.hasNode(root));
+                
+                int settledCount = dijkstra.run(graph,
+                                                root,
+                                                false,
+                                                rootDistances,
+                                                parents,
+                                                settleOrder);
+                
+                for (int k = 0; k < settledCount; ++k) {
+                    int node = settleOrder[k];
+                    double bound = 0.0;
+                    
+                    for (int i = 0; i < selectedCount; ++i) {
+                        double landmarkBound = forwardDistances[i][node] -
+                                               forwardDistances[i][root];
+                        
+                        // NaN when the landmark reaches neither node.
+                        if (bound < landmarkBound) {
+                            bound = landmarkBound;
+                        }
+                    }
+                    
+                    sizes[node] = rootDistances[node] - bound;
+                    coversLandmark[node] = isLandmark[node];
+                }
+                
+                // Children are settled after their parents.
+                for (int k = settledCount - 1; k > 0; --k) {
+                    int node = settleOrder[k];
+                    int parent = parents[node];
+                    
+                    if (coversLandmark[node]) {
+                        sizes[node] = 0.0;
+                        coversLandmark[parent] = true;
+                    } else {
+                        sizes[parent] += sizes[node];
+                    }
+                }
+                
+                if (coversLandmark[root]) {
+                    sizes[root] = 0.0;
+                }
+                
+                int heaviest = -1;
+                double heaviestSize = 0.0;
+                
+                for (int k = 0; k < settledCount; ++k) {
+                    int node = settleOrder[k];
+                    
+                    if (sizes[node] > heaviestSize) {
+                        heaviest = node;
+                        heaviestSize = sizes[node];
+                    }
+                }
+                
+                if (heaviest == -1) {
+                    return -1;
+                }
+                
+                return descendToLeaf(heaviest, settledCount);
+            }
+            
+            /**
+             * Walks from {@code node} down the tree, always to the heaviest
+             * child, and returns the leaf it ends up in.
+             */
+            private int descendToLeaf(int node, int settledCount) {
+                Arrays.fill(childOffsets, 0);
+                
+                for (int k = 1; k < settledCount; ++k) {
+                    ++childOffsets[parents[settleOrder[k]] + 1];
+                }
+                
+                for (int i = 0; i < nodeCapacity; ++i) {
+                    childOffsets[i + 1] += childOffsets[i];
+                }
+                
+                int[] nextChild = Arrays.copyOf(childOffsets, nodeCapacity);
+                
+                for (int k = 1; k < settledCount; ++k) {
+                    int child = settleOrder[k];
+                    children[nextChild[parents[child]]++] = child;
+                }
+                
+                while (childOffsets[node] < childOffsets[node + 1]) {
+                    int heaviestChild = children[childOffsets[node]];
+                    
+                    for (int i = childOffsets[node] + 1;
+                            i < childOffsets[node + 1];
+                            ++i) {
+                        if (sizes[children[i]] > sizes[heaviestChild]) {
+                            heaviestChild = children[i];
+                        }
+                    }
+                    
+                    node = heaviestChild;
+                }
+                
+                return node;
+            }
+        }
+    }
+}
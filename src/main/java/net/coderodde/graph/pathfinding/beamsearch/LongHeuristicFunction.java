@@ -0,0 +1,28 @@
+package net.coderodde.graph.pathfinding.beamsearch;
+
+/**
+ * This interface defines the API for heuristic functions over primitive
+ * {@code long} node IDs. It is used by the searches over a 
+ * {@link SuccessorGenerator}.
+ * 
+ * @author Rodion "rodde" Efremov
+ * @version 1.6 (Oct 16, 2026)
+ */
+@FunctionalInterface
+public interface LongHeuristicFunction extends HeuristicFunction<Long> {
+    
+    /**
+     * Returns an optimistic estimate for the path from {@code source} to
+     * {@code target}.
+     * 
+     * @param source the source node.
+     * @param target the target node.
+     * @return distance estimate.
+     */
+    public double estimate(long source, long target);
+    
+    @Override
+    public default double estimate(Long source, Long target) {
+        return estimate(source.longValue(), target.longValue());
+    }
+}
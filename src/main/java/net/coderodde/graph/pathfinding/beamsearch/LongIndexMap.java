@@ -0,0 +1,127 @@
+package net.coderodde.graph.pathfinding.beamsearch;
+
+import java.util.Arrays;
+
+/**
+ * This class numbers the {@code long} keys densely from zero in the order 
+ * they are added. The keys are stored in an array indexed by their numbers,
+ * and an open addressing table with linear probing maps each key to its 
+ * number, so no object is allocated per key.
+ * 
+ * @author Rodion "rodde" Efremov
+ * @version 1.6 (Oct 16, 2026)
+ */
+final class LongIndexMap {
+    
+    /**
+     * The initial number of table slots. Must be a power of two.
+     */
+    private static final int INITIAL_TABLE_CAPACITY = 16;
+    
+    /**
+     * {@code keys[i]} is the key numbered {@code i}.
+     */
+    private long[] keys = new long[INITIAL_TABLE_CAPACITY / 2];
+    
+    /**
+     * Each slot holds the number of a key plus one, or zero if it is empty.
+     * Kept at most half full.
+     */
+    private int[] table = new int[INITIAL_TABLE_CAPACITY];
+    
+    /**
+     * The number of keys.
+     */
+    private int size;
+    
+    int size() {
+        return size;
+    }
+    
+    long getKey(int index) {
+        return keys[index];
+    }
+    
+    /**
+     * Returns the number of {@code key}, or {@code -1} if it is not in this
+     * map.
+     */
+    int get(long key) {
+        int mask = table.length - 1;
+        
+        for (int slot = hash(key) & mask; ; slot = (slot + 1) & mask) {
+            int entry = table[slot];
+            
+            if (entry == 0) {
+                return -1;
+            }
+            
+            if (keys[entry - 1] == key) {
+                return entry - 1;
+            }
+        }
+    }
+    
+    /**
+     * Returns the number of {@code key}, adding it with the next number if 
+     * it is not in this map yet.
+     */
+    int getOrAdd(long key) {
+        int mask = table.length - 1;
+        int slot = hash(key) & mask;
+        
+        while (table[slot] != 0) {
+            if (keys[table[slot] - 1] == key) {
+                return table[slot] - 1;
+            }
+            
+            slot = (slot + 1) & mask;
+        }
+        
+        if (size == keys.length) {
+            keys = Arrays.copyOf(keys, 2 * size);
+        }
+        
+        keys[size] = key;
+        table[slot] = ++size;
+        
+        if (2 * size > table.length) {
+            rehash(2 * table.length);
+        }
+        
+        return size - 1;
+    }
+    
+    void clear() {
+        Arrays.fill(table, 0);
+        size = 0;
+    }
+    
+    private void rehash(int tableCapacity) {
+        int[] newTable = new int[tableCapacity];
+        int mask = tableCapacity - 1;
+        
+        for (int index = 0; index < size; ++index) {
+            int slot = hash(keys[index]) & mask;
+            
+            while (newTable[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            
+            newTable[slot] = index + 1;
+        }
+        
+        table = newTable;
+    }
+    
+    /**
+     * Mixes all the bits of {@code key} into the low bits, since the keys 
+     * packing coordinates or states differ mostly in a few bit fields.
+     */
+    private static int hash(long key) {
+        long hash = key * 0x9E3779B97F4A7C15L;
+        hash ^= hash >>> 29;
+        hash *= 0xBF58476D1CE4E5B9L;
+        return (int) (hash ^ (hash >>> 32));
+    }
+}
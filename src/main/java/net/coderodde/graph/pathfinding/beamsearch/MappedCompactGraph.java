@@ -0,0 +1,152 @@
+package net.coderodde.graph.pathfinding.beamsearch;
+
+import java.nio.ByteBuffer;
+import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
+
+/**
+ * This class implements a {@link CompactGraph} reading its arrays directly
+ * from memory-mapped buffers. Nothing is copied to the heap, so the operating
+ * system pages the graph in on demand.
+ * 
+ * @author Rodion "rodde" Efremov
+ * @version 1.6 (Oct 16, 2026)
+ */
+final class MappedCompactGraph extends CompactGraph {
+    
+    /**
+     * The byte {@code u} is non-zero if the node ID {@code u} is present.
+     */
+    private final ByteBuffer nodePresence;
+    
+    private final int nodeCapacity;
+    private final int size;
+    private final int numberOfArcs;
+    private final int maximumOutDegree;
+    private final int maximumInDegree;
+    private final IntBuffer forwardOffsets;
+    private final IntBuffer forwardHeads;
+    private final DoubleBuffer forwardWeights;
+    private final IntBuffer backwardOffsets;
+    private final IntBuffer backwardTails;
+    private final DoubleBuffer backwardWeights;
+    
+    MappedCompactGraph(ByteBuffer nodePresence,
+                       int size,
+                       int numberOfArcs,
+                       int maximumOutDegree,
+                       int maximumInDegree,
+                       IntBuffer forwardOffsets,
+                       IntBuffer forwardHeads,
+                       DoubleBuffer forwardWeights,
+                       IntBuffer backwardOffsets,
+                       IntBuffer backwardTails,
+                       DoubleBuffer backwardWeights) {
+        this.nodePresence     = nodePresence;
+        this.nodeCapacity     = nodePresence.capacity();
+        this.size             = size;
+        this.numberOfArcs     = numberOfArcs;
+        this.maximumOutDegree = maximumOutDegree;
+        this.maximumInDegree  = maximumInDegree;
+        this.forwardOffsets   = forwardOffsets;
+        this.forwardHeads     = forwardHeads;
+        this.forwardWeights   = forwardWeights;
+        this.backwardOffsets  = backwardOffsets;
+        this.backwardTails    = backwardTails;
+        this.backwardWeights  = backwardWeights;
+    }
+    
+    @Override
+    public int size() {
+        return size;
+    }
+    
+    @Override
+    public int getNodeCapacity() {
+        return nodeCapacity;
+    }
+    
+    @Override
+    public int getNumberOfArcs() {
+        return numberOfArcs;
+    }
+    
+    @Override
+    public int getMaximumOutDegree() {
+        return maximumOutDegree;
+    }
+    
+    @Override
+    public int getMaximumInDegree() {
+        return maximumInDegree;
+    }
+    
+    @Override
+    public boolean hasNode(int node) {
+        return node >= 0 && node < nodeCapacity && nodePresence.get(node) != 0;
+    }
+    
+    @Override
+    public int getFirstArc(int node) {
+        return forwardOffsets.get(node);
+    }
+    
+    @Override
+    public int getLastArc(int node) {
+        return forwardOffsets.get(node + 1);
+    }
+    
+    @Override
+    public int getArcHead(int arc) {
+        return forwardHeads.get(arc);
+    }
+    
+    @Override
+    public double getArcWeight(int arc) {
+        return forwardWeights.get(arc);
+    }
+    
+    @Override
+    public int copyArcHeads(int node, int[] destination) {
+        int firstArc = forwardOffsets.get(node);
+        int degree = forwardOffsets.get(node + 1) - firstArc;
+        
+        for (int i = 0; i < degree; ++i) {
+            destination[i] = forwardHeads.get(firstArc + i);
+        }
+        
+        return degree;
+    }
+    
+    @Override
+    public int getFirstReverseArc(int node) {
+        return backwardOffsets.get(node);
+    }
+    
+    @Override
+    public int getLastReverseArc(int node) {
+        return backwardOffsets.get(node + 1);
+    }
+    
+    @Override
+    public int getReverseArcTail(int arc) {
+        return backwardTails.get(arc);
+    }
+    
+    @Override
+    public double getReverseArcWeight(int arc) {
+        return backwardWeights.get(arc);
+    }
+    
+    @Override
+    public int copyReverseArcTails(int node, int[] destination) {
+        int firstArc = backwardOffsets.get(node);
+        int degree = backwardOffsets.get(node + 1) - firstArc;
+        
+        for (int i = 0; i < degree; ++i) {
+            destination[i] = backwardTails.get(firstArc + i);
+        }
+        
+        return degree;
+    }
+}
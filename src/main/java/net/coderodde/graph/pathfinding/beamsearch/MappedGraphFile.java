@@ -0,0 +1,335 @@
+package net.coderodde.graph.pathfinding.beamsearch;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Objects;
+
+/**
+ * This class maps a graph file written by {@link GraphFileWriter} into 
+ * memory. The pathfinders work on the mapped pages directly, and several 
+ * processes mapping the same file share a single copy of it in the page 
+ * cache.
+ * <p>
+ * Opening a file validates its header, its size and the structure of the 
+ * graph in one sequential pass: the offsets must start at zero, never 
+ * decrease and end at the arc count, every arc must end at a node in 
+ * {@code [0, nodeCapacity)}, and the node count and the maximum degrees 
+ * must match the arrays. A corrupt file is thus rejected on opening instead
+ * of failing in the middle of a query. The weights and the coordinates are
+ * not read until a search needs them. The file must not be modified while 
+ * it is mapped.
+ * 
+ * @author Rodion "rodde" Efremov
+ * @version 1.6 (Oct 16, 2026)
+ */
+public final class MappedGraphFile {
+    
+    /**
+     * The mapped graph.
+     */
+    private final CompactGraph graph;
+    
+    /**
+     * The mapped x-coordinates, or {@code null} if the file has none.
+     */
+    private final DoubleBuffer xs;
+    
+    /**
+     * The mapped y-coordinates, or {@code null} if the file has none.
+     */
+    private final DoubleBuffer ys;
+    
+    private MappedGraphFile(CompactGraph graph, 
+                            DoubleBuffer xs, 
+                            DoubleBuffer ys) {
+        this.graph = graph;
+        this.xs = xs;
+        this.ys = ys;
+    }
+    
+    /**
+     * Maps {@code file} into memory.
+     * 
+     * @param file the graph file.
+     * @return the mapped graph file.
+     * @throws IOException if the file cannot be read, if it is not a graph
+     *                     file of a supported version, or if it is 
+     *                     corrupt.
+     */
+    public static MappedGraphFile open(Path file) throws IOException {
+        Objects.requireNonNull(file, "The file is null.");
+        
+        try (FileChannel channel = 
+                FileChannel.open(file, StandardOpenOption.READ)) {
+            long fileSize = channel.size();
+            
+            if (fileSize < GraphFileFormat.HEADER_SIZE) {
+                throw new IOException("The file " + file + " is too short.");
+            }
+            
+            ByteBuffer header = map(channel, 0L, GraphFileFormat.HEADER_SIZE);
+            
+            if (header.getInt(0) != GraphFileFormat.MAGIC) {
+                throw new IOException(
+                        "The file " + file + " is not a graph file.");
+            }
+            
+            int version = header.getInt(4);
+            
+            if (version != GraphFileFormat.VERSION) {
+                throw new IOException(
+                        "The graph file " + file + " has an unsupported " +
+                        "version " + version + ".");
+            }
+            
+            boolean hasCoordinates = 
+                    (header.getInt(8) & GraphFileFormat.FLAG_COORDINATES) != 0;
+            int nodeCapacity     = header.getInt(12);
+            int size             = header.getInt(16);
+            int numberOfArcs     = header.getInt(20);
+            int maximumOutDegree = header.getInt(24);
+            int maximumInDegree  = header.getInt(28);
+            
+            if (nodeCapacity < 0 || numberOfArcs < 0) {
+                throw new IOException(
+                        "The graph file " + file + " has a corrupt header.");
+            }
+            
+            GraphFileFormat format = new GraphFileFormat(nodeCapacity,
+                                                         numberOfArcs,
+                                                         hasCoordinates);
+            
+            if (fileSize < format.getFileSize()) {
+                throw new IOException("The graph file " + file + 
+                                      " is truncated.");
+            }
+            
+            ByteBuffer nodePresence = 
+                    map(channel, format, GraphFileFormat.NODE_PRESENCE);
+            IntBuffer forwardOffsets = 
+                    map(channel, format, GraphFileFormat.FORWARD_OFFSETS)
+                            .asIntBuffer();
+            IntBuffer forwardHeads = 
+                    map(channel, format, GraphFileFormat.FORWARD_HEADS)
+                            .asIntBuffer();
+            IntBuffer backwardOffsets = 
+                    map(channel, format, GraphFileFormat.BACKWARD_OFFSETS)
+                            .asIntBuffer();
+            IntBuffer backwardTails = 
+                    map(channel, format, GraphFileFormat.BACKWARD_TAILS)
+                            .asIntBuffer();
+            
+            checkNodes(file, nodePresence, size);
+            checkArcs(file, 
+                      forwardOffsets, 
+                      forwardHeads, 
+                      maximumOutDegree, 
+                      "forward");
+            checkArcs(file, 
+                      backwardOffsets, 
+                      backwardTails, 
+                      maximumInDegree, 
+                      "backward");
+            
+            CompactGraph graph = 
+                    new MappedCompactGraph(
+                        nodePresence,
+                        size,
+                        numberOfArcs,
+                        maximumOutDegree,
+                        maximumInDegree,
+                        forwardOffsets,
+                        forwardHeads,
+                        map(channel, format, GraphFileFormat.FORWARD_WEIGHTS)
+                                .asDoubleBuffer(),
+                        backwardOffsets,
+                        backwardTails,
+                        map(channel, format, GraphFileFormat.BACKWARD_WEIGHTS)
+                                .asDoubleBuffer());
+            
+            if (!hasCoordinates) {
+                return new MappedGraphFile(graph, null, null);
+            }
+            
+            return new MappedGraphFile(
+                    graph,
+                    map(channel, format, GraphFileFormat.X_COORDINATES)
+                            .asDoubleBuffer(),
+                    map(channel, format, GraphFileFormat.Y_COORDINATES)
+                            .asDoubleBuffer());
+        }
+    }
+    
+    /**
+     * Returns the mapped graph.
+     * 
+     * @return the graph.
+     */
+    public CompactGraph getGraph() {
+        return graph;
+    }
+    
+    public boolean hasCoordinates() {
+        return xs != null;
+    }
+    
+    /**
+     * Returns the Euclidean distance heuristic over the mapped coordinates.
+     * It gives the same estimates as {@link EuclideanHeuristicFunction} 
+     * over the coordinates the file was written from.
+     * 
+     * @return the heuristic function.
+     * @throws IllegalStateException if the file has no coordinates.
+     */
+    public IntHeuristicFunction getHeuristicFunction() {
+        if (xs == null) {
+            throw new IllegalStateException(
+                    "The graph file has no coordinates.");
+        }
+        
+        return new MappedEuclideanHeuristicFunction(xs, ys);
+    }
+    
+    /**
+     * Makes sure the number of the present nodes is {@code size}.
+     */
+    private static void checkNodes(Path file, 
+                                   ByteBuffer nodePresence, 
+                                   int size) throws IOException {
+        int presentNodes = 0;
+        
+        for (int node = 0; node < nodePresence.capacity(); ++node) {
+            if (nodePresence.get(node) != 0) {
+                ++presentNodes;
+            }
+        }
+        
+        if (presentNodes != size) {
+            throw new IOException(
+                    "The graph file " + file + " has " + presentNodes + 
+                    " nodes instead of " + size + ".");
+        }
+    }
+    
+    /**
+     * Makes sure the offsets start at zero, never decrease and end at the
+     * number of arcs, that every end node lies in {@code [0, nodeCapacity)},
+     * and that the largest degree is {@code maximumDegree}.
+     */
+    private static void checkArcs(Path file,
+                                  IntBuffer offsets,
+                                  IntBuffer endNodes,
+                                  int maximumDegree,
+                                  String direction) throws IOException {
+        int nodeCapacity = offsets.capacity() - 1;
+        int numberOfArcs = endNodes.capacity();
+        
+        if (offsets.get(0) != 0 || offsets.get(nodeCapacity) != numberOfArcs) {
+            throw new IOException(
+                    "The " + direction + " offsets of the graph file " + 
+                    file + " do not span the " + numberOfArcs + " arcs.");
+        }
+        
+        int actualMaximumDegree = 0;
+        
+        for (int node = 0; node < nodeCapacity; ++node) {
+            int degree = offsets.get(node + 1) - offsets.get(node);
+            
+            if (degree < 0) {
+                throw new IOException(
+                        "The " + direction + " offsets of the graph file " +
+                        file + " decrease at the node " + node + ".");
+            }
+            
+            actualMaximumDegree = Math.max(actualMaximumDegree, degree);
+        }
+        
+        if (actualMaximumDegree != maximumDegree) {
+            throw new IOException(
+                    "The graph file " + file + " has the maximum " + 
+                    direction + " degree " + actualMaximumDegree + 
+                    " instead of " + maximumDegree + ".");
+        }
+        
+        for (int arc = 0; arc < numberOfArcs; ++arc) {
+            int node = endNodes.get(arc);
+            
+            if (node < 0 || node >= nodeCapacity) {
+                throw new IOException(
+                        "The " + direction + " arc " + arc + " of the " +
+                        "graph file " + file + " refers to the node " + 
+                        node + " out of range.");
+            }
+        }
+    }
+    
+    private static ByteBuffer map(FileChannel channel,
+                                  GraphFileFormat format,
+                                  int section) throws IOException {
+        return map(channel, 
+                   format.getSectionOffset(section),
+                   format.getSectionLength(section));
+    }
+    
+    private static ByteBuffer map(FileChannel channel, 
+                                  long offset, 
+                                  long length) throws IOException {
+        if (length > Integer.MAX_VALUE) {
+            throw new IOException(
+                    "A graph file section of " + length + " bytes is too " +
+                    "large to be mapped.");
+        }
+        
+        return channel.map(FileChannel.MapMode.READ_ONLY, offset, length)
+                      .order(ByteOrder.LITTLE_ENDIAN);
+    }
+    
+    /**
+     * This class implements the Euclidean distance heuristic over mapped 
+     * coordinates.
+     */
+    private static final class MappedEuclideanHeuristicFunction 
+            implements IntHeuristicFunction {
+        
+        private final DoubleBuffer xs;
+        private final DoubleBuffer ys;
+        
+        MappedEuclideanHeuristicFunction(DoubleBuffer xs, DoubleBuffer ys) {
+            this.xs = xs;
+            this.ys = ys;
+        }
+        
+        @Override
+        public double estimate(int source, int target) {
+            double dx = xs.get(source) - xs.get(target);
+            double dy = ys.get(source) - ys.get(target);
+            return Math.sqrt(dx * dx + dy * dy);
+        }
+        
+        @Override
+        public void estimate(int[] sources,
+                             int count,
+                             int target,
+                             double[] estimates) {
+            double targetX = xs.get(target);
+            double targetY = ys.get(target);
+            
+            for (int i = 0; i < count; ++i) {
+                double dx = xs.get(sources[i]) - targetX;
+                double dy = ys.get(sources[i]) - targetY;
+                estimates[i] = Math.sqrt(dx * dx + dy * dy);
+            }
+        }
+        
+        @Override
+        public IntHeuristicFunction reversed() {
+            return this;
+        }
+    }
+}
@@ -0,0 +1,317 @@
+package net.coderodde.graph.pathfinding.beamsearch;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+
+/**
+ * This class grows a single beam-pruned search tree from a root node until
+ * all of the given targets are settled or the tree can not grow any further.
+ * Since there is no single goal to aim at, the nodes are expanded in the
+ * order of their distances from the root, and the successors of an expanded
+ * node are ranked by the distance they would get. The tree may grow along
+ * the arcs or against them; a tree grown against the arcs from a target
+ * gives the distances from all the sources to that target at once.
+ * 
+ * @author Rodion "rodde" Efremov
+ * @version 1.6 (Oct 16, 2026)
+ */
+final class MultiTargetSearch {
+    
+    private MultiTargetSearch() {}
+    
+    /**
+     * Grows the tree from {@code root} and writes the distance to
+     * {@code targets[k]} into
+     * {@code distances[offset + k * stride]}. The targets not reached get
+     * the distance {@link Double#POSITIVE_INFINITY}.
+     * 
+     * @param graph         the graph to search.
+     * @param root          the root of the tree.
+     * @param targets       the targets.
+     * @param reverse       whether to follow the arcs backwards.
+     * @param beamWidth     the beam width.
+     * @param searchContext the search context.
+     * @param distances     the array to write the distances into.
+     * @param offset        the index of the distance of the first target.
+     * @param stride        the index distance between two consecutive
+     *                      targets.
+     * @return the state holding the tree, valid until the next query on
+     *         {@code searchContext}.
+     */
+    static SearchState run(CompactGraph graph,
+                   int root,
+                   int[] targets,
+                   boolean reverse,
+                   int beamWidth,
+                   SearchContext searchContext,
+                   double[] distances,
+                   int offset,
+                   int stride) {
+        int[] sortedTargets = targets.clone();
+        Arrays.sort(sortedTargets);
+        int remaining = countUnique(sortedTargets);
+        
+        SearchState state = searchContext.getForwardState(graph);
+        OpenList open = state.open;
+        SuccessorSelector selector = searchContext.successorSelector;
+        SearchStatistics statistics = searchContext.getStatistics();
+        SearchListener listener = searchContext.getSearchListener();
+        
+        searchContext.startQuery(root, -1);
+        open.insert(root, 0.0);
+        state.setDistance(root, 0.0, -1);
+        
+        if (statistics != null) {
+            statistics.heapPushes = 1L;
+        }
+        
+        while (remaining > 0 && !open.isEmpty()) {
+            int currentNode = open.extractMinimum();
+            
+            if (statistics != null) {
+                ++statistics.heapPops;
+            }
+            
+            if (state.isClosed(currentNode)) {
+                if (statistics != null) {
+                    ++statistics.stalePops;
+                }
+                
+                continue;
+            }
+            
+            state.close(currentNode);
+            double currentDistance = state.distances[currentNode];
+            
+            if (Arrays.binarySearch(sortedTargets, currentNode) >= 0) {
+                --remaining;
+            }
+            
+            if (listener != null) {
+                listener.onNodeExpanded(currentNode, currentDistance);
+            }
+            
+            int successorCount = getSuccessors(graph,
+                                               currentNode,
+                                               currentDistance,
+                                               reverse,
+                                               beamWidth,
+                                               selector);
+            int pushes = 0;
+            
+            for (int i = 0; i < successorCount; ++i) {
+                int childNode = selector.getNode(i);
+                
+                if (state.isClosed(childNode)) {
+                    continue;
+                }
+                
+                double tentativeDistance = selector.getCost(i);
+                
+                if (state.getDistance(childNode) > tentativeDistance) {
+                    state.setDistance(childNode,
+                                      tentativeDistance,
+                                      currentNode);
+                    open.insert(childNode, tentativeDistance);
+                    ++pushes;
+                }
+            }
+            
+            int dropped = state.forgetDropped(-1);
+            
+            if (statistics != null) {
+                ++statistics.expandedNodes;
+                statistics.heapPushes += pushes;
+                statistics.droppedNodes += dropped;
+                statistics.prunedSuccessors +=
+                        selector.size() - successorCount;
+                statistics.updatePeaks(open.size(), state.getClosedSize());
+            }
+        }
+        
+        boolean anyReached = false;
+        
+        for (int k = 0; k < targets.length; ++k) {
+            int target = targets[k];
+            
+            if (state.isClosed(target)) {
+                distances[offset + k * stride] = state.distances[target];
+                anyReached = true;
+            } else {
+                distances[offset + k * stride] = Double.POSITIVE_INFINITY;
+            }
+        }
+        
+        searchContext.finishQuery(anyReached);
+        return state;
+    }
+    
+    /**
+     * Reconstructs the path between the root of a tree and {@code node} 
+     * from the parent array of the tree. The path always runs along the 
+     * arcs: from the root to {@code node} in a forward tree, and from 
+     * {@code node} to the root in a reverse one.
+     * 
+     * @param parents the parent array of the tree.
+     * @param node    the node reached by the tree.
+     * @param reverse whether the tree was grown against the arcs.
+     * @return the path.
+     */
+    static List<Integer> tracebackPath(int[] parents, 
+                                       int node, 
+                                       boolean reverse) {
+        List<Integer> path = new ArrayList<>();
+        
+        int currentNode = node;
+        
+        while (currentNode != -1) {
+            path.add(currentNode);
+            currentNode = parents[currentNode];
+        }
+        
+        if (!reverse) {
+            Collections.<Integer>reverse(path);
+        }
+        
+        return path;
+    }
+    
+    /**
+     * Computes the distances from each of {@code sources} to each of
+     * {@code targets} into a row-major array. The trees are grown from the
+     * smaller of the two node sets, in parallel on {@code executor}: from
+     * the sources along the arcs, each tree filling a row, or from the
+     * targets against the arcs, each tree filling a column.
+     * 
+     * @return the distance array.
+     * @throws IllegalArgumentException if the matrix has more than 
+     *                                  {@code Integer.MAX_VALUE} cells.
+     */
+    static double[] runMatrix(CompactGraph graph,
+                              int[] sources,
+                              int[] targets,
+                              boolean reverse,
+                              int beamWidth,
+                              Executor executor) {
+        int cells;
+        
+        try {
+            cells = Math.multiplyExact(sources.length, targets.length);
+        } catch (ArithmeticException ex) {
+            throw new IllegalArgumentException(
+                    "A matrix of " + sources.length + " sources and " + 
+                    targets.length + " targets has too many cells.", ex);
+        }
+        
+        double[] distances = new double[cells];
+        int[] roots = reverse ? targets : sources;
+        int[] leaves = reverse ? sources : targets;
+        int stride = reverse ? targets.length : 1;
+        int step = reverse ? 1 : targets.length;
+        
+        if (leaves.length == 0) {
+            return distances;
+        }
+        
+        Queue<SearchContext> contextPool = new ConcurrentLinkedQueue<>();
+        int chunkSize = BatchSearch.getChunkSize(roots.length, executor);
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+        
+        for (int from = 0; from < roots.length; from += chunkSize) {
+            int to = Math.min(from + chunkSize, roots.length);
+            int chunkFrom = from;
+            
+            futures.add(CompletableFuture.runAsync(() -> {
+                SearchContext searchContext = contextPool.poll();
+                
+                if (searchContext == null) {
+                    searchContext = new SearchContext(DaryHeapOpenList::new);
+                }
+                
+                for (int i = chunkFrom; i < to; ++i) {
+                    run(graph,
+                        roots[i],
+                        leaves,
+                        reverse,
+                        beamWidth,
+                        searchContext,
+                        distances,
+                        i * step,
+                        stride);
+                }
+                
+                contextPool.add(searchContext);
+            }, executor));
+        }
+        
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0]))
+                         .join();
+        return distances;
+    }
+    
+    /**
+     * Makes sure that all the nodes in {@code nodes} are in {@code graph}.
+     */
+    static void checkNodes(CompactGraph graph, int[] nodes, String role) {
+        Objects.requireNonNull(nodes, "The " + role + " array is null.");
+        
+        for (int node : nodes) {
+            if (!graph.hasNode(node)) {
+                throw new IllegalArgumentException(
+                        "The " + role + " node " + node +
+                        " is not in the graph.");
+            }
+        }
+    }
+    
+    /**
+     * Loads the neighbours of {@code currentNode} into {@code selector},
+     * ranked by the distance they would get, and selects the best
+     * {@code beamWidth} of them. Returns the number of the selected
+     * neighbours.
+     */
+    private static int getSuccessors(CompactGraph graph,
+                                     int currentNode,
+                                     double distance,
+                                     boolean reverse,
+                                     int beamWidth,
+                                     SuccessorSelector selector) {
+        selector.clear();
+        int firstArc = reverse ? graph.getFirstReverseArc(currentNode) :
+                                 graph.getFirstArc(currentNode);
+        int lastArc  = reverse ? graph.getLastReverseArc(currentNode) :
+                                 graph.getLastArc(currentNode);
+        
+        for (int arc = firstArc; arc < lastArc; ++arc) {
+            int nextNode = reverse ? graph.getReverseArcTail(arc) :
+                                     graph.getArcHead(arc);
+            double weight = reverse ? graph.getReverseArcWeight(arc) :
+                                      graph.getArcWeight(arc);
+            selector.add(nextNode, weight, distance + weight);
+        }
+        
+        return selector.select(beamWidth);
+    }
+    
+    /**
+     * Counts the distinct values in the sorted {@code array}.
+     */
+    private static int countUnique(int[] array) {
+        int count = 0;
+        
+        for (int i = 0; i < array.length; ++i) {
+            if (i == 0 || array[i] != array[i - 1]) {
+                ++count;
+            }
+        }
+        
+        return count;
+    }
+}
@@ -0,0 +1,90 @@
+package net.coderodde.graph.pathfinding.beamsearch;
+
+import java.util.List;
+
+/**
+ * This class holds the outcome of a one-to-many query: the distances from
+ * the source to each of the targets, and the search tree the paths are
+ * extracted from on request. A target the beam did not reach has the
+ * distance {@link Double#POSITIVE_INFINITY}.
+ * 
+ * @author Rodion "rodde" Efremov
+ * @version 1.6 (Oct 16, 2026)
+ */
+public final class OneToManyResult {
+    
+    private final int source;
+    private final int[] targets;
+    private final double[] distances;
+    
+    /**
+     * The parent array of the search tree. Only the entries on the paths to
+     * the reached targets are meaningful.
+     */
+    private final int[] parents;
+    
+    OneToManyResult(int source,
+                    int[] targets,
+                    double[] distances,
+                    int[] parents) {
+        this.source = source;
+        this.targets = targets;
+        this.distances = distances;
+        this.parents = parents;
+    }
+    
+    public int getSource() {
+        return source;
+    }
+    
+    public int getNumberOfTargets() {
+        return targets.length;
+    }
+    
+    public int getTarget(int index) {
+        return targets[index];
+    }
+    
+    /**
+     * Returns the distance from the source to the target at {@code index},
+     * or {@link Double#POSITIVE_INFINITY} if it was not reached.
+     * 
+     * @param index the index of the target.
+     * @return the distance.
+     */
+    public double getDistance(int index) {
+        return distances[index];
+    }
+    
+    /**
+     * Returns a copy of the distances in the order of the targets.
+     * 
+     * @return the distance array.
+     */
+    public double[] getDistances() {
+        return distances.clone();
+    }
+    
+    public boolean isReachable(int index) {
+        return distances[index] != Double.POSITIVE_INFINITY;
+    }
+    
+    /**
+     * Extracts the path from the source to the target at {@code index}.
+     * 
+     * @param index the index of the target.
+     * @return the path.
+     * @throws PathNotFoundException if the target was not reached.
+     */
+    public List<Integer> getPath(int index) {
+        if (!isReachable(index)) {
+            throw new PathNotFoundException(
+                    "Path from " + source + " to " + targets[index] +
+                    " not found.");
+        }
+        
+        return MultiTargetSearch.tracebackPath(parents,
+                                               targets[index],
+                                               false);
+    }
+}
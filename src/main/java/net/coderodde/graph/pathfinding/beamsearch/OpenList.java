@@ -0,0 +1,82 @@
+package net.coderodde.graph.pathfinding.beamsearch;
+
+/**
+ * This interface defines the API for the open lists (priority queues of 
+ * frontier nodes) the compact searches are written against. The nodes are 
+ * primitive node IDs of a {@link CompactGraph}.
+ * <p>
+ * Inserting a node that is already in the list with a higher priority 
+ * lowers its priority. An implementation may do that by the means of 
+ * decrease-key, or it may keep the old entry around and return it later, in 
+ * which case the search skips it as stale.
+ * 
+ * @author Rodion "rodde" Efremov
+ * @version 1.6 (Oct 16, 2026)
+ */
+public interface OpenList {
+    
+    /**
+     * Makes sure this list can hold any node ID below {@code nodeCapacity}.
+     * 
+     * @param nodeCapacity the number of node IDs.
+     */
+    public void ensureCapacity(int nodeCapacity);
+    
+    /**
+     * Inserts {@code node} with the given {@code priority}, or lowers the
+     * priority of {@code node} if it is already in this list.
+     * 
+     * @param node     the node to insert.
+     * @param priority the priority of the node.
+     */
+    public void insert(int node, double priority);
+    
+    /**
+     * Removes and returns the node with the lowest priority.
+     * 
+     * @return the node with the lowest priority.
+     */
+    public int extractMinimum();
+    
+    /**
+     * Returns the node with the lowest priority without removing it.
+     * 
+     * @return the node with the lowest priority.
+     */
+    public int peekMinimum();
+    
+    /**
+     * Returns the lowest priority in this list.
+     * 
+     * @return the lowest priority.
+     */
+    public double getMinimumPriority();
+    
+    /**
+     * Returns the number of entries in this list, stale ones included.
+     * 
+     * @return the number of entries.
+     */
+    public int size();
+    
+    public default boolean isEmpty() {
+        return size() == 0;
+    }
+    
+    /**
+     * Removes all the entries from this list.
+     */
+    public void clear();
+    
+    /**
+     * Removes and returns a node this list has dropped to stay within a size
+     * bound, or returns {@code -1} if there is none. The search forgets the 
+     * dropped nodes, so that they may be reached again. The lists without a
+     * size bound never drop nodes.
+     * 
+     * @return a dropped node or {@code -1}.
+     */
+    public default int pollDropped() {
+        return -1;
+    }
+}
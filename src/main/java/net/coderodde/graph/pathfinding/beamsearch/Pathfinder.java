@@ -4,10 +4,13 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
 import net.coderodde.graph.AbstractGraph;
 
 public interface Pathfinder {
-
+    
     /**
      * Searches for a path from {@code source} to {@code target} in 
      * {@code graph} using {@code heuristicFunction} as a guide.
@@ -23,6 +26,99 @@ public interface Pathfinder {
                                 Integer target,
                                 HeuristicFunction<Integer> heuristicFunction);
     
+    /**
+     * Searches for a path from {@code source} to {@code target} in the
+     * compact {@code graph} using {@code heuristicFunction} as a guide. Unlike
+     * {@link #search(AbstractGraph, Integer, Integer, HeuristicFunction)},
+     * this method works on primitive node IDs only.
+     * 
+     * @param graph             the compact graph to search in.
+     * @param source            the source (start) node.
+     * @param target            the target (goal) node.
+     * @param heuristicFunction the heuristic function.
+     * @return the path from {@code source} to {@code target}.
+     */
+    default List<Integer> search(CompactGraph graph,
+                                 int source,
+                                 int target,
+                                 IntHeuristicFunction heuristicFunction) {
+        return search(graph, 
+                      source, 
+                      target, 
+                      heuristicFunction, 
+                      new SearchContext());
+    }
+    
+    /**
+     * Works like {@link #search(CompactGraph, int, int, IntHeuristicFunction)}
+     * but keeps all its working memory in {@code searchContext}, so that a
+     * caller reusing the context across queries avoids the per-query 
+     * allocation. The pathfinders that search only {@link AbstractGraph}s
+     * need not override this method: by default it copies {@code graph} into
+     * a {@link net.coderodde.graph.DirectedGraph} and runs
+     * {@link #search(AbstractGraph, Integer, Integer, HeuristicFunction)} on
+     * the copy, leaving {@code searchContext} unused.
+     * 
+     * @param graph             the compact graph to search in.
+     * @param source            the source (start) node.
+     * @param target            the target (goal) node.
+     * @param heuristicFunction the heuristic function.
+     * @param searchContext     the reusable search context.
+     * @return the path from {@code source} to {@code target}.
+     */
+    default List<Integer> search(CompactGraph graph,
+                                 int source,
+                                 int target,
+                                 IntHeuristicFunction heuristicFunction,
+                                 SearchContext searchContext) {
+        Objects.requireNonNull(graph, "The input graph is null.");
+        checkNodes(graph, source, target);
+        return search(graph.toGraph(), source, target, heuristicFunction);
+    }
+    
+    /**
+     * Answers a batch of independent queries on the common fork/join pool.
+     * The results come in the order of {@code queries}, and a query that 
+     * fails, for example since its path was not found, is reported in its 
+     * result without affecting the others. The pathfinder must not be 
+     * reconfigured while the batch is running.
+     * 
+     * @param graph             the compact graph to search in.
+     * @param queries           the source/target pairs.
+     * @param heuristicFunction the heuristic function. Must be thread-safe.
+     * @return the query results.
+     */
+    default List<QueryResult> searchAll(CompactGraph graph,
+                                        List<SearchQuery> queries,
+                                        IntHeuristicFunction heuristicFunction) {
+        return searchAll(graph, 
+                         queries, 
+                         heuristicFunction,
+                         ForkJoinPool.commonPool());
+    }
+    
+    /**
+     * Works like 
+     * {@link #searchAll(CompactGraph, List, IntHeuristicFunction)} but runs
+     * the batch on {@code executor}.
+     * 
+     * @param graph             the compact graph to search in.
+     * @param queries           the source/target pairs.
+     * @param heuristicFunction the heuristic function. Must be thread-safe.
+     * @param executor          the executor to run the batch on.
+     * @return the query results.
+     */
+    default List<QueryResult> searchAll(CompactGraph graph,
+                                        List<SearchQuery> queries,
+                                        IntHeuristicFunction heuristicFunction,
+                                        Executor executor) {
+        return BatchSearch.run(this, 
+                               graph, 
+                               queries, 
+                               heuristicFunction, 
+                               executor);
+    }
+    
     default List<Integer> tracebackPath(Integer target,
                                         Map<Integer, Integer> parents) {
         List<Integer> path = new ArrayList<>();
@@ -51,6 +147,41 @@ public interface Pathfinder {
         return prefixPath;
     }
     
+    /**
+     * Reconstructs the path ending at {@code target} from the dense parent
+     * array. The source node has the parent {@code -1}.
+     * 
+     * @param target  the last node of the path.
+     * @param parents the parent array.
+     * @return the path.
+     */
+    default List<Integer> tracebackPath(int target, int[] parents) {
+        List<Integer> path = new ArrayList<>();
+        int currentNode = target;
+        
+        while (currentNode != -1) {
+            path.add(currentNode);
+            currentNode = parents[currentNode];
+        }
+        
+        Collections.<Integer>reverse(path);
+        return path;
+    }
+    
+    default List<Integer> tracebackPath(int touch,
+                                        int[] forwardParents,
+                                        int[] backwardParents) {
+        List<Integer> prefixPath = tracebackPath(touch, forwardParents);
+        int currentNode = backwardParents[touch];
+        
+        while (currentNode != -1) {
+            prefixPath.add(currentNode);
+            currentNode = backwardParents[currentNode];
+        }
+        
+        return prefixPath;
+    }
+    
     /**
      * Makes sure that both {@code source} and {@code target} are in the
      * {@code graph}.
@@ -70,4 +201,24 @@ public interface Pathfinder {
                     "The target node " + target + " is not in the graph.");
         }
     }
+    
+    /**
+     * Makes sure that both {@code source} and {@code target} are in the
+     * compact {@code graph}.
+     * 
+     * @param graph  the compact graph.
+     * @param source the source node.
+     * @param target the target node.
+     */
+    default void checkNodes(CompactGraph graph, int source, int target) {
+        if (!graph.hasNode(source)) {
+            throw new IllegalArgumentException(
+                    "The source node " + source + " is not in the graph.");
+        }
+        
+        if (!graph.hasNode(target)) {
+            throw new IllegalArgumentException(
+                    "The target node " + target + " is not in the graph.");
+        }
+    }
 }
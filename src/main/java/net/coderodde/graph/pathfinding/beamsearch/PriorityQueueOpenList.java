@@ -0,0 +1,53 @@
+package net.coderodde.graph.pathfinding.beamsearch;
+
+import java.util.PriorityQueue;
+import java.util.Queue;
+
+/**
+ * This class implements the default open list backed by 
+ * {@link java.util.PriorityQueue}. It has no decrease-key: an improved node is 
+ * inserted once again, and the search skips the outdated entry as soon as it 
+ * finds the node closed.
+ * 
+ * @author Rodion "rodde" Efremov
+ * @version 1.6 (Oct 16, 2026)
+ */
+public final class PriorityQueueOpenList implements OpenList {
+    
+    private final Queue<HeapNode> queue = new PriorityQueue<>();
+    
+    @Override
+    public void ensureCapacity(int nodeCapacity) {
+    
+    }
+    
+    @Override
+    public void insert(int node, double priority) {
+        queue.add(new HeapNode(node, priority));
+    }
+    
+    @Override
+    public int extractMinimum() {
+        return queue.remove().node;
+    }
+    
+    @Override
+    public int peekMinimum() {
+        return queue.element().node;
+    }
+    
+    @Override
+    public double getMinimumPriority() {
+        return queue.element().fScore;
+    }
+    
+    @Override
+    public int size() {
+        return queue.size();
+    }
+    
+    @Override
+    public void clear() {
+        queue.clear();
+    }
+}
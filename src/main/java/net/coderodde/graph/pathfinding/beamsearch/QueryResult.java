@@ -0,0 +1,57 @@
+package net.coderodde.graph.pathfinding.beamsearch;
+
+import java.util.List;
+
+/**
+ * This class holds the outcome of a single query in a batch: either the path
+ * found, or the exception that made the query fail.
+ * 
+ * @author Rodion "rodde" Efremov
+ * @version 1.6 (Oct 16, 2026)
+ */
+public final class QueryResult {
+    
+    private final SearchQuery query;
+    private final List<Integer> path;
+    private final RuntimeException failure;
+    
+    QueryResult(SearchQuery query, List<Integer> path) {
+        this.query = query;
+        this.path = path;
+        this.failure = null;
+    }
+    
+    QueryResult(SearchQuery query, RuntimeException failure) {
+        this.query = query;
+        this.path = null;
+        this.failure = failure;
+    }
+    
+    public SearchQuery getQuery() {
+        return query;
+    }
+    
+    public boolean isPathFound() {
+        return path != null;
+    }
+    
+    /**
+     * Returns the path found, or {@code null} if the query failed.
+     * 
+     * @return the path or {@code null}.
+     */
+    public List<Integer> getPath() {
+        return path;
+    }
+    
+    /**
+     * Returns the exception the query failed with, or {@code null} if the 
+     * path was found. A target unreachable under the beam is reported as a
+     * {@link PathNotFoundException}.
+     * 
+     * @return the failure or {@code null}.
+     */
+    public RuntimeException getFailure() {
+        return failure;
+    }
+}
@@ -0,0 +1,607 @@
+package net.coderodde.graph.pathfinding.beamsearch;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Method;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * This class serves the path queries of a fixed graph over HTTP on the
+ * loopback interface. The endpoint {@code GET /path?source=s&target=t}
+ * answers with the path as JSON, and {@code GET /stats} with the counters of
+ * the service.
+ * <p>
+ * Each request is handled on a thread of its own: a virtual thread when the
+ * running JVM has them, otherwise a pooled platform thread. The handler
+ * admits the query into a bounded queue, or answers 503 at once if the queue
+ * is full, and waits for the result. A fixed set of worker threads, each
+ * with its own {@link SearchContext}, take the queued queries in
+ * micro-batches: a worker takes whatever has piled up while it was busy, up
+ * to the maximum batch size, and runs the whole batch on its context. A
+ * batch never waits for more queries to arrive, so an idle service answers
+ * with no added delay.
+ * <p>
+ * The queries may also be submitted directly by {@link #submit(int, int)},
+ * which goes through the same queue.
+ * 
+ * @author Rodion "rodde" Efremov
+ * @version 1.6 (Oct 16, 2026)
+ */
+public final class QueryService implements AutoCloseable {
+    
+    /**
+     * The default capacity of the query queue.
+     */
+    private static final int DEFAULT_QUEUE_CAPACITY = 1024;
+    
+    /**
+     * The default maximum number of queries in a batch.
+     */
+    private static final int DEFAULT_MAXIMUM_BATCH_SIZE = 32;
+    
+    /**
+     * The maximum number of the pending TCP connections.
+     */
+    private static final int BACKLOG = 128;
+    
+    private static final int HTTP_OK = 200;
+    private static final int HTTP_BAD_REQUEST = 400;
+    private static final int HTTP_NOT_FOUND = 404;
+    private static final int HTTP_BAD_METHOD = 405;
+    private static final int HTTP_INTERNAL_ERROR = 500;
+    private static final int HTTP_UNAVAILABLE = 503;
+    
+    private final CompactGraph graph;
+    private final Pathfinder pathfinder;
+    private final IntHeuristicFunction heuristicFunction;
+    private final int port;
+    private final int numberOfWorkers;
+    private final int maximumBatchSize;
+    private final BlockingQueue<PendingQuery> queue;
+    
+    private final LongAdder acceptedQueries = new LongAdder();
+    private final LongAdder rejectedQueries = new LongAdder();
+    private final LongAdder completedQueries = new LongAdder();
+    private final LongAdder failedQueries = new LongAdder();
+    private final LongAdder batches = new LongAdder();
+    private final LongAdder totalLatencyNanos = new LongAdder();
+    private final LongAccumulator maximumLatencyNanos =
+            new LongAccumulator(Math::max, 0L);
+    
+    private HttpServer server;
+    private ExecutorService requestExecutor;
+    private Thread[] workers;
+    private volatile boolean started;
+    private volatile boolean closed;
+    private volatile long startTimeNanos;
+    
+    /**
+     * Constructs a service answering the queries on {@code graph} by
+     * {@code pathfinder}, with one worker per processor and the default
+     * queue capacity and batch size.
+     * 
+     * @param graph             the graph to search in.
+     * @param pathfinder        the pathfinder. Must be thread-safe.
+     * @param heuristicFunction the heuristic function. Must be thread-safe.
+     * @param port              the port to listen on, or zero for any free
+     *                          port.
+     */
+    public QueryService(CompactGraph graph,
+                        Pathfinder pathfinder,
+                        IntHeuristicFunction heuristicFunction,
+                        int port) {
+        this(graph,
+             pathfinder,
+             heuristicFunction,
+             port,
+             Runtime.getRuntime().availableProcessors(),
+             DEFAULT_QUEUE_CAPACITY,
+             DEFAULT_MAXIMUM_BATCH_SIZE);
+    }
+    
+    /**
+     * Constructs a service answering the queries on {@code graph} by
+     * {@code pathfinder}.
+     * 
+     * @param graph             the graph to search in.
+     * @param pathfinder        the pathfinder. Must be thread-safe.
+     * @param heuristicFunction the heuristic function. Must be thread-safe.
+     * @param port              the port to listen on, or zero for any free
+     *                          port.
+     * @param numberOfWorkers   the number of the worker threads.
+     * @param queueCapacity     the maximum number of the queued queries.
+     * @param maximumBatchSize  the maximum number of queries a worker takes
+     *                          at once.
+     */
+    public QueryService(CompactGraph graph,
+                        Pathfinder pathfinder,
+                        IntHeuristicFunction heuristicFunction,
+                        int port,
+                        int numberOfWorkers,
+                        int queueCapacity,
+                        int maximumBatchSize) {
+        this.graph = Objects.requireNonNull(graph, "The input graph is null.");
+        this.pathfinder = Objects.requireNonNull(pathfinder,
+                                                 "The pathfinder is null.");
+        this.heuristicFunction =
+                Objects.requireNonNull(heuristicFunction,
+                                       "The heuristic function is null.");
+        
+        if (port < 0 || port > 0xFFFF) {
+            throw new IllegalArgumentException("Invalid port: " + port);
+        }
+        
+        checkPositive(numberOfWorkers, "The number of workers");
+        checkPositive(queueCapacity, "The queue capacity");
+        checkPositive(maximumBatchSize, "The maximum batch size");
+        
+        this.port = port;
+        this.numberOfWorkers = numberOfWorkers;
+        this.maximumBatchSize = maximumBatchSize;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+    }
+    
+    /**
+     * Binds the loopback address and starts serving.
+     * 
+     * @throws IOException if the port can not be bound.
+     */
+    public synchronized void start() throws IOException {
+        if (server != null) {
+            throw new IllegalStateException(
+                    "The query service is already started.");
+        }
+        
+        if (closed) {
+            throw new IllegalStateException("The query service is closed.");
+        }
+        
+        server = HttpServer.create(
+                new InetSocketAddress(InetAddress.getLoopbackAddress(), port),
+                BACKLOG);
+        server.createContext("/path", this::handlePath);
+        server.createContext("/stats", this::handleStatistics);
+        requestExecutor = newRequestExecutor();
+        server.setExecutor(requestExecutor);
+        workers = new Thread[numberOfWorkers];
+        startTimeNanos = System.nanoTime();
+        
+        for (int i = 0; i < numberOfWorkers; ++i) {
+            workers[i] = new Thread(this::work, "query-service-worker-" + i);
+            workers[i].setDaemon(true);
+            workers[i].start();
+        }
+        
+        started = true;
+        server.start();
+    }
+    
+    /**
+     * Returns the port the service listens on.
+     * 
+     * @return the bound port.
+     */
+    public synchronized int getPort() {
+        if (server == null) {
+            throw new IllegalStateException(
+                    "The query service is not started.");
+        }
+        
+        return server.getAddress().getPort();
+    }
+    
+    /**
+     * Queues the query from {@code source} to {@code target}. A failed
+     * search completes the returned future normally with a
+     * {@link QueryResult} holding the failure.
+     * 
+     * @param source the source node.
+     * @param target the target node.
+     * @return the future result of the query.
+     * @throws RejectedExecutionException if the queue is full or the service
+     *                                    is not running.
+     */
+    public CompletableFuture<QueryResult> submit(int source, int target) {
+        if (closed || !started) {
+            throw new RejectedExecutionException(
+                    "The query service is not running.");
+        }
+        
+        PendingQuery pendingQuery =
+                new PendingQuery(new SearchQuery(source, target));
+        
+        if (!queue.offer(pendingQuery)) {
+            rejectedQueries.increment();
+            throw new RejectedExecutionException(
+                    "The query queue is full.");
+        }
+        
+        acceptedQueries.increment();
+        
+        // A query that slipped in while closing would never be taken.
+        if (closed && queue.remove(pendingQuery)) {
+            pendingQuery.cancel();
+        }
+        
+        return pendingQuery.future;
+    }
+    
+    /**
+     * Stops serving. The queued queries fail with a
+     * {@link RejectedExecutionException}.
+     */
+    @Override
+    public synchronized void close() {
+        if (closed) {
+            return;
+        }
+        
+        closed = true;
+        
+        if (server == null) {
+            return;
+        }
+        
+        server.stop(0);
+        
+        for (Thread worker : workers) {
+            worker.interrupt();
+        }
+        
+        PendingQuery pendingQuery;
+        
+        while ((pendingQuery = queue.poll()) != null) {
+            pendingQuery.cancel();
+        }
+        
+        requestExecutor.shutdown();
+    }
+    
+    public long getAcceptedCount() {
+        return acceptedQueries.sum();
+    }
+    
+    /**
+     * Returns the number of queries turned away because the queue was full.
+     * 
+     * @return the number of rejected queries.
+     */
+    public long getRejectedCount() {
+        return rejectedQueries.sum();
+    }
+    
+    /**
+     * Returns the number of queries answered, with or without a path.
+     * 
+     * @return the number of completed queries.
+     */
+    public long getCompletedCount() {
+        return completedQueries.sum();
+    }
+    
+    /**
+     * Returns the number of completed queries whose search failed.
+     * 
+     * @return the number of failed queries.
+     */
+    public long getFailedCount() {
+        return failedQueries.sum();
+    }
+    
+    public long getBatchCount() {
+        return batches.sum();
+    }
+    
+    /**
+     * Returns the average number of queries per batch, or zero if there were
+     * no batches.
+     * 
+     * @return the average batch size.
+     */
+    public double getAverageBatchSize() {
+        long batchCount = batches.sum();
+        return batchCount == 0L ?
+                0.0 :
+                (double) completedQueries.sum() / batchCount;
+    }
+    
+    /**
+     * Returns the average time from the admission of a query to its
+     * completion in nanoseconds, or zero if no query has completed.
+     * 
+     * @return the average latency.
+     */
+    public double getAverageLatencyNanos() {
+        long completed = completedQueries.sum();
+        return completed == 0L ?
+                0.0 :
+                (double) totalLatencyNanos.sum() / completed;
+    }
+    
+    public long getMaximumLatencyNanos() {
+        return maximumLatencyNanos.get();
+    }
+    
+    /**
+     * Returns the number of queries completed per second since the service
+     * was started.
+     * 
+     * @return the throughput.
+     */
+    public double getThroughput() {
+        if (!started) {
+            return 0.0;
+        }
+        
+        double seconds = (System.nanoTime() - startTimeNanos) / 1e9;
+        return seconds <= 0.0 ? 0.0 : completedQueries.sum() / seconds;
+    }
+    
+    /**
+     * Resets all the counters.
+     */
+    public void resetStatistics() {
+        acceptedQueries.reset();
+        rejectedQueries.reset();
+        completedQueries.reset();
+        failedQueries.reset();
+        batches.reset();
+        totalLatencyNanos.reset();
+        maximumLatencyNanos.reset();
+        startTimeNanos = System.nanoTime();
+    }
+    
+    /**
+     * The loop of a worker thread: takes a batch of queries and runs them
+     * one by one on the context of the worker.
+     */
+    private void work() {
+        SearchContext searchContext = new SearchContext();
+        List<PendingQuery> batch = new ArrayList<>(maximumBatchSize);
+        
+        while (!closed) {
+            try {
+                batch.add(queue.take());
+            } catch (InterruptedException ex) {
+                break;
+            }
+            
+            queue.drainTo(batch, maximumBatchSize - 1);
+            batches.increment();
+            
+            for (PendingQuery pendingQuery : batch) {
+                QueryResult result = BatchSearch.search(pathfinder,
+                                                        graph,
+                                                        pendingQuery.query,
+                                                        heuristicFunction,
+                                                        searchContext);
+                long latency = System.nanoTime() - pendingQuery.startNanos;
+                totalLatencyNanos.add(latency);
+                maximumLatencyNanos.accumulate(latency);
+                completedQueries.increment();
+                
+                if (!result.isPathFound()) {
+                    failedQueries.increment();
+                }
+                
+                pendingQuery.future.complete(result);
+            }
+            
+            batch.clear();
+        }
+    }
+    
+    private void handlePath(HttpExchange exchange) throws IOException {
+        try {
+            if (!"GET".equals(exchange.getRequestMethod())) {
+                respond(exchange, HTTP_BAD_METHOD, error("Use GET."));
+                return;
+            }
+            
+            int source;
+            int target;
+            
+            try {
+                String query = exchange.getRequestURI().getRawQuery();
+                source = Integer.parseInt(getParameter(query, "source"));
+                target = Integer.parseInt(getParameter(query, "target"));
+            } catch (IllegalArgumentException ex) {
+                respond(exchange,
+                        HTTP_BAD_REQUEST,
+                        error("Expected integer parameters source and " +
+                              "target."));
+                return;
+            }
+            
+            CompletableFuture<QueryResult> future;
+            
+            try {
+                future = submit(source, target);
+            } catch (RejectedExecutionException ex) {
+                exchange.getResponseHeaders().set("Retry-After", "1");
+                respond(exchange, HTTP_UNAVAILABLE, error(ex.getMessage()));
+                return;
+            }
+            
+            QueryResult result;
+            
+            try {
+                result = future.get();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                respond(exchange,
+                        HTTP_UNAVAILABLE,
+                        error("The query was interrupted."));
+                return;
+            } catch (ExecutionException ex) {
+                respond(exchange,
+                        HTTP_UNAVAILABLE,
+                        error(ex.getCause().getMessage()));
+                return;
+            }
+            
+            if (result.isPathFound()) {
+                respond(exchange, HTTP_OK, toJson(source, target, result));
+            } else if (result.getFailure() instanceof PathNotFoundException) {
+                respond(exchange,
+                        HTTP_NOT_FOUND,
+                        error(result.getFailure().getMessage()));
+            } else if (result.getFailure()
+                    instanceof IllegalArgumentException) {
+                respond(exchange,
+                        HTTP_BAD_REQUEST,
+                        error(result.getFailure().getMessage()));
+            } else {
+                respond(exchange,
+                        HTTP_INTERNAL_ERROR,
+                        error(String.valueOf(result.getFailure())));
+            }
+        } finally {
+            exchange.close();
+        }
+    }
+    
+    private void handleStatistics(HttpExchange exchange) throws IOException {
+        try {
+            StringBuilder sb = new StringBuilder();
+            sb.append("{\"accepted\":").append(getAcceptedCount())
+              .append(",\"rejected\":").append(getRejectedCount())
+              .append(",\"completed\":").append(getCompletedCount())
+              .append(",\"failed\":").append(getFailedCount())
+              .append(",\"batches\":").append(getBatchCount())
+              .append(",\"averageBatchSize\":").append(getAverageBatchSize())
+              .append(",\"queued\":").append(queue.size())
+              .append(",\"averageLatencyNanos\":")
+              .append(getAverageLatencyNanos())
+              .append(",\"maximumLatencyNanos\":")
+              .append(getMaximumLatencyNanos())
+              .append(",\"throughput\":").append(getThroughput())
+              .append('}');
+            respond(exchange, HTTP_OK, sb.toString());
+        } finally {
+            exchange.close();
+        }
+    }
+    
+    private static String toJson(int source, int target, QueryResult result) {
+        StringBuilder sb = new StringBuilder();
+        sb.append("{\"source\":").append(source)
+          .append(",\"target\":").append(target)
+          .append(",\"path\":[");
+        
+        List<Integer> path = result.getPath();
+        
+        for (int i = 0; i < path.size(); ++i) {
+            if (i > 0) {
+                sb.append(',');
+            }
+            
+            sb.append(path.get(i));
+        }
+        
+        return sb.append("]}").toString();
+    }
+    
+    private static String error(String message) {
+        return "{\"error\":\"" +
+               String.valueOf(message).replace("\\", "\\\\")
+                                      .replace("\"", "\\\"") +
+               "\"}";
+    }
+    
+    private static void respond(HttpExchange exchange,
+                                int status,
+                                String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type",
+                                          "application/json; charset=utf-8");
+        exchange.sendResponseHeaders(status, bytes.length);
+        
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+    
+    /**
+     * Returns the value of the parameter {@code name} in the raw query
+     * string {@code query}.
+     * 
+     * @throws IllegalArgumentException if the parameter is missing.
+     */
+    private static String getParameter(String query, String name) {
+        if (query != null) {
+            for (String pair : query.split("&")) {
+                int equals = pair.indexOf('=');
+                
+                if (equals != -1 && pair.substring(0, equals).equals(name)) {
+                    return pair.substring(equals + 1);
+                }
+            }
+        }
+        
+        throw new IllegalArgumentException(
+                "The parameter " + name + " is missing.");
+    }
+    
+    /**
+     * Returns an executor starting a virtual thread per task if the running
+     * JVM supports them, and a cached thread pool otherwise.
+     */
+    private static ExecutorService newRequestExecutor() {
+        try {
+            Method factory = Executors.class.getMethod(
+                    "newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) factory.invoke(null);
+        } catch (ReflectiveOperationException ex) {
+            return Executors.newCachedThreadPool(runnable -> {
+                Thread thread = new Thread(runnable, "query-service-request");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+    
+    private static void checkPositive(int value, String what) {
+        if (value < 1) {
+            throw new IllegalArgumentException(
+                    what + " is not positive: " + value);
+        }
+    }
+    
+    /**
+     * A query waiting in the queue.
+     */
+    private static final class PendingQuery {
+        
+        final SearchQuery query;
+        final CompletableFuture<QueryResult> future =
+                new CompletableFuture<>();
+        final long startNanos = System.nanoTime();
+        
+        PendingQuery(SearchQuery query) {
+            this.query = query;
+        }
+        
+        void cancel() {
+            future.completeExceptionally(
+                    new RejectedExecutionException(
+                            "The query service is closed."));
+        }
+    }
+}
@@ -0,0 +1,326 @@
+package net.coderodde.graph.pathfinding.beamsearch;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * This class implements an indexed radix heap. Priorities are scaled to 
+ * integer keys by dividing by {@code resolution} and rounding down, and the
+ * heap relies on the keys being monotone: no key inserted may be smaller than
+ * the last extracted one. That holds for A*-style searches with a consistent
+ * heuristic function, and it makes each operation run in amortized time 
+ * proportional to the number of bits in a key instead of the logarithm of
+ * the heap size.
+ * <p>
+ * The nodes whose keys equal the last extracted key are kept in a binary 
+ * min-heap ordered by their exact priorities, so the nodes falling into the
+ * same integer key are still extracted in the exact priority order. A key
+ * smaller than the last extracted one is raised to it, and the node is then
+ * extracted before all the nodes with larger keys.
+ * 
+ * @author Rodion "rodde" Efremov
+ * @version 1.6 (Oct 16, 2026)
+ */
+public final class RadixHeapOpenList implements OpenList {
+    
+    /**
+     * Bucket {@code 0} holds the keys equal to the last extracted key, and 
+     * bucket {@code i > 0} holds the keys whose highest bit differing from the
+     * last extracted key is the bit {@code i - 1}. Bucket {@code 0} is a 
+     * binary min-heap by the exact priorities; the other buckets are 
+     * unordered.
+     */
+    private static final int NUMBER_OF_BUCKETS = Long.SIZE + 1;
+    
+    /**
+     * The initial length of each bucket.
+     */
+    private static final int INITIAL_BUCKET_CAPACITY = 8;
+    
+    /**
+     * The width of the priority range mapped to a single integer key.
+     */
+    private final double resolution;
+    
+    /**
+     * The nodes in each bucket.
+     */
+    private final int[][] buckets = new int[NUMBER_OF_BUCKETS][];
+    
+    /**
+     * The number of nodes in each bucket.
+     */
+    private final int[] bucketSizes = new int[NUMBER_OF_BUCKETS];
+    
+    /**
+     * {@code bucketIndices[u]} is the bucket holding the node {@code u}, or 
+     * {@code -1} if {@code u} is not in the heap.
+     */
+    private int[] bucketIndices = new int[0];
+    
+    /**
+     * {@code bucketPositions[u]} is the index of the node {@code u} in its 
+     * bucket, or in the heap of bucket {@code 0}.
+     */
+    private int[] bucketPositions = new int[0];
+    
+    /**
+     * {@code keys[u]} is the integer key of the node {@code u}.
+     */
+    private long[] keys = new long[0];
+    
+    /**
+     * {@code priorities[u]} is the exact priority of the node {@code u}.
+     */
+    private double[] priorities = new double[0];
+    
+    /**
+     * The last extracted key.
+     */
+    private long lastKey;
+    
+    /**
+     * The number of nodes in the heap.
+     */
+    private int size;
+    
+    public RadixHeapOpenList() {
+        this(1.0);
+    }
+    
+    /**
+     * Constructs a radix heap mapping each priority range of width 
+     * {@code resolution} to a single key.
+     * 
+     * @param resolution the width of the priority range of one key.
+     */
+    public RadixHeapOpenList(double resolution) {
+        if (!(resolution > 0.0) || Double.isInfinite(resolution)) {
+            throw new IllegalArgumentException(
+                    "The resolution must be positive and finite: " + 
+                    resolution);
+        }
+        
+        this.resolution = resolution;
+        
+        for (int i = 0; i < NUMBER_OF_BUCKETS; ++i) {
+            buckets[i] = new int[INITIAL_BUCKET_CAPACITY];
+        }
+    }
+    
+    @Override
+    public void ensureCapacity(int nodeCapacity) {
+        if (bucketIndices.length < nodeCapacity) {
+            int oldLength = bucketIndices.length;
+            bucketIndices   = Arrays.copyOf(bucketIndices, nodeCapacity);
+            bucketPositions = Arrays.copyOf(bucketPositions, nodeCapacity);
+            keys            = Arrays.copyOf(keys, nodeCapacity);
+            priorities      = Arrays.copyOf(priorities, nodeCapacity);
+            Arrays.fill(bucketIndices, oldLength, nodeCapacity, -1);
+        }
+    }
+    
+    @Override
+    public void insert(int node, double priority) {
+        if (bucketIndices[node] != -1) {
+            if (priority >= priorities[node]) {
+                return;
+            }
+            
+            removeFromBucket(node);
+            --size;
+        }
+        
+        long key = Math.max(lastKey, (long)(priority / resolution));
+        keys[node] = key;
+        priorities[node] = priority;
+        addToBucket(node, getBucketIndex(key));
+        ++size;
+    }
+    
+    @Override
+    public int extractMinimum() {
+        int node = peekMinimum();
+        removeFromBucket(node);
+        --size;
+        return node;
+    }
+    
+    @Override
+    public int peekMinimum() {
+        if (size == 0) {
+            throw new NoSuchElementException("The open list is empty.");
+        }
+        
+        if (bucketSizes[0] == 0) {
+            redistribute();
+        }
+        
+        return buckets[0][0];
+    }
+    
+    @Override
+    public double getMinimumPriority() {
+        return priorities[peekMinimum()];
+    }
+    
+    @Override
+    public int size() {
+        return size;
+    }
+    
+    @Override
+    public void clear() {
+        for (int i = 0; i < NUMBER_OF_BUCKETS; ++i) {
+            for (int j = 0; j < bucketSizes[i]; ++j) {
+                bucketIndices[buckets[i][j]] = -1;
+            }
+            
+            bucketSizes[i] = 0;
+        }
+        
+        lastKey = 0L;
+        size = 0;
+    }
+    
+    /**
+     * Advances the last extracted key to the smallest key in the first 
+     * non-empty bucket and spreads that bucket over the lower buckets. 
+     * Bucket {@code 0} is non-empty afterwards.
+     */
+    private void redistribute() {
+        int bucketIndex = 1;
+        
+        while (bucketSizes[bucketIndex] == 0) {
+            ++bucketIndex;
+        }
+        
+        int[] bucket = buckets[bucketIndex];
+        int bucketSize = bucketSizes[bucketIndex];
+        long minimumKey = Long.MAX_VALUE;
+        
+        for (int i = 0; i < bucketSize; ++i) {
+            minimumKey = Math.min(minimumKey, keys[bucket[i]]);
+        }
+        
+        lastKey = minimumKey;
+        bucketSizes[bucketIndex] = 0;
+        
+        for (int i = 0; i < bucketSize; ++i) {
+            int node = bucket[i];
+            addToBucket(node, getBucketIndex(keys[node]));
+        }
+    }
+    
+    private int getBucketIndex(long key) {
+        return key == lastKey ? 
+                0 : 
+                Long.SIZE - Long.numberOfLeadingZeros(key ^ lastKey);
+    }
+    
+    private void addToBucket(int node, int bucketIndex) {
+        int bucketSize = bucketSizes[bucketIndex];
+        
+        if (bucketSize == buckets[bucketIndex].length) {
+            buckets[bucketIndex] = Arrays.copyOf(buckets[bucketIndex], 
+                                                 2 * bucketSize);
+        }
+        
+        bucketSizes[bucketIndex] = bucketSize + 1;
+        bucketIndices[node] = bucketIndex;
+        
+        if (bucketIndex == 0) {
+            siftUp(bucketSize, node);
+        } else {
+            place(bucketIndex, bucketSize, node);
+        }
+    }
+    
+    /**
+     * Removes {@code node} from its bucket by moving the last node of the 
+     * bucket into its place, and restores the heap order if the bucket is
+     * bucket {@code 0}.
+     */
+    private void removeFromBucket(int node) {
+        int bucketIndex = bucketIndices[node];
+        int position = bucketPositions[node];
+        int lastPosition = --bucketSizes[bucketIndex];
+        int lastNode = buckets[bucketIndex][lastPosition];
+        bucketIndices[node] = -1;
+        
+        if (position == lastPosition) {
+            return;
+        }
+        
+        if (bucketIndex != 0) {
+            place(bucketIndex, position, lastNode);
+        } else if (position > 0 && 
+                   priorities[buckets[0][(position - 1) / 2]] > 
+                   priorities[lastNode]) {
+            siftUp(position, lastNode);
+        } else {
+            siftDown(position, lastNode);
+        }
+    }
+    
+    /**
+     * Moves {@code node}, to be placed at {@code position} of the heap of 
+     * bucket {@code 0}, up until its parent is not larger.
+     */
+    private void siftUp(int position, int node) {
+        double priority = priorities[node];
+        
+        while (position > 0) {
+            int parentPosition = (position - 1) / 2;
+            int parentNode = buckets[0][parentPosition];
+            
+            if (priorities[parentNode] <= priority) {
+                break;
+            }
+            
+            place(0, position, parentNode);
+            position = parentPosition;
+        }
+        
+        place(0, position, node);
+    }
+    
+    /**
+     * Moves {@code node}, to be placed at {@code position} of the heap of 
+     * bucket {@code 0}, down until no child is smaller.
+     */
+    private void siftDown(int position, int node) {
+        double priority = priorities[node];
+        int heapSize = bucketSizes[0];
+        
+        while (true) {
+            int childPosition = 2 * position + 1;
+            
+            if (childPosition >= heapSize) {
+                break;
+            }
+            
+            if (childPosition + 1 < heapSize && 
+                    priorities[buckets[0][childPosition + 1]] < 
+                    priorities[buckets[0][childPosition]]) {
+                ++childPosition;
+            }
+            
+            int childNode = buckets[0][childPosition];
+            
+            if (priorities[childNode] >= priority) {
+                break;
+            }
+            
+            place(0, position, childNode);
+            position = childPosition;
+        }
+        
+        place(0, position, node);
+    }
+    
+    private void place(int bucketIndex, int position, int node) {
+        buckets[bucketIndex][position] = node;
+        bucketPositions[node] = position;
+    }
+}
@@ -0,0 +1,102 @@
+package net.coderodde.graph.pathfinding.beamsearch;
+
+import java.util.List;
+
+/**
+ * This class tracks the {@link SearchLimits} of one anytime search across 
+ * all its rounds. The searches call {@link #tryExpand()} before each node 
+ * expansion, and when it fails, record the most promising partial path with
+ * {@link #setPartialPath(List, double, double)} and return {@code null}.
+ * 
+ * @author Rodion "rodde" Efremov
+ * @version 1.6 (Oct 16, 2026)
+ */
+final class SearchBudget {
+    
+    /**
+     * The clock is read once per this many expansions plus one.
+     */
+    private static final long DEADLINE_CHECK_MASK = 63L;
+    
+    private final boolean hasDeadline;
+    private final long deadline;
+    private final long maximumExpansions;
+    private final CancellationToken cancellationToken;
+    
+    /**
+     * The number of expansions done so far.
+     */
+    private long expansions;
+    
+    /**
+     * The reason the search was stopped, or {@code null} if it was not.
+     */
+    private AnytimeResult.Termination termination;
+    
+    private List<Integer> partialPath;
+    private double partialPathLength;
+    private double partialLowerBound;
+    
+    SearchBudget(SearchLimits limits) {
+        this.hasDeadline = limits.getTimeoutNanos() != Long.MAX_VALUE;
+        this.deadline = System.nanoTime() + limits.getTimeoutNanos();
+        this.maximumExpansions = limits.getMaximumExpansions();
+        this.cancellationToken = limits.getCancellationToken();
+    }
+    
+    /**
+     * Counts one expansion, or returns {@code false} if a limit has been 
+     * reached.
+     */
+    boolean tryExpand() {
+        if (termination != null) {
+            return false;
+        }
+        
+        if (expansions >= maximumExpansions) {
+            termination = AnytimeResult.Termination.EXPANSION_BUDGET;
+        } else if (cancellationToken != null 
+                && cancellationToken.isCancelled()) {
+            termination = AnytimeResult.Termination.CANCELLED;
+        } else if (hasDeadline
+                && (expansions & DEADLINE_CHECK_MASK) == 0L
+                && System.nanoTime() - deadline >= 0L) {
+            termination = AnytimeResult.Termination.DEADLINE;
+        }
+        
+        if (termination != null) {
+            return false;
+        }
+        
+        ++expansions;
+        return true;
+    }
+    
+    long getExpansions() {
+        return expansions;
+    }
+    
+    AnytimeResult.Termination getTermination() {
+        return termination;
+    }
+    
+    void setPartialPath(List<Integer> path, 
+                        double pathLength, 
+                        double lowerBound) {
+        this.partialPath       = path;
+        this.partialPathLength = pathLength;
+        this.partialLowerBound = lowerBound;
+    }
+    
+    List<Integer> getPartialPath() {
+        return partialPath;
+    }
+    
+    double getPartialPathLength() {
+        return partialPathLength;
+    }
+    
+    double getPartialLowerBound() {
+        return partialLowerBound;
+    }
+}
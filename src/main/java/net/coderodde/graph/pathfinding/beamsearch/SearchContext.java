@@ -0,0 +1,312 @@
+package net.coderodde.graph.pathfinding.beamsearch;
+
+import java.util.Objects;
+import java.util.function.Supplier;
+
+/**
+ * This class holds all the working memory a search over a 
+ * {@link CompactGraph} needs. A caller may keep a context and pass it to
+ * consecutive queries: the arrays grow to the size of the largest graph 
+ * searched and are then reused. A context is not thread-safe; keep one per 
+ * thread.
+ * <p>
+ * The context also decides which {@link OpenList} implementation the query
+ * runs on. Unless told otherwise, it uses {@link PriorityQueueOpenList}, 
+ * which allocates an entry per insertion. With an indexed open list such as
+ * {@link DaryHeapOpenList}, a steady-state query allocates nothing but its 
+ * result path.
+ * 
+ * @author Rodion "rodde" Efremov
+ * @version 1.6 (Oct 16, 2026)
+ */
+public final class SearchContext {
+    
+    /**
+     * The number of the open lists of the bounded-suboptimal searches.
+     */
+    private static final int BOUNDED_SEARCH_LISTS = 3;
+    
+    /**
+     * Creates the open lists of the search states.
+     */
+    private Supplier<? extends OpenList> openListFactory;
+    
+    /**
+     * The state of the forward search.
+     */
+    private SearchState forwardState;
+    
+    /**
+     * The state of the backward search. Created on first use.
+     */
+    private SearchState backwardState;
+    
+    /**
+     * Selects the successor arcs of the expanded nodes for the beam.
+     */
+    final SuccessorSelector successorSelector = new SuccessorSelector();
+    
+    /**
+     * Selects the successor arcs for the backward direction when it runs 
+     * concurrently with the forward one. Created on first use.
+     */
+    private SuccessorSelector backwardSuccessorSelector;
+    
+    /**
+     * The frontiers published by the concurrent bidirectional search. 
+     * Created on first use.
+     */
+    private SharedFrontier forwardFrontier;
+    private SharedFrontier backwardFrontier;
+    
+    /**
+     * The open lists of the bounded-suboptimal searches. Created on first 
+     * use.
+     */
+    private OpenList[] boundedSearchLists;
+    
+    /**
+     * The statistics filled in by the queries, or {@code null}.
+     */
+    private SearchStatistics statistics;
+    
+    /**
+     * Collects the counts of the backward direction of a concurrent search 
+     * before they are merged into {@link #statistics}.
+     */
+    private SearchStatistics backwardStatistics;
+    
+    /**
+     * The listener notified by the queries, or {@code null}.
+     */
+    private SearchListener searchListener;
+    
+    public SearchContext() {
+        this(PriorityQueueOpenList::new);
+    }
+    
+    /**
+     * Constructs a context whose searches use the open lists created by 
+     * {@code openListFactory}.
+     * 
+     * @param openListFactory the open list factory.
+     */
+    public SearchContext(Supplier<? extends OpenList> openListFactory) {
+        setOpenListFactory(openListFactory);
+    }
+    
+    /**
+     * Constructs a context with memory preallocated for the graphs with at
+     * most {@code nodeCapacity} node IDs.
+     * 
+     * @param nodeCapacity    the number of node IDs to preallocate for.
+     * @param openListFactory the open list factory.
+     */
+    public SearchContext(int nodeCapacity, 
+                         Supplier<? extends OpenList> openListFactory) {
+        this(openListFactory);
+        
+        if (nodeCapacity < 0) {
+            throw new IllegalArgumentException(
+                    "The node capacity is negative: " + nodeCapacity);
+        }
+        
+        forwardState.ensureCapacity(nodeCapacity);
+    }
+    
+    /**
+     * Switches the open list implementation used by the subsequent queries.
+     * 
+     * @param openListFactory the open list factory.
+     */
+    public void setOpenListFactory(
+            Supplier<? extends OpenList> openListFactory) {
+        this.openListFactory = 
+                Objects.requireNonNull(openListFactory, 
+                                       "The open list factory is null.");
+        
+        if (forwardState == null) {
+            forwardState = new SearchState(openListFactory.get());
+        } else {
+            forwardState.open = openListFactory.get();
+        }
+        
+        if (backwardState != null) {
+            backwardState.open = openListFactory.get();
+        }
+    }
+    
+    /**
+     * Returns the statistics attached to this context, or {@code null}.
+     * 
+     * @return the statistics or {@code null}.
+     */
+    public SearchStatistics getStatistics() {
+        return statistics;
+    }
+    
+    /**
+     * Attaches {@code statistics} to this context, or detaches the current 
+     * statistics if {@code null} is passed. While attached, each query run 
+     * on this context resets them and counts its work in them.
+     * 
+     * @param statistics the statistics to fill in, or {@code null}.
+     */
+    public void setStatistics(SearchStatistics statistics) {
+        this.statistics = statistics;
+    }
+    
+    public SearchListener getSearchListener() {
+        return searchListener;
+    }
+    
+    /**
+     * Attaches {@code searchListener} to this context, or detaches the 
+     * current listener if {@code null} is passed.
+     * 
+     * @param searchListener the listener to notify, or {@code null}.
+     */
+    public void setSearchListener(SearchListener searchListener) {
+        this.searchListener = searchListener;
+    }
+    
+    /**
+     * Resets the attached statistics and tells the attached listener that a
+     * query starts.
+     */
+    void startQuery(int sourceNode, int targetNode) {
+        if (statistics != null) {
+            statistics.reset();
+        }
+        
+        if (searchListener != null) {
+            searchListener.onSearchStarted(sourceNode, targetNode);
+        }
+    }
+    
+    /**
+     * Tells the attached listener that the query is over.
+     */
+    void finishQuery(boolean pathFound) {
+        if (searchListener != null) {
+            searchListener.onSearchFinished(pathFound, statistics);
+        }
+    }
+    
+    /**
+     * Returns the statistics the backward direction of a concurrent search
+     * counts in, or {@code null} if no statistics are attached.
+     */
+    SearchStatistics getBackwardStatistics() {
+        if (statistics == null) {
+            return null;
+        }
+        
+        if (backwardStatistics == null) {
+            backwardStatistics = new SearchStatistics();
+        }
+        
+        backwardStatistics.reset();
+        return backwardStatistics;
+    }
+    
+    /**
+     * Prepares the forward state for a new query on {@code graph}.
+     * 
+     * @param graph the graph to be searched.
+     * @return the forward state.
+     */
+    SearchState getForwardState(CompactGraph graph) {
+        return getForwardState(graph.getNodeCapacity());
+    }
+    
+    /**
+     * Prepares the forward state for a new query over the node IDs below
+     * {@code nodeCapacity}.
+     * 
+     * @param nodeCapacity the node capacity of the searched structure.
+     * @return the forward state.
+     */
+    SearchState getForwardState(int nodeCapacity) {
+        forwardState.ensureCapacity(nodeCapacity);
+        forwardState.reset();
+        return forwardState;
+    }
+    
+    /**
+     * Prepares the backward state for a new query on {@code graph}.
+     * 
+     * @param graph the graph to be searched.
+     * @return the backward state.
+     */
+    SearchState getBackwardState(CompactGraph graph) {
+        return getBackwardState(graph.getNodeCapacity());
+    }
+    
+    /**
+     * Prepares the backward state for a new query over the node IDs below
+     * {@code nodeCapacity}.
+     * 
+     * @param nodeCapacity the node capacity of the searched structure.
+     * @return the backward state.
+     */
+    SearchState getBackwardState(int nodeCapacity) {
+        if (backwardState == null) {
+            backwardState = new SearchState(openListFactory.get());
+        }
+        
+        backwardState.ensureCapacity(nodeCapacity);
+        backwardState.reset();
+        return backwardState;
+    }
+    
+    SuccessorSelector getBackwardSuccessorSelector() {
+        if (backwardSuccessorSelector == null) {
+            backwardSuccessorSelector = new SuccessorSelector();
+        }
+        
+        return backwardSuccessorSelector;
+    }
+    
+    /**
+     * Returns the {@code index}th open list of the bounded-suboptimal 
+     * searches, emptied and sized for the node IDs below 
+     * {@code nodeCapacity}. The lists are indexed heaps whatever the open 
+     * list factory, so inserting a node already in a list only ever lowers
+     * its priority.
+     * 
+     * @param index        the index of the list.
+     * @param nodeCapacity the node capacity of the searched structure.
+     * @return the open list.
+     */
+    OpenList getBoundedSearchList(int index, int nodeCapacity) {
+        if (boundedSearchLists == null) {
+            boundedSearchLists = new OpenList[BOUNDED_SEARCH_LISTS];
+        }
+        
+        if (boundedSearchLists[index] == null) {
+            boundedSearchLists[index] = new DaryHeapOpenList();
+        }
+        
+        OpenList list = boundedSearchLists[index];
+        list.ensureCapacity(nodeCapacity);
+        list.clear();
+        return list;
+    }
+    
+    SharedFrontier getForwardFrontier() {
+        if (forwardFrontier == null) {
+            forwardFrontier = new SharedFrontier();
+        }
+        
+        return forwardFrontier;
+    }
+    
+    SharedFrontier getBackwardFrontier() {
+        if (backwardFrontier == null) {
+            backwardFrontier = new SharedFrontier();
+        }
+        
+        return backwardFrontier;
+    }
+}
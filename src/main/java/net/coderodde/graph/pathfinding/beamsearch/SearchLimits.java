@@ -0,0 +1,90 @@
+package net.coderodde.graph.pathfinding.beamsearch;
+
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This class holds the limits of an anytime search: a timeout measured from 
+ * the start of the search, a maximum number of node expansions and an 
+ * optional cancellation token. The search stops as soon as any of them is 
+ * reached.
+ * 
+ * @author Rodion "rodde" Efremov
+ * @version 1.6 (Oct 16, 2026)
+ */
+public final class SearchLimits {
+    
+    /**
+     * The limits that never stop a search.
+     */
+    public static final SearchLimits NONE = 
+            new SearchLimits(Long.MAX_VALUE, 
+                             TimeUnit.NANOSECONDS, 
+                             Long.MAX_VALUE, 
+                             null);
+    
+    /**
+     * The timeout in nanoseconds, or {@link Long#MAX_VALUE} for none.
+     */
+    private final long timeoutNanos;
+    
+    /**
+     * The maximum number of node expansions.
+     */
+    private final long maximumExpansions;
+    
+    /**
+     * The cancellation token, or {@code null}.
+     */
+    private final CancellationToken cancellationToken;
+    
+    public SearchLimits(long timeout, TimeUnit unit) {
+        this(timeout, unit, Long.MAX_VALUE, null);
+    }
+    
+    /**
+     * Constructs the search limits.
+     * 
+     * @param timeout           the time the search may take. 
+     *                          {@link Long#MAX_VALUE} means no timeout.
+     * @param unit              the unit of {@code timeout}.
+     * @param maximumExpansions the maximum number of node expansions. 
+     *                          {@link Long#MAX_VALUE} means no limit.
+     * @param cancellationToken the cancellation token, or {@code null}.
+     */
+    public SearchLimits(long timeout, 
+                        TimeUnit unit,
+                        long maximumExpansions,
+                        CancellationToken cancellationToken) {
+        Objects.requireNonNull(unit, "The time unit is null.");
+        
+        if (timeout < 0L) {
+            throw new IllegalArgumentException(
+                    "The timeout is negative: " + timeout);
+        }
+        
+        if (maximumExpansions < 0L) {
+            throw new IllegalArgumentException(
+                    "The maximum number of expansions is negative: " + 
+                    maximumExpansions);
+        }
+        
+        this.timeoutNanos = timeout == Long.MAX_VALUE ? 
+                            Long.MAX_VALUE : 
+                            unit.toNanos(timeout);
+        this.maximumExpansions = maximumExpansions;
+        this.cancellationToken = cancellationToken;
+    }
+    
+    public long getTimeoutNanos() {
+        return timeoutNanos;
+    }
+    
+    public long getMaximumExpansions() {
+        return maximumExpansions;
+    }
+    
+    public CancellationToken getCancellationToken() {
+        return cancellationToken;
+    }
+}
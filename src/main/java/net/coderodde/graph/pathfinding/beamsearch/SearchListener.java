@@ -0,0 +1,47 @@
+package net.coderodde.graph.pathfinding.beamsearch;
+
+/**
+ * This interface defines the callbacks a search running on a 
+ * {@link SearchContext} makes to the listener attached to the context. All 
+ * the methods do nothing by default. The callbacks run on the search thread,
+ * in the middle of the search, so they should return quickly. In a 
+ * concurrent bidirectional search, the backward direction calls 
+ * {@link #onNodeExpanded(int, double)} and
+ * {@link #onTouchNodeUpdated(int, double)} from its own thread.
+ * 
+ * @author Rodion "rodde" Efremov
+ * @version 1.6 (Oct 16, 2026)
+ */
+public interface SearchListener {
+    
+    public default void onSearchStarted(int sourceNode, int targetNode) {}
+    
+    /**
+     * Called after {@code node} is closed and before its successors are 
+     * generated.
+     * 
+     * @param node     the expanded node.
+     * @param distance the distance of {@code node} from the start node of 
+     *                 its search direction.
+     */
+    public default void onNodeExpanded(int node, double distance) {}
+    
+    /**
+     * Called when a bidirectional search finds a shorter path through the
+     * meeting node {@code touchNode}.
+     * 
+     * @param touchNode  the new meeting node.
+     * @param pathLength the length of the path through {@code touchNode}.
+     */
+    public default void onTouchNodeUpdated(int touchNode, double pathLength) {}
+    
+    /**
+     * Called when the search returns or gives up.
+     * 
+     * @param pathFound  whether a path was found.
+     * @param statistics the statistics of the query, or {@code null} if no
+     *                   statistics are attached to the context.
+     */
+    public default void onSearchFinished(boolean pathFound, 
+                                         SearchStatistics statistics) {}
+}
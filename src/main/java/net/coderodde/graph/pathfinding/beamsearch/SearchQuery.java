@@ -0,0 +1,51 @@
+package net.coderodde.graph.pathfinding.beamsearch;
+
+/**
+ * This class represents an immutable pair of a source node and a target node
+ * in a batch of queries.
+ * 
+ * @author Rodion "rodde" Efremov
+ * @version 1.6 (Oct 16, 2026)
+ */
+public final class SearchQuery {
+    
+    private final int source;
+    private final int target;
+    
+    public SearchQuery(int source, int target) {
+        this.source = source;
+        this.target = target;
+    }
+    
+    public int getSource() {
+        return source;
+    }
+    
+    public int getTarget() {
+        return target;
+    }
+    
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        
+        if (!(o instanceof SearchQuery)) {
+            return false;
+        }
+        
+        SearchQuery other = (SearchQuery) o;
+        return source == other.source && target == other.target;
+    }
+    
+    @Override
+    public int hashCode() {
+        return 31 * source + target;
+    }
+    
+    @Override
+    public String toString() {
+        return "(" + source + " -> " + target + ")";
+    }
+}
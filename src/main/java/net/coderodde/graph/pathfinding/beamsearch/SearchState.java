@@ -0,0 +1,144 @@
+package net.coderodde.graph.pathfinding.beamsearch;
+
+import java.util.Arrays;
+
+/**
+ * This class holds the state of one search direction: the open list and the
+ * dense distance, parent and closed arrays indexed by node IDs. The arrays
+ * are not cleared between the queries. Instead, each entry carries the 
+ * generation it was written in, and {@link #reset()} just starts a new 
+ * generation, which makes all the old entries stale in constant time.
+ * 
+ * @author Rodion "rodde" Efremov
+ * @version 1.6 (Oct 16, 2026)
+ */
+final class SearchState {
+    
+    /**
+     * The open list.
+     */
+    OpenList open;
+    
+    /**
+     * {@code distances[u]} is valid only if {@code visited[u]} equals the 
+     * current generation.
+     */
+    double[] distances = new double[0];
+    
+    /**
+     * {@code parents[u]} is valid only if {@code visited[u]} equals the 
+     * current generation. The source node has the parent {@code -1}.
+     */
+    int[] parents = new int[0];
+    
+    /**
+     * The generation in which each node was last reached.
+     */
+    private int[] visited = new int[0];
+    
+    /**
+     * The generation in which each node was last closed.
+     */
+    private int[] closed = new int[0];
+    
+    /**
+     * The current generation.
+     */
+    private int generation = 1;
+    
+    /**
+     * The number of nodes closed in the current generation.
+     */
+    private int closedSize;
+    
+    SearchState(OpenList open) {
+        this.open = open;
+    }
+    
+    void ensureCapacity(int nodeCapacity) {
+        open.ensureCapacity(nodeCapacity);
+        
+        if (visited.length < nodeCapacity) {
+            distances = new double[nodeCapacity];
+            parents   = new int[nodeCapacity];
+            visited   = new int[nodeCapacity];
+            closed    = new int[nodeCapacity];
+        }
+    }
+    
+    /**
+     * Forgets everything written in the previous generation. Runs in constant
+     * time, except once per 2^32 resets when the stamps wrap around.
+     */
+    void reset() {
+        open.clear();
+        closedSize = 0;
+        
+        if (++generation == 0) {
+            Arrays.fill(visited, 0);
+            Arrays.fill(closed, 0);
+            generation = 1;
+        }
+    }
+    
+    boolean isVisited(int node) {
+        return visited[node] == generation;
+    }
+    
+    double getDistance(int node) {
+        return visited[node] == generation ? 
+                distances[node] : 
+                Double.POSITIVE_INFINITY;
+    }
+    
+    void setDistance(int node, double distance, int parent) {
+        visited[node]   = generation;
+        distances[node] = distance;
+        parents[node]   = parent;
+    }
+    
+    /**
+     * Forgets the nodes the open list dropped since the last call, except 
+     * {@code keptNode}, so that they may be reached again. A dropped node is
+     * never closed, so no other node has it as its parent.
+     * 
+     * @param keptNode the node to remember even if dropped, or {@code -1}.
+     * @return the number of the dropped nodes.
+     */
+    int forgetDropped(int keptNode) {
+        int count = 0;
+        int node;
+        
+        while ((node = open.pollDropped()) != -1) {
+            if (node != keptNode) {
+                visited[node] = 0;
+            }
+            
+            ++count;
+        }
+        
+        return count;
+    }
+    
+    boolean isClosed(int node) {
+        return closed[node] == generation;
+    }
+    
+    void close(int node) {
+        closed[node] = generation;
+        ++closedSize;
+    }
+    
+    /**
+     * Makes the closed {@code node} open again, for the searches that 
+     * reexpand a node once a shorter path to it is found.
+     */
+    void reopen(int node) {
+        closed[node] = 0;
+        --closedSize;
+    }
+    
+    int getClosedSize() {
+        return closedSize;
+    }
+}
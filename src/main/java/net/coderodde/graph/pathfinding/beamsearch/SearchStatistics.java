@@ -0,0 +1,157 @@
+package net.coderodde.graph.pathfinding.beamsearch;
+
+/**
+ * This class counts the work done by a single query. Attach an instance to a
+ * {@link SearchContext} to have the searches running on the context fill it 
+ * in; it is reset at the beginning of each query and holds the counts of the
+ * last query afterwards. Without an attached instance, nothing is counted.
+ * 
+ * @author Rodion "rodde" Efremov
+ * @version 1.6 (Oct 16, 2026)
+ */
+public final class SearchStatistics {
+    
+    long expandedNodes;
+    long heapPushes;
+    long heapPops;
+    long stalePops;
+    long heuristicEvaluations;
+    long prunedSuccessors;
+    long touchNodeUpdates;
+    long droppedNodes;
+    int peakOpenSize;
+    int peakClosedSize;
+    
+    /**
+     * Returns the number of the nodes expanded, that is, closed and having
+     * their successors generated.
+     * 
+     * @return the number of expanded nodes.
+     */
+    public long getExpandedNodes() {
+        return expandedNodes;
+    }
+    
+    public long getHeapPushes() {
+        return heapPushes;
+    }
+    
+    public long getHeapPops() {
+        return heapPops;
+    }
+    
+    /**
+     * Returns the number of the open list entries popped only to be found
+     * closed already.
+     * 
+     * @return the number of stale pops.
+     */
+    public long getStalePops() {
+        return stalePops;
+    }
+    
+    public long getHeuristicEvaluations() {
+        return heuristicEvaluations;
+    }
+    
+    /**
+     * Returns the number of the successors left out by the beam.
+     * 
+     * @return the number of pruned successors.
+     */
+    public long getPrunedSuccessors() {
+        return prunedSuccessors;
+    }
+    
+    /**
+     * Returns the number of times a bidirectional search improved its best
+     * meeting node.
+     * 
+     * @return the number of touch node updates.
+     */
+    public long getTouchNodeUpdates() {
+        return touchNodeUpdates;
+    }
+    
+    /**
+     * Returns the number of the frontier nodes dropped by a bounded open 
+     * list.
+     * 
+     * @return the number of dropped nodes.
+     */
+    public long getDroppedNodes() {
+        return droppedNodes;
+    }
+    
+    /**
+     * Returns the largest open list size seen, summed over both directions 
+     * in a bidirectional search.
+     * 
+     * @return the peak open list size.
+     */
+    public int getPeakOpenSize() {
+        return peakOpenSize;
+    }
+    
+    /**
+     * Returns the largest number of closed nodes seen, summed over both 
+     * directions in a bidirectional search.
+     * 
+     * @return the peak closed size.
+     */
+    public int getPeakClosedSize() {
+        return peakClosedSize;
+    }
+    
+    /**
+     * Zeroes all the counts.
+     */
+    public void reset() {
+        expandedNodes        = 0L;
+        heapPushes           = 0L;
+        heapPops             = 0L;
+        stalePops            = 0L;
+        heuristicEvaluations = 0L;
+        prunedSuccessors     = 0L;
+        touchNodeUpdates     = 0L;
+        droppedNodes         = 0L;
+        peakOpenSize         = 0;
+        peakClosedSize       = 0;
+    }
+    
+    void updatePeaks(int openSize, int closedSize) {
+        peakOpenSize   = Math.max(peakOpenSize, openSize);
+        peakClosedSize = Math.max(peakClosedSize, closedSize);
+    }
+    
+    /**
+     * Adds the counts of {@code other} to this one. The peaks are summed, 
+     * since the two directions of a concurrent search grow at the same time.
+     */
+    void add(SearchStatistics other) {
+        expandedNodes        += other.expandedNodes;
+        heapPushes           += other.heapPushes;
+        heapPops             += other.heapPops;
+        stalePops            += other.stalePops;
+        heuristicEvaluations += other.heuristicEvaluations;
+        prunedSuccessors     += other.prunedSuccessors;
+        touchNodeUpdates     += other.touchNodeUpdates;
+        droppedNodes         += other.droppedNodes;
+        peakOpenSize         += other.peakOpenSize;
+        peakClosedSize       += other.peakClosedSize;
+    }
+    
+    @Override
+    public String toString() {
+        return "[expandedNodes = " + expandedNodes +
+               ", heapPushes = " + heapPushes +
+               ", heapPops = " + heapPops +
+               ", stalePops = " + stalePops +
+               ", heuristicEvaluations = " + heuristicEvaluations +
+               ", prunedSuccessors = " + prunedSuccessors +
+               ", touchNodeUpdates = " + touchNodeUpdates +
+               ", droppedNodes = " + droppedNodes +
+               ", peakOpenSize = " + peakOpenSize +
+               ", peakClosedSize = " + peakClosedSize + "]";
+    }
+}
@@ -0,0 +1,78 @@
+package net.coderodde.graph.pathfinding.beamsearch;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * This class publishes the progress of one direction of a concurrent 
+ * bidirectional search to the thread running the other direction: which 
+ * nodes are closed and at what distance, and which node is on top of the 
+ * open list. A node's distance is written before its closed stamp, so a 
+ * thread seeing a node closed also sees its final distance. Only the owning 
+ * thread writes; both threads read without locking.
+ * 
+ * @author Rodion "rodde" Efremov
+ * @version 1.6 (Oct 16, 2026)
+ */
+final class SharedFrontier {
+    
+    /**
+     * The generation in which each node was last closed.
+     */
+    private AtomicIntegerArray closed = new AtomicIntegerArray(0);
+    
+    /**
+     * The raw bits of the distances of the closed nodes.
+     */
+    private AtomicLongArray distances = new AtomicLongArray(0);
+    
+    /**
+     * The current generation. Written only between the queries.
+     */
+    private int generation;
+    
+    /**
+     * The node on top of the open list of the owning direction.
+     */
+    volatile int topNode;
+    
+    /**
+     * The priority of {@link #topNode}, or positive infinity if the open list
+     * of the owning direction is exhausted.
+     */
+    volatile double topPriority;
+    
+    /**
+     * Prepares this frontier for a new query. Must be called before the
+     * search threads are started. The start node is published closed at
+     * distance zero right away, so the other direction meets it even if the
+     * owning thread starts late or never gets to expand it.
+     */
+    void reset(int nodeCapacity, int startNode, double startPriority) {
+        if (closed.length() < nodeCapacity || ++generation == 0) {
+            closed = new AtomicIntegerArray(nodeCapacity);
+            distances = new AtomicLongArray(nodeCapacity);
+            generation = 1;
+        }
+
+        publishClosed(startNode, 0.0);
+        topNode = startNode;
+        topPriority = startPriority;
+    }
+    
+    void publishClosed(int node, double distance) {
+        distances.set(node, Double.doubleToRawLongBits(distance));
+        closed.set(node, generation);
+    }
+    
+    boolean isClosed(int node) {
+        return closed.get(node) == generation;
+    }
+    
+    /**
+     * Returns the distance of a node this frontier reports closed.
+     */
+    double getClosedDistance(int node) {
+        return Double.longBitsToDouble(distances.get(node));
+    }
+}
@@ -0,0 +1,519 @@
+package net.coderodde.graph.pathfinding.beamsearch;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * This class implements a static two-dimensional k-d tree over the nodes of
+ * a {@link DenseCoordinates}, used to snap the points to their nearest
+ * nodes. The tree is implicit: the nodes are permuted so that the median of
+ * every range {@code [from, to)} sits at its middle position, with the
+ * smaller coordinates to the left and the larger ones to the right, and the
+ * splitting axis alternates between x and y by the depth. The tree takes no
+ * memory besides the permuted node IDs and their coordinates.
+ * <p>
+ * The index is a snapshot: the later changes of the coordinates are not seen
+ * by it. It is immutable and may be shared between threads.
+ * <p>
+ * The {@code search} methods snap the query points to their nearest nodes
+ * and pass the nodes to a {@link Pathfinder}, which itself knows only the
+ * node IDs.
+ * 
+ * @author Rodion "rodde" Efremov
+ * @version 1.6 (Oct 16, 2026)
+ */
+public final class SpatialIndex {
+    
+    /**
+     * The node IDs in the tree order.
+     */
+    private final int[] nodes;
+    
+    /**
+     * {@code xs[i]} is the x-coordinate of {@code nodes[i]}.
+     */
+    private final double[] xs;
+    
+    /**
+     * {@code ys[i]} is the y-coordinate of {@code nodes[i]}.
+     */
+    private final double[] ys;
+    
+    /**
+     * Builds the index of all the nodes in {@code coordinates}.
+     * 
+     * @param coordinates the coordinates of the nodes.
+     */
+    public SpatialIndex(Coordinates coordinates) {
+        this(Objects.requireNonNull(coordinates, "The coordinates are null.")
+                    .toDenseCoordinates());
+    }
+    
+    /**
+     * Builds the index of all the nodes with coordinates in
+     * {@code coordinates}.
+     * 
+     * @param coordinates the coordinates of the nodes.
+     */
+    public SpatialIndex(DenseCoordinates coordinates) {
+        Objects.requireNonNull(coordinates, "The coordinates are null.");
+        int nodeCapacity = coordinates.getNodeCapacity();
+        int size = 0;
+        
+        for (int node = 0; node < nodeCapacity; ++node) {
+            if (coordinates.hasNode(node)) {
+                ++size;
+            }
+        }
+        
+        nodes = new int[size];
+        xs = new double[size];
+        ys = new double[size];
+        size = 0;
+        
+        for (int node = 0; node < nodeCapacity; ++node) {
+            if (coordinates.hasNode(node)) {
+                nodes[size] = node;
+                xs[size] = coordinates.getX(node);
+                ys[size] = coordinates.getY(node);
+                ++size;
+            }
+        }
+        
+        build(0, size, true);
+    }
+    
+    /**
+     * Returns the number of the indexed nodes.
+     * 
+     * @return the number of nodes.
+     */
+    public int size() {
+        return nodes.length;
+    }
+    
+    /**
+     * Returns the node nearest to the point {@code (x, y)}, or {@code -1} if
+     * the index is empty. The ties go to any of the nearest nodes.
+     * 
+     * @param x the x-coordinate of the point.
+     * @param y the y-coordinate of the point.
+     * @return the nearest node or {@code -1}.
+     */
+    public int nearest(double x, double y) {
+        int[] nearestNodes = nearest(x, y, 1);
+        return nearestNodes.length == 0 ? -1 : nearestNodes[0];
+    }
+    
+    /**
+     * Returns the {@code k} nodes nearest to the point {@code (x, y)}, the
+     * nearest first. Returns all the nodes if there are fewer than
+     * {@code k}.
+     * 
+     * @param x the x-coordinate of the point.
+     * @param y the y-coordinate of the point.
+     * @param k the number of nodes to return.
+     * @return the nearest nodes.
+     */
+    public int[] nearest(double x, double y, int k) {
+        checkPoint(x, y);
+        
+        if (k < 0) {
+            throw new IllegalArgumentException(
+                    "The number of nodes is negative: " + k);
+        }
+        
+        NeighbourHeap heap = new NeighbourHeap(Math.min(k, nodes.length));
+        
+        if (heap.capacity > 0) {
+            nearest(0, nodes.length, true, x, y, heap);
+        }
+        
+        return heap.toSortedNodes();
+    }
+    
+    /**
+     * Returns the nodes within {@code radius} from the point {@code (x, y)},
+     * in no particular order.
+     * 
+     * @param x      the x-coordinate of the point.
+     * @param y      the y-coordinate of the point.
+     * @param radius the radius.
+     * @return the nodes within the radius.
+     */
+    public int[] withinRadius(double x, double y, double radius) {
+        checkPoint(x, y);
+        
+        if (!(radius >= 0.0)) {
+            throw new IllegalArgumentException(
+                    "The radius is negative or NaN: " + radius);
+        }
+        
+        // The holder of the result array, replaced whenever it grows.
+        int[][] result = { new int[16] };
+        int count = withinRadius(0,
+                                 nodes.length,
+                                 true,
+                                 x,
+                                 y,
+                                 radius * radius,
+                                 result,
+                                 0);
+        return Arrays.copyOf(result[0], count);
+    }
+    
+    /**
+     * Snaps the points {@code (sourceX, sourceY)} and 
+     * {@code (targetX, targetY)} to their nearest nodes and searches for a
+     * path between the two nodes by {@code pathfinder}.
+     * 
+     * @param pathfinder        the pathfinder.
+     * @param graph             the compact graph to search in.
+     * @param sourceX           the x-coordinate of the source point.
+     * @param sourceY           the y-coordinate of the source point.
+     * @param targetX           the x-coordinate of the target point.
+     * @param targetY           the y-coordinate of the target point.
+     * @param heuristicFunction the heuristic function.
+     * @return the path from the node nearest to the source point to the node
+     *         nearest to the target point.
+     * @throws IllegalArgumentException if the index is empty.
+     */
+    public List<Integer> search(Pathfinder pathfinder,
+                                CompactGraph graph,
+                                double sourceX,
+                                double sourceY,
+                                double targetX,
+                                double targetY,
+                                IntHeuristicFunction heuristicFunction) {
+        return search(pathfinder,
+                      graph,
+                      sourceX,
+                      sourceY,
+                      targetX,
+                      targetY,
+                      heuristicFunction,
+                      new SearchContext());
+    }
+    
+    /**
+     * Works like 
+     * {@link #search(Pathfinder, CompactGraph, double, double, double, 
+     * double, IntHeuristicFunction)} but keeps all the working memory of the
+     * search in {@code searchContext}.
+     * 
+     * @param pathfinder        the pathfinder.
+     * @param graph             the compact graph to search in.
+     * @param sourceX           the x-coordinate of the source point.
+     * @param sourceY           the y-coordinate of the source point.
+     * @param targetX           the x-coordinate of the target point.
+     * @param targetY           the y-coordinate of the target point.
+     * @param heuristicFunction the heuristic function.
+     * @param searchContext     the reusable search context.
+     * @return the path from the node nearest to the source point to the node
+     *         nearest to the target point.
+     * @throws IllegalArgumentException if the index is empty.
+     */
+    public List<Integer> search(Pathfinder pathfinder,
+                                CompactGraph graph,
+                                double sourceX,
+                                double sourceY,
+                                double targetX,
+                                double targetY,
+                                IntHeuristicFunction heuristicFunction,
+                                SearchContext searchContext) {
+        Objects.requireNonNull(pathfinder, "The pathfinder is null.");
+        
+        int sourceNode = nearest(sourceX, sourceY);
+        int targetNode = nearest(targetX, targetY);
+        
+        if (sourceNode == -1) {
+            throw new IllegalArgumentException("The spatial index is empty.");
+        }
+        
+        return pathfinder.search(graph,
+                                 sourceNode,
+                                 targetNode,
+                                 heuristicFunction,
+                                 searchContext);
+    }
+    
+    /**
+     * Arranges the range {@code [from, to)} into a subtree split by x if
+     * {@code byX} and by y otherwise.
+     */
+    private void build(int from, int to, boolean byX) {
+        while (to - from > 1) {
+            int middle = (from + to) >>> 1;
+            select(from, to, middle, byX);
+            build(from, middle, !byX);
+            from = middle + 1;
+            byX = !byX;
+        }
+    }
+    
+    /**
+     * Rearranges the range {@code [from, to)} so that the position
+     * {@code k} holds the element that would be there if the range were
+     * sorted by the coordinate, with no larger one before it and no smaller
+     * one after it.
+     */
+    private void select(int from, int to, int k, boolean byX) {
+        double[] keys = byX ? xs : ys;
+        int left = from;
+        int right = to - 1;
+        
+        while (left < right) {
+            double pivot = keys[(left + right) >>> 1];
+            int i = left;
+            int j = right;
+            
+            while (i <= j) {
+                while (keys[i] < pivot) {
+                    ++i;
+                }
+                
+                while (keys[j] > pivot) {
+                    --j;
+                }
+                
+                if (i <= j) {
+                    swap(i++, j--);
+                }
+            }
+            
+            if (k <= j) {
+                right = j;
+            } else if (k >= i) {
+                left = i;
+            } else {
+                return;
+            }
+        }
+    }
+    
+    private void swap(int i, int j) {
+        int node = nodes[i];
+        nodes[i] = nodes[j];
+        nodes[j] = node;
+        
+        double x = xs[i];
+        xs[i] = xs[j];
+        xs[j] = x;
+        
+        double y = ys[i];
+        ys[i] = ys[j];
+        ys[j] = y;
+    }
+    
+    private void nearest(int from,
+                         int to,
+                         boolean byX,
+                         double x,
+                         double y,
+                         NeighbourHeap heap) {
+        while (from < to) {
+            int middle = (from + to) >>> 1;
+            heap.offer(middle, distanceSquared(middle, x, y));
+            double delta = byX ? x - xs[middle] : y - ys[middle];
+            
+            // Descend into the side of the point first, and into the other
+            // side only if the splitting line is closer than the bound.
+            if (delta < 0.0) {
+                nearest(from, middle, !byX, x, y, heap);
+                
+                if (delta * delta >= heap.getBound()) {
+                    return;
+                }
+                
+                from = middle + 1;
+            } else {
+                nearest(middle + 1, to, !byX, x, y, heap);
+                
+                if (delta * delta >= heap.getBound()) {
+                    return;
+                }
+                
+                to = middle;
+            }
+            
+            byX = !byX;
+        }
+    }
+    
+    /**
+     * Appends the nodes of the range {@code [from, to)} within the squared
+     * radius to {@code result[0]} from {@code count} on, and returns the new
+     * count.
+     */
+    private int withinRadius(int from,
+                             int to,
+                             boolean byX,
+                             double x,
+                             double y,
+                             double radiusSquared,
+                             int[][] result,
+                             int count) {
+        while (from < to) {
+            int middle = (from + to) >>> 1;
+            
+            if (distanceSquared(middle, x, y) <= radiusSquared) {
+                if (count == result[0].length) {
+                    result[0] = Arrays.copyOf(result[0], 2 * count);
+                }
+                
+                result[0][count++] = nodes[middle];
+            }
+            
+            double delta = byX ? x - xs[middle] : y - ys[middle];
+            boolean crossesLine = delta * delta <= radiusSquared;
+            
+            if (delta < 0.0) {
+                count = withinRadius(from,
+                                     middle,
+                                     !byX,
+                                     x,
+                                     y,
+                                     radiusSquared,
+                                     result,
+                                     count);
+                
+                if (!crossesLine) {
+                    return count;
+                }
+                
+                from = middle + 1;
+            } else {
+                count = withinRadius(middle + 1,
+                                     to,
+                                     !byX,
+                                     x,
+                                     y,
+                                     radiusSquared,
+                                     result,
+                                     count);
+                
+                if (!crossesLine) {
+                    return count;
+                }
+                
+                to = middle;
+            }
+            
+            byX = !byX;
+        }
+        
+        return count;
+    }
+    
+    private double distanceSquared(int position, double x, double y) {
+        double dx = xs[position] - x;
+        double dy = ys[position] - y;
+        return dx * dx + dy * dy;
+    }
+    
+    private static void checkPoint(double x, double y) {
+        if (Double.isNaN(x) || Double.isNaN(y)) {
+            throw new IllegalArgumentException(
+                    "The point (" + x + ", " + y + ") has a NaN coordinate.");
+        }
+    }
+    
+    /**
+     * A bounded max-heap of the nearest positions found so far, keyed by
+     * their squared distances.
+     */
+    private final class NeighbourHeap {
+        
+        final int capacity;
+        private final int[] positions;
+        private final double[] distances;
+        private int size;
+        
+        NeighbourHeap(int capacity) {
+            this.capacity  = capacity;
+            this.positions = new int[capacity];
+            this.distances = new double[capacity];
+        }
+        
+        /**
+         * Returns the squared distance a position must beat to enter the
+         * heap.
+         */
+        double getBound() {
+            return size < capacity ?
+                    Double.POSITIVE_INFINITY :
+                    distances[0];
+        }
+        
+        void offer(int position, double distance) {
+            if (size < capacity) {
+                int i = size++;
+                
+                while (i > 0) {
+                    int parent = (i - 1) / 2;
+                    
+                    if (distances[parent] >= distance) {
+                        break;
+                    }
+                    
+                    positions[i] = positions[parent];
+                    distances[i] = distances[parent];
+                    i = parent;
+                }
+                
+                positions[i] = position;
+                distances[i] = distance;
+            } else if (distance < distances[0]) {
+                siftDown(position, distance, size);
+            }
+        }
+        
+        /**
+         * Puts {@code position} at the root of the first {@code heapSize}
+         * entries and sifts it down.
+         */
+        private void siftDown(int position, double distance, int heapSize) {
+            int i = 0;
+            
+            while (true) {
+                int child = 2 * i + 1;
+                
+                if (child >= heapSize) {
+                    break;
+                }
+                
+                if (child + 1 < heapSize
+                        && distances[child + 1] > distances[child]) {
+                    ++child;
+                }
+                
+                if (distances[child] <= distance) {
+                    break;
+                }
+                
+                positions[i] = positions[child];
+                distances[i] = distances[child];
+                i = child;
+            }
+            
+            positions[i] = position;
+            distances[i] = distance;
+        }
+        
+        /**
+         * Empties the heap and returns its node IDs, the nearest first.
+         */
+        int[] toSortedNodes() {
+            int[] result = new int[size];
+            
+            for (int i = size - 1; i >= 0; --i) {
+                result[i] = nodes[positions[0]];
+                siftDown(positions[i], distances[i], i);
+            }
+            
+            size = 0;
+            return result;
+        }
+    }
+}
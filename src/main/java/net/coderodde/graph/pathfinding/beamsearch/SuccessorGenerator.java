@@ -0,0 +1,41 @@
+package net.coderodde.graph.pathfinding.beamsearch;
+
+/**
+ * This interface defines the API for the implicit graphs, whose arcs are 
+ * generated on demand instead of being stored. It suits the search spaces 
+ * too large, or infinite, to be built as an 
+ * {@link net.coderodde.graph.AbstractGraph}, such as grid maps, state 
+ * lattices or puzzle configurations. The nodes are identified by 
+ * {@code long} IDs, so a state may be packed into its ID directly.
+ * 
+ * @author Rodion "rodde" Efremov
+ * @version 1.6 (Oct 16, 2026)
+ */
+@FunctionalInterface
+public interface SuccessorGenerator {
+    
+    /**
+     * Passes each arc leaving {@code node} to {@code consumer}. The same 
+     * node must get the same arcs every time it is expanded during a 
+     * search.
+     * 
+     * @param node     the node whose successors to generate.
+     * @param consumer the consumer of the successors.
+     */
+    public void generateSuccessors(long node, SuccessorConsumer consumer);
+    
+    /**
+     * This interface receives the successors of a node.
+     */
+    @FunctionalInterface
+    public interface SuccessorConsumer {
+        
+        /**
+         * Receives the arc to {@code successor} of weight {@code weight}.
+         * 
+         * @param successor the successor node.
+         * @param weight    the weight of the arc.
+         */
+        public void accept(long successor, double weight);
+    }
+}
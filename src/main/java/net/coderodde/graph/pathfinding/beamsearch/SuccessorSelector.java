@@ -0,0 +1,345 @@
+package net.coderodde.graph.pathfinding.beamsearch;
+
+import java.util.Arrays;
+
+/**
+ * This class selects the best successors of an expanded node for the beam.
+ * The candidates are kept in parallel primitive buffers that are reused from
+ * one expansion to another, and only the best {@code k} of them are ordered.
+ * <p>
+ * The candidates are ranked by their costs, and the ties are broken by the 
+ * order in which they were added. This is exactly the order a stable sort of
+ * the candidates followed by truncation to {@code k} elements would produce.
+ * 
+ * @author Rodion "rodde" Efremov
+ * @version 1.6 (Oct 16, 2026)
+ */
+final class SuccessorSelector {
+    
+    /**
+     * The largest beam width for which the selection is done by insertion
+     * into a sorted prefix, and the largest candidate count sorted by 
+     * insertion.
+     */
+    private static final int INSERTION_THRESHOLD = 16;
+    
+    /**
+     * The initial length of the buffers.
+     */
+    private static final int INITIAL_CAPACITY = 16;
+    
+    /**
+     * The candidate nodes, or arcs, depending on the caller.
+     */
+    private int[] nodes = new int[INITIAL_CAPACITY];
+    
+    /**
+     * The weights of the arcs leading to the candidates.
+     */
+    private double[] weights = new double[INITIAL_CAPACITY];
+    
+    /**
+     * The costs the candidates are ranked by.
+     */
+    private double[] costs = new double[INITIAL_CAPACITY];
+    
+    /**
+     * After a selection, {@code order[r]} is the index of the candidate of 
+     * the rank {@code r}.
+     */
+    private int[] order = new int[INITIAL_CAPACITY];
+    
+    /**
+     * The scratch buffer for the merge sort.
+     */
+    private int[] scratch = new int[INITIAL_CAPACITY];
+    
+    /**
+     * The number of candidates.
+     */
+    private int size;
+    
+    /**
+     * The scratch buffer for the neighbours of the expanded node.
+     */
+    private int[] neighbourBuffer = new int[INITIAL_CAPACITY];
+    
+    /**
+     * The scratch buffer for the heuristic estimates of the neighbours.
+     */
+    private double[] estimateBuffer = new double[INITIAL_CAPACITY];
+    
+    /**
+     * The scratch buffer for the arcs leaving the expanded node.
+     */
+    private int[] arcBuffer = new int[INITIAL_CAPACITY];
+    
+    /**
+     * Returns a scratch buffer for at least {@code capacity} neighbour nodes.
+     */
+    int[] getNeighbourBuffer(int capacity) {
+        if (neighbourBuffer.length < capacity) {
+            neighbourBuffer = new int[Math.max(capacity, 
+                                               2 * neighbourBuffer.length)];
+        }
+        
+        return neighbourBuffer;
+    }
+    
+    /**
+     * Returns a scratch buffer for at least {@code capacity} estimates.
+     */
+    double[] getEstimateBuffer(int capacity) {
+        if (estimateBuffer.length < capacity) {
+            estimateBuffer = new double[Math.max(capacity, 
+                                                 2 * estimateBuffer.length)];
+        }
+        
+        return estimateBuffer;
+    }
+    
+    /**
+     * Returns a scratch buffer for at least {@code capacity} arcs.
+     */
+    int[] getArcBuffer(int capacity) {
+        if (arcBuffer.length < capacity) {
+            arcBuffer = new int[Math.max(capacity, 2 * arcBuffer.length)];
+        }
+        
+        return arcBuffer;
+    }
+    
+    /**
+     * Removes all the candidates.
+     */
+    void clear() {
+        size = 0;
+    }
+    
+    void add(int node, double weight, double cost) {
+        if (size == nodes.length) {
+            int capacity = 2 * size;
+            nodes   = Arrays.copyOf(nodes, capacity);
+            weights = Arrays.copyOf(weights, capacity);
+            costs   = Arrays.copyOf(costs, capacity);
+            order   = Arrays.copyOf(order, capacity);
+            scratch = Arrays.copyOf(scratch, capacity);
+        }
+        
+        nodes[size]   = node;
+        weights[size] = weight;
+        costs[size]   = cost;
+        ++size;
+    }
+    
+    int size() {
+        return size;
+    }
+    
+    /**
+     * Orders the best {@code k} candidates and returns how many were 
+     * selected.
+     * 
+     * @param k the beam width.
+     * @return the number of the selected candidates.
+     */
+    int select(int k) {
+        if (k >= size) {
+            sortAll();
+            return size;
+        }
+        
+        if (k == 1) {
+            selectMinimum();
+        } else if (k <= INSERTION_THRESHOLD) {
+            selectByInsertion(k);
+        } else {
+            selectByHeap(k);
+        }
+        
+        return k;
+    }
+    
+    /**
+     * Returns the candidate of the rank {@code rank} in the last selection.
+     */
+    int getNode(int rank) {
+        return nodes[order[rank]];
+    }
+    
+    /**
+     * Returns the arc weight of the candidate of the rank {@code rank} in the
+     * last selection.
+     */
+    double getWeight(int rank) {
+        return weights[order[rank]];
+    }
+    
+    /**
+     * Returns the cost of the candidate of the rank {@code rank} in the last
+     * selection.
+     */
+    double getCost(int rank) {
+        return costs[order[rank]];
+    }
+    
+    /**
+     * Tells whether the candidate {@code i} ranks before the candidate 
+     * {@code j}.
+     */
+    private boolean precedes(int i, int j) {
+        int cmp = Double.compare(costs[i], costs[j]);
+        return cmp < 0 || (cmp == 0 && i < j);
+    }
+    
+    private void selectMinimum() {
+        int best = 0;
+        
+        for (int i = 1; i < size; ++i) {
+            if (Double.compare(costs[i], costs[best]) < 0) {
+                best = i;
+            }
+        }
+        
+        order[0] = best;
+    }
+    
+    /**
+     * Keeps the best {@code k} candidates seen so far sorted in 
+     * {@code order}. A candidate enters only if it beats the current worst
+     * one, which after the first {@code k} candidates is rare.
+     */
+    private void selectByInsertion(int k) {
+        int count = 0;
+        
+        for (int i = 0; i < size; ++i) {
+            if (count == k) {
+                if (!precedes(i, order[k - 1])) {
+                    continue;
+                }
+                
+                --count;
+            }
+            
+            int j = count++;
+            
+            while (j > 0 && precedes(i, order[j - 1])) {
+                order[j] = order[j - 1];
+                --j;
+            }
+            
+            order[j] = i;
+        }
+    }
+    
+    /**
+     * Keeps the best {@code k} candidates in a binary max-heap laid out in
+     * {@code order}, and sorts them in place at the end.
+     */
+    private void selectByHeap(int k) {
+        for (int i = 0; i < k; ++i) {
+            order[i] = i;
+        }
+        
+        for (int i = k / 2 - 1; i >= 0; --i) {
+            siftDown(i, k);
+        }
+        
+        for (int i = k; i < size; ++i) {
+            if (precedes(i, order[0])) {
+                order[0] = i;
+                siftDown(0, k);
+            }
+        }
+        
+        for (int heapSize = k - 1; heapSize > 0; --heapSize) {
+            int tmp = order[0];
+            order[0] = order[heapSize];
+            order[heapSize] = tmp;
+            siftDown(0, heapSize);
+        }
+    }
+    
+    private void siftDown(int position, int heapSize) {
+        int candidate = order[position];
+        
+        while (true) {
+            int child = 2 * position + 1;
+            
+            if (child >= heapSize) {
+                break;
+            }
+            
+            if (child + 1 < heapSize && precedes(order[child], 
+                                                 order[child + 1])) {
+                ++child;
+            }
+            
+            if (!precedes(candidate, order[child])) {
+                break;
+            }
+            
+            order[position] = order[child];
+            position = child;
+        }
+        
+        order[position] = candidate;
+    }
+    
+    private void sortAll() {
+        for (int i = 0; i < size; ++i) {
+            order[i] = i;
+        }
+        
+        if (size <= INSERTION_THRESHOLD) {
+            for (int i = 1; i < size; ++i) {
+                int candidate = order[i];
+                int j = i;
+                
+                while (j > 0 && precedes(candidate, order[j - 1])) {
+                    order[j] = order[j - 1];
+                    --j;
+                }
+                
+                order[j] = candidate;
+            }
+            
+            return;
+        }
+        
+        int[] source = order;
+        int[] target = scratch;
+        
+        for (int width = 1; width < size; width *= 2) {
+            for (int left = 0; left < size; left += 2 * width) {
+                int middle = Math.min(left + width, size);
+                int right = Math.min(left + 2 * width, size);
+                int i = left;
+                int j = middle;
+                int k = left;
+                
+                while (i < middle && j < right) {
+                    target[k++] = precedes(source[j], source[i]) ? 
+                                  source[j++] : 
+                                  source[i++];
+                }
+                
+                while (i < middle) {
+                    target[k++] = source[i++];
+                }
+                
+                while (j < right) {
+                    target[k++] = source[j++];
+                }
+            }
+            
+            int[] tmp = source;
+            source = target;
+            target = tmp;
+        }
+        
+        if (source != order) {
+            System.arraycopy(source, 0, order, 0, size);
+        }
+    }
+}
@@ -0,0 +1,209 @@
+package net.coderodde.graph.pathfinding.beamsearch;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import net.coderodde.graph.DirectedGraph;
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Checks that the adaptive mode of {@link BeamSearchPathfinder} widens the
+ * beam past the dead ends, finds every path the unbounded search finds, and
+ * expands fewer nodes than restarting with a doubled beam width.
+ * 
+ * @author Rodion "rodde" Efremov
+ * @version 1.6 (Oct 16, 2026)
+ */
+public class AdaptiveSearchTest {
+    
+    private static final int NODES = 3000;
+    
+    private static final IntHeuristicFunction ZERO = (source, target) -> 0.0;
+    
+    @Test
+    public void findsEveryPathWithFewerExpansionsThanRestarting() {
+        Random random = new Random(17L);
+        TestGraphs.RandomGraph graph = 
+                TestGraphs.randomGeometricGraph(random, NODES, 3);
+        CompactGraph compactGraph = graph.compactGraph;
+        IntHeuristicFunction heuristicFunction = 
+                new EuclideanHeuristicFunction(graph.coordinates);
+        BeamSearchPathfinder unbounded = new BeamSearchPathfinder();
+        BeamSearchPathfinder adaptive = new BeamSearchPathfinder(1);
+        SearchContext searchContext = new SearchContext();
+        SearchStatistics statistics = new SearchStatistics();
+        searchContext.setStatistics(statistics);
+        long adaptiveExpansions = 0L;
+        long restartExpansions = 0L;
+        int foundPaths = 0;
+        
+        for (int query = 0; query < 100; ++query) {
+            int sourceNode = random.nextInt(NODES);
+            int targetNode = random.nextInt(NODES);
+            List<Integer> expected = TestGraphs.searchOrNull(unbounded,
+                                                             compactGraph,
+                                                             sourceNode,
+                                                             targetNode,
+                                                             heuristicFunction);
+            AdaptiveResult result;
+            
+            try {
+                result = adaptive.searchAdaptive(compactGraph,
+                                                 sourceNode,
+                                                 targetNode,
+                                                 heuristicFunction,
+                                                 new SearchContext());
+            } catch (PathNotFoundException ex) {
+                result = null;
+            }
+            
+            if (expected == null) {
+                assertNull(result);
+                continue;
+            }
+            
+            assertNotNull(result);
+            List<Integer> path = result.getPath();
+            assertEquals(sourceNode, (int) path.get(0));
+            assertEquals(targetNode, (int) path.get(path.size() - 1));
+            double optimalLength = TestGraphs.getDistancesFrom(
+                    compactGraph, sourceNode)[targetNode];
+            assertTrue(TestGraphs.getPathLength(compactGraph, path) >=
+                       optimalLength * (1.0 - 1e-9));
+            adaptiveExpansions += result.getExpandedNodes();
+            ++foundPaths;
+            
+            for (int beamWidth = 1; ; beamWidth *= 2) {
+                statistics.reset();
+                
+                try {
+                    new BeamSearchPathfinder(beamWidth)
+                            .search(compactGraph,
+                                    sourceNode,
+                                    targetNode,
+                                    heuristicFunction,
+                                    searchContext);
+                    restartExpansions += statistics.getExpandedNodes();
+                    break;
+                } catch (PathNotFoundException ex) {
+                    restartExpansions += statistics.getExpandedNodes();
+                }
+            }
+            
+            assertTrue(result.getNumberOfWidenings() == 0 ||
+                       result.getBeamWidth() > 1);
+        }
+        
+        assertTrue(foundPaths > 50);
+        assertTrue(adaptiveExpansions + " >= " + restartExpansions,
+                   adaptiveExpansions < restartExpansions);
+    }
+    
+    @Test
+    public void widensPastADeadEnd() {
+        CompactGraph graph = getTrap(1);
+        AdaptiveResult result = 
+                new BeamSearchPathfinder(1).searchAdaptive(graph, 
+                                                           0, 
+                                                           3, 
+                                                           ZERO,
+                                                           new SearchContext());
+        
+        assertEquals(Arrays.asList(0, 2, 3), result.getPath());
+        assertEquals(6.0, 
+                     TestGraphs.getPathLength(graph, result.getPath()), 
+                     0.0);
+        assertEquals(1, result.getNumberOfWidenings());
+        assertEquals(2, result.getBeamWidth());
+    }
+    
+    @Test
+    public void roundBudgetLeavesALongDeadEndEarly() {
+        CompactGraph graph = getTrap(100);
+        BeamSearchPathfinder pathfinder = new BeamSearchPathfinder(1);
+        AdaptiveResult patient = 
+                pathfinder.searchAdaptive(graph, 
+                                          0, 
+                                          3, 
+                                          ZERO, 
+                                          new SearchContext());
+        AdaptiveResult budgeted = 
+                pathfinder.searchAdaptive(graph, 
+                                          0, 
+                                          3, 
+                                          ZERO, 
+                                          5L, 
+                                          new SearchContext());
+        
+        assertEquals(Arrays.asList(0, 2, 3), patient.getPath());
+        assertEquals(Arrays.asList(0, 2, 3), budgeted.getPath());
+        assertEquals(6.0, 
+                     TestGraphs.getPathLength(graph, budgeted.getPath()), 
+                     0.0);
+        assertTrue(patient.getExpandedNodes() > 100L);
+        assertTrue(budgeted.getExpandedNodes() < 20L);
+    }
+    
+    @Test
+    public void returnsTheSourceNodeWhenItIsTheTarget() {
+        AdaptiveResult result = 
+                new BeamSearchPathfinder(1).searchAdaptive(getTrap(1),
+                                                           2, 
+                                                           2, 
+                                                           ZERO,
+                                                           new SearchContext());
+        
+        assertEquals(Arrays.asList(2), result.getPath());
+        assertEquals(0, result.getNumberOfWidenings());
+    }
+    
+    @Test(expected = PathNotFoundException.class)
+    public void throwsOnceTheFullBeamCanNotReachTheTarget() {
+        new BeamSearchPathfinder(1).searchAdaptive(getTrap(10),
+                                                   3, 
+                                                   0, 
+                                                   ZERO, 
+                                                   2L,
+                                                   new SearchContext());
+    }
+    
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsANonPositiveRoundBudget() {
+        new BeamSearchPathfinder(1).searchAdaptive(getTrap(1),
+                                                   0, 
+                                                   3, 
+                                                   ZERO, 
+                                                   0L,
+                                                   new SearchContext());
+    }
+    
+    /**
+     * Returns the graph in which the source node 0 leads to the target node
+     * 3 over the arcs {@code (0, 2)} of weight 5 and {@code (2, 3)} of 
+     * weight 1. The cheaper arc {@code (0, 1)} leads to a dead end chain of 
+     * {@code deadEndLength} nodes, so a beam of width 1 follows it first.
+     */
+    private static CompactGraph getTrap(int deadEndLength) {
+        DirectedGraph graph = new DirectedGraph();
+        
+        for (int node = 0; node < 4; ++node) {
+            graph.addNode(node);
+        }
+        
+        graph.addEdge(0, 1, 1.0);
+        graph.addEdge(0, 2, 5.0);
+        graph.addEdge(2, 3, 1.0);
+        
+        for (int i = 1; i < deadEndLength; ++i) {
+            int node = 3 + i;
+            graph.addNode(node);
+            graph.addEdge(i == 1 ? 1 : node - 1, node, 1.0);
+        }
+        
+        return CompactGraph.fromGraph(graph);
+    }
+}
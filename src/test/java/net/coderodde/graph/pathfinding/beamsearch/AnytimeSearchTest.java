@@ -0,0 +1,373 @@
+package net.coderodde.graph.pathfinding.beamsearch;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import net.coderodde.graph.DirectedGraph;
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Checks the anytime mode of the beam search pathfinders: the results and
+ * the termination reasons under the expansion budgets, the deadlines and
+ * the cancellations, and the incumbents reported along the way.
+ * 
+ * @author Rodion "rodde" Efremov
+ * @version 1.6 (Oct 16, 2026)
+ */
+public class AnytimeSearchTest {
+    
+    private static final int NODES = 2000;
+    
+    /**
+     * The width and the height of the grid graph.
+     */
+    private static final int SIDE = 60;
+    
+    @Test
+    public void improvingIncumbentsEndInTheShortestPath() {
+        Random random = new Random(12L);
+        TestGraphs.RandomGraph graph =
+                TestGraphs.randomGeometricGraph(random, NODES, 4);
+        CompactGraph compactGraph = graph.compactGraph;
+        IntHeuristicFunction heuristicFunction =
+                new EuclideanHeuristicFunction(graph.coordinates);
+        BeamSearchPathfinder pathfinder = new BeamSearchPathfinder(1);
+        int improvedQueries = 0;
+        
+        for (int query = 0; query < 50; ++query) {
+            int sourceNode = random.nextInt(NODES);
+            int targetNode = random.nextInt(NODES);
+            double distance =
+                    TestGraphs.getDistancesFrom(compactGraph,
+                                                sourceNode)[targetNode];
+            
+            if (Double.isInfinite(distance)) {
+                continue;
+            }
+            
+            List<Double> incumbentLengths = new ArrayList<>();
+            AnytimeResult result = pathfinder.searchAnytime(
+                    compactGraph,
+                    sourceNode,
+                    targetNode,
+                    heuristicFunction,
+                    SearchLimits.NONE,
+                    (path, pathLength) -> {
+                        assertEquals(TestGraphs.getPathLength(compactGraph,
+                                                              path),
+                                     pathLength,
+                                     1e-9 * pathLength);
+                        incumbentLengths.add(pathLength);
+                    },
+                    new SearchContext());
+            
+            assertEquals(AnytimeResult.Termination.COMPLETED,
+                         result.getTermination());
+            assertTrue(result.isComplete());
+            assertEquals(distance, result.getPathLength(), 1e-9 * distance);
+            assertEquals(result.getPathLength(), result.getLowerBound(), 0.0);
+            assertEquals(result.getPathLength(),
+                         incumbentLengths.get(incumbentLengths.size() - 1),
+                         0.0);
+            
+            for (int i = 1; i < incumbentLengths.size(); ++i) {
+                assertTrue(incumbentLengths.get(i) <
+                           incumbentLengths.get(i - 1));
+            }
+            
+            if (incumbentLengths.size() > 1) {
+                ++improvedQueries;
+            }
+        }
+        
+        assertTrue(improvedQueries > 0);
+    }
+    
+    @Test
+    public void expansionBudgetReturnsAPartialPath() {
+        CompactGraph graph = getGrid();
+        IntHeuristicFunction heuristicFunction = getGridHeuristicFunction();
+        int targetNode = SIDE * SIDE - 1;
+        AnytimeResult result = new BeamSearchPathfinder(1).searchAnytime(
+                graph,
+                0,
+                targetNode,
+                heuristicFunction,
+                new SearchLimits(Long.MAX_VALUE,
+                                 TimeUnit.NANOSECONDS,
+                                 10L,
+                                 null),
+                null,
+                new SearchContext());
+        List<Integer> path = result.getPath();
+        
+        assertEquals(AnytimeResult.Termination.EXPANSION_BUDGET,
+                     result.getTermination());
+        assertFalse(result.isComplete());
+        assertEquals(10L, result.getExpandedNodes());
+        assertEquals(0, (int) path.get(0));
+        assertTrue(path.get(path.size() - 1) != targetNode);
+        assertEquals(TestGraphs.getPathLength(graph, path),
+                     result.getPathLength(),
+                     0.0);
+        // The lower bound adds the estimate of the rest of the path.
+        assertEquals(result.getPathLength() +
+                     heuristicFunction.estimate(
+                             (int) path.get(path.size() - 1),
+                             targetNode),
+                     result.getLowerBound(),
+                     1e-9);
+        assertTrue(result.getLowerBound() <= 2.0 * (SIDE - 1));
+    }
+    
+    @Test
+    public void cancellationBeforeTheFirstExpansionReturnsTheSource() {
+        CancellationToken cancellationToken = new CancellationToken();
+        cancellationToken.cancel();
+        AnytimeResult result = new BeamSearchPathfinder(1).searchAnytime(
+                getGrid(),
+                5,
+                SIDE * SIDE - 1,
+                getGridHeuristicFunction(),
+                new SearchLimits(Long.MAX_VALUE,
+                                 TimeUnit.NANOSECONDS,
+                                 Long.MAX_VALUE,
+                                 cancellationToken),
+                (path, pathLength) -> {
+                    throw new AssertionError("No incumbent is expected.");
+                },
+                new SearchContext());
+        
+        assertEquals(AnytimeResult.Termination.CANCELLED,
+                     result.getTermination());
+        assertFalse(result.isComplete());
+        assertEquals(0L, result.getExpandedNodes());
+        assertEquals(Arrays.asList(5), result.getPath());
+        assertEquals(0.0, result.getPathLength(), 0.0);
+    }
+    
+    @Test
+    public void cancellationAfterAnIncumbentKeepsIt() {
+        CancellationToken cancellationToken = new CancellationToken();
+        List<List<Integer>> incumbents = new ArrayList<>();
+        AnytimeResult result = new BeamSearchPathfinder(1).searchAnytime(
+                getGrid(),
+                0,
+                SIDE * SIDE - 1,
+                getGridHeuristicFunction(),
+                new SearchLimits(Long.MAX_VALUE,
+                                 TimeUnit.NANOSECONDS,
+                                 Long.MAX_VALUE,
+                                 cancellationToken),
+                (path, pathLength) -> {
+                    incumbents.add(path);
+                    cancellationToken.cancel();
+                },
+                new SearchContext());
+        
+        assertEquals(1, incumbents.size());
+        assertEquals(AnytimeResult.Termination.CANCELLED,
+                     result.getTermination());
+        // A stopped search with an incumbent still reports a complete path
+        // whose lower bound is its own length.
+        assertTrue(result.isComplete());
+        assertEquals(incumbents.get(0), result.getPath());
+        assertEquals(2.0 * (SIDE - 1), result.getPathLength(), 0.0);
+        assertEquals(result.getPathLength(), result.getLowerBound(), 0.0);
+    }
+    
+    @Test
+    public void expiredDeadlineStopsBeforeTheFirstExpansion() {
+        AnytimeResult result = new BeamSearchPathfinder(1).searchAnytime(
+                getGrid(),
+                0,
+                SIDE * SIDE - 1,
+                getGridHeuristicFunction(),
+                new SearchLimits(0L, TimeUnit.NANOSECONDS),
+                null,
+                new SearchContext());
+        
+        assertEquals(AnytimeResult.Termination.DEADLINE,
+                     result.getTermination());
+        assertFalse(result.isComplete());
+        assertEquals(Arrays.asList(0), result.getPath());
+    }
+    
+    @Test(timeout = 60_000L)
+    public void deadlineAfterAnIncumbentReportsItComplete() {
+        List<List<Integer>> incumbents = new ArrayList<>();
+        IntHeuristicFunction heuristicFunction = getGridHeuristicFunction();
+        // The weak heuristic leaves the later rounds plenty of nodes to
+        // expand below the incumbent, so they run into the deadline.
+        AnytimeResult result = new BeamSearchPathfinder(1).searchAnytime(
+                getGrid(),
+                0,
+                SIDE * SIDE - 1,
+                (node, target) -> 0.5 * heuristicFunction.estimate(node,
+                                                                   target),
+                new SearchLimits(500L, TimeUnit.MILLISECONDS),
+                (path, pathLength) -> {
+                    incumbents.add(path);
+                    
+                    try {
+                        Thread.sleep(700L);
+                    } catch (InterruptedException ex) {
+                        Thread.currentThread().interrupt();
+                    }
+                },
+                new SearchContext());
+        
+        assertEquals(1, incumbents.size());
+        assertEquals(AnytimeResult.Termination.DEADLINE,
+                     result.getTermination());
+        assertTrue(result.isComplete());
+        assertEquals(incumbents.get(0), result.getPath());
+        assertEquals(result.getPathLength(), result.getLowerBound(), 0.0);
+    }
+    
+    @Test(timeout = 60_000L)
+    public void asyncSearchReportsTheIncumbentsOnTheExecutor()
+            throws Exception {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        List<Thread> threads = new ArrayList<>();
+        
+        try {
+            AnytimeResult result = new BeamSearchPathfinder(1)
+                    .searchAnytimeAsync(getGrid(),
+                                        0,
+                                        SIDE * SIDE - 1,
+                                        getGridHeuristicFunction(),
+                                        SearchLimits.NONE,
+                                        (path, pathLength) ->
+                                            threads.add(Thread.currentThread()),
+                                        new SearchContext(),
+                                        executor)
+                    .get();
+            
+            assertEquals(AnytimeResult.Termination.COMPLETED,
+                         result.getTermination());
+            assertEquals(2.0 * (SIDE - 1), result.getPathLength(), 0.0);
+            assertFalse(threads.isEmpty());
+            
+            for (Thread thread : threads) {
+                assertTrue(thread != Thread.currentThread());
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+    
+    @Test
+    public void bidirectionalSearchHonoursTheLimits() {
+        Random random = new Random(112L);
+        TestGraphs.RandomGraph graph =
+                TestGraphs.randomGeometricGraph(random, NODES, 4);
+        CompactGraph compactGraph = graph.compactGraph;
+        IntHeuristicFunction heuristicFunction =
+                new EuclideanHeuristicFunction(graph.coordinates);
+        BidirectionalBeamSearchPathfinder pathfinder =
+                new BidirectionalBeamSearchPathfinder(1);
+        SearchLimits budget = new SearchLimits(Long.MAX_VALUE,
+                                               TimeUnit.NANOSECONDS,
+                                               3L,
+                                               null);
+        int completedQueries = 0;
+        
+        for (int query = 0; query < 30; ++query) {
+            int sourceNode = random.nextInt(NODES);
+            int targetNode = random.nextInt(NODES);
+            double distance =
+                    TestGraphs.getDistancesFrom(compactGraph,
+                                                sourceNode)[targetNode];
+            
+            if (Double.isInfinite(distance) || sourceNode == targetNode) {
+                continue;
+            }
+            
+            AnytimeResult result =
+                    pathfinder.searchAnytime(compactGraph,
+                                             sourceNode,
+                                             targetNode,
+                                             heuristicFunction,
+                                             SearchLimits.NONE,
+                                             null,
+                                             new SearchContext());
+            assertEquals(AnytimeResult.Termination.COMPLETED,
+                         result.getTermination());
+            assertTrue(result.isComplete());
+            assertTrue(result.getPathLength() >= distance * (1.0 - 1e-9));
+            assertEquals(TestGraphs.getPathLength(compactGraph,
+                                                  result.getPath()),
+                         result.getPathLength(),
+                         1e-9 * result.getPathLength());
+            ++completedQueries;
+            
+            AnytimeResult stopped =
+                    pathfinder.searchAnytime(compactGraph,
+                                             sourceNode,
+                                             targetNode,
+                                             heuristicFunction,
+                                             budget,
+                                             null,
+                                             new SearchContext());
+            
+            if (!stopped.isComplete()) {
+                assertEquals(AnytimeResult.Termination.EXPANSION_BUDGET,
+                             stopped.getTermination());
+                assertEquals(3L, stopped.getExpandedNodes());
+                assertEquals(sourceNode, (int) stopped.getPath().get(0));
+                assertTrue(stopped.getLowerBound()
+                                   <= distance * (1.0 + 1e-9));
+            }
+        }
+        
+        assertTrue(completedQueries > 10);
+    }
+    
+    /**
+     * Returns the grid graph of {@code SIDE} times {@code SIDE} nodes with
+     * unit arcs in all four directions. The node {@code (x, y)} has the ID
+     * {@code y * SIDE + x}.
+     */
+    private static CompactGraph getGrid() {
+        DirectedGraph graph = new DirectedGraph();
+        
+        for (int node = 0; node < SIDE * SIDE; ++node) {
+            graph.addNode(node);
+        }
+        
+        for (int y = 0; y < SIDE; ++y) {
+            for (int x = 0; x < SIDE; ++x) {
+                int node = y * SIDE + x;
+                
+                if (x > 0) {
+                    graph.addEdge(node, node - 1, 1.0);
+                    graph.addEdge(node - 1, node, 1.0);
+                }
+                
+                if (y > 0) {
+                    graph.addEdge(node, node - SIDE, 1.0);
+                    graph.addEdge(node - SIDE, node, 1.0);
+                }
+            }
+        }
+        
+        return CompactGraph.fromGraph(graph);
+    }
+    
+    /**
+     * Returns the Manhattan distance on the grid graph.
+     */
+    private static IntHeuristicFunction getGridHeuristicFunction() {
+        return (source, target) ->
+                Math.abs(source % SIDE - target % SIDE) +
+                Math.abs(source / SIDE - target / SIDE);
+    }
+}
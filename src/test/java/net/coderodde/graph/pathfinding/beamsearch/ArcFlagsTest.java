@@ -0,0 +1,182 @@
+package net.coderodde.graph.pathfinding.beamsearch;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import net.coderodde.graph.DirectedGraph;
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Checks that the searches pruned by {@link ArcFlags} still find the 
+ * shortest paths, that only the arcs leading into a region are flagged for
+ * it, and that the flags are refused for any other graph.
+ * 
+ * @author Rodion "rodde" Efremov
+ * @version 1.6 (Oct 16, 2026)
+ */
+public class ArcFlagsTest {
+    
+    private static final int NODES = 1000;
+    
+    @Test
+    public void prunedSearchFindsTheShortestPaths() {
+        Random random = new Random(21L);
+        TestGraphs.RandomGraph graph = 
+                TestGraphs.randomGeometricGraph(random, NODES, 3);
+        CompactGraph compactGraph = graph.compactGraph;
+        ArcFlags arcFlags = 
+                ArcFlags.compute(compactGraph, graph.coordinates, 4, 4);
+        Pathfinder pathfinder = 
+                new BeamSearchPathfinder(Integer.MAX_VALUE, arcFlags);
+        IntHeuristicFunction heuristicFunction = 
+                new EuclideanHeuristicFunction(graph.coordinates);
+        
+        for (int query = 0; query < 100; ++query) {
+            int sourceNode = random.nextInt(NODES);
+            int targetNode = random.nextInt(NODES);
+            double distance = 
+                    TestGraphs.getDistancesFrom(compactGraph, 
+                                                sourceNode)[targetNode];
+            List<Integer> path = TestGraphs.searchOrNull(pathfinder,
+                                                         compactGraph,
+                                                         sourceNode,
+                                                         targetNode,
+                                                         heuristicFunction);
+            
+            if (Double.isInfinite(distance)) {
+                assertNull(path);
+            } else {
+                assertEquals(distance, 
+                             TestGraphs.getPathLength(compactGraph, path),
+                             1e-9 * distance);
+            }
+        }
+    }
+    
+    @Test
+    public void flagsOnlyTheArcsLeadingIntoTheRegion() {
+        // 0 -> 1 -> 2 -> 3 with the dead end 1 -> 4.
+        DirectedGraph graph = getPath(4);
+        graph.addNode(4);
+        graph.addEdge(1, 4, 1.0);
+        CompactGraph compactGraph = CompactGraph.fromGraph(graph);
+        ArcFlags arcFlags = ArcFlags.compute(compactGraph,
+                                             new int[]{ 0, 0, 1, 1, 0 },
+                                             2,
+                                             ForkJoinPool.commonPool());
+        
+        assertEquals(2, arcFlags.getRegionCount());
+        assertEquals(1, arcFlags.getRegion(3));
+        assertEquals(-1, arcFlags.getRegion(5));
+        assertTrue(arcFlags.isFlagged(getArc(compactGraph, 0, 1), 0));
+        assertTrue(arcFlags.isFlagged(getArc(compactGraph, 0, 1), 1));
+        assertTrue(arcFlags.isFlagged(getArc(compactGraph, 1, 4), 0));
+        assertFalse(arcFlags.isFlagged(getArc(compactGraph, 1, 4), 1));
+        assertTrue(arcFlags.isFlagged(getArc(compactGraph, 2, 3), 1));
+        assertFalse(arcFlags.isFlagged(getArc(compactGraph, 2, 3), 0));
+        assertEquals(Arrays.asList(0, 1, 4),
+                     new BeamSearchPathfinder(Integer.MAX_VALUE, arcFlags)
+                             .search(compactGraph,
+                                     0,
+                                     4,
+                                     (node, target) -> 0.0,
+                                     new SearchContext()));
+    }
+    
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsARegionOutOfRange() {
+        ArcFlags.compute(CompactGraph.fromGraph(getPath(4)),
+                         new int[]{ 0, 0, 1, 2 },
+                         2,
+                         ForkJoinPool.commonPool());
+    }
+    
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsAnEmptyGrid() {
+        TestGraphs.RandomGraph graph = 
+                TestGraphs.randomGeometricGraph(new Random(121L), 10, 2);
+        ArcFlags.compute(graph.compactGraph, graph.coordinates, 0, 4);
+    }
+    
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsAGraphWithOtherWeights() {
+        DirectedGraph graph = getPath(4);
+        ArcFlags arcFlags = ArcFlags.compute(CompactGraph.fromGraph(graph),
+                                             new int[]{ 0, 0, 1, 1 },
+                                             2,
+                                             ForkJoinPool.commonPool());
+        graph.addEdge(1, 2, 5.0);
+        search(arcFlags, CompactGraph.fromGraph(graph));
+    }
+    
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsAGraphWithOtherNodes() {
+        ArcFlags arcFlags = ArcFlags.compute(
+                CompactGraph.fromGraph(getPath(4)),
+                new int[]{ 0, 0, 1, 1 },
+                2,
+                ForkJoinPool.commonPool());
+        DirectedGraph graph = getPath(4);
+        graph.addNode(4);
+        search(arcFlags, CompactGraph.fromGraph(graph));
+    }
+    
+    @Test
+    public void acceptsAnEqualGraph() {
+        ArcFlags arcFlags = ArcFlags.compute(
+                CompactGraph.fromGraph(getPath(4)),
+                new int[]{ 0, 0, 1, 1 },
+                2,
+                ForkJoinPool.commonPool());
+        assertEquals(4, search(arcFlags, 
+                               CompactGraph.fromGraph(getPath(4))).size());
+    }
+    
+    /**
+     * Returns the path graph 0 -> 1 -> ... -> n - 1 with unit weights.
+     */
+    private static DirectedGraph getPath(int n) {
+        DirectedGraph graph = new DirectedGraph();
+        
+        for (int node = 0; node < n; ++node) {
+            graph.addNode(node);
+        }
+        
+        for (int node = 1; node < n; ++node) {
+            graph.addEdge(node - 1, node, 1.0);
+        }
+        
+        return graph;
+    }
+    
+    /**
+     * Returns the index of the arc from {@code tail} to {@code head}.
+     */
+    private static int getArc(CompactGraph graph, int tail, int head) {
+        for (int arc = graph.getFirstArc(tail); 
+                arc < graph.getLastArc(tail); 
+                ++arc) {
+            if (graph.getArcHead(arc) == head) {
+                return arc;
+            }
+        }
+        
+        throw new IllegalArgumentException(
+                "No arc from " + tail + " to " + head + ".");
+    }
+    
+    private static List<Integer> search(ArcFlags arcFlags, 
+                                        CompactGraph graph) {
+        return new BeamSearchPathfinder(Integer.MAX_VALUE, arcFlags)
+                .search(graph, 
+                        0, 
+                        graph.getNodeCapacity() - 1, 
+                        (node, target) -> 0.0,
+                        new SearchContext());
+    }
+}
@@ -0,0 +1,147 @@
+package net.coderodde.graph.pathfinding.beamsearch;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import net.coderodde.graph.DirectedGraph;
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+/**
+ * Checks that the unbounded bidirectional search returns the shortest paths
+ * under the asymmetric landmark heuristic on directed graphs, and that the
+ * concurrent search finds them however late its backward search starts.
+ * 
+ * @author Rodion "rodde" Efremov
+ * @version 1.6 (Oct 16, 2026)
+ */
+public class BidirectionalBeamSearchPathfinderTest {
+    
+    private static final int NODES = 400;
+    
+    @Test
+    public void findsShortestPathsWithAsymmetricHeuristic() {
+        Random random = new Random(10L);
+        TestGraphs.RandomGraph graph = 
+                TestGraphs.randomGeometricGraph(random, NODES, 3);
+        IntHeuristicFunction heuristicFunction = 
+                new LandmarkHeuristicFunction(
+                        graph.compactGraph, 
+                        8,
+                        LandmarkHeuristicFunction.LandmarkSelection.AVOID);
+        Pathfinder pathfinder = new BidirectionalBeamSearchPathfinder();
+        
+        for (int query = 0; query < 200; ++query) {
+            int sourceNode = random.nextInt(NODES);
+            int targetNode = random.nextInt(NODES);
+            double distance = 
+                    TestGraphs.getDistancesFrom(graph.compactGraph, 
+                                                sourceNode)[targetNode];
+            List<Integer> path = TestGraphs.searchOrNull(pathfinder,
+                                                         graph.graph,
+                                                         sourceNode,
+                                                         targetNode,
+                                                         heuristicFunction);
+            
+            if (distance == Double.POSITIVE_INFINITY) {
+                assertNull(path);
+                continue;
+            }
+            
+            assertEquals(sourceNode, (int) path.get(0));
+            assertEquals(targetNode, (int) path.get(path.size() - 1));
+            assertEquals(distance, 
+                         TestGraphs.getPathLength(graph.compactGraph, path),
+                         1e-9 * distance);
+        }
+    }
+    
+    @Test
+    public void concurrentSearchFindsTheShortestPaths() {
+        Random random = new Random(110L);
+        TestGraphs.RandomGraph graph = 
+                TestGraphs.randomGeometricGraph(random, NODES, 3);
+        IntHeuristicFunction heuristicFunction = 
+                new EuclideanHeuristicFunction(graph.coordinates);
+        BidirectionalBeamSearchPathfinder pathfinder = 
+                new BidirectionalBeamSearchPathfinder();
+        SearchContext searchContext = new SearchContext();
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        
+        try {
+            for (int query = 0; query < 200; ++query) {
+                int sourceNode = random.nextInt(NODES);
+                int targetNode = random.nextInt(NODES);
+                double distance = 
+                        TestGraphs.getDistancesFrom(graph.compactGraph, 
+                                                    sourceNode)[targetNode];
+                List<Integer> path;
+                
+                try {
+                    path = pathfinder.searchConcurrently(graph.compactGraph,
+                                                         sourceNode,
+                                                         targetNode,
+                                                         heuristicFunction,
+                                                         searchContext,
+                                                         executor);
+                } catch (PathNotFoundException ex) {
+                    path = null;
+                }
+                
+                if (distance == Double.POSITIVE_INFINITY) {
+                    assertNull(path);
+                    continue;
+                }
+                
+                assertEquals(sourceNode, (int) path.get(0));
+                assertEquals(targetNode, (int) path.get(path.size() - 1));
+                assertEquals(distance, 
+                             TestGraphs.getPathLength(graph.compactGraph, 
+                                                      path),
+                             1e-9 * distance);
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+    
+    @Test
+    public void concurrentSearchMeetsALateBackwardSearch() {
+        // 0 -> 1 -> 2 -> 3 -> 4.
+        DirectedGraph graph = new DirectedGraph();
+        
+        for (int node = 0; node < 5; ++node) {
+            graph.addNode(node);
+        }
+        
+        for (int node = 1; node < 5; ++node) {
+            graph.addEdge(node - 1, node, 1.0);
+        }
+        
+        // The forward search runs through the chain before the backward 
+        // search starts.
+        List<Integer> path = 
+                new BidirectionalBeamSearchPathfinder()
+                        .searchConcurrently(CompactGraph.fromGraph(graph),
+                                            0,
+                                            4,
+                                            (node, target) -> 0.0,
+                                            new SearchContext(),
+                                            task -> new Thread(() -> {
+                                                sleep(300L);
+                                                task.run();
+                                            }).start());
+        assertEquals(Arrays.asList(0, 1, 2, 3, 4), path);
+    }
+    
+    private static void sleep(long milliseconds) {
+        try {
+            Thread.sleep(milliseconds);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
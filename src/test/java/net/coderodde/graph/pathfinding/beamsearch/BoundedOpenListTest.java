@@ -0,0 +1,191 @@
+package net.coderodde.graph.pathfinding.beamsearch;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import net.coderodde.graph.DirectedGraph;
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Checks {@link BoundedOpenList} against a simple model of a bounded list,
+ * and the drop accounting of the searches running on it.
+ * 
+ * @author Rodion "rodde" Efremov
+ * @version 1.6 (Oct 16, 2026)
+ */
+public class BoundedOpenListTest {
+    
+    private static final int NODES = 200;
+    
+    private static final int MAXIMUM_SIZE = 20;
+    
+    private static final int FAN_SIZE = 30;
+    
+    private static final IntHeuristicFunction ZERO = (source, target) -> 0.0;
+    
+    @Test
+    public void dropsTheWorstNodesAndReportsEachOnce() {
+        Random random = new Random(16L);
+        BoundedOpenList list = new BoundedOpenList(MAXIMUM_SIZE);
+        list.ensureCapacity(NODES);
+        Map<Integer, Double> model = new HashMap<>();
+        
+        for (int round = 0; round < 2000; ++round) {
+            // One expansion: each node is inserted at most once, and the 
+            // dropped nodes are polled at the end.
+            Set<Integer> expectedDropped = new HashSet<>();
+            
+            for (int i = 0; i < 8; ++i) {
+                int node = random.nextInt(NODES);
+                double priority = random.nextDouble();
+                
+                if (expectedDropped.contains(node)) {
+                    continue;
+                }
+                
+                list.insert(node, priority);
+                
+                if (model.containsKey(node)) {
+                    model.put(node, Math.min(model.get(node), priority));
+                } else if (model.size() < MAXIMUM_SIZE) {
+                    model.put(node, priority);
+                } else {
+                    int maximumNode = getMaximumNode(model);
+                    
+                    if (priority >= model.get(maximumNode)) {
+                        expectedDropped.add(node);
+                    } else {
+                        model.remove(maximumNode);
+                        model.put(node, priority);
+                        expectedDropped.add(maximumNode);
+                    }
+                }
+            }
+            
+            expectedDropped.removeAll(model.keySet());
+            Set<Integer> dropped = new HashSet<>();
+            int node;
+            
+            while ((node = list.pollDropped()) != -1) {
+                assertTrue("Dropped twice: " + node, dropped.add(node));
+            }
+            
+            assertEquals(expectedDropped, dropped);
+            assertEquals(model.size(), list.size());
+            
+            for (int i = random.nextInt(3); i > 0 && !model.isEmpty(); --i) {
+                int minimumNode = getMinimumNode(model);
+                assertEquals(model.get(minimumNode), 
+                             list.getMinimumPriority(), 
+                             0.0);
+                assertEquals(minimumNode, list.extractMinimum());
+                model.remove(minimumNode);
+            }
+        }
+    }
+    
+    @Test
+    public void tightListKeepsTheBestSuccessors() {
+        CompactGraph graph = getFan(2);
+        SearchContext searchContext = 
+                new SearchContext(() -> new BoundedOpenList(4));
+        SearchStatistics statistics = new SearchStatistics();
+        searchContext.setStatistics(statistics);
+        
+        assertEquals(Arrays.asList(0, 2, FAN_SIZE + 1),
+                     new BeamSearchPathfinder().search(graph,
+                                                       0,
+                                                       FAN_SIZE + 1,
+                                                       ZERO,
+                                                       searchContext));
+        assertEquals(FAN_SIZE - 4, statistics.getDroppedNodes());
+        assertTrue(statistics.getPeakOpenSize() <= 4);
+    }
+    
+    @Test
+    public void droppingTheOnlyUsefulNodeLosesThePath() {
+        CompactGraph graph = getFan(FAN_SIZE);
+        SearchContext tight = new SearchContext(() -> new BoundedOpenList(4));
+        SearchContext roomy = 
+                new SearchContext(() -> new BoundedOpenList(FAN_SIZE));
+        SearchStatistics tightStatistics = new SearchStatistics();
+        SearchStatistics roomyStatistics = new SearchStatistics();
+        tight.setStatistics(tightStatistics);
+        roomy.setStatistics(roomyStatistics);
+        BeamSearchPathfinder pathfinder = new BeamSearchPathfinder();
+        
+        try {
+            pathfinder.search(graph, 0, FAN_SIZE + 1, ZERO, tight);
+            fail("The only useful node should have been dropped.");
+        } catch (PathNotFoundException ex) {
+            // Expected.
+        }
+        
+        assertEquals(FAN_SIZE - 4, tightStatistics.getDroppedNodes());
+        assertEquals(Arrays.asList(0, FAN_SIZE, FAN_SIZE + 1),
+                     pathfinder.search(graph, 
+                                       0, 
+                                       FAN_SIZE + 1, 
+                                       ZERO, 
+                                       roomy));
+        assertEquals(0L, roomyStatistics.getDroppedNodes());
+    }
+    
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsANonPositiveMaximumSize() {
+        new BoundedOpenList(0);
+    }
+    
+    /**
+     * Returns the graph in which the source node 0 has the children 
+     * {@code 1, ..., FAN_SIZE}, the child {@code i} weighing {@code i}, and 
+     * only the child {@code usefulChild} leads to the target node
+     * {@code FAN_SIZE + 1}.
+     */
+    private static CompactGraph getFan(int usefulChild) {
+        DirectedGraph graph = new DirectedGraph();
+        
+        for (int node = 0; node <= FAN_SIZE + 1; ++node) {
+            graph.addNode(node);
+        }
+        
+        for (int child = 1; child <= FAN_SIZE; ++child) {
+            graph.addEdge(0, child, child);
+        }
+        
+        graph.addEdge(usefulChild, FAN_SIZE + 1, 1.0);
+        return CompactGraph.fromGraph(graph);
+    }
+    
+    private static int getMinimumNode(Map<Integer, Double> model) {
+        int minimumNode = -1;
+        
+        for (Map.Entry<Integer, Double> entry : model.entrySet()) {
+            if (minimumNode == -1 
+                    || entry.getValue() < model.get(minimumNode)) {
+                minimumNode = entry.getKey();
+            }
+        }
+        
+        return minimumNode;
+    }
+    
+    private static int getMaximumNode(Map<Integer, Double> model) {
+        int maximumNode = -1;
+        
+        for (Map.Entry<Integer, Double> entry : model.entrySet()) {
+            if (maximumNode == -1 
+                    || entry.getValue() > model.get(maximumNode)) {
+                maximumNode = entry.getKey();
+            }
+        }
+        
+        return maximumNode;
+    }
+}
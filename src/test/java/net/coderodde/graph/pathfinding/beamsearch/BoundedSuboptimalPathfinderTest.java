@@ -0,0 +1,245 @@
+package net.coderodde.graph.pathfinding.beamsearch;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Queue;
+import java.util.Random;
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Checks the suboptimality guarantees of {@link BoundedSuboptimalPathfinder}
+ * on both kinds of graphs: the path is at most {@code w} times longer than
+ * the shortest one, the lower bound never exceeds the shortest distance, 
+ * and the certified bound never exceeds {@code w}. The heuristic functions
+ * include an admissible but inconsistent one, which forces reexpansions, 
+ * and the focal search is also run with the hop count as its secondary 
+ * heuristic. With the factor 1, every variant finds the shortest paths.
+ * 
+ * @author Rodion "rodde" Efremov
+ * @version 1.6 (Oct 16, 2026)
+ */
+public class BoundedSuboptimalPathfinderTest {
+    
+    private static final int NODES = 1500;
+    private static final double EPSILON = 1e-9;
+    
+    @Test
+    public void pathsStayWithinTheBound() {
+        Random random = new Random(25L);
+        TestGraphs.RandomGraph graph = 
+                TestGraphs.randomGeometricGraph(random, NODES, 4);
+        CompactGraph compactGraph = graph.compactGraph;
+        DenseCoordinates coordinates = graph.coordinates;
+        double[] noise = new double[NODES];
+        
+        for (int node = 0; node < NODES; ++node) {
+            noise[node] = random.nextDouble();
+        }
+        
+        IntHeuristicFunction[] heuristicFunctions = {
+            new EuclideanHeuristicFunction(coordinates),
+            (node, target) -> noise[node] * coordinates.distance(node, target)
+        };
+        
+        for (int query = 0; query < 40; ++query) {
+            int sourceNode = random.nextInt(NODES);
+            int targetNode = random.nextInt(NODES);
+            double distance = 
+                    TestGraphs.getDistancesFrom(compactGraph, 
+                                                sourceNode)[targetNode];
+            int[] hops = getHopsTo(compactGraph, targetNode);
+            IntHeuristicFunction hopHeuristicFunction = 
+                    (node, target) -> hops[node];
+            
+            for (double w : new double[]{ 1.0, 1.1, 1.5, 3.0 }) {
+                BoundedSuboptimalPathfinder[] pathfinders = {
+                    new BoundedSuboptimalPathfinder(
+                            BoundedSuboptimalPathfinder.Variant
+                                                       .WEIGHTED_A_STAR, 
+                            w),
+                    new BoundedSuboptimalPathfinder(w),
+                    new BoundedSuboptimalPathfinder(
+                            BoundedSuboptimalPathfinder.Variant.FOCAL,
+                            w,
+                            hopHeuristicFunction)
+                };
+                
+                for (BoundedSuboptimalPathfinder pathfinder : pathfinders) {
+                    for (IntHeuristicFunction heuristicFunction 
+                            : heuristicFunctions) {
+                        BoundedResult compactResult;
+                        BoundedResult result;
+                        
+                        try {
+                            compactResult = 
+                                    pathfinder.searchBounded(
+                                            compactGraph,
+                                            sourceNode,
+                                            targetNode,
+                                            heuristicFunction);
+                        } catch (PathNotFoundException ex) {
+                            compactResult = null;
+                        }
+                        
+                        try {
+                            result = pathfinder.searchBounded(
+                                    graph.graph,
+                                    sourceNode,
+                                    targetNode,
+                                    heuristicFunction);
+                        } catch (PathNotFoundException ex) {
+                            result = null;
+                        }
+                        
+                        if (Double.isInfinite(distance)) {
+                            assertNull(compactResult);
+                            assertNull(result);
+                            continue;
+                        }
+                        
+                        check(compactGraph, 
+                              compactResult, 
+                              sourceNode, 
+                              targetNode, 
+                              distance, 
+                              w);
+                        check(compactGraph, 
+                              result, 
+                              sourceNode, 
+                              targetNode, 
+                              distance, 
+                              w);
+                    }
+                }
+            }
+        }
+    }
+    
+    @Test
+    public void unitFactorFindsTheShortestPaths() {
+        Random random = new Random(125L);
+        TestGraphs.RandomGraph graph = 
+                TestGraphs.randomIntegerGraph(random, NODES, 3);
+        CompactGraph compactGraph = graph.compactGraph;
+        
+        for (int query = 0; query < 40; ++query) {
+            int sourceNode = random.nextInt(NODES);
+            int targetNode = random.nextInt(NODES);
+            double distance = 
+                    TestGraphs.getDistancesFrom(compactGraph, 
+                                                sourceNode)[targetNode];
+            int[] hops = getHopsTo(compactGraph, targetNode);
+            // Admissible and consistent, since every arc weighs at least 1.
+            IntHeuristicFunction heuristicFunction = 
+                    (node, target) -> hops[node];
+            
+            for (BoundedSuboptimalPathfinder.Variant variant 
+                    : BoundedSuboptimalPathfinder.Variant.values()) {
+                BoundedResult result;
+                
+                try {
+                    result = new BoundedSuboptimalPathfinder(variant, 1.0)
+                            .searchBounded(compactGraph,
+                                           sourceNode,
+                                           targetNode,
+                                           heuristicFunction);
+                } catch (PathNotFoundException ex) {
+                    result = null;
+                }
+                
+                if (Double.isInfinite(distance)) {
+                    assertNull(result);
+                } else {
+                    assertEquals(distance, result.getPathLength(), 0.0);
+                    assertEquals(distance, result.getLowerBound(), 0.0);
+                }
+            }
+        }
+    }
+    
+    @Test
+    public void returnsTheSourceNodeWhenItIsTheTarget() {
+        TestGraphs.RandomGraph graph = 
+                TestGraphs.randomIntegerGraph(new Random(225L), 10, 2);
+        BoundedResult result = 
+                new BoundedSuboptimalPathfinder(2.0)
+                        .searchBounded(graph.compactGraph,
+                                       3,
+                                       3,
+                                       (node, target) -> 0.0);
+        
+        assertEquals(Arrays.asList(3), result.getPath());
+        assertEquals(0.0, result.getPathLength(), 0.0);
+    }
+    
+    @Test
+    public void rejectsTheFactorsBelowOneOrNotFinite() {
+        for (double w : new double[]{ 0.99, -1.0, Double.NaN, 
+                                      Double.POSITIVE_INFINITY }) {
+            try {
+                new BoundedSuboptimalPathfinder(w);
+                fail("The suboptimality factor " + w + " was accepted.");
+            } catch (IllegalArgumentException ex) {
+                // Expected.
+            }
+        }
+    }
+    
+    private static void check(CompactGraph graph,
+                              BoundedResult result,
+                              int sourceNode,
+                              int targetNode,
+                              double distance,
+                              double w) {
+        List<Integer> path = result.getPath();
+        double pathLength = TestGraphs.getPathLength(graph, path);
+        assertEquals(sourceNode, (int) path.get(0));
+        assertEquals(targetNode, (int) path.get(path.size() - 1));
+        assertEquals(pathLength, 
+                     result.getPathLength(), 
+                     EPSILON * (1.0 + pathLength));
+        assertTrue(pathLength + " > " + w + " * " + distance,
+                   pathLength <= w * distance * (1.0 + EPSILON) + EPSILON);
+        assertTrue(result.getLowerBound() + " > " + distance,
+                   result.getLowerBound() 
+                           <= distance * (1.0 + EPSILON) + EPSILON);
+        assertTrue(result.getSuboptimalityBound() + " > " + w,
+                   result.getSuboptimalityBound() <= w * (1.0 + EPSILON));
+    }
+    
+    /**
+     * Returns the numbers of arcs on the fewest-arc paths to 
+     * {@code targetNode}, or {@link Integer#MAX_VALUE} for the nodes that 
+     * can not reach it.
+     */
+    private static int[] getHopsTo(CompactGraph graph, int targetNode) {
+        int[] hops = new int[graph.getNodeCapacity()];
+        Queue<Integer> queue = new ArrayDeque<>();
+        Arrays.fill(hops, Integer.MAX_VALUE);
+        hops[targetNode] = 0;
+        queue.add(targetNode);
+        
+        while (!queue.isEmpty()) {
+            int node = queue.remove();
+            int lastArc = graph.getLastReverseArc(node);
+            
+            for (int arc = graph.getFirstReverseArc(node); 
+                    arc < lastArc; 
+                    ++arc) {
+                int tail = graph.getReverseArcTail(arc);
+                
+                if (hops[tail] == Integer.MAX_VALUE) {
+                    hops[tail] = hops[node] + 1;
+                    queue.add(tail);
+                }
+            }
+        }
+        
+        return hops;
+    }
+}
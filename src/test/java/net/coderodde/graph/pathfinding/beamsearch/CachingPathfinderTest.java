@@ -0,0 +1,218 @@
+package net.coderodde.graph.pathfinding.beamsearch;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import net.coderodde.graph.AbstractGraph;
+import net.coderodde.graph.DirectedGraph;
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Checks the hits, the misses, the LRU eviction and the invalidation of
+ * {@link CachingPathfinder}, and its counters under concurrent queries.
+ * 
+ * @author Rodion "rodde" Efremov
+ * @version 1.6 (Oct 16, 2026)
+ */
+public class CachingPathfinderTest {
+    
+    private static final int NODES = 20;
+    
+    private static final IntHeuristicFunction ZERO = (source, target) -> 0.0;
+    
+    /**
+     * The chain {@code 0 -> 1 -> ... -> NODES - 1}.
+     */
+    private final CompactGraph graph = getChain();
+    
+    @Test
+    public void hitReturnsTheSamePath() {
+        CountingPathfinder counting = new CountingPathfinder();
+        CachingPathfinder pathfinder = new CachingPathfinder(counting, 10);
+        List<Integer> first = pathfinder.search(graph, 2, 5, ZERO);
+        List<Integer> second = pathfinder.search(graph, 2, 5, ZERO);
+        
+        assertEquals(Arrays.asList(2, 3, 4, 5), first);
+        assertEquals(first, second);
+        assertTrue(first != second);
+        assertEquals(1, counting.searches.get());
+        assertEquals(1L, pathfinder.getHitCount());
+        assertEquals(1L, pathfinder.getMissCount());
+        assertEquals(0.5, pathfinder.getHitRate(), 0.0);
+        
+        // The caller owns the list it got.
+        second.clear();
+        assertEquals(first, pathfinder.search(graph, 2, 5, ZERO));
+    }
+    
+    @Test
+    public void newGraphVersionCausesAMiss() {
+        CountingPathfinder counting = new CountingPathfinder();
+        AtomicLong version = new AtomicLong();
+        CachingPathfinder pathfinder =
+                new CachingPathfinder(counting, 10, version::get);
+        pathfinder.search(graph, 0, 3, ZERO);
+        pathfinder.search(graph, 0, 3, ZERO);
+        version.incrementAndGet();
+        pathfinder.search(graph, 0, 3, ZERO);
+        
+        assertEquals(2, counting.searches.get());
+        assertEquals(1L, pathfinder.getHitCount());
+        assertEquals(2L, pathfinder.getMissCount());
+        assertTrue(pathfinder.getInvalidationCount() >= 1L);
+        assertEquals(1, pathfinder.size());
+        
+        pathfinder.invalidateAll();
+        assertEquals(0, pathfinder.size());
+    }
+    
+    @Test
+    public void evictsTheLeastRecentlyUsedPath() {
+        CountingPathfinder counting = new CountingPathfinder();
+        CachingPathfinder pathfinder =
+                new CachingPathfinder(counting, 2, () -> 0L, 1);
+        pathfinder.search(graph, 0, 1, ZERO); // Miss.
+        pathfinder.search(graph, 0, 2, ZERO); // Miss.
+        pathfinder.search(graph, 0, 1, ZERO); // Hit, (0, 2) is now eldest.
+        pathfinder.search(graph, 0, 3, ZERO); // Miss, evicts (0, 2).
+        pathfinder.search(graph, 0, 1, ZERO); // Hit.
+        pathfinder.search(graph, 0, 2, ZERO); // Miss, evicts (0, 3).
+        
+        assertEquals(2L, pathfinder.getHitCount());
+        assertEquals(4L, pathfinder.getMissCount());
+        assertEquals(2L, pathfinder.getEvictionCount());
+        assertEquals(2, pathfinder.size());
+        assertEquals(4, counting.searches.get());
+    }
+    
+    @Test
+    public void cachesThePathsNotFound() {
+        CountingPathfinder counting = new CountingPathfinder();
+        CachingPathfinder pathfinder = new CachingPathfinder(counting, 10);
+        
+        for (int i = 0; i < 2; ++i) {
+            try {
+                pathfinder.search(graph, 5, 2, ZERO);
+                fail("Node 2 is not reachable from node 5.");
+            } catch (PathNotFoundException ex) {
+                // Expected.
+            }
+        }
+        
+        assertEquals(1, counting.searches.get());
+        assertEquals(1L, pathfinder.getHitCount());
+        assertEquals(1, pathfinder.size());
+    }
+    
+    @Test
+    public void otherGraphsAndHeuristicsAreOtherKeys() {
+        CachingPathfinder pathfinder = 
+                new CachingPathfinder(new BeamSearchPathfinder(), 
+                                      10, 
+                                      () -> 0L, 
+                                      1);
+        IntHeuristicFunction otherHeuristic = (source, target) -> 0.0;
+        pathfinder.search(graph, 0, 4, ZERO);
+        pathfinder.search(graph, 0, 4, otherHeuristic);
+        pathfinder.search(getChain(), 0, 4, ZERO);
+        
+        assertEquals(0L, pathfinder.getHitCount());
+        assertEquals(3, pathfinder.size());
+    }
+    
+    @Test(timeout = 60_000L)
+    public void countsEveryLookupUnderConcurrentQueries() throws Exception {
+        CountingPathfinder counting = new CountingPathfinder();
+        // Each stripe has room for all the paths, so none is evicted.
+        CachingPathfinder pathfinder = 
+                new CachingPathfinder(counting, 4 * NODES, () -> 0L, 4);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Future<?>> futures = new ArrayList<>();
+        
+        try {
+            for (int thread = 0; thread < 8; ++thread) {
+                int seed = thread;
+                
+                futures.add(executor.submit(() -> {
+                    for (int query = 0; query < 1000; ++query) {
+                        int target = (seed + query) % NODES;
+                        assertEquals(target + 1,
+                                     pathfinder.search(graph,
+                                                       0,
+                                                       target,
+                                                       ZERO).size());
+                    }
+                }));
+            }
+            
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+        
+        assertEquals(8000L,
+                     pathfinder.getHitCount() + pathfinder.getMissCount());
+        assertEquals(counting.searches.get(), pathfinder.getMissCount());
+        assertTrue(pathfinder.getMissCount() >= NODES);
+        assertEquals(0L, pathfinder.getEvictionCount());
+        assertEquals(NODES, pathfinder.size());
+    }
+    
+    private static CompactGraph getChain() {
+        DirectedGraph graph = new DirectedGraph();
+        
+        for (int node = 0; node < NODES; ++node) {
+            graph.addNode(node);
+        }
+        
+        for (int node = 1; node < NODES; ++node) {
+            graph.addEdge(node - 1, node, 1.0);
+        }
+        
+        return CompactGraph.fromGraph(graph);
+    }
+    
+    /**
+     * Counts the searches that reach the wrapped beam search.
+     */
+    private static final class CountingPathfinder implements Pathfinder {
+        
+        final AtomicInteger searches = new AtomicInteger();
+        
+        private final Pathfinder pathfinder = new BeamSearchPathfinder();
+        
+        @Override
+        public List<Integer> search(
+                AbstractGraph graph,
+                Integer source,
+                Integer target,
+                HeuristicFunction<Integer> heuristicFunction) {
+            searches.incrementAndGet();
+            return pathfinder.search(graph, source, target, heuristicFunction);
+        }
+        
+        @Override
+        public List<Integer> search(CompactGraph graph,
+                                    int source,
+                                    int target,
+                                    IntHeuristicFunction heuristicFunction,
+                                    SearchContext searchContext) {
+            searches.incrementAndGet();
+            return pathfinder.search(graph,
+                                     source,
+                                     target,
+                                     heuristicFunction,
+                                     searchContext);
+        }
+    }
+}
@@ -0,0 +1,229 @@
+package net.coderodde.graph.pathfinding.beamsearch;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import net.coderodde.graph.DirectedGraph;
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Checks the contraction hierarchy queries against Dijkstra's algorithm, 
+ * before and after a round trip through a file, checks the unpacking of the
+ * shortcuts on a chain, and checks that corrupt hierarchy files are 
+ * rejected.
+ * 
+ * @author Rodion "rodde" Efremov
+ * @version 1.6 (Oct 16, 2026)
+ */
+public class ContractionHierarchyTest {
+    
+    private static final int NODES = 1000;
+    
+    /**
+     * The byte offset of the upward offsets in a hierarchy file of 
+     * {@code NODES} nodes.
+     */
+    private static final long UP_OFFSETS = 6L * Integer.BYTES
+                                         + (long) NODES * Integer.BYTES;
+    
+    /**
+     * The byte offset of the upward heads in a hierarchy file of 
+     * {@code NODES} nodes.
+     */
+    private static final long UP_HEADS = UP_OFFSETS
+                                       + (NODES + 1L) * Integer.BYTES;
+    
+    @Test
+    public void findsTheShortestPaths() throws IOException {
+        Random random = new Random(18L);
+        TestGraphs.RandomGraph graph = 
+                TestGraphs.randomGeometricGraph(random, NODES, 3);
+        ContractionHierarchy hierarchy = 
+                ContractionHierarchy.build(graph.graph);
+        checkQueries(graph.compactGraph, hierarchy, random);
+        checkBeamQueries(graph.compactGraph, hierarchy, random);
+        
+        Path file = Files.createTempFile("hierarchy", ".bin");
+        
+        try {
+            hierarchy.write(file);
+            checkQueries(graph.compactGraph,
+                         ContractionHierarchy.read(file),
+                         random);
+        } finally {
+            Files.delete(file);
+        }
+    }
+    
+    @Test
+    public void unpacksTheShortcutsIntoTheOriginalArcs() {
+        DirectedGraph graph = new DirectedGraph();
+        
+        for (int node = 0; node < 10; ++node) {
+            graph.addNode(node);
+        }
+        
+        for (int node = 1; node < 10; ++node) {
+            graph.addEdge(node - 1, node, 1.0);
+            graph.addEdge(node, node - 1, 1.0);
+        }
+        
+        graph.addEdge(0, 9, 100.0);
+        ContractionHierarchy hierarchy = ContractionHierarchy.build(graph);
+        ContractionHierarchyPathfinder pathfinder = 
+                new ContractionHierarchyPathfinder(hierarchy);
+        
+        assertTrue(hierarchy.getNumberOfShortcuts() > 0);
+        assertEquals(Arrays.asList(0, 1, 2, 3, 4, 5, 6, 7, 8, 9),
+                     pathfinder.search(0, 9, new SearchContext()));
+        assertEquals(Arrays.asList(7, 6, 5, 4),
+                     pathfinder.search(7, 4, new SearchContext()));
+        assertEquals(Arrays.asList(5), 
+                     pathfinder.search(5, 5, new SearchContext()));
+    }
+    
+    @Test(expected = PathNotFoundException.class)
+    public void throwsOnAnUnreachableTarget() {
+        DirectedGraph graph = new DirectedGraph();
+        graph.addNode(0);
+        graph.addNode(1);
+        graph.addNode(2);
+        graph.addEdge(0, 1, 1.0);
+        graph.addEdge(2, 1, 1.0);
+        
+        new ContractionHierarchyPathfinder(ContractionHierarchy.build(graph))
+                .search(0, 2, new SearchContext());
+    }
+    
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsANodeNotInTheHierarchy() {
+        DirectedGraph graph = new DirectedGraph();
+        graph.addNode(0);
+        graph.addNode(1);
+        graph.addEdge(0, 1, 1.0);
+        
+        new ContractionHierarchyPathfinder(ContractionHierarchy.build(graph))
+                .search(0, 7, new SearchContext());
+    }
+    
+    @Test
+    public void rejectsANodeOutOfRange() throws IOException {
+        checkRejected(UP_HEADS, NODES);
+    }
+    
+    @Test
+    public void rejectsNegativeNodes() throws IOException {
+        checkRejected(UP_HEADS, -2);
+    }
+    
+    @Test
+    public void rejectsOffsetsNotEndingAtTheArcCount() throws IOException {
+        checkRejected(UP_OFFSETS + (long) NODES * Integer.BYTES, 0);
+    }
+    
+    @Test
+    public void rejectsDecreasingOffsets() throws IOException {
+        checkRejected(UP_OFFSETS + Integer.BYTES, -1);
+    }
+    
+    private static void checkQueries(CompactGraph graph,
+                                     ContractionHierarchy hierarchy,
+                                     Random random) {
+        Pathfinder pathfinder = new ContractionHierarchyPathfinder(hierarchy);
+        
+        for (int query = 0; query < 100; ++query) {
+            int sourceNode = random.nextInt(NODES);
+            int targetNode = random.nextInt(NODES);
+            double distance = 
+                    TestGraphs.getDistancesFrom(graph, sourceNode)[targetNode];
+            List<Integer> path = TestGraphs.searchOrNull(pathfinder,
+                                                         graph,
+                                                         sourceNode,
+                                                         targetNode,
+                                                         null);
+            
+            if (Double.isInfinite(distance)) {
+                assertNull(path);
+                continue;
+            }
+            
+            assertEquals(sourceNode, (int) path.get(0));
+            assertEquals(targetNode, (int) path.get(path.size() - 1));
+            assertEquals(distance,
+                         TestGraphs.getPathLength(graph, path),
+                         1e-9 * distance);
+        }
+    }
+    
+    /**
+     * Checks that the beam-limited queries never return a path shorter than
+     * the shortest one, and find the paths of the adjacent nodes.
+     */
+    private static void checkBeamQueries(CompactGraph graph,
+                                         ContractionHierarchy hierarchy,
+                                         Random random) {
+        ContractionHierarchyPathfinder pathfinder = 
+                new ContractionHierarchyPathfinder(hierarchy, 2);
+        
+        for (int query = 0; query < 50; ++query) {
+            int sourceNode = random.nextInt(NODES);
+            int targetNode = random.nextInt(NODES);
+            double distance = 
+                    TestGraphs.getDistancesFrom(graph, sourceNode)[targetNode];
+            List<Integer> path = TestGraphs.searchOrNull(pathfinder,
+                                                         graph,
+                                                         sourceNode,
+                                                         targetNode,
+                                                         null);
+            
+            if (path != null) {
+                assertTrue(TestGraphs.getPathLength(graph, path) >= 
+                           distance * (1.0 - 1e-9));
+            }
+        }
+    }
+    
+    /**
+     * Writes a valid hierarchy file, overwrites the {@code int} at 
+     * {@code position} with {@code value}, and checks that reading the file
+     * fails.
+     */
+    private static void checkRejected(long position, int value) 
+            throws IOException {
+        TestGraphs.RandomGraph graph = 
+                TestGraphs.randomGeometricGraph(new Random(118L), NODES, 3);
+        Path file = Files.createTempFile("hierarchy", ".bin");
+        
+        try {
+            ContractionHierarchy.build(graph.graph).write(file);
+            
+            try (FileChannel channel = 
+                    FileChannel.open(file, StandardOpenOption.WRITE)) {
+                ByteBuffer buffer = ByteBuffer.allocate(Integer.BYTES)
+                                              .order(ByteOrder.LITTLE_ENDIAN);
+                buffer.putInt(value).flip();
+                channel.write(buffer, position);
+            }
+            
+            try {
+                ContractionHierarchy.read(file);
+                fail("A corrupt hierarchy file was read.");
+            } catch (IOException ex) {
+                // The corruption was detected.
+            }
+        } finally {
+            Files.delete(file);
+        }
+    }
+}
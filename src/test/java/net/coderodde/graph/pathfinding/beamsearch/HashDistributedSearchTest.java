@@ -0,0 +1,196 @@
+package net.coderodde.graph.pathfinding.beamsearch;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import net.coderodde.graph.DirectedGraph;
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+/**
+ * Compares the hash-distributed parallel search with the sequential search
+ * of the same beam width and with Dijkstra's algorithm, on executors of 
+ * every size, including the ones that run fewer tasks than there are 
+ * workers, none, or reject them all.
+ * 
+ * @author Rodion "rodde" Efremov
+ * @version 1.6 (Oct 16, 2026)
+ */
+public class HashDistributedSearchTest {
+    
+    private static final int NODES = 2000;
+    private static final int WORKERS = 8;
+    
+    private static final IntHeuristicFunction ZERO = (source, target) -> 0.0;
+    
+    @Test(timeout = 60_000L)
+    public void matchesSequentialSearchOnDedicatedThreads() {
+        Random random = new Random(23L);
+        
+        for (int beamWidth : new int[]{ Integer.MAX_VALUE, 4, 2 }) {
+            BeamSearchPathfinder pathfinder = 
+                    new BeamSearchPathfinder(beamWidth);
+            compare(random, pathfinder, (graph, s, t, h) -> 
+                    pathfinder.searchParallel(graph, s, t, h, WORKERS));
+        }
+    }
+    
+    @Test(timeout = 60_000L)
+    public void findsTheShortestPathsAmongManyTies() {
+        Random random = new Random(1023L);
+        TestGraphs.RandomGraph graph = 
+                TestGraphs.randomIntegerGraph(random, NODES, 3);
+        CompactGraph compactGraph = graph.compactGraph;
+        BeamSearchPathfinder pathfinder = new BeamSearchPathfinder();
+        
+        for (int query = 0; query < 30; ++query) {
+            int sourceNode = random.nextInt(NODES);
+            int targetNode = random.nextInt(NODES);
+            double distance = 
+                    TestGraphs.getDistancesFrom(compactGraph, 
+                                                sourceNode)[targetNode];
+            List<Integer> path;
+            
+            try {
+                path = pathfinder.searchParallel(compactGraph,
+                                                 sourceNode,
+                                                 targetNode,
+                                                 ZERO,
+                                                 WORKERS);
+            } catch (PathNotFoundException ex) {
+                path = null;
+            }
+            
+            if (Double.isInfinite(distance)) {
+                assertNull(path);
+            } else {
+                assertEquals(distance, 
+                             TestGraphs.getPathLength(compactGraph, path),
+                             0.0);
+            }
+        }
+    }
+    
+    @Test(timeout = 60_000L)
+    public void returnsTheSourceNodeWhenItIsTheTarget() {
+        CompactGraph graph = getPair();
+        assertEquals(Arrays.asList(1), 
+                     new BeamSearchPathfinder().searchParallel(graph, 
+                                                               1, 
+                                                               1, 
+                                                               ZERO, 
+                                                               WORKERS));
+    }
+    
+    @Test(timeout = 60_000L, expected = PathNotFoundException.class)
+    public void throwsOnAnUnreachableTarget() {
+        new BeamSearchPathfinder().searchParallel(getPair(), 
+                                                  1, 
+                                                  0, 
+                                                  ZERO, 
+                                                  WORKERS);
+    }
+    
+    @Test(timeout = 60_000L)
+    public void completesOnAPoolSmallerThanTheWorkers() {
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        
+        try {
+            compare(new Random(123L), executor);
+        } finally {
+            executor.shutdown();
+        }
+    }
+    
+    @Test(timeout = 60_000L)
+    public void completesOnAnExecutorThatNeverRuns() {
+        compare(new Random(223L), runnable -> {});
+    }
+    
+    @Test(timeout = 60_000L)
+    public void completesOnAnExecutorThatRejects() {
+        compare(new Random(323L), runnable -> {
+            throw new RejectedExecutionException();
+        });
+    }
+    
+    /**
+     * Returns the graph with the only arc {@code (0, 1)}.
+     */
+    private static CompactGraph getPair() {
+        DirectedGraph graph = new DirectedGraph();
+        graph.addNode(0);
+        graph.addNode(1);
+        graph.addEdge(0, 1, 1.0);
+        return CompactGraph.fromGraph(graph);
+    }
+    
+    private static void compare(Random random, Executor executor) {
+        BeamSearchPathfinder pathfinder = new BeamSearchPathfinder(4);
+        compare(random, pathfinder, (graph, s, t, h) -> 
+                pathfinder.searchParallel(graph, s, t, h, WORKERS, executor));
+    }
+    
+    /**
+     * Runs 30 random queries by both {@code sequential} and 
+     * {@code parallel}, and checks that they find paths of equal length.
+     */
+    private static void compare(Random random,
+                                Pathfinder sequential,
+                                ParallelSearch parallel) {
+        TestGraphs.RandomGraph graph = 
+                TestGraphs.randomGeometricGraph(random, NODES, 3);
+        CompactGraph compactGraph = graph.compactGraph;
+        IntHeuristicFunction heuristicFunction = 
+                new EuclideanHeuristicFunction(graph.coordinates);
+        
+        for (int query = 0; query < 30; ++query) {
+            int sourceNode = random.nextInt(NODES);
+            int targetNode = random.nextInt(NODES);
+            List<Integer> expected = TestGraphs.searchOrNull(sequential,
+                                                             compactGraph,
+                                                             sourceNode,
+                                                             targetNode,
+                                                             heuristicFunction);
+            List<Integer> path;
+            
+            try {
+                path = parallel.search(compactGraph,
+                                       sourceNode,
+                                       targetNode,
+                                       heuristicFunction);
+            } catch (PathNotFoundException ex) {
+                path = null;
+            }
+            
+            if (expected == null) {
+                assertNull(path);
+                continue;
+            }
+            
+            double expectedLength = 
+                    TestGraphs.getPathLength(compactGraph, expected);
+            assertEquals(sourceNode, (int) path.get(0));
+            assertEquals(targetNode, (int) path.get(path.size() - 1));
+            assertEquals(expectedLength,
+                         TestGraphs.getPathLength(compactGraph, path),
+                         1e-9 * expectedLength);
+        }
+    }
+    
+    /**
+     * A parallel search of a single query.
+     */
+    private interface ParallelSearch {
+        
+        List<Integer> search(CompactGraph graph,
+                             int sourceNode,
+                             int targetNode,
+                             IntHeuristicFunction heuristicFunction);
+    }
+}
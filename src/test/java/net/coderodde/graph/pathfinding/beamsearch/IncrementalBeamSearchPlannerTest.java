@@ -0,0 +1,219 @@
+package net.coderodde.graph.pathfinding.beamsearch;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import net.coderodde.graph.DirectedGraph;
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Checks that the replanning after the weight updates follows the changed
+ * arcs, and returns the same path lengths as planning from scratch on the
+ * updated graph.
+ * 
+ * @author Rodion "rodde" Efremov
+ * @version 1.6 (Oct 16, 2026)
+ */
+public class IncrementalBeamSearchPlannerTest {
+    
+    private static final IntHeuristicFunction ZERO = (source, target) -> 0.0;
+    
+    @Test
+    public void increasingAnArcOnThePathSwitchesToTheDetour() {
+        DirectedGraph graph = getDiamond();
+        IncrementalBeamSearchPlanner planner =
+                new IncrementalBeamSearchPlanner(graph, 0, 3, ZERO, 2);
+        assertEquals(Arrays.asList(0, 1, 3), planner.plan());
+        
+        planner.updateEdgeWeight(1, 3, 10.0);
+        assertEquals(Arrays.asList(0, 2, 3), planner.plan());
+    }
+    
+    @Test
+    public void decreasingArcsOffThePathSwitchesToThem() {
+        DirectedGraph graph = getDiamond();
+        IncrementalBeamSearchPlanner planner =
+                new IncrementalBeamSearchPlanner(graph, 0, 3, ZERO, 2);
+        planner.plan();
+        
+        planner.updateEdgeWeights(
+                Arrays.asList(new EdgeWeightUpdate(0, 2, 0.5),
+                              new EdgeWeightUpdate(2, 3, 0.5)));
+        assertEquals(Arrays.asList(0, 2, 3), planner.plan());
+    }
+    
+    @Test
+    public void newArcsCreateShortcutsAndReachNewNodes() {
+        DirectedGraph graph = getDiamond();
+        graph.addNode(4);
+        IncrementalBeamSearchPlanner planner =
+                new IncrementalBeamSearchPlanner(graph, 0, 4, ZERO, 3);
+        
+        try {
+            planner.plan();
+            fail("Node 4 is not reachable yet.");
+        } catch (PathNotFoundException ex) {
+            // Expected.
+        }
+        
+        planner.updateEdgeWeight(3, 4, 1.0);
+        assertEquals(Arrays.asList(0, 1, 3, 4), planner.plan());
+        
+        planner.updateEdgeWeight(0, 4, 1.5);
+        assertEquals(Arrays.asList(0, 4), planner.plan());
+    }
+    
+    @Test
+    public void repairsOnlyTheNodesBehindTheUpdate() {
+        DirectedGraph graph = new DirectedGraph();
+        
+        for (int node = 0; node < 50; ++node) {
+            graph.addNode(node);
+        }
+        
+        for (int node = 1; node < 50; ++node) {
+            graph.addEdge(node - 1, node, 1.0);
+        }
+        
+        IncrementalBeamSearchPlanner planner =
+                new IncrementalBeamSearchPlanner(graph, 0, 49, ZERO, 1);
+        planner.plan();
+        long initialExpansions = planner.getExpandedNodes();
+        
+        planner.updateEdgeWeight(45, 46, 2.0);
+        List<Integer> path = planner.plan();
+        assertEquals(50, path.size());
+        assertTrue(planner.getExpandedNodes() + " vs " + initialExpansions,
+                   planner.getExpandedNodes() < initialExpansions / 4);
+    }
+    
+    @Test
+    public void zeroWeightCyclesDoNotTrapThePath() {
+        // 9 -> 1 -> 2 -> 6 -> 5 -> 3 with the zero-weight cycles 1 <-> 2 and
+        // 6 <-> 5. The tight parents of 1 are 2 and 9, and those of 6 are 2
+        // and 5, so in either order of the parents one of the cycles ties 
+        // with the path.
+        DirectedGraph graph = new DirectedGraph();
+        
+        for (int node : new int[]{ 1, 2, 3, 5, 6, 9 }) {
+            graph.addNode(node);
+        }
+        
+        graph.addEdge(9, 1, 1.0);
+        graph.addEdge(1, 2, 0.0);
+        graph.addEdge(2, 1, 0.0);
+        graph.addEdge(2, 6, 1.0);
+        graph.addEdge(6, 5, 0.0);
+        graph.addEdge(5, 6, 0.0);
+        graph.addEdge(5, 3, 1.0);
+        
+        IncrementalBeamSearchPlanner planner =
+                new IncrementalBeamSearchPlanner(graph, 9, 3, ZERO, 2);
+        assertEquals(Arrays.asList(9, 1, 2, 6, 5, 3), planner.plan());
+        
+        planner.updateEdgeWeight(9, 6, 1.0);
+        assertEquals(Arrays.asList(9, 6, 5, 3), planner.plan());
+    }
+    
+    @Test
+    public void replansShortestPathsAfterRandomUpdates() {
+        checkReplanning(Integer.MAX_VALUE, 12L);
+    }
+    
+    @Test
+    public void replansBeamPathsAfterRandomUpdates() {
+        checkReplanning(2, 13L);
+    }
+    
+    /**
+     * Returns the graph with the paths {@code 0, 1, 3} of length 2 and
+     * {@code 0, 2, 3} of length 4.
+     */
+    private static DirectedGraph getDiamond() {
+        DirectedGraph graph = new DirectedGraph();
+        
+        for (int node = 0; node < 4; ++node) {
+            graph.addNode(node);
+        }
+        
+        graph.addEdge(0, 1, 1.0);
+        graph.addEdge(1, 3, 1.0);
+        graph.addEdge(0, 2, 2.0);
+        graph.addEdge(2, 3, 2.0);
+        return graph;
+    }
+    
+    /**
+     * Replans after batches of weight changes and new arcs on a graph with
+     * many tied paths, and compares each plan with a fresh planner on the
+     * updated graph.
+     */
+    private static void checkReplanning(int beamWidth, long seed) {
+        Random random = new Random(seed);
+        int nodes = 200;
+        TestGraphs.RandomGraph graph =
+                TestGraphs.randomIntegerGraph(random, nodes, 3);
+        int sourceNode = random.nextInt(nodes);
+        int targetNode = random.nextInt(nodes);
+        IncrementalBeamSearchPlanner planner =
+                new IncrementalBeamSearchPlanner(graph.graph,
+                                                 sourceNode,
+                                                 targetNode,
+                                                 ZERO,
+                                                 beamWidth);
+        
+        for (int round = 0; round < 30; ++round) {
+            List<EdgeWeightUpdate> updates = new ArrayList<>();
+            
+            for (int i = 0; i < 10; ++i) {
+                int tail = random.nextInt(nodes);
+                int head = random.nextInt(nodes);
+                List<Integer> children =
+                        new ArrayList<>(graph.graph.getChildrenOf(tail));
+                
+                if (!children.isEmpty() && random.nextBoolean()) {
+                    head = children.get(random.nextInt(children.size()));
+                }
+                
+                updates.add(new EdgeWeightUpdate(tail,
+                                                 head,
+                                                 1 + random.nextInt(3)));
+            }
+            
+            planner.updateEdgeWeights(updates);
+            IncrementalBeamSearchPlanner freshPlanner =
+                    new IncrementalBeamSearchPlanner(graph.graph,
+                                                     sourceNode,
+                                                     targetNode,
+                                                     ZERO,
+                                                     beamWidth);
+            CompactGraph compactGraph = CompactGraph.fromGraph(graph.graph);
+            double expected = getPlanLength(freshPlanner, compactGraph);
+            assertEquals(expected, getPlanLength(planner, compactGraph), 0.0);
+            
+            if (beamWidth == Integer.MAX_VALUE) {
+                assertEquals(
+                        TestGraphs.getDistancesFrom(compactGraph,
+                                                    sourceNode)[targetNode],
+                        expected,
+                        0.0);
+            }
+        }
+    }
+    
+    /**
+     * Returns the length of the plan, or infinity if there is none.
+     */
+    private static double getPlanLength(IncrementalBeamSearchPlanner planner,
+                                        CompactGraph graph) {
+        try {
+            return TestGraphs.getPathLength(graph, planner.plan());
+        } catch (PathNotFoundException ex) {
+            return Double.POSITIVE_INFINITY;
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package net.coderodde.graph.pathfinding.beamsearch;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Checks {@link LongIndexMap} against a {@link HashMap} on the random keys 
+ * and on the keys packing grid coordinates, which differ only in a few bit
+ * fields.
+ * 
+ * @author Rodion "rodde" Efremov
+ * @version 1.6 (Oct 16, 2026)
+ */
+public class LongIndexMapTest {
+    
+    @Test
+    public void numbersRandomKeysInTheOrderOfAddition() {
+        Random random = new Random(24L);
+        List<Long> keys = new ArrayList<>();
+        keys.add(0L);
+        keys.add(-1L);
+        keys.add(Long.MIN_VALUE);
+        keys.add(Long.MAX_VALUE);
+        
+        for (int i = 0; i < 5000; ++i) {
+            keys.add(random.nextLong());
+        }
+        
+        check(random, keys);
+    }
+    
+    @Test
+    public void numbersPackedGridCoordinates() {
+        Random random = new Random(124L);
+        List<Long> keys = new ArrayList<>();
+        
+        for (int x = -50; x < 50; ++x) {
+            for (int y = -50; y < 50; ++y) {
+                keys.add(((long) x << 32) | (y & 0xFFFFFFFFL));
+            }
+        }
+        
+        check(random, keys);
+    }
+    
+    /**
+     * Adds and looks up random picks of {@code keys} in two rounds with a
+     * {@link LongIndexMap#clear()} in between, comparing every answer with
+     * a {@link HashMap}.
+     */
+    private static void check(Random random, List<Long> keys) {
+        LongIndexMap map = new LongIndexMap();
+        
+        for (int round = 0; round < 2; ++round) {
+            Map<Long, Integer> expected = new HashMap<>();
+            map.clear();
+            
+            for (int operation = 0; operation < 4 * keys.size(); 
+                    ++operation) {
+                long key = keys.get(random.nextInt(keys.size()));
+                Integer index = expected.get(key);
+                
+                if (random.nextBoolean()) {
+                    assertEquals(index == null ? -1 : index, map.get(key));
+                    continue;
+                }
+                
+                if (index == null) {
+                    index = expected.size();
+                    expected.put(key, index);
+                }
+                
+                assertEquals((int) index, map.getOrAdd(key));
+                assertEquals(expected.size(), map.size());
+            }
+            
+            for (Map.Entry<Long, Integer> entry : expected.entrySet()) {
+                assertEquals((long) entry.getKey(), 
+                             map.getKey(entry.getValue()));
+                assertEquals((int) entry.getValue(), 
+                             map.get(entry.getKey()));
+            }
+        }
+    }
+}
@@ -0,0 +1,227 @@
+package net.coderodde.graph.pathfinding.beamsearch;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Random;
+import net.coderodde.graph.DirectedGraph;
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Checks that a graph written by {@link GraphFileWriter} and mapped by
+ * {@link MappedGraphFile} has the same nodes, arcs and paths as the original
+ * one, and that the corrupt files are rejected on opening.
+ * 
+ * @author Rodion "rodde" Efremov
+ * @version 1.6 (Oct 16, 2026)
+ */
+public class MappedGraphFileTest {
+    
+    private static final int NODES = 300;
+    
+    @Test
+    public void roundTripKeepsTheGraph() throws IOException {
+        Random random = new Random(11L);
+        TestGraphs.RandomGraph graph =
+                TestGraphs.randomGeometricGraph(random, NODES, 3);
+        CompactGraph expected = 
+                CompactGraph.fromGraph(getGraphWithout(graph.graph, 7));
+        Path file = Files.createTempFile("graph", ".bin");
+        
+        try {
+            GraphFileWriter.write(expected, graph.coordinates, file);
+            MappedGraphFile mappedFile = MappedGraphFile.open(file);
+            CompactGraph actual = mappedFile.getGraph();
+            
+            assertEquals(expected.size(), actual.size());
+            assertEquals(expected.getNodeCapacity(),
+                         actual.getNodeCapacity());
+            assertEquals(expected.getNumberOfArcs(),
+                         actual.getNumberOfArcs());
+            assertEquals(expected.getMaximumOutDegree(),
+                         actual.getMaximumOutDegree());
+            assertEquals(expected.getMaximumInDegree(),
+                         actual.getMaximumInDegree());
+            assertFalse(actual.hasNode(7));
+            assertEquals(expected.getChecksum(), actual.getChecksum());
+            
+            for (int node = 0; node < expected.getNodeCapacity(); ++node) {
+                assertEquals(expected.getFirstReverseArc(node),
+                             actual.getFirstReverseArc(node));
+                
+                for (int arc = expected.getFirstReverseArc(node);
+                        arc < expected.getLastReverseArc(node);
+                        ++arc) {
+                    assertEquals(expected.getReverseArcTail(arc),
+                                 actual.getReverseArcTail(arc));
+                    assertEquals(expected.getReverseArcWeight(arc),
+                                 actual.getReverseArcWeight(arc),
+                                 0.0);
+                }
+            }
+            
+            assertTrue(mappedFile.hasCoordinates());
+            IntHeuristicFunction heuristicFunction =
+                    new EuclideanHeuristicFunction(graph.coordinates);
+            IntHeuristicFunction mappedHeuristicFunction =
+                    mappedFile.getHeuristicFunction();
+            Pathfinder pathfinder = new BeamSearchPathfinder(4);
+            
+            for (int query = 0; query < 50; ++query) {
+                int sourceNode = random.nextInt(NODES);
+                int targetNode = random.nextInt(NODES);
+                
+                if (sourceNode == 7 || targetNode == 7) {
+                    continue;
+                }
+                
+                assertEquals(heuristicFunction.estimate(sourceNode,
+                                                        targetNode),
+                             mappedHeuristicFunction.estimate(sourceNode,
+                                                              targetNode),
+                             0.0);
+                List<Integer> expectedPath =
+                        TestGraphs.searchOrNull(pathfinder,
+                                                expected,
+                                                sourceNode,
+                                                targetNode,
+                                                heuristicFunction);
+                assertEquals(expectedPath,
+                             TestGraphs.searchOrNull(pathfinder,
+                                                     actual,
+                                                     sourceNode,
+                                                     targetNode,
+                                                     mappedHeuristicFunction));
+            }
+        } finally {
+            Files.delete(file);
+        }
+    }
+    
+    @Test
+    public void rejectsAHeadOutOfRange() throws IOException {
+        checkRejected(GraphFileFormat.FORWARD_HEADS, 0, NODES);
+    }
+    
+    @Test
+    public void rejectsANegativeTail() throws IOException {
+        checkRejected(GraphFileFormat.BACKWARD_TAILS, 5, -1);
+    }
+    
+    @Test
+    public void rejectsOffsetsNotEndingAtTheArcCount() throws IOException {
+        checkRejected(GraphFileFormat.FORWARD_OFFSETS, NODES, 0);
+    }
+    
+    @Test
+    public void rejectsOffsetsNotStartingAtZero() throws IOException {
+        checkRejected(GraphFileFormat.BACKWARD_OFFSETS, 0, 1);
+    }
+    
+    @Test
+    public void rejectsDecreasingOffsets() throws IOException {
+        checkRejected(GraphFileFormat.FORWARD_OFFSETS, NODES / 2, -1);
+    }
+    
+    @Test
+    public void rejectsAWrongMaximumDegree() throws IOException {
+        // The maximum out-degree is the seventh int of the header.
+        checkRejected(6L * Integer.BYTES, 1);
+    }
+    
+    @Test
+    public void rejectsAWrongNodeCount() throws IOException {
+        // The node count is the fifth int of the header.
+        checkRejected(4L * Integer.BYTES, NODES - 1);
+    }
+    
+    /**
+     * Returns a copy of {@code graph} without {@code missingNode}, leaving a
+     * hole in the node IDs.
+     */
+    private static DirectedGraph getGraphWithout(DirectedGraph graph,
+                                                 int missingNode) {
+        DirectedGraph copy = new DirectedGraph();
+        
+        for (Integer node : graph.getAllNodes()) {
+            if (node != missingNode) {
+                copy.addNode(node);
+            }
+        }
+        
+        for (Integer node : copy.getAllNodes()) {
+            for (Integer child : graph.getChildrenOf(node)) {
+                if (child != missingNode) {
+                    copy.addEdge(node, child, graph.getEdgeWeight(node, child));
+                }
+            }
+        }
+        
+        return copy;
+    }
+    
+    /**
+     * Overwrites the {@code index}th {@code int} of {@code section} with
+     * {@code value} and checks that opening the file fails.
+     */
+    private static void checkRejected(int section, int index, int value)
+            throws IOException {
+        GraphFileFormat format = 
+                new GraphFileFormat(NODES, 
+                                    getGraph().getNumberOfArcs(), 
+                                    false);
+        checkRejected(format.getSectionOffset(section) +
+                      (long) index * Integer.BYTES,
+                      value);
+    }
+    
+    /**
+     * Writes a valid graph file, overwrites the {@code int} at 
+     * {@code position} with {@code value}, and checks that opening the file
+     * fails.
+     */
+    private static void checkRejected(long position, int value)
+            throws IOException {
+        Path file = Files.createTempFile("graph", ".bin");
+        
+        try {
+            GraphFileWriter.write(getGraph(), null, file);
+            MappedGraphFile.open(file);
+            
+            try (FileChannel channel =
+                    FileChannel.open(file, StandardOpenOption.WRITE)) {
+                ByteBuffer buffer = ByteBuffer.allocate(Integer.BYTES)
+                                              .order(ByteOrder.LITTLE_ENDIAN);
+                buffer.putInt(value).flip();
+                channel.write(buffer, position);
+            }
+            
+            try {
+                MappedGraphFile.open(file);
+                fail("A corrupt graph file was opened.");
+            } catch (IOException ex) {
+                // The corruption was detected.
+            }
+        } finally {
+            Files.delete(file);
+        }
+    }
+    
+    /**
+     * Returns the graph of {@code NODES} nodes the corrupt files are made 
+     * of.
+     */
+    private static CompactGraph getGraph() {
+        return TestGraphs.randomIntegerGraph(new Random(111L), NODES, 3)
+                         .compactGraph;
+    }
+}
@@ -0,0 +1,256 @@
+package net.coderodde.graph.pathfinding.beamsearch;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import net.coderodde.graph.DirectedGraph;
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Checks the one-to-many results and both layouts of the distance matrices
+ * against the searches of the single pairs, with and without the beam, and
+ * on the targets no tree can reach.
+ * 
+ * @author Rodion "rodde" Efremov
+ * @version 1.6 (Oct 16, 2026)
+ */
+public class MultiTargetSearchTest {
+    
+    private static final int NODES = 500;
+    
+    private static final IntHeuristicFunction ZERO = (source, target) -> 0.0;
+    
+    @Test
+    public void oneToManyMatchesTheSinglePairSearches() {
+        Random random = new Random(14L);
+        TestGraphs.RandomGraph graph =
+                TestGraphs.randomGeometricGraph(random, NODES, 3);
+        CompactGraph compactGraph = graph.compactGraph;
+        BeamSearchPathfinder pathfinder = new BeamSearchPathfinder();
+        
+        for (int query = 0; query < 10; ++query) {
+            int sourceNode = random.nextInt(NODES);
+            int[] targetNodes = getRandomNodes(random, 20);
+            OneToManyResult result =
+                    pathfinder.searchOneToMany(compactGraph,
+                                               sourceNode,
+                                               targetNodes,
+                                               new SearchContext());
+            assertEquals(sourceNode, result.getSource());
+            assertEquals(targetNodes.length, result.getNumberOfTargets());
+            
+            for (int i = 0; i < targetNodes.length; ++i) {
+                assertEquals(targetNodes[i], result.getTarget(i));
+                checkCell(compactGraph,
+                          sourceNode,
+                          targetNodes[i],
+                          result.isReachable(i) ? result.getPath(i) : null,
+                          result.getDistance(i));
+            }
+        }
+    }
+    
+    @Test
+    public void forwardMatrixMatchesTheSinglePairSearches() {
+        Random random = new Random(114L);
+        checkMatrix(random, getRandomNodes(random, 5),
+                            getRandomNodes(random, 30));
+    }
+    
+    @Test
+    public void reverseMatrixMatchesTheSinglePairSearches() {
+        Random random = new Random(214L);
+        checkMatrix(random, getRandomNodes(random, 30),
+                            getRandomNodes(random, 5));
+    }
+    
+    @Test
+    public void narrowBeamRowsEqualTheOneToManyResults() {
+        Random random = new Random(314L);
+        TestGraphs.RandomGraph graph =
+                TestGraphs.randomIntegerGraph(random, NODES, 4);
+        CompactGraph compactGraph = graph.compactGraph;
+        BeamSearchPathfinder pathfinder = new BeamSearchPathfinder(2);
+        int[] sourceNodes = getRandomNodes(random, 4);
+        int[] targetNodes = getRandomNodes(random, 40);
+        DistanceMatrix matrix = pathfinder.searchManyToMany(compactGraph,
+                                                            sourceNodes,
+                                                            targetNodes);
+        
+        for (int i = 0; i < sourceNodes.length; ++i) {
+            OneToManyResult result =
+                    pathfinder.searchOneToMany(compactGraph,
+                                               sourceNodes[i],
+                                               targetNodes,
+                                               new SearchContext());
+            double[] distances =
+                    TestGraphs.getDistancesFrom(compactGraph, sourceNodes[i]);
+            
+            for (int j = 0; j < targetNodes.length; ++j) {
+                double distance = matrix.getDistance(i, j);
+                assertEquals(result.getDistance(j), distance, 0.0);
+                assertTrue(distance >= distances[targetNodes[j]]);
+                
+                if (matrix.isReachable(i, j)) {
+                    assertEquals(distance,
+                                 TestGraphs.getPathLength(
+                                         compactGraph,
+                                         matrix.getPath(i, j)),
+                                 0.0);
+                }
+            }
+        }
+    }
+    
+    @Test
+    public void unreachableTargetsHaveNoPaths() {
+        // 0 -> 1 -> 2, and 3 on its own.
+        DirectedGraph graph = new DirectedGraph();
+        
+        for (int node = 0; node < 4; ++node) {
+            graph.addNode(node);
+        }
+        
+        graph.addEdge(0, 1, 1.0);
+        graph.addEdge(1, 2, 2.0);
+        CompactGraph compactGraph = CompactGraph.fromGraph(graph);
+        BeamSearchPathfinder pathfinder = new BeamSearchPathfinder();
+        OneToManyResult result =
+                pathfinder.searchOneToMany(compactGraph,
+                                           0,
+                                           new int[]{ 3, 2, 0, 2 },
+                                           new SearchContext());
+        
+        assertFalse(result.isReachable(0));
+        assertEquals(Double.POSITIVE_INFINITY, result.getDistance(0), 0.0);
+        assertEquals(3.0, result.getDistance(1), 0.0);
+        assertEquals(Arrays.asList(0, 1, 2), result.getPath(1));
+        assertEquals(Arrays.asList(0), result.getPath(2));
+        assertEquals(Arrays.asList(0, 1, 2), result.getPath(3));
+        
+        try {
+            result.getPath(0);
+            fail("Node 3 is not reachable.");
+        } catch (PathNotFoundException ex) {
+            // Expected.
+        }
+        
+        // Three sources and two targets grow the trees from the targets.
+        DistanceMatrix matrix =
+                pathfinder.searchManyToMany(compactGraph,
+                                            new int[]{ 0, 1, 3 },
+                                            new int[]{ 2, 3 });
+        assertEquals(Arrays.asList(1, 2), matrix.getPath(1, 0));
+        assertEquals(0.0, matrix.getDistance(2, 1), 0.0);
+        assertFalse(matrix.isReachable(0, 1));
+        assertFalse(matrix.isReachable(2, 0));
+        
+        try {
+            matrix.getPath(2, 0);
+            fail("Node 2 is not reachable from node 3.");
+        } catch (PathNotFoundException ex) {
+            // Expected.
+        }
+    }
+    
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsATargetNotInTheGraph() {
+        TestGraphs.RandomGraph graph =
+                TestGraphs.randomIntegerGraph(new Random(414L), 10, 2);
+        new BeamSearchPathfinder().searchOneToMany(graph.compactGraph,
+                                                   0,
+                                                   new int[]{ 1, 10 },
+                                                   new SearchContext());
+    }
+    
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsAMatrixOfTooManyCells() {
+        // 2^16 * 2^15 = 2^31 cells overflow an int.
+        DirectedGraph graph = new DirectedGraph();
+        graph.addNode(0);
+        new BeamSearchPathfinder().searchManyToMany(
+                CompactGraph.fromGraph(graph),
+                new int[1 << 16],
+                new int[1 << 15]);
+    }
+
+    /**
+     * Computes the matrix from {@code sourceNodes} to {@code targetNodes}
+     * on a random graph, and checks each cell.
+     */
+    private static void checkMatrix(Random random,
+                                    int[] sourceNodes,
+                                    int[] targetNodes) {
+        TestGraphs.RandomGraph graph =
+                TestGraphs.randomGeometricGraph(random, NODES, 3);
+        CompactGraph compactGraph = graph.compactGraph;
+        DistanceMatrix matrix =
+                new BeamSearchPathfinder().searchManyToMany(compactGraph,
+                                                            sourceNodes,
+                                                            targetNodes);
+        assertEquals(sourceNodes.length, matrix.getNumberOfSources());
+        assertEquals(targetNodes.length, matrix.getNumberOfTargets());
+        double[] distances = matrix.getDistances();
+        
+        for (int i = 0; i < sourceNodes.length; ++i) {
+            for (int j = 0; j < targetNodes.length; ++j) {
+                assertEquals(sourceNodes[i], matrix.getSource(i));
+                assertEquals(targetNodes[j], matrix.getTarget(j));
+                assertEquals(matrix.getDistance(i, j),
+                             distances[i * targetNodes.length + j],
+                             0.0);
+                checkCell(compactGraph,
+                          sourceNodes[i],
+                          targetNodes[j],
+                          matrix.isReachable(i, j) ?
+                                  matrix.getPath(i, j) :
+                                  null,
+                          matrix.getDistance(i, j));
+            }
+        }
+    }
+    
+    /**
+     * Checks the path and the distance from {@code sourceNode} to
+     * {@code targetNode} against an unbounded search of the pair.
+     */
+    private static void checkCell(CompactGraph graph,
+                                  int sourceNode,
+                                  int targetNode,
+                                  List<Integer> path,
+                                  double distance) {
+        List<Integer> expected =
+                TestGraphs.searchOrNull(new BeamSearchPathfinder(),
+                                        graph,
+                                        sourceNode,
+                                        targetNode,
+                                        ZERO);
+        
+        if (expected == null) {
+            assertEquals(Double.POSITIVE_INFINITY, distance, 0.0);
+            return;
+        }
+        
+        double expectedLength = TestGraphs.getPathLength(graph, expected);
+        assertEquals(expectedLength, distance, 1e-9 * expectedLength);
+        assertEquals(sourceNode, (int) path.get(0));
+        assertEquals(targetNode, (int) path.get(path.size() - 1));
+        assertEquals(distance,
+                     TestGraphs.getPathLength(graph, path),
+                     1e-9 * distance);
+    }
+    
+    private static int[] getRandomNodes(Random random, int count) {
+        int[] nodes = new int[count];
+        
+        for (int i = 0; i < count; ++i) {
+            nodes[i] = random.nextInt(NODES);
+        }
+        
+        return nodes;
+    }
+}
@@ -0,0 +1,108 @@
+package net.coderodde.graph.pathfinding.beamsearch;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import net.coderodde.graph.AbstractGraph;
+import net.coderodde.graph.DirectedGraph;
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+
+/**
+ * Checks that a pathfinder searching only {@link AbstractGraph}s also
+ * searches compact graphs through the default method of
+ * {@link Pathfinder}.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.6 (Oct 16, 2026)
+ */
+public class PathfinderTest {
+
+    private static final IntHeuristicFunction ZERO = (source, target) -> 0.0;
+
+    @Test
+    public void defaultCompactSearchMatchesTheGraphSearch() {
+        Random random = new Random(1L);
+        TestGraphs.RandomGraph graph =
+                TestGraphs.randomIntegerGraph(random, 200, 3);
+        Pathfinder pathfinder = new GraphOnlyPathfinder();
+
+        for (int query = 0; query < 100; ++query) {
+            int sourceNode = random.nextInt(200);
+            int targetNode = random.nextInt(200);
+            List<Integer> expected = 
+                    TestGraphs.searchOrNull(pathfinder,
+                                            graph.graph,
+                                            sourceNode,
+                                            targetNode,
+                                            ZERO);
+            List<Integer> path = 
+                    TestGraphs.searchOrNull(pathfinder,
+                                            graph.compactGraph,
+                                            sourceNode,
+                                            targetNode,
+                                            ZERO);
+
+            if (expected == null) {
+                assertNull(path);
+                continue;
+            }
+
+            assertEquals(sourceNode, (int) path.get(0));
+            assertEquals(targetNode, (int) path.get(path.size() - 1));
+            assertEquals(TestGraphs.getPathLength(graph.compactGraph, 
+                                                  expected),
+                         TestGraphs.getPathLength(graph.compactGraph, path),
+                         0.0);
+        }
+    }
+
+    @Test
+    public void copyKeepsTheMissingNodesOut() {
+        // Node 1 is missing, and 0 -> 2 -> 3.
+        DirectedGraph graph = new DirectedGraph();
+        graph.addNode(0);
+        graph.addNode(2);
+        graph.addNode(3);
+        graph.addEdge(0, 2, 2.0);
+        graph.addEdge(2, 3, 3.0);
+        DirectedGraph copy = CompactGraph.fromGraph(graph).toGraph();
+
+        assertEquals(3, copy.size());
+        assertFalse(copy.hasNode(1));
+        assertEquals(3.0, copy.getEdgeWeight(2, 3), 0.0);
+        assertEquals(Arrays.asList(0, 2, 3),
+                     new GraphOnlyPathfinder().search(
+                             CompactGraph.fromGraph(graph), 0, 3, ZERO));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void defaultCompactSearchRejectsAMissingNode() {
+        DirectedGraph graph = new DirectedGraph();
+        graph.addNode(0);
+        graph.addNode(2);
+        new GraphOnlyPathfinder().search(CompactGraph.fromGraph(graph),
+                                         0,
+                                         1,
+                                         ZERO);
+    }
+
+    /**
+     * Overrides only the {@code AbstractGraph} search.
+     */
+    private static final class GraphOnlyPathfinder implements Pathfinder {
+
+        private final Pathfinder pathfinder = new BeamSearchPathfinder();
+
+        @Override
+        public List<Integer> search(
+                AbstractGraph graph,
+                Integer source,
+                Integer target,
+                HeuristicFunction<Integer> heuristicFunction) {
+            return pathfinder.search(graph, source, target, heuristicFunction);
+        }
+    }
+}
@@ -0,0 +1,174 @@
+package net.coderodde.graph.pathfinding.beamsearch;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Runs a {@link QueryService} on a free loopback port and checks its 
+ * answers to the path queries and to the malformed requests.
+ * 
+ * @author Rodion "rodde" Efremov
+ * @version 1.6 (Oct 16, 2026)
+ */
+public class QueryServiceTest {
+    
+    private static final int NODES = 1000;
+    
+    private CompactGraph graph;
+    private QueryService service;
+    
+    @Before
+    public void startService() throws IOException {
+        TestGraphs.RandomGraph randomGraph = 
+                TestGraphs.randomGeometricGraph(new Random(19L), NODES, 2);
+        graph = randomGraph.compactGraph;
+        service = new QueryService(
+                graph,
+                new BeamSearchPathfinder(),
+                new EuclideanHeuristicFunction(randomGraph.coordinates),
+                0,
+                2,
+                16,
+                4);
+        service.start();
+    }
+    
+    @After
+    public void stopService() {
+        service.close();
+    }
+    
+    @Test
+    public void answersWithTheShortestPath() throws IOException {
+        Random random = new Random(119L);
+        int answeredQueries = 0;
+        int unreachableTargets = 0;
+        
+        for (int query = 0; query < 20; ++query) {
+            int source = random.nextInt(NODES);
+            int target = random.nextInt(NODES);
+            double distance = 
+                    TestGraphs.getDistancesFrom(graph, source)[target];
+            Response response = get("/path?source=" + source +
+                                    "&target=" + target);
+            
+            if (Double.isInfinite(distance)) {
+                assertEquals(404, response.status);
+                assertTrue(response.body.startsWith("{\"error\":"));
+                ++unreachableTargets;
+                continue;
+            }
+            
+            assertEquals(200, response.status);
+            String prefix = "{\"source\":" + source + 
+                            ",\"target\":" + target + ",\"path\":[";
+            assertTrue(response.body, response.body.startsWith(prefix));
+            assertTrue(response.body, response.body.endsWith("]}"));
+            
+            List<Integer> path = new ArrayList<>();
+            String nodes = response.body.substring(
+                    prefix.length(), 
+                    response.body.length() - 2);
+            
+            for (String node : nodes.split(",")) {
+                path.add(Integer.parseInt(node));
+            }
+            
+            assertEquals(source, (int) path.get(0));
+            assertEquals(target, (int) path.get(path.size() - 1));
+            assertEquals(distance,
+                         TestGraphs.getPathLength(graph, path),
+                         1e-9 * distance);
+            ++answeredQueries;
+        }
+        
+        assertTrue(answeredQueries > 0);
+        assertTrue(unreachableTargets > 0);
+        assertEquals(20L, service.getCompletedCount());
+    }
+    
+    @Test
+    public void rejectsMalformedRequests() throws IOException {
+        assertEquals(400, get("/path?source=1").status);
+        assertEquals(400, get("/path?source=one&target=2").status);
+        assertEquals(400, get("/path?source=1&target=" + NODES).status);
+        assertEquals(400, get("/path?source=-1&target=2").status);
+        assertEquals(405, request("POST", "/path?source=1&target=2").status);
+        
+        Response response = get("/path?target=2");
+        assertTrue(response.body, 
+                   response.body.startsWith("{\"error\":\"Expected"));
+    }
+    
+    @Test
+    public void reportsTheCounters() throws IOException {
+        get("/path?source=1&target=2");
+        get("/path?source=1&target=" + NODES);
+        Response response = get("/stats");
+        assertEquals(200, response.status);
+        assertTrue(response.body, 
+                   response.body.startsWith("{\"accepted\":2,"));
+        assertTrue(response.body, response.body.contains("\"completed\":2,"));
+    }
+    
+    private Response get(String path) throws IOException {
+        return request("GET", path);
+    }
+    
+    private Response request(String method, String path) throws IOException {
+        URL url = new URL("http://127.0.0.1:" + service.getPort() + path);
+        HttpURLConnection connection = 
+                (HttpURLConnection) url.openConnection();
+        
+        try {
+            connection.setRequestMethod(method);
+            int status = connection.getResponseCode();
+            InputStream in = status < 400 ?
+                    connection.getInputStream() :
+                    connection.getErrorStream();
+            return new Response(status, readFully(in));
+        } finally {
+            connection.disconnect();
+        }
+    }
+    
+    private static String readFully(InputStream in) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] buffer = new byte[4096];
+        int read;
+        
+        try (InputStream input = in) {
+            while ((read = input.read(buffer)) != -1) {
+                out.write(buffer, 0, read);
+            }
+        }
+        
+        return new String(out.toByteArray(), StandardCharsets.UTF_8);
+    }
+    
+    /**
+     * A status code and a response body.
+     */
+    private static final class Response {
+        
+        final int status;
+        final String body;
+        
+        Response(int status, String body) {
+            this.status = status;
+            this.body = body;
+        }
+    }
+}
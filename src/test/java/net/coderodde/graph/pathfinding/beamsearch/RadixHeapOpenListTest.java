@@ -0,0 +1,168 @@
+package net.coderodde.graph.pathfinding.beamsearch;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Checks that {@link RadixHeapOpenList} polls in the exact priority order of
+ * {@link PriorityQueueOpenList} even when many priorities share a key, and
+ * that the searches on either list find paths of the same lengths.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.6 (Oct 16, 2026)
+ */
+public class RadixHeapOpenListTest {
+
+    private static final int NODES = 10_000;
+
+    @Test
+    public void pollsInTheOrderOfThePriorityQueue() {
+        // Resolution 4 puts many distinct priorities into each key.
+        checkPollOrder(new RadixHeapOpenList(4.0), new Random(3L));
+        checkPollOrder(new RadixHeapOpenList(), new Random(103L));
+    }
+
+    @Test
+    public void decreasedPrioritiesAreExact() {
+        Random random = new Random(203L);
+        RadixHeapOpenList list = new RadixHeapOpenList(8.0);
+        list.ensureCapacity(100);
+        Map<Integer, Double> model = new HashMap<>();
+        double last = 0.0;
+
+        for (int round = 0; round < 5000; ++round) {
+            // Insert and decrease, never below the last extracted priority.
+            for (int i = 0; i < 3; ++i) {
+                int node = random.nextInt(100);
+                double priority = last + 20.0 * random.nextDouble();
+                list.insert(node, priority);
+
+                if (!model.containsKey(node) || model.get(node) > priority) {
+                    model.put(node, priority);
+                }
+            }
+
+            int minimumNode = getMinimumNode(model);
+            last = model.get(minimumNode);
+            assertEquals(last, list.getMinimumPriority(), 0.0);
+            int node = list.extractMinimum();
+            assertEquals(last, model.remove(node), 0.0);
+            assertEquals(model.size(), list.size());
+        }
+    }
+
+    @Test
+    public void searchesFindPathsOfTheSameLengths() {
+        Random random = new Random(303L);
+        TestGraphs.RandomGraph graph =
+                TestGraphs.randomGeometricGraph(random, 1000, 3);
+        IntHeuristicFunction heuristicFunction =
+                new EuclideanHeuristicFunction(graph.coordinates);
+
+        for (int beamWidth : new int[]{ 2, 4, Integer.MAX_VALUE }) {
+            BeamSearchPathfinder pathfinder =
+                    new BeamSearchPathfinder(beamWidth);
+            SearchContext radixContext =
+                    new SearchContext(() -> new RadixHeapOpenList(10.0));
+            SearchContext queueContext = new SearchContext();
+
+            for (int query = 0; query < 100; ++query) {
+                int sourceNode = random.nextInt(1000);
+                int targetNode = random.nextInt(1000);
+                double radixLength = getPathLength(pathfinder,
+                                                   graph.compactGraph,
+                                                   sourceNode,
+                                                   targetNode,
+                                                   heuristicFunction,
+                                                   radixContext);
+                double queueLength = getPathLength(pathfinder,
+                                                   graph.compactGraph,
+                                                   sourceNode,
+                                                   targetNode,
+                                                   heuristicFunction,
+                                                   queueContext);
+                assertEquals(queueLength, radixLength, 1e-9 * queueLength);
+            }
+        }
+    }
+
+    /**
+     * Runs the same monotone sequence of insertions and extractions on
+     * {@code list} and a {@link PriorityQueueOpenList}, each node inserted
+     * once, and compares the priorities they poll.
+     */
+    private static void checkPollOrder(RadixHeapOpenList list,
+                                       Random random) {
+        PriorityQueueOpenList queue = new PriorityQueueOpenList();
+        list.ensureCapacity(NODES);
+        queue.ensureCapacity(NODES);
+        int nextNode = 0;
+        double last = 0.0;
+
+        while (nextNode < NODES || !queue.isEmpty()) {
+            int insertions = random.nextInt(4);
+
+            for (int i = 0; i < insertions && nextNode < NODES; ++i) {
+                // Repeat a priority now and then to tie.
+                double priority = random.nextInt(4) == 0 ?
+                                  last :
+                                  last + 10.0 * random.nextDouble();
+                list.insert(nextNode, priority);
+                queue.insert(nextNode, priority);
+                ++nextNode;
+            }
+
+            if (queue.isEmpty()) {
+                continue;
+            }
+
+            assertEquals(queue.size(), list.size());
+            assertEquals(queue.getMinimumPriority(),
+                         list.getMinimumPriority(),
+                         0.0);
+            last = queue.getMinimumPriority();
+            queue.extractMinimum();
+            int node = list.extractMinimum();
+            assertTrue(node >= 0 && node < nextNode);
+        }
+
+        assertTrue(list.isEmpty());
+    }
+
+    private static int getMinimumNode(Map<Integer, Double> model) {
+        int minimumNode = -1;
+
+        for (Map.Entry<Integer, Double> entry : model.entrySet()) {
+            if (minimumNode == -1 ||
+                    entry.getValue() < model.get(minimumNode)) {
+                minimumNode = entry.getKey();
+            }
+        }
+
+        return minimumNode;
+    }
+
+    private static double getPathLength(
+            BeamSearchPathfinder pathfinder,
+            CompactGraph graph,
+            int sourceNode,
+            int targetNode,
+            IntHeuristicFunction heuristicFunction,
+            SearchContext searchContext) {
+        try {
+            List<Integer> path = pathfinder.search(graph,
+                                                   sourceNode,
+                                                   targetNode,
+                                                   heuristicFunction,
+                                                   searchContext);
+            return TestGraphs.getPathLength(graph, path);
+        } catch (PathNotFoundException ex) {
+            return Double.POSITIVE_INFINITY;
+        }
+    }
+}
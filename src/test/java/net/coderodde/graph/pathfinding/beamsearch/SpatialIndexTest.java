@@ -0,0 +1,277 @@
+package net.coderodde.graph.pathfinding.beamsearch;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import net.coderodde.graph.DirectedGraph;
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Checks the nearest, the k-nearest and the radius queries of
+ * {@link SpatialIndex} against a brute force scan of the points, including
+ * the duplicate points and the query points outside of the indexed ones,
+ * and checks the searches between the snapped points.
+ * 
+ * @author Rodion "rodde" Efremov
+ * @version 1.6 (Oct 16, 2026)
+ */
+public class SpatialIndexTest {
+    
+    private static final int NODES = 1000;
+    
+    @Test
+    public void nearestMatchesBruteForce() {
+        Random random = new Random(20L);
+        DenseCoordinates coordinates = getRandomPoints(random, NODES);
+        SpatialIndex index = new SpatialIndex(coordinates);
+        assertEquals(NODES, index.size());
+        
+        for (int query = 0; query < 500; ++query) {
+            double x = getQueryCoordinate(random);
+            double y = getQueryCoordinate(random);
+            int node = index.nearest(x, y);
+            assertEquals(getDistances(coordinates, x, y)[0],
+                         distance(coordinates, node, x, y),
+                         0.0);
+        }
+    }
+    
+    @Test
+    public void kNearestMatchesBruteForce() {
+        Random random = new Random(120L);
+        DenseCoordinates coordinates = getRandomPoints(random, NODES);
+        SpatialIndex index = new SpatialIndex(coordinates);
+        
+        for (int query = 0; query < 200; ++query) {
+            double x = getQueryCoordinate(random);
+            double y = getQueryCoordinate(random);
+            int k = random.nextInt(40);
+            double[] expected = getDistances(coordinates, x, y);
+            int[] nodes = index.nearest(x, y, k);
+            assertEquals(k, nodes.length);
+            
+            for (int i = 0; i < k; ++i) {
+                // Nearest first; the ties may come in any order.
+                assertEquals(expected[i],
+                             distance(coordinates, nodes[i], x, y),
+                             0.0);
+            }
+            
+            assertEquals(k, Arrays.stream(nodes).distinct().count());
+        }
+    }
+    
+    @Test
+    public void withinRadiusMatchesBruteForce() {
+        Random random = new Random(220L);
+        DenseCoordinates coordinates = getRandomPoints(random, NODES);
+        SpatialIndex index = new SpatialIndex(coordinates);
+        
+        for (int query = 0; query < 200; ++query) {
+            double x = getQueryCoordinate(random);
+            double y = getQueryCoordinate(random);
+            double radius = 100.0 * random.nextDouble();
+            int[] nodes = index.withinRadius(x, y, radius);
+            Arrays.sort(nodes);
+            assertTrue(Arrays.equals(getWithinRadius(coordinates,
+                                                     x,
+                                                     y,
+                                                     radius),
+                                     nodes));
+        }
+    }
+    
+    @Test
+    public void duplicatePointsAreAllFound() {
+        DenseCoordinates coordinates = new DenseCoordinates();
+        
+        for (int node = 0; node < 50; ++node) {
+            // Ten copies of each of five points.
+            coordinates.put(node, node % 5, 2.0 * (node % 5));
+        }
+        
+        SpatialIndex index = new SpatialIndex(coordinates);
+        int[] nodes = index.nearest(3.0, 6.0, 10);
+        Arrays.sort(nodes);
+        assertTrue(Arrays.equals(new int[]{ 3, 8, 13, 18, 23,
+                                            28, 33, 38, 43, 48 },
+                                 nodes));
+        assertEquals(3, index.nearest(3.1, 6.0) % 5);
+        assertEquals(20, index.withinRadius(1.5, 3.0, 1.2).length);
+    }
+    
+    @Test
+    public void kGreaterThanTheSizeReturnsAllTheNodes() {
+        DenseCoordinates coordinates = getRandomPoints(new Random(320L), 7);
+        SpatialIndex index = new SpatialIndex(coordinates);
+        int[] nodes = index.nearest(500.0, 500.0, 100);
+        assertEquals(7, nodes.length);
+        
+        for (int i = 1; i < nodes.length; ++i) {
+            assertTrue(distance(coordinates, nodes[i - 1], 500.0, 500.0) <=
+                       distance(coordinates, nodes[i], 500.0, 500.0));
+        }
+        
+        assertEquals(0, index.nearest(500.0, 500.0, 0).length);
+    }
+    
+    @Test
+    public void zeroRadiusFindsOnlyTheCoincidentNodes() {
+        DenseCoordinates coordinates = new DenseCoordinates();
+        coordinates.put(0, 1.0, 1.0);
+        coordinates.put(1, 1.0, 1.0);
+        coordinates.put(2, 1.0, 1.0 + 1e-9);
+        SpatialIndex index = new SpatialIndex(coordinates);
+        
+        int[] nodes = index.withinRadius(1.0, 1.0, 0.0);
+        Arrays.sort(nodes);
+        assertTrue(Arrays.equals(new int[]{ 0, 1 }, nodes));
+        assertEquals(0, index.withinRadius(5.0, 5.0, 0.0).length);
+    }
+    
+    @Test
+    public void queriesFarOutsideTheBoundingBox() {
+        DenseCoordinates coordinates = new DenseCoordinates();
+        
+        for (int node = 0; node < 100; ++node) {
+            coordinates.put(node, node % 10, node / 10);
+        }
+        
+        SpatialIndex index = new SpatialIndex(coordinates);
+        assertEquals(99, index.nearest(1e6, 1e6));
+        assertEquals(0, index.nearest(-1e6, -1e6));
+        assertEquals(9, index.nearest(1e6, -1e6));
+        assertTrue(Arrays.equals(new int[]{ 90, 91 },
+                                 index.nearest(0.0, 1e6, 2)));
+        assertEquals(0, index.withinRadius(-50.0, 5.0, 40.0).length);
+        assertEquals(100, index.withinRadius(-50.0, 5.0, 100.0).length);
+    }
+    
+    @Test
+    public void emptyIndexHasNoNearestNode() {
+        SpatialIndex index = new SpatialIndex(new DenseCoordinates());
+        assertEquals(0, index.size());
+        assertEquals(-1, index.nearest(0.0, 0.0));
+        assertEquals(0, index.nearest(0.0, 0.0, 3).length);
+        assertEquals(0, index.withinRadius(0.0, 0.0, 1.0).length);
+    }
+    
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsANegativeRadius() {
+        new SpatialIndex(getRandomPoints(new Random(420L), 5))
+                .withinRadius(0.0, 0.0, -1.0);
+    }
+    
+    @Test
+    public void searchesBetweenTheSnappedPoints() {
+        // 0 -> 1 -> 2 -> 3 along the x-axis.
+        DirectedGraph graph = new DirectedGraph();
+        DenseCoordinates coordinates = new DenseCoordinates();
+        
+        for (int node = 0; node < 4; ++node) {
+            graph.addNode(node);
+            coordinates.put(node, 10.0 * node, 0.0);
+        }
+        
+        for (int node = 1; node < 4; ++node) {
+            graph.addEdge(node - 1, node, 10.0);
+        }
+        
+        CompactGraph compactGraph = CompactGraph.fromGraph(graph);
+        SpatialIndex index = new SpatialIndex(coordinates);
+        List<Integer> path =
+                index.search(new BeamSearchPathfinder(),
+                             compactGraph,
+                             8.0,
+                             3.0,
+                             100.0,
+                             -7.0,
+                             new EuclideanHeuristicFunction(coordinates));
+        assertEquals(Arrays.asList(1, 2, 3), path);
+    }
+    
+    @Test(expected = IllegalArgumentException.class)
+    public void searchRejectsAnEmptyIndex() {
+        DirectedGraph graph = new DirectedGraph();
+        graph.addNode(0);
+        new SpatialIndex(new DenseCoordinates())
+                .search(new BeamSearchPathfinder(),
+                        CompactGraph.fromGraph(graph),
+                        0.0,
+                        0.0,
+                        0.0,
+                        0.0,
+                        (node, target) -> 0.0);
+    }
+    
+    /**
+     * Returns {@code count} random points in a 1000 by 1000 square, with
+     * every tenth point a copy of the one before it.
+     */
+    private static DenseCoordinates getRandomPoints(Random random,
+                                                    int count) {
+        DenseCoordinates coordinates = new DenseCoordinates(count);
+        
+        for (int node = 0; node < count; ++node) {
+            if (node % 10 == 9) {
+                coordinates.put(node,
+                                coordinates.getX(node - 1),
+                                coordinates.getY(node - 1));
+            } else {
+                coordinates.put(node,
+                                1000.0 * random.nextDouble(),
+                                1000.0 * random.nextDouble());
+            }
+        }
+        
+        return coordinates;
+    }
+    
+    /**
+     * Returns a query coordinate, outside of the square of the points in
+     * about a fifth of the cases.
+     */
+    private static double getQueryCoordinate(Random random) {
+        return 1400.0 * random.nextDouble() - 200.0;
+    }
+    
+    /**
+     * Returns the sorted distances from {@code (x, y)} to all the points.
+     */
+    private static double[] getDistances(DenseCoordinates coordinates,
+                                         double x,
+                                         double y) {
+        double[] distances = new double[coordinates.getNodeCapacity()];
+        
+        for (int node = 0; node < distances.length; ++node) {
+            distances[node] = distance(coordinates, node, x, y);
+        }
+        
+        Arrays.sort(distances);
+        return distances;
+    }
+    
+    /**
+     * Returns the sorted nodes within {@code radius} from {@code (x, y)}.
+     */
+    private static int[] getWithinRadius(DenseCoordinates coordinates,
+                                         double x,
+                                         double y,
+                                         double radius) {
+        return java.util.stream.IntStream
+                .range(0, coordinates.getNodeCapacity())
+                .filter(node -> distance(coordinates, node, x, y) <= radius)
+                .toArray();
+    }
+    
+    private static double distance(DenseCoordinates coordinates,
+                                   int node,
+                                   double x,
+                                   double y) {
+        double dx = coordinates.getX(node) - x;
+        double dy = coordinates.getY(node) - y;
+        return Math.sqrt(dx * dx + dy * dy);
+    }
+}
@@ -0,0 +1,90 @@
+package net.coderodde.graph.pathfinding.beamsearch;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Checks that {@link SuccessorSelector} ranks the candidates exactly like a 
+ * stable sort by cost followed by truncation, on every selection strategy.
+ * 
+ * @author Rodion "rodde" Efremov
+ * @version 1.6 (Oct 16, 2026)
+ */
+public class SuccessorSelectorTest {
+    
+    private static final int[] BEAM_WIDTHS = 
+            { 1, 2, 3, 8, 16, 17, 40, 100, Integer.MAX_VALUE };
+    
+    @Test
+    public void selectsLikeStableSortAndTruncate() {
+        Random random = new Random(4L);
+        SuccessorSelector selector = new SuccessorSelector();
+        
+        for (int round = 0; round < 2000; ++round) {
+            int size = random.nextInt(60);
+            // Few distinct costs, so that most of the candidates tie.
+            int distinctCosts = 1 + random.nextInt(5);
+            List<double[]> candidates = new ArrayList<>();
+            selector.clear();
+            
+            for (int i = 0; i < size; ++i) {
+                double cost = random.nextInt(distinctCosts);
+                double weight = random.nextDouble();
+                candidates.add(new double[]{ i, weight, cost });
+                selector.add(i, weight, cost);
+            }
+            
+            List<double[]> expected = new ArrayList<>(candidates);
+            Collections.sort(expected, 
+                             Comparator.comparingDouble(c -> c[2]));
+            
+            for (int k : BEAM_WIDTHS) {
+                int count = selector.select(k);
+                assertEquals(Math.min(k, size), count);
+                
+                for (int rank = 0; rank < count; ++rank) {
+                    double[] candidate = expected.get(rank);
+                    assertEquals((int) candidate[0], selector.getNode(rank));
+                    assertEquals(candidate[1], selector.getWeight(rank), 0.0);
+                    assertEquals(candidate[2], selector.getCost(rank), 0.0);
+                }
+            }
+        }
+    }
+    
+    @Test
+    public void compactSearchMatchesAbstractGraphSearchOnTies() {
+        Random random = new Random(6L);
+        
+        for (int beamWidth : BEAM_WIDTHS) {
+            BeamSearchPathfinder pathfinder = 
+                    new BeamSearchPathfinder(beamWidth);
+            
+            for (int round = 0; round < 20; ++round) {
+                TestGraphs.RandomGraph graph = 
+                        TestGraphs.randomIntegerGraph(random, 300, 6);
+                IntHeuristicFunction heuristicFunction = 
+                        (source, target) -> 0.0;
+                int sourceNode = random.nextInt(300);
+                int targetNode = random.nextInt(300);
+                
+                assertEquals(
+                        TestGraphs.searchOrNull(pathfinder,
+                                                graph.graph,
+                                                sourceNode,
+                                                targetNode,
+                                                heuristicFunction),
+                        TestGraphs.searchOrNull(pathfinder,
+                                                graph.compactGraph,
+                                                sourceNode,
+                                                targetNode,
+                                                heuristicFunction));
+            }
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package net.coderodde.graph.pathfinding.beamsearch;
+
+import java.util.List;
+import java.util.Random;
+import net.coderodde.graph.DirectedGraph;
+
+/**
+ * This class builds the seeded random graphs the tests search, and provides
+ * the exact distances and the path lengths to check the searches against.
+ * 
+ * @author Rodion "rodde" Efremov
+ * @version 1.6 (Oct 16, 2026)
+ */
+final class TestGraphs {
+    
+    /**
+     * A random graph together with its compact snapshot and the coordinates
+     * of its nodes.
+     */
+    static final class RandomGraph {
+        
+        final DirectedGraph graph;
+        final CompactGraph compactGraph;
+        final DenseCoordinates coordinates;
+        
+        RandomGraph(DirectedGraph graph, DenseCoordinates coordinates) {
+            this.graph        = graph;
+            this.compactGraph = CompactGraph.fromGraph(graph);
+            this.coordinates  = coordinates;
+        }
+    }
+    
+    private TestGraphs() {}
+    
+    /**
+     * Builds a random geometric graph of {@code nodes} nodes in a 1000 by
+     * 1000 square and about {@code degree} arcs per node. Each arc weighs
+     * between one and two times the distance between its end nodes, so the
+     * Euclidean heuristic function is admissible but not exact.
+     */
+    static RandomGraph randomGeometricGraph(Random random,
+                                            int nodes,
+                                            int degree) {
+        DirectedGraph graph = new DirectedGraph();
+        DenseCoordinates coordinates = new DenseCoordinates(nodes);
+        
+        for (int node = 0; node < nodes; ++node) {
+            graph.addNode(node);
+            coordinates.put(node,
+                            1000.0 * random.nextDouble(),
+                            1000.0 * random.nextDouble());
+        }
+        
+        for (int arc = 0; arc < degree * nodes; ++arc) {
+            int tail = random.nextInt(nodes);
+            int head = random.nextInt(nodes);
+            graph.addEdge(tail,
+                          head,
+                          (1.0 + random.nextDouble()) *
+                          coordinates.distance(tail, head));
+        }
+        
+        return new RandomGraph(graph, coordinates);
+    }
+    
+    /**
+     * Builds a random graph of {@code nodes} nodes and about {@code degree}
+     * arcs per node with small integer weights, so that many paths tie.
+     */
+    static RandomGraph randomIntegerGraph(Random random,
+                                          int nodes,
+                                          int degree) {
+        DirectedGraph graph = new DirectedGraph();
+        
+        for (int node = 0; node < nodes; ++node) {
+            graph.addNode(node);
+        }
+        
+        for (int arc = 0; arc < degree * nodes; ++arc) {
+            graph.addEdge(random.nextInt(nodes),
+                          random.nextInt(nodes),
+                          1 + random.nextInt(3));
+        }
+        
+        return new RandomGraph(graph, null);
+    }
+    
+    /**
+     * Returns the shortest path distances from {@code sourceNode} to all the
+     * nodes of {@code graph}.
+     */
+    static double[] getDistancesFrom(CompactGraph graph, int sourceNode) {
+        double[] distances = new double[graph.getNodeCapacity()];
+        new DijkstraSearch().run(graph,
+                                 sourceNode,
+                                 false,
+                                 distances,
+                                 null,
+                                 null);
+        return distances;
+    }
+    
+    /**
+     * Returns the length of {@code path} in {@code graph}. Throws if the 
+     * path uses a missing arc.
+     */
+    static double getPathLength(CompactGraph graph, List<Integer> path) {
+        double length = 0.0;
+        
+        for (int i = 1; i < path.size(); ++i) {
+            length += graph.getEdgeWeight(path.get(i - 1), path.get(i));
+        }
+        
+        return length;
+    }
+    
+    /**
+     * Returns the path found by {@code pathfinder}, or {@code null} if it
+     * found none.
+     */
+    static List<Integer> searchOrNull(Pathfinder pathfinder,
+                                      DirectedGraph graph,
+                                      int sourceNode,
+                                      int targetNode,
+                                      IntHeuristicFunction heuristicFunction) {
+        try {
+            return pathfinder.search(graph,
+                                     sourceNode,
+                                     targetNode,
+                                     heuristicFunction);
+        } catch (PathNotFoundException ex) {
+            return null;
+        }
+    }
+    
+    /**
+     * Returns the path found by {@code pathfinder}, or {@code null} if it
+     * found none.
+     */
+    static List<Integer> searchOrNull(Pathfinder pathfinder,
+                                      CompactGraph graph,
+                                      int sourceNode,
+                                      int targetNode,
+                                      IntHeuristicFunction heuristicFunction) {
+        try {
+            return pathfinder.search(graph,
+                                     sourceNode,
+                                     targetNode,
+                                     heuristicFunction);
+        } catch (PathNotFoundException ex) {
+            return null;
+        }
+    }
+}